@@ -0,0 +1,81 @@
+package com.burakcanaksoy.realestate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String MEDIA_EXECUTOR = "mediaExecutor";
+    public static final String MEDIA_IO_EXECUTOR = "mediaIoExecutor";
+    public static final String DETAIL_EXECUTOR = "detailExecutor";
+    public static final String MVC_ASYNC_EXECUTOR = "mvcAsyncExecutor";
+
+    /**
+     * Bounded pool for image processing. When the queue is full the uploading
+     * request thread does the work itself, which slows uploads down instead of
+     * dropping renditions or piling up decoded images in memory.
+     */
+    @Bean(name = MEDIA_EXECUTOR)
+    public ThreadPoolTaskExecutor mediaExecutor(@Value("${media.workers:2}") int workers,
+            @Value("${media.queue-capacity:200}") int queueCapacity) {
+        return boundedExecutor(workers, queueCapacity, "media-");
+    }
+
+    /**
+     * Bounded pool for writing uploaded files to storage, so a multi-file
+     * upload streams its parts in parallel without one request taking every
+     * disk or network slot.
+     */
+    @Bean(name = MEDIA_IO_EXECUTOR)
+    public ThreadPoolTaskExecutor mediaIoExecutor(@Value("${media.io-workers:4}") int workers,
+            @Value("${media.io-queue-capacity:100}") int queueCapacity) {
+        return boundedExecutor(workers, queueCapacity, "media-io-");
+    }
+
+    /**
+     * Bounded pool gathering the parts of listing detail pages. Parts that do
+     * not fit in the queue are rejected and left out of the response rather
+     * than run on the request thread, where their timeout would not apply.
+     */
+    @Bean(name = DETAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor detailExecutor(@Value("${listing.detail.workers:16}") int workers,
+            @Value("${listing.detail.queue-capacity:200}") int queueCapacity) {
+        return boundedExecutor(workers, queueCapacity, "detail-", new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Bounded pool for asynchronous MVC requests such as the listing feed,
+     * instead of a new thread per request. Requests that do not fit are
+     * rejected and answered with 503.
+     */
+    @Bean(name = MVC_ASYNC_EXECUTOR)
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(@Value("${mvc.async.workers:8}") int workers,
+            @Value("${mvc.async.queue-capacity:16}") int queueCapacity) {
+        return boundedExecutor(workers, queueCapacity, "mvc-async-", new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ThreadPoolTaskExecutor boundedExecutor(int workers, int queueCapacity, String threadNamePrefix) {
+        return boundedExecutor(workers, queueCapacity, threadNamePrefix, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static ThreadPoolTaskExecutor boundedExecutor(int workers, int queueCapacity, String threadNamePrefix,
+            RejectedExecutionHandler rejectedExecutionHandler) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
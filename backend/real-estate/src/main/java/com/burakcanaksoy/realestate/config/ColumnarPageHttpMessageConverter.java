@@ -0,0 +1,127 @@
+package com.burakcanaksoy.realestate.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Writes pages column by column: one array per field instead of one object
+ * per row, so a field name appears once per page rather than once per
+ * listing, and only the page numbers are kept of the Spring page metadata.
+ * Chosen with Accept: application/vnd.vesta.columns+json, or +cbor for the
+ * same layout in CBOR. Rows are read straight into the generator; a field
+ * that is null on every row of the page is left out.
+ */
+public class ColumnarPageHttpMessageConverter extends AbstractHttpMessageConverter<Slice<?>> {
+
+    public static final MediaType COLUMNS_JSON = MediaType.parseMediaType("application/vnd.vesta.columns+json");
+    public static final MediaType COLUMNS_CBOR = MediaType.parseMediaType("application/vnd.vesta.columns+cbor");
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+
+    /**
+     * Both mappers should be configured alike, e.g. built from the same
+     * Jackson2ObjectMapperBuilder, so dates and enums read the same in
+     * either format.
+     */
+    public ColumnarPageHttpMessageConverter(ObjectMapper jsonMapper, ObjectMapper cborMapper) {
+        super(COLUMNS_JSON, COLUMNS_CBOR);
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Slice.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Slice<?> readInternal(Class<? extends Slice<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar pages are written only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Slice<?> slice, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        ObjectMapper mapper = contentType != null && COLUMNS_CBOR.isCompatibleWith(contentType)
+                ? cborMapper : jsonMapper;
+
+        try (JsonGenerator generator = mapper.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            generator.writeStartObject();
+            generator.writeNumberField("page", slice.getNumber());
+            generator.writeNumberField("size", slice.getSize());
+            generator.writeNumberField("numberOfElements", slice.getNumberOfElements());
+            if (slice instanceof Page<?> page) {
+                generator.writeNumberField("totalElements", page.getTotalElements());
+                generator.writeNumberField("totalPages", page.getTotalPages());
+            }
+            generator.writeBooleanField("hasNext", slice.hasNext());
+
+            generator.writeObjectFieldStart("columns");
+            List<?> rows = slice.getContent();
+            for (Map.Entry<String, Map<Class<?>, AnnotatedMember>> column : columns(mapper, rows).entrySet()) {
+                if (rows.stream().allMatch(row -> value(row, column.getValue()) == null)) {
+                    continue;
+                }
+                generator.writeArrayFieldStart(column.getKey());
+                for (Object row : rows) {
+                    generator.writeObject(value(row, column.getValue()));
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * The serialized properties of the row classes on the page, in Jackson's
+     * order, with each class's accessor. Rows of a subclass add its columns
+     * after the shared ones.
+     */
+    private static Map<String, Map<Class<?>, AnnotatedMember>> columns(ObjectMapper mapper, List<?> rows) {
+        Map<String, Map<Class<?>, AnnotatedMember>> columns = new LinkedHashMap<>();
+        Set<Class<?>> seen = new HashSet<>();
+        for (Object row : rows) {
+            if (row == null || !seen.add(row.getClass())) {
+                continue;
+            }
+            for (BeanPropertyDefinition property : mapper.getSerializationConfig()
+                    .introspect(mapper.constructType(row.getClass())).findProperties()) {
+                AnnotatedMember accessor = property.getAccessor();
+                if (accessor != null) {
+                    accessor.fixAccess(true);
+                    columns.computeIfAbsent(property.getName(), name -> new HashMap<>()).put(row.getClass(), accessor);
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static Object value(Object row, Map<Class<?>, AnnotatedMember> accessors) {
+        if (row == null) {
+            return null;
+        }
+        AnnotatedMember accessor = accessors.get(row.getClass());
+        return accessor == null ? null : accessor.getValue(row);
+    }
+}
@@ -0,0 +1,74 @@
+package com.burakcanaksoy.realestate.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports lazy loads: associations initialized on first access instead of
+ * being fetched by the query's fetch plan (an entity graph or a fetch join).
+ * With open-in-view off they fail outside a transaction anyway; inside one
+ * they are an extra query per row. persistence.lazy-load-guard chooses LOG
+ * (default), FAIL or OFF; the tests run with FAIL.
+ */
+@Component
+@Slf4j
+public class LazyLoadGuard implements LoadEventListener, InitializeCollectionEventListener {
+
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Mode mode;
+
+    public LazyLoadGuard(EntityManagerFactory entityManagerFactory,
+            @Value("${persistence.lazy-load-guard:LOG}") Mode mode) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.mode = mode;
+    }
+
+    @PostConstruct
+    void register() {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    // IMMEDIATE_LOAD is the load a proxy issues when it is first touched
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+            lazyLoad(event.getEntityClassName() + "#" + event.getEntityId());
+        }
+    }
+
+    // Eager collections loaded by a second select also pass through here, only lazy ones count
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if (event.getSession().getFactory().getMappingMetamodel().getCollectionDescriptor(role).isLazy()) {
+            lazyLoad(role);
+        }
+    }
+
+    private void lazyLoad(String target) {
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException("Lazy load of " + target + " outside the fetch plan");
+        }
+        log.warn("Lazy load of {} outside the fetch plan", target);
+    }
+}
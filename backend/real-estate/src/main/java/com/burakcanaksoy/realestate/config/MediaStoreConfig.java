@@ -0,0 +1,93 @@
+package com.burakcanaksoy.realestate.config;
+
+import com.burakcanaksoy.realestate.storage.LocalMediaStore;
+import com.burakcanaksoy.realestate.storage.MediaStore;
+import com.burakcanaksoy.realestate.storage.S3MediaStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+/**
+ * Selects where media bytes are kept with media.store: local disk (default)
+ * or an S3-compatible bucket. With S3 the endpoint may point at MinIO; path
+ * style addressing is what MinIO expects.
+ */
+@Configuration
+public class MediaStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "media.store", havingValue = "local", matchIfMissing = true)
+    public MediaStore localMediaStore(@Value("${file.upload-dir:uploads}") String uploadDir) {
+        return new LocalMediaStore(uploadDir);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "media.store", havingValue = "s3")
+    static class S3 {
+
+        @Value("${media.s3.endpoint:}")
+        private String endpoint;
+
+        @Value("${media.s3.region:us-east-1}")
+        private String region;
+
+        @Value("${media.s3.access-key}")
+        private String accessKey;
+
+        @Value("${media.s3.secret-key}")
+        private String secretKey;
+
+        @Value("${media.s3.path-style:false}")
+        private boolean pathStyle;
+
+        @Bean(destroyMethod = "close")
+        public S3Client s3Client() {
+            S3ClientBuilder builder = S3Client.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(s3Configuration());
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public S3Presigner s3Presigner() {
+            S3Presigner.Builder builder = S3Presigner.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(s3Configuration());
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public MediaStore s3MediaStore(S3Client s3Client, S3Presigner s3Presigner,
+                @Value("${media.s3.bucket}") String bucket,
+                @Value("${media.s3.part-size-bytes:16777216}") long partSize,
+                @Value("${file.upload-dir:uploads}") String uploadDir) {
+            return new S3MediaStore(s3Client, s3Presigner, bucket, partSize, new LocalMediaStore(uploadDir));
+        }
+
+        private StaticCredentialsProvider credentials() {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+
+        private S3Configuration s3Configuration() {
+            return S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build();
+        }
+    }
+}
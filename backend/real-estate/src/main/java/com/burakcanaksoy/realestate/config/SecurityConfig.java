@@ -72,6 +72,7 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/uploads/**").permitAll()
                         .requestMatchers("/error").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
 
                         // Video endpoints - MUST come before /api/listings/** to avoid conflicts
                         .requestMatchers("/api/listings/videos/**").permitAll() // All HTTP methods for videos
@@ -82,6 +83,8 @@ public class SecurityConfig {
                         .requestMatchers("GET", "/api/lands/**").permitAll()
                         .requestMatchers("GET", "/api/workplaces/**").permitAll()
                         .requestMatchers("GET", "/api/categories/**").permitAll()
+                        // The feed holds a database connection for the whole export
+                        .requestMatchers("GET", "/api/listings/feed").authenticated()
                         .requestMatchers("GET", "/api/listings/**").permitAll()
                         .requestMatchers("GET", "/api/images/**").permitAll()
 
@@ -105,7 +108,7 @@ public class SecurityConfig {
                 List.of("http://localhost:3000", "https://*.vercel.app", "https://*.onrender.com", "*"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS", "HEAD"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization", "Link", "X-Total-Count"));
+        configuration.setExposedHeaders(List.of("Authorization", "Link", "X-Total-Count", "Upload-Offset"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
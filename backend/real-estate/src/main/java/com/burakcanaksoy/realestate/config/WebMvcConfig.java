@@ -1,9 +1,20 @@
 package com.burakcanaksoy.realestate.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -13,9 +24,19 @@ import java.nio.file.Paths;
 import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
 @Slf4j
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final ObjectMapper objectMapper;
+
+    // Boot's builder, a fresh one per injection point
+    private final Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder;
+
+    // Missing in web slice tests, which keep Spring's default executor
+    @Qualifier(AsyncConfig.MVC_ASYNC_EXECUTOR)
+    private final ObjectProvider<AsyncTaskExecutor> mvcAsyncExecutor;
+
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
@@ -28,6 +49,11 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:" + uploadAbsolutePath + "/");
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        mvcAsyncExecutor.ifAvailable(configurer::setTaskExecutor);
+    }
+
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
         log.info("start extendMessageConverters");
@@ -45,5 +71,17 @@ public class WebMvcConfig implements WebMvcConfigurer {
         } catch (Exception e) {
             log.error("Error adding converter", e);
         }
+
+        // The JSON converter also accepts application/*+json, which would take the
+        // columnar types; for pages it is limited to application/json. The columnar
+        // converter goes after it, so Accept: */* still gets JSON.
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter jsonConverter) {
+                jsonConverter.registerObjectMappersForType(Slice.class,
+                        mappers -> mappers.put(MediaType.APPLICATION_JSON, jsonConverter.getObjectMapper()));
+            }
+        }
+        converters.add(new ColumnarPageHttpMessageConverter(objectMapper,
+                jacksonObjectMapperBuilder.factory(new CBORFactory()).build()));
     }
 }
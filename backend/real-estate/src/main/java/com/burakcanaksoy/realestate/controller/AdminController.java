@@ -2,6 +2,8 @@ package com.burakcanaksoy.realestate.controller;
 
 import com.burakcanaksoy.realestate.response.*;
 import com.burakcanaksoy.realestate.service.AdminAnalyticsService;
+import com.burakcanaksoy.realestate.service.DuplicateListingDetector;
+import com.burakcanaksoy.realestate.service.ImageFingerprintService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +20,8 @@ public class AdminController {
     private final AdminAnalyticsService analyticsService;
     private final com.burakcanaksoy.realestate.service.UserService userService;
     private final com.burakcanaksoy.realestate.service.ActivityLogService activityLogService;
+    private final ImageFingerprintService imageFingerprintService;
+    private final DuplicateListingDetector duplicateListingDetector;
 
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
@@ -123,4 +127,28 @@ public class AdminController {
         List<CityDistributionDTO> distribution = analyticsService.getCityDistribution();
         return ResponseEntity.ok(distribution);
     }
+
+    /**
+     * Images that look nearly identical to a photo of another user's listing,
+     * newest first.
+     */
+    @GetMapping("/images/near-duplicates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<org.springframework.data.domain.Page<ImageResponse>> getNearDuplicateImages(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
+        return ResponseEntity.ok(imageFingerprintService.getFlaggedImages(pageable));
+    }
+
+    /**
+     * Pairs of listings with nearly the same title and description, most
+     * similar first.
+     */
+    @GetMapping("/listings/duplicates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DuplicateListingResponse>> getDuplicateListings(
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(duplicateListingDetector.getCandidates(Math.min(Math.max(limit, 1), 500)));
+    }
 }
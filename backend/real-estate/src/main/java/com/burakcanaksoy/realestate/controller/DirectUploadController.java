@@ -0,0 +1,31 @@
+package com.burakcanaksoy.realestate.controller;
+
+import com.burakcanaksoy.realestate.request.DirectUploadRequest;
+import com.burakcanaksoy.realestate.response.DirectUploadResponse;
+import com.burakcanaksoy.realestate.service.DirectUploadService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Direct-to-storage uploads of listing images and videos. Only available when
+ * media is kept in object storage.
+ */
+@RestController
+@RequestMapping("/api/media/direct-uploads")
+@RequiredArgsConstructor
+public class DirectUploadController {
+
+    private final DirectUploadService directUploadService;
+
+    @PostMapping
+    public ResponseEntity<DirectUploadResponse> prepareUpload(@RequestBody @Valid DirectUploadRequest request) {
+        return ResponseEntity.ok(directUploadService.prepare(request));
+    }
+
+    @PostMapping("/complete")
+    public ResponseEntity<?> completeUpload(@RequestBody @Valid DirectUploadRequest request) {
+        return ResponseEntity.ok(directUploadService.complete(request));
+    }
+}
@@ -1,16 +1,23 @@
 package com.burakcanaksoy.realestate.controller;
 
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.response.ImageResponse;
 import com.burakcanaksoy.realestate.service.FileStorageService;
+import com.burakcanaksoy.realestate.service.ImageRenditionService;
+import com.burakcanaksoy.realestate.service.MediaStreamingService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
 import java.util.List;
 
 @RestController
@@ -19,6 +26,8 @@ import java.util.List;
 public class ImageController {
 
     private final FileStorageService fileStorageService;
+    private final MediaStreamingService mediaStreamingService;
+    private final ImageRenditionService imageRenditionService;
 
     @PostMapping("/upload")
     public ResponseEntity<ImageResponse> uploadImage(
@@ -31,6 +40,25 @@ public class ImageController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Uploads several images in one request and returns the listing's full
+     * gallery in display order. primaryIndex picks the file, if any, that
+     * becomes the primary image.
+     */
+    @PostMapping("/upload/batch")
+    public ResponseEntity<List<ImageResponse>> uploadImages(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("listingId") Long listingId,
+            @RequestParam("listingType") String listingType,
+            @RequestParam(value = "primaryIndex", required = false) Integer primaryIndex) {
+
+        if (files.isEmpty() || (primaryIndex != null && (primaryIndex < 0 || primaryIndex >= files.size()))) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ImageResponse> gallery = fileStorageService.uploadImages(files, listingId, listingType, primaryIndex);
+        return ResponseEntity.ok(gallery);
+    }
+
     @GetMapping("/listing/{listingId}/{listingType}")
     public ResponseEntity<List<ImageResponse>> getListingImages(
             @PathVariable Long listingId,
@@ -46,48 +74,42 @@ public class ImageController {
         return ResponseEntity.ok("Image deleted successfully");
     }
 
+    /**
+     * Image bytes, streamed from disk. size is thumb, card or full (default).
+     * Renditions never change once stored, so clients may keep them for a year
+     * and revalidate with the ETag.
+     */
     @GetMapping("/view/{imageId}")
-    public ResponseEntity<byte[]> viewImage(@PathVariable Long imageId) {
+    public void viewImage(@PathVariable Long imageId, @RequestParam(value = "size", required = false) String size,
+            WebRequest webRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaStreamingService.MediaFile image;
         try {
-            Resource resource = fileStorageService.loadFileAsResource(imageId);
-            byte[] imageBytes = resource.getInputStream().readAllBytes();
-
-            String contentType = fileStorageService.getImageContentType(imageId);
-
-            // Eğer veritabanında kayıtlı type yoksa veya generic ise, dosyadan bulmaya
-            // çalış
-            if (contentType == null || "application/octet-stream".equals(contentType)) {
-                try {
-                    contentType = java.nio.file.Files.probeContentType(resource.getFile().toPath());
-                } catch (Exception e) {
-                    System.err.println("Could not probe content type: " + e.getMessage());
-                }
-
-                // Hala null ise uzantıdan tahmin et
-                if (contentType == null && resource.getFilename() != null) {
-                    String filename = resource.getFilename().toLowerCase();
-                    if (filename.endsWith(".jpg") || filename.endsWith(".jpeg"))
-                        contentType = "image/jpeg";
-                    else if (filename.endsWith(".png"))
-                        contentType = "image/png";
-                    else if (filename.endsWith(".gif"))
-                        contentType = "image/gif";
-                }
-            }
-
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
+            image = mediaStreamingService.resolveImage(imageId, ImageSize.fromParam(size));
+        } catch (EntityNotFoundException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (!image.immutable()) {
+            // Renditions still being generated, or the image predates them
+            imageRenditionService.generateAsync(imageId);
+        }
+        if (mediaStreamingService.redirect(image, response)) {
+            return;
+        }
 
-            System.out.println("Serving image ID=" + imageId + " Type=" + contentType + " Size=" + imageBytes.length);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, image.cacheControl());
+        if (webRequest.checkNotModified(image.etag(), image.lastModified())) {
+            return;
+        }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                    .body(imageBytes);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.notFound().build();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + image.path().getFileName() + "\"");
+        try {
+            mediaStreamingService.send(image, request, response);
+        } catch (NoSuchFileException e) {
+            // Removed behind our back, look it up again next time
+            mediaStreamingService.evictImage(imageId);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
         }
     }
 }
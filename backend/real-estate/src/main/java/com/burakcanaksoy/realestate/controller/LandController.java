@@ -1,13 +1,16 @@
 package com.burakcanaksoy.realestate.controller;
 
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.LandCreateRequest;
 import com.burakcanaksoy.realestate.request.LandFilterRequest;
 import com.burakcanaksoy.realestate.request.LandUpdateRequest;
 import com.burakcanaksoy.realestate.response.LandResponse;
 import com.burakcanaksoy.realestate.service.LandService;
+import com.burakcanaksoy.realestate.service.ListingResponseCache;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,13 +32,15 @@ public class LandController {
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<LandResponse>> getAllLandsPage(Pageable pageable) {
-        return new ResponseEntity<>(this.landService.getAllLands(pageable), HttpStatus.OK);
+    public ResponseEntity<Page<LandResponse>> getAllLandsPage(Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.landService.getAllLands(pageable, countMode), HttpStatus.OK);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<LandResponse>> search(@ModelAttribute LandFilterRequest filter, Pageable pageable) {
-        return new ResponseEntity<>(this.landService.search(filter, pageable), HttpStatus.OK);
+    public ResponseEntity<Page<LandResponse>> search(@ModelAttribute LandFilterRequest filter,
+            Pageable pageable, @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.landService.search(filter, pageable, countMode), HttpStatus.OK);
     }
 
     @PostMapping()
@@ -45,8 +50,15 @@ public class LandController {
 
     @GetMapping("/{landId}")
     public ResponseEntity<LandResponse> getLandById(@PathVariable Long landId) {
+        LandResponse response = this.landService.getLandById(landId);
         this.landService.incrementViewCount(landId);
-        return new ResponseEntity<>(this.landService.getLandById(landId), HttpStatus.OK);
+        String etag = ListingResponseCache.etag(landId, response.getUpdatedAt());
+        if (etag == null) {
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        // Answered with 304 and no body when the request's validators still match
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .lastModified(ListingResponseCache.lastModified(response.getUpdatedAt())).body(response);
     }
 
     @DeleteMapping("/{landId}")
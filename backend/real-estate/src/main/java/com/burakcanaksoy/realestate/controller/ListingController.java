@@ -1,28 +1,46 @@
 package com.burakcanaksoy.realestate.controller;
 
+import com.burakcanaksoy.realestate.request.FacetFilterRequest;
 import com.burakcanaksoy.realestate.request.GeneralFilterRequest;
 import com.burakcanaksoy.realestate.response.BaseListingResponse;
 import com.burakcanaksoy.realestate.response.CategoryStatsResponse;
+import com.burakcanaksoy.realestate.response.FacetCountsResponse;
+import com.burakcanaksoy.realestate.response.ListingCardResponse;
+import com.burakcanaksoy.realestate.response.ListingDetailResponse;
 import com.burakcanaksoy.realestate.response.VideoResponse;
+import com.burakcanaksoy.realestate.service.FacetIndexService;
 import com.burakcanaksoy.realestate.service.FileStorageService;
+import com.burakcanaksoy.realestate.service.ListingCardProjection;
+import com.burakcanaksoy.realestate.service.ListingDetailService;
+import com.burakcanaksoy.realestate.service.ListingFeedService;
 import com.burakcanaksoy.realestate.service.ListingService;
+import com.burakcanaksoy.realestate.service.MediaStreamingService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.core.io.support.ResourceRegion;
-import org.springframework.core.io.UrlResource;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import com.burakcanaksoy.realestate.repository.UserRepository;
 import com.burakcanaksoy.realestate.model.User;
@@ -34,27 +52,94 @@ import org.springframework.security.core.Authentication;
 @Slf4j
 public class ListingController {
 
+    // Async interceptor key of the feed slot held by a request
+    private static final String FEED_SLOT = ListingController.class.getName() + ".FEED_SLOT";
+
     private final ListingService listingService;
     private final FileStorageService fileStorageService;
     private final UserRepository userRepository;
+    private final FacetIndexService facetIndexService;
+    private final MediaStreamingService mediaStreamingService;
+    private final ListingDetailService listingDetailService;
+    private final ListingFeedService listingFeedService;
 
     @GetMapping
     public ResponseEntity<List<BaseListingResponse>> getAllListings() {
         return ResponseEntity.ok(listingService.getAllListings());
     }
 
+    /**
+     * With fields (comma separated, e.g. fields=title,price,city,imageUrl)
+     * each listing is a card holding only those fields.
+     */
     @GetMapping("/page")
-    public ResponseEntity<Page<BaseListingResponse>> getAllListings(Pageable pageable) {
+    public ResponseEntity<Page<?>> getAllListings(@RequestParam(value = "fields", required = false) String fields,
+            Pageable pageable) {
+        if (fields != null) {
+            return ResponseEntity.ok(listingService.getCards(ListingCardProjection.parseFields(fields), pageable));
+        }
         return ResponseEntity.ok(listingService.getAllListings(pageable));
     }
 
+    // fields works as on /page
     @GetMapping("/search")
-    public ResponseEntity<Page<BaseListingResponse>> search(@ModelAttribute GeneralFilterRequest filter,
-            Pageable pageable) {
+    public ResponseEntity<Page<?>> search(@ModelAttribute GeneralFilterRequest filter,
+            @RequestParam(value = "fields", required = false) String fields, Pageable pageable) {
         log.info("Search request received. Filter: {}", filter);
+        if (fields != null) {
+            return ResponseEntity.ok(
+                    listingService.searchCards(filter, ListingCardProjection.parseFields(fields), pageable));
+        }
         return ResponseEntity.ok(listingService.search(filter, pageable));
     }
 
+    /**
+     * Grid cards: search with the compact card fields unless fields selects
+     * others.
+     */
+    @GetMapping("/cards")
+    public ResponseEntity<Page<ListingCardResponse>> getCards(@ModelAttribute GeneralFilterRequest filter,
+            @RequestParam(value = "fields", required = false) String fields, Pageable pageable) {
+        return ResponseEntity.ok(
+                listingService.searchCards(filter, ListingCardProjection.parseFields(fields), pageable));
+    }
+
+    /**
+     * Every listing as NDJSON, streamed from a database cursor for partner
+     * exports; with updatedSince (ISO date-time) the listings changed since
+     * shortly before then, for incremental syncs. Requires a signed-in
+     * client. Answers 503 with Retry-After while the maximum number of
+     * exports is running.
+     */
+    @GetMapping(value = "/feed", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getFeed(@RequestParam(value = "updatedSince", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            HttpServletRequest request) {
+        Runnable releaseSlot = listingFeedService.acquireSlot();
+        // Also when the request ends, as the export may never run: rejected by
+        // the executor, timed out or the client gone before it started
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(FEED_SLOT,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        releaseSlot.run();
+                    }
+                });
+        StreamingResponseBody body = out -> {
+            try {
+                listingFeedService.writeFeed(updatedSince, out);
+            } finally {
+                releaseSlot.run();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetCountsResponse> getFacetCounts(@ModelAttribute FacetFilterRequest filter) {
+        return ResponseEntity.ok(facetIndexService.getFacetCounts(filter));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<List<CategoryStatsResponse>> getCategoryStats() {
         return ResponseEntity.ok(listingService.getCategoryStats());
@@ -69,6 +154,33 @@ public class ListingController {
         return ResponseEntity.ok(listingService.getListingsByOwnerId(user.getId()));
     }
 
+    /**
+     * Everything the detail page needs in one response, gathered in parallel,
+     * counting one view. Parts that could not be loaded are listed in
+     * unavailable. Complete responses carry an ETag for revalidation.
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<ListingDetailResponse> getListingDetail(@PathVariable Long id,
+            @RequestParam("listingType") String listingType, WebRequest webRequest) {
+        ListingDetailResponse detail;
+        try {
+            detail = listingDetailService.getDetail(id, listingType);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Private: the favorite flag depends on the visitor
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        String etag = listingDetailService.etag(detail);
+        if (etag == null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(detail);
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(etag).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).eTag(etag).body(detail);
+    }
+
     @PostMapping("/{id}/videos")
     public ResponseEntity<VideoResponse> uploadVideo(@PathVariable Long id,
             @RequestParam("file") MultipartFile file,
@@ -88,49 +200,35 @@ public class ListingController {
         return ResponseEntity.ok(fileStorageService.getListingVideos(id, listingType));
     }
 
+    /**
+     * Video bytes with single and multi-range support for seeking players.
+     * Metadata is cached after the first request, so playback does not hit
+     * the database.
+     */
     @GetMapping("/videos/{videoId}")
-    public ResponseEntity<?> getVideo(@PathVariable Long videoId, @RequestHeader HttpHeaders headers) {
+    public void getVideo(@PathVariable Long videoId, WebRequest webRequest, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        MediaStreamingService.MediaFile video;
         try {
-            log.info("Requesting video with ID: {}", videoId);
-            List<HttpRange> ranges = headers.getRange();
-            log.info("Range header: {}", ranges);
-
-            Resource resource = fileStorageService.loadVideoAsResource(videoId);
-            String contentType = fileStorageService.getVideoContentType(videoId);
-            long contentLength = resource.contentLength();
-
-            log.info("Video resource loaded. Content-Type: {}, Content-Length: {}", contentType, contentLength);
-
-            // If no range header is present, return the full video
-            if (ranges.isEmpty()) {
-                log.info("Serving full video content for ID: {}", videoId);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .contentLength(contentLength)
-                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
-                        .body(resource);
-            }
+            video = mediaStreamingService.resolveVideo(videoId);
+        } catch (EntityNotFoundException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        if (mediaStreamingService.redirect(video, response)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, video.cacheControl());
+        if (webRequest.checkNotModified(video.etag(), video.lastModified())) {
+            return;
+        }
 
-            // Handle range request
-            HttpRange range = ranges.get(0);
-            long start = range.getRangeStart(contentLength);
-            long end = range.getRangeEnd(contentLength);
-            long rangeLength = end - start + 1;
-
-            ResourceRegion region = new ResourceRegion(resource, start, rangeLength);
-
-            log.info("Serving partial content for ID: {}. Range: {}-{}", videoId, start, end);
-
-            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .contentLength(rangeLength)
-                    .header("Content-Range", "bytes " + start + "-" + end + "/" + contentLength)
-                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
-                    .body(region);
-        } catch (Exception e) {
-            log.error("Error serving video {}: {}", videoId, e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error loading video: " + e.getMessage());
+        try {
+            mediaStreamingService.sendRanges(video, request, response);
+        } catch (NoSuchFileException e) {
+            mediaStreamingService.evictVideo(videoId);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
         }
     }
 }
\ No newline at end of file
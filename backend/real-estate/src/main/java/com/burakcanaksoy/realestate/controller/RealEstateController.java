@@ -1,13 +1,16 @@
 package com.burakcanaksoy.realestate.controller;
 
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.RealEstateCreateRequest;
 import com.burakcanaksoy.realestate.request.RealEstateFilterRequest;
 import com.burakcanaksoy.realestate.request.RealEstateUpdateRequest;
 import com.burakcanaksoy.realestate.response.RealEstateResponse;
+import com.burakcanaksoy.realestate.service.ListingResponseCache;
 import com.burakcanaksoy.realestate.service.RealEstateService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,14 +32,15 @@ public class RealEstateController {
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<RealEstateResponse>> getAllRealEstatesPage(Pageable pageable) {
-        return new ResponseEntity<>(this.realEstateService.getAllRealEstates(pageable), HttpStatus.OK);
+    public ResponseEntity<Page<RealEstateResponse>> getAllRealEstatesPage(Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.realEstateService.getAllRealEstates(pageable, countMode), HttpStatus.OK);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<RealEstateResponse>> search(@ModelAttribute RealEstateFilterRequest filter,
-            Pageable pageable) {
-        return new ResponseEntity<>(this.realEstateService.search(filter, pageable), HttpStatus.OK);
+            Pageable pageable, @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.realEstateService.search(filter, pageable, countMode), HttpStatus.OK);
     }
 
     @PostMapping()
@@ -48,8 +52,15 @@ public class RealEstateController {
 
     @GetMapping("/{realEstateId}")
     public ResponseEntity<RealEstateResponse> getRealEstateById(@PathVariable Long realEstateId) {
+        RealEstateResponse response = this.realEstateService.getRealEstateById(realEstateId);
         this.realEstateService.incrementViewCount(realEstateId);
-        return new ResponseEntity<>(this.realEstateService.getRealEstateById(realEstateId), HttpStatus.OK);
+        String etag = ListingResponseCache.etag(realEstateId, response.getUpdatedAt());
+        if (etag == null) {
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        // Answered with 304 and no body when the request's validators still match
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .lastModified(ListingResponseCache.lastModified(response.getUpdatedAt())).body(response);
     }
 
     @DeleteMapping("/{realEstateId}")
@@ -3,6 +3,7 @@ package com.burakcanaksoy.realestate.controller;
 import com.burakcanaksoy.realestate.model.User;
 import com.burakcanaksoy.realestate.repository.UserRepository;
 import com.burakcanaksoy.realestate.request.AdvancedSearchRequest;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.SavedSearchRequest;
 import com.burakcanaksoy.realestate.response.BaseListingResponse;
 import com.burakcanaksoy.realestate.response.SavedSearchResponse;
@@ -31,12 +32,16 @@ public class SearchController {
      * Advanced search with full-text, geospatial, and multi-criteria filtering
      * GET
      * /api/search/advanced?query=istanbul&city=Istanbul&minPrice=100000&maxPrice=500000&page=0&size=20
+     * count=ESTIMATED or count=NONE skips the exact COUNT(*) of the matches
+     * attributes[color]=kirmizi&attributes[heavyDamage]=false filters on type-specific attributes
+     * when the attribute store is enabled
      */
     @GetMapping("/advanced")
     public ResponseEntity<Page<BaseListingResponse>> advancedSearch(
             @ModelAttribute AdvancedSearchRequest request,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode,
             Pageable pageable) {
-        return ResponseEntity.ok(advancedSearchService.advancedSearch(request, pageable));
+        return ResponseEntity.ok(advancedSearchService.advancedSearch(request, pageable, countMode));
     }
 
     /**
@@ -57,8 +62,10 @@ public class SearchController {
             @RequestParam("lat") Double latitude,
             @RequestParam("lng") Double longitude,
             @RequestParam(value = "radius", defaultValue = "5") Double radiusKm,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode,
             Pageable pageable) {
-        return ResponseEntity.ok(advancedSearchService.searchNearby(latitude, longitude, radiusKm, pageable));
+        return ResponseEntity.ok(advancedSearchService.searchNearby(latitude, longitude, radiusKm, pageable,
+                countMode));
     }
 
     /**
@@ -123,28 +130,16 @@ public class SearchController {
 
     /**
      * Execute a saved search (get results for a saved search)
-     * GET /api/search/saved/{id}/execute
+     * GET /api/search/saved/{id}/execute?onlyNew=true
      */
     @GetMapping("/saved/{id}/execute")
     public ResponseEntity<Page<BaseListingResponse>> executeSavedSearch(
             @PathVariable Long id,
+            @RequestParam(value = "onlyNew", defaultValue = "false") boolean onlyNew,
             Authentication authentication,
             Pageable pageable) {
         User user = getUserFromAuthentication(authentication);
-        SavedSearchResponse savedSearch = savedSearchService.getSavedSearch(id, user.getId());
-
-        // Convert saved criteria to AdvancedSearchRequest
-        AdvancedSearchRequest request = new AdvancedSearchRequest();
-        // Map the criteria from savedSearch to request
-        if (savedSearch.getSearchCriteria() != null) {
-            // This is a simplified mapping - in production, you'd want more robust
-            // conversion
-            request.setQuery((String) savedSearch.getSearchCriteria().get("query"));
-            request.setCity((String) savedSearch.getSearchCriteria().get("city"));
-            request.setDistrict((String) savedSearch.getSearchCriteria().get("district"));
-        }
-
-        return ResponseEntity.ok(advancedSearchService.advancedSearch(request, pageable));
+        return ResponseEntity.ok(savedSearchService.executeSavedSearch(id, user.getId(), onlyNew, pageable));
     }
 
     private User getUserFromAuthentication(Authentication authentication) {
@@ -1,13 +1,16 @@
 package com.burakcanaksoy.realestate.controller;
 
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.VehicleCreateRequest;
 import com.burakcanaksoy.realestate.request.VehicleFilterRequest;
 import com.burakcanaksoy.realestate.request.VehicleUpdateRequest;
 import com.burakcanaksoy.realestate.response.VehicleResponse;
+import com.burakcanaksoy.realestate.service.ListingResponseCache;
 import com.burakcanaksoy.realestate.service.VehicleService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,14 +32,15 @@ public class VehicleController {
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<VehicleResponse>> getAllVehiclesPage(Pageable pageable) {
-        return new ResponseEntity<>(this.vehicleService.getAllVehicles(pageable), HttpStatus.OK);
+    public ResponseEntity<Page<VehicleResponse>> getAllVehiclesPage(Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.vehicleService.getAllVehicles(pageable, countMode), HttpStatus.OK);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<VehicleResponse>> search(@ModelAttribute VehicleFilterRequest filter,
-            Pageable pageable) {
-        return new ResponseEntity<>(this.vehicleService.search(filter, pageable), HttpStatus.OK);
+            Pageable pageable, @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.vehicleService.search(filter, pageable, countMode), HttpStatus.OK);
     }
 
     @PostMapping()
@@ -47,8 +51,15 @@ public class VehicleController {
 
     @GetMapping("/{vehicleId}")
     public ResponseEntity<VehicleResponse> getVehicleById(@PathVariable Long vehicleId) {
+        VehicleResponse response = this.vehicleService.getVehicleById(vehicleId);
         this.vehicleService.incrementViewCount(vehicleId);
-        return new ResponseEntity<>(this.vehicleService.getVehicleById(vehicleId), HttpStatus.OK);
+        String etag = ListingResponseCache.etag(vehicleId, response.getUpdatedAt());
+        if (etag == null) {
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        // Answered with 304 and no body when the request's validators still match
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .lastModified(ListingResponseCache.lastModified(response.getUpdatedAt())).body(response);
     }
 
     @DeleteMapping("/{vehicleId}")
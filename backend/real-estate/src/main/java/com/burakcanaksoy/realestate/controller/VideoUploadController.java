@@ -0,0 +1,75 @@
+package com.burakcanaksoy.realestate.controller;
+
+import com.burakcanaksoy.realestate.exception.UploadOffsetException;
+import com.burakcanaksoy.realestate.request.VideoUploadStartRequest;
+import com.burakcanaksoy.realestate.response.VideoResponse;
+import com.burakcanaksoy.realestate.response.VideoUploadResponse;
+import com.burakcanaksoy.realestate.service.VideoUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Resumable video upload: start a session, PATCH chunks with their byte
+ * offset in the Upload-Offset header, then complete with the SHA-256 of the
+ * whole file. After a dropped connection the client reads the session to
+ * find where to resume.
+ */
+@RestController
+@RequestMapping("/api/listings/{listingId}/videos/uploads")
+@RequiredArgsConstructor
+public class VideoUploadController {
+
+    private final VideoUploadService videoUploadService;
+
+    @PostMapping
+    public ResponseEntity<VideoUploadResponse> startUpload(@PathVariable Long listingId,
+            @RequestBody @Valid VideoUploadStartRequest request, Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(videoUploadService.start(listingId, request, authentication.getName()));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<VideoUploadResponse> getUpload(@PathVariable String uploadId,
+            Authentication authentication) {
+        return ResponseEntity.ok(videoUploadService.status(uploadId, username(authentication)));
+    }
+
+    /**
+     * Appends the raw request body at the given offset. Responds with the new
+     * offset, or 409 with the current one when the chunk starts past it.
+     */
+    @PatchMapping("/{uploadId}")
+    public ResponseEntity<Void> uploadChunk(@PathVariable String uploadId,
+            @RequestHeader(UploadOffsetException.HEADER) long offset, HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        long received = videoUploadService.writeChunk(uploadId, authentication.getName(), offset,
+                request.getInputStream());
+        return ResponseEntity.noContent()
+                .header(UploadOffsetException.HEADER, String.valueOf(received))
+                .build();
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<VideoResponse> completeUpload(@PathVariable String uploadId,
+            @RequestParam("sha256") String sha256, Authentication authentication) {
+        return ResponseEntity.ok(videoUploadService.complete(uploadId, authentication.getName(), sha256));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> cancelUpload(@PathVariable String uploadId, Authentication authentication) {
+        videoUploadService.cancel(uploadId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    // GET is open to anonymous users, who own no uploads
+    private static String username(Authentication authentication) {
+        return authentication != null ? authentication.getName() : null;
+    }
+}
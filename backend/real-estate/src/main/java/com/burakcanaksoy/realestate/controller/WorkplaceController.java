@@ -1,13 +1,16 @@
 package com.burakcanaksoy.realestate.controller;
 
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.WorkplaceCreateRequest;
 import com.burakcanaksoy.realestate.request.WorkplaceFilterRequest;
 import com.burakcanaksoy.realestate.request.WorkplaceUpdateRequest;
 import com.burakcanaksoy.realestate.response.WorkplaceResponse;
+import com.burakcanaksoy.realestate.service.ListingResponseCache;
 import com.burakcanaksoy.realestate.service.WorkplaceService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,14 +32,15 @@ public class WorkplaceController {
     }
 
     @GetMapping("/page")
-    public ResponseEntity<Page<WorkplaceResponse>> getAllWorkplacePage(Pageable pageable) {
-        return new ResponseEntity<>(this.workplaceService.getAllWorkplaces(pageable), HttpStatus.OK);
+    public ResponseEntity<Page<WorkplaceResponse>> getAllWorkplacePage(Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.workplaceService.getAllWorkplaces(pageable, countMode), HttpStatus.OK);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<WorkplaceResponse>> searchWorkplaces(@ModelAttribute WorkplaceFilterRequest filter,
-            Pageable pageable) {
-        return new ResponseEntity<>(this.workplaceService.search(filter, pageable), HttpStatus.OK);
+            Pageable pageable, @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return new ResponseEntity<>(this.workplaceService.search(filter, pageable, countMode), HttpStatus.OK);
     }
 
     @PostMapping()
@@ -47,8 +51,15 @@ public class WorkplaceController {
 
     @GetMapping("/{workplaceId}")
     public ResponseEntity<WorkplaceResponse> getWorkplaceById(@PathVariable Long workplaceId) {
+        WorkplaceResponse response = this.workplaceService.getWorkplaceById(workplaceId);
         this.workplaceService.incrementViewCount(workplaceId);
-        return new ResponseEntity<>(this.workplaceService.getWorkplaceById(workplaceId), HttpStatus.OK);
+        String etag = ListingResponseCache.etag(workplaceId, response.getUpdatedAt());
+        if (etag == null) {
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        // Answered with 304 and no body when the request's validators still match
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag)
+                .lastModified(ListingResponseCache.lastModified(response.getUpdatedAt())).body(response);
     }
 
     @DeleteMapping("/{workplaceId}")
@@ -0,0 +1,51 @@
+package com.burakcanaksoy.realestate.event;
+
+import com.burakcanaksoy.realestate.model.BaseListing;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Published by the listing services after a listing is created, updated or
+ * deleted. In-memory indexes and caches listen to it to stay in sync with the
+ * database.
+ */
+@Getter
+@AllArgsConstructor
+public class ListingChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final BaseListing listing;
+    private final String listingType; // REAL_ESTATE, VEHICLE, LAND, WORKPLACE
+    private final ChangeType changeType;
+    private final BigDecimal previousPrice; // only set for updates
+    private final String previousCity; // only set for updates
+
+    public static ListingChangedEvent created(BaseListing listing, String listingType) {
+        return new ListingChangedEvent(listing, listingType, ChangeType.CREATED, null, null);
+    }
+
+    public static ListingChangedEvent updated(BaseListing listing, String listingType, BigDecimal previousPrice,
+            String previousCity) {
+        return new ListingChangedEvent(listing, listingType, ChangeType.UPDATED, previousPrice, previousCity);
+    }
+
+    public static ListingChangedEvent deleted(BaseListing listing, String listingType) {
+        return new ListingChangedEvent(listing, listingType, ChangeType.DELETED, null, null);
+    }
+
+    public Long getListingId() {
+        return listing.getId();
+    }
+
+    public boolean isPriceChanged() {
+        return previousPrice != null && listing.getPrice() != null
+                && previousPrice.compareTo(listing.getPrice()) != 0;
+    }
+}
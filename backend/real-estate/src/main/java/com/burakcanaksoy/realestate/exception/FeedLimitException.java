@@ -0,0 +1,18 @@
+package com.burakcanaksoy.realestate.exception;
+
+import lombok.Getter;
+
+/**
+ * Every slot for a listing feed export is taken. The client retries after
+ * the given number of seconds.
+ */
+@Getter
+public class FeedLimitException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public FeedLimitException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -4,7 +4,9 @@ import com.burakcanaksoy.realestate.response.ValidationErrorResponse;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
@@ -170,4 +172,57 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
-}
\ No newline at end of file
+    @ExceptionHandler(UploadOffsetException.class)
+    public ResponseEntity<ValidationErrorResponse> handleUploadOffset(UploadOffsetException ex) {
+
+        ValidationErrorResponse errorResponse = new ValidationErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                null,
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(UploadOffsetException.HEADER, String.valueOf(ex.getCurrentOffset()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<ValidationErrorResponse> handleInvalidUpload(InvalidUploadException ex) {
+
+        ValidationErrorResponse errorResponse = new ValidationErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null,
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(FeedLimitException.class)
+    public ResponseEntity<ValidationErrorResponse> handleFeedLimit(FeedLimitException ex) {
+
+        ValidationErrorResponse errorResponse = new ValidationErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null,
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidSearchException.class)
+    public ResponseEntity<ValidationErrorResponse> handleInvalidSearch(InvalidSearchException ex) {
+
+        ValidationErrorResponse errorResponse = new ValidationErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null,
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.burakcanaksoy.realestate.exception;
+
+public class InvalidUploadException extends RuntimeException {
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
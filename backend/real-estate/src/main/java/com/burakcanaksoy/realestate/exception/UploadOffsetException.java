@@ -0,0 +1,21 @@
+package com.burakcanaksoy.realestate.exception;
+
+import lombok.Getter;
+
+/**
+ * A chunk or completion that does not match the bytes received so far. The
+ * client resumes from the current offset.
+ */
+@Getter
+public class UploadOffsetException extends RuntimeException {
+
+    // Request and response header carrying a chunk offset
+    public static final String HEADER = "Upload-Offset";
+
+    private final long currentOffset;
+
+    public UploadOffsetException(String message, long currentOffset) {
+        super(message);
+        this.currentOffset = currentOffset;
+    }
+}
@@ -37,18 +37,21 @@ public class BaseListingMapper {
             System.out.println("DEBUG: Listing " + listing.getId() + " has no creator!");
         }
 
+        response.setListingType(listingTypeOf(listing));
+
+        return response;
+    }
+
+    public static String listingTypeOf(BaseListing listing) {
         if (listing instanceof Land) {
-            response.setListingType("LAND");
+            return "LAND";
         } else if (listing instanceof RealEstate) {
-            response.setListingType("REAL_ESTATE");
+            return "REAL_ESTATE";
         } else if (listing instanceof Vehicle) {
-            response.setListingType("VEHICLE");
+            return "VEHICLE";
         } else if (listing instanceof Workplace) {
-            response.setListingType("WORKPLACE");
-        } else {
-            response.setListingType("UNKNOWN");
+            return "WORKPLACE";
         }
-
-        return response;
+        return "UNKNOWN";
     }
-}
\ No newline at end of file
+}
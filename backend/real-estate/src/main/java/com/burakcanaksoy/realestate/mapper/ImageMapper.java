@@ -1,6 +1,7 @@
 package com.burakcanaksoy.realestate.mapper;
 
 import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.response.ImageResponse;
 
 public class ImageMapper {
@@ -19,7 +20,12 @@ public class ImageMapper {
         response.setIsPrimary(image.getIsPrimary());
         response.setDisplayOrder(image.getDisplayOrder());
         response.setCreatedAt(image.getCreatedAt());
+        response.setNearDuplicateOf(image.getNearDuplicateOf());
 
         return response;
     }
+
+    public static String viewUrl(Long imageId, ImageSize size) {
+        return "/api/images/view/" + imageId + "?size=" + size.getParam();
+    }
 }
@@ -0,0 +1,85 @@
+package com.burakcanaksoy.realestate.mapper;
+
+import com.burakcanaksoy.realestate.model.BaseListing;
+import lombok.experimental.UtilityClass;
+import org.hibernate.Hibernate;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@UtilityClass
+public class ListingAttributesMapper {
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    /**
+     * Type-specific attributes of a listing for the JSONB attribute store:
+     * every non-null field declared on its own subtype (vehicle color,
+     * real estate elevator and so on), keyed by field name. Values are kept
+     * as normalized strings so filters match them by plain containment.
+     */
+    public static Map<String, String> toAttributes(BaseListing listing) {
+        Object entity = Hibernate.unproxy(listing);
+        Map<String, String> attributes = new TreeMap<>();
+        for (Field field : FIELDS.computeIfAbsent(entity.getClass(), ListingAttributesMapper::attributeFields)) {
+            String value;
+            try {
+                value = normalizeValue(field.get(entity));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read listing attribute " + field.getName(), e);
+            }
+            if (value != null) {
+                attributes.put(field.getName(), value);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Attribute filters in the stored form. Blank keys and values are dropped.
+     */
+    public static Map<String, String> normalize(Map<String, ?> filters) {
+        Map<String, String> normalized = new TreeMap<>();
+        if (filters != null) {
+            filters.forEach((key, value) -> {
+                String text = normalizeValue(value);
+                if (key != null && !key.isBlank() && text != null) {
+                    normalized.put(key.trim(), text);
+                }
+            });
+        }
+        return normalized;
+    }
+
+    private static String normalizeValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text;
+        if (value instanceof Enum<?> constant) {
+            text = constant.name();
+        } else if (value instanceof BigDecimal decimal) {
+            text = decimal.stripTrailingZeros().toPlainString();
+        } else {
+            text = value.toString();
+        }
+        text = text.trim().toLowerCase(Locale.ROOT);
+        return text.isEmpty() ? null : text;
+    }
+
+    private static List<Field> attributeFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                    || field.isSynthetic()) {
+                continue;
+            }
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        return fields;
+    }
+}
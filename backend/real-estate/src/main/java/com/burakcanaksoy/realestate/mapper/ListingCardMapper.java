@@ -0,0 +1,40 @@
+package com.burakcanaksoy.realestate.mapper;
+
+import com.burakcanaksoy.realestate.model.ListingCard;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.response.BaseListingResponse;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class ListingCardMapper {
+
+    public static BaseListingResponse toResponse(ListingCard card) {
+        BaseListingResponse response = new BaseListingResponse();
+        response.setId(card.getId());
+        response.setTitle(card.getTitle());
+        response.setDescription(card.getSummary());
+        response.setPrice(card.getPrice());
+        response.setCurrency(card.getCurrency().name());
+        response.setCity(card.getCity());
+        response.setDistrict(card.getDistrict());
+        response.setCategorySlug(card.getCategorySlug());
+        response.setCategoryName(card.getCategoryName());
+        response.setStatus(card.getStatus());
+        response.setOfferType(card.getOfferType());
+        response.setCreatedAt(card.getCreatedAt());
+        response.setUpdatedAt(card.getUpdatedAt());
+        response.setCreatedByUsername(card.getOwnerUsername());
+        response.setListingType(card.getListingType());
+        response.setViewCount(card.getViewCount());
+        response.setFavoriteCount(card.getFavoriteCount());
+
+        if (card.getPrimaryImageId() != null) {
+            response.setImageUrl(ImageMapper.viewUrl(card.getPrimaryImageId(), ImageSize.CARD));
+        }
+        if (card.getFirstVideoId() != null) {
+            response.setVideoUrl("/api/listings/videos/" + card.getFirstVideoId());
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.burakcanaksoy.realestate.mapper;
+
+import com.burakcanaksoy.realestate.request.AdvancedSearchRequest;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.experimental.UtilityClass;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@UtilityClass
+public class SavedSearchCriteriaMapper {
+
+    private static final ObjectMapper CRITERIA_MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+            .build();
+
+    /**
+     * Converts the JSONB criteria of a saved search into a typed search request.
+     * Blank values are dropped, unknown keys are ignored and values of the wrong
+     * type fail with an IllegalArgumentException.
+     */
+    public static AdvancedSearchRequest toRequest(Map<String, Object> criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return new AdvancedSearchRequest();
+        }
+        Map<String, Object> cleaned = new LinkedHashMap<>();
+        criteria.forEach((key, value) -> {
+            if (value != null && !value.toString().isBlank()) {
+                cleaned.put(key, value);
+            }
+        });
+        return CRITERIA_MAPPER.convertValue(cleaned, AdvancedSearchRequest.class);
+    }
+}
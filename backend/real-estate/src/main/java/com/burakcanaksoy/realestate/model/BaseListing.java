@@ -4,13 +4,15 @@ import com.burakcanaksoy.realestate.model.enums.Currency;
 import com.burakcanaksoy.realestate.model.enums.ListingStatus;
 import com.burakcanaksoy.realestate.model.enums.OfferType;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "listings")
+@Table(name = "listings", indexes = @Index(name = "idx_listings_created_at_id", columnList = "created_at, id"))
 @Inheritance(strategy = InheritanceType.JOINED)
 @Data
 public abstract class BaseListing {
@@ -66,14 +68,26 @@ public abstract class BaseListing {
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
+    // Subtype of the listing kept on the base row, so mixed-type reads can go straight to the subtype's table
+    @Column(name = "listing_type", length = 20, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private String listingType;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * The listing type stored in listing_type: REAL_ESTATE, VEHICLE, LAND or
+     * WORKPLACE.
+     */
+    protected abstract String typeName();
+
     @PrePersist
     protected void onCreate() {
+        this.listingType = typeName();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = this.createdAt;
     }
@@ -1,5 +1,6 @@
 package com.burakcanaksoy.realestate.model;
 
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,6 +25,10 @@ public class Image {
     @Column(nullable = false)
     private String filePath;
 
+    // Digest of the shared MediaBlob holding the file, null for files stored per upload
+    @Column(name = "blob_digest", length = 64)
+    private String blobDigest;
+
     @Column(nullable = false)
     private String fileType;
 
@@ -42,9 +47,35 @@ public class Image {
     @Column(name = "display_order")
     private Integer displayOrder = 0;
 
+    // Resized JPEG renditions, null until generated
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+
+    @Column(name = "card_path")
+    private String cardPath;
+
+    @Column(name = "full_path")
+    private String fullPath;
+
+    // 64-bit difference hash of the picture, null until renditions are generated
+    @Column(name = "perceptual_hash")
+    private Long perceptualHash;
+
+    // Image of another user's listing this one looks nearly identical to
+    @Column(name = "near_duplicate_of")
+    private Long nearDuplicateOf;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    public String getRenditionPath(ImageSize size) {
+        return switch (size) {
+            case THUMB -> thumbnailPath;
+            case CARD -> cardPath;
+            case FULL -> fullPath;
+        };
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
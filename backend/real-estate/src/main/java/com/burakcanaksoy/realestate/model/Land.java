@@ -55,4 +55,9 @@ public class Land extends BaseListing {
     @Enumerated(EnumType.STRING)
     @Column(length = 10)
     private YesNo exchange;
+
+    @Override
+    protected String typeName() {
+        return "LAND";
+    }
 }
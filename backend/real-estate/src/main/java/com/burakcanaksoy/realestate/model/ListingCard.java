@@ -0,0 +1,103 @@
+package com.burakcanaksoy.realestate.model;
+
+import com.burakcanaksoy.realestate.model.enums.Currency;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.model.enums.OfferType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat copy of what list and search pages show of a listing, one row per
+ * listing with the same id. Written only by ListingCardService from the
+ * listings tables; reading a page needs no joins across the listing
+ * hierarchy, categories, users, images or videos.
+ */
+@Entity
+@Table(name = "listing_cards", indexes = {
+        @Index(name = "idx_listing_cards_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_listing_cards_type_created_at_id", columnList = "listing_type, created_at, id"),
+        @Index(name = "idx_listing_cards_city_created_at_id", columnList = "city_key, created_at, id"),
+        @Index(name = "idx_listing_cards_owner_created_at_id", columnList = "owner_id, created_at, id"),
+        @Index(name = "idx_listing_cards_updated_at_id", columnList = "updated_at, id")
+})
+@Data
+@NoArgsConstructor
+public class ListingCard {
+
+    // The listing's id, not generated
+    @Id
+    private Long id;
+
+    @Column(name = "listing_type", nullable = false, length = 20)
+    private String listingType;
+
+    @Column(nullable = false, length = 150)
+    private String title;
+
+    // Start of the description, enough for a two line excerpt
+    @Column(length = 300)
+    private String summary;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Currency currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ListingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "offer_type", length = 20)
+    private OfferType offerType;
+
+    @Column(nullable = false, length = 50)
+    private String city;
+
+    @Column(nullable = false, length = 50)
+    private String district;
+
+    // Lower-cased city and district, matched by the case-insensitive filters
+    @Column(name = "city_key", nullable = false, length = 50)
+    private String cityKey;
+
+    @Column(name = "district_key", nullable = false, length = 50)
+    private String districtKey;
+
+    @Column(name = "category_slug", nullable = false)
+    private String categorySlug;
+
+    @Column(name = "category_name", nullable = false)
+    private String categoryName;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "owner_username", nullable = false)
+    private String ownerUsername;
+
+    // First image and video in display order
+    @Column(name = "primary_image_id")
+    private Long primaryImageId;
+
+    @Column(name = "first_video_id")
+    private Long firstVideoId;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount = 0L;
+
+    @Column(name = "favorite_count", nullable = false)
+    private Long favoriteCount = 0L;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.burakcanaksoy.realestate.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An uploaded file stored once under the SHA-256 digest of its content and
+ * shared by every Image or Video row with the same bytes.
+ */
+@Entity
+@Table(name = "media_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Lower-case hex SHA-256 of the content
+    @Column(nullable = false, unique = true, length = 64)
+    private String digest;
+
+    @Column(name = "storage_path", nullable = false)
+    private String storagePath;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // Image and Video rows pointing at this blob
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 0;
+
+    // When the last reference was dropped, null while referenced
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -73,4 +73,9 @@ public class RealEstate extends BaseListing {
     @Enumerated(EnumType.STRING)
     @Column(length = 30)
     private com.burakcanaksoy.realestate.model.enums.ListingFrom fromWho;
+
+    @Override
+    protected String typeName() {
+        return "REAL_ESTATE";
+    }
 }
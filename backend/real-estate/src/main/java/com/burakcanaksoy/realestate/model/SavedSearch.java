@@ -35,6 +35,11 @@ public class SavedSearch {
     @Column(nullable = false)
     private Boolean notificationEnabled = false;
 
+    // Newest listing returned by the last "only new" execution
+    private LocalDateTime lastSeenCreatedAt;
+
+    private Long lastSeenListingId;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
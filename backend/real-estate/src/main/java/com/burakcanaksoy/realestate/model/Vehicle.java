@@ -64,4 +64,9 @@ public class Vehicle extends BaseListing {
     private String fromWho;
 
     private Boolean exchange;
+
+    @Override
+    protected String typeName() {
+        return "VEHICLE";
+    }
 }
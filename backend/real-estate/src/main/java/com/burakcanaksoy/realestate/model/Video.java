@@ -24,6 +24,10 @@ public class Video {
     @Column(nullable = false)
     private String filePath;
 
+    // Digest of the shared MediaBlob holding the file, null for files stored per upload
+    @Column(name = "blob_digest", length = 64)
+    private String blobDigest;
+
     @Column(nullable = false)
     private String fileType;
 
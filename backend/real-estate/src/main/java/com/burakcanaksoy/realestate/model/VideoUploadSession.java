@@ -0,0 +1,64 @@
+package com.burakcanaksoy.realestate.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resumable video upload in progress. Chunks are written straight into the
+ * part file at their offset; receivedBytes is the length of the contiguous
+ * prefix already on disk, where the client resumes after a dropped
+ * connection.
+ */
+@Entity
+@Table(name = "video_upload_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoUploadSession {
+
+    // Random UUID handed to the client
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private Long listingId;
+
+    @Column(nullable = false)
+    private String listingType; // REAL_ESTATE, VEHICLE, LAND, WORKPLACE
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    // Declared total size in bytes
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes = 0L;
+
+    @Column(name = "part_path", nullable = false)
+    private String partPath;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.burakcanaksoy.realestate.model.enums;
+
+import java.util.Locale;
+
+/**
+ * Renditions generated for every uploaded image, bounded by their longest side.
+ */
+public enum ImageSize {
+    THUMB(320),
+    CARD(640),
+    FULL(1600);
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String getParam() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Size named by a request parameter, FULL when absent or unknown.
+     */
+    public static ImageSize fromParam(String param) {
+        if (param != null) {
+            for (ImageSize size : values()) {
+                if (size.getParam().equalsIgnoreCase(param.trim())) {
+                    return size;
+                }
+            }
+        }
+        return FULL;
+    }
+}
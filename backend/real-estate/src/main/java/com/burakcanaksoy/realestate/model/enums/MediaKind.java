@@ -0,0 +1,6 @@
+package com.burakcanaksoy.realestate.model.enums;
+
+public enum MediaKind {
+    IMAGE,
+    VIDEO
+}
@@ -3,5 +3,6 @@ package com.burakcanaksoy.realestate.model.enums;
 public enum NotificationType {
     FAVORITE,
     VIEW,
-    SYSTEM
+    SYSTEM,
+    SAVED_SEARCH
 }
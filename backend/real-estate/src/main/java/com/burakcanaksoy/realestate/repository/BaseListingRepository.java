@@ -1,12 +1,52 @@
 package com.burakcanaksoy.realestate.repository;
 
 import com.burakcanaksoy.realestate.model.BaseListing;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @NoRepositoryBean
 public interface BaseListingRepository<T extends BaseListing>
                 extends JpaRepository<T, Long> {
 
-        java.util.List<T> findAllByCreatedById(Long userId);
+        // Reads that end in a listing response fetch what the mappers read, the category
+        // and the owner, in the same query; open-in-view is off, so nothing loads lazily later
+        @Override
+        @EntityGraph(attributePaths = {"category", "createdBy"})
+        Optional<T> findById(Long id);
+
+        @Override
+        @EntityGraph(attributePaths = {"category", "createdBy"})
+        List<T> findAllById(Iterable<Long> ids);
+
+        @Override
+        @EntityGraph(attributePaths = {"category", "createdBy"})
+        List<T> findAll();
+
+        @Override
+        @EntityGraph(attributePaths = {"category", "createdBy"})
+        Page<T> findAll(Pageable pageable);
+
+        @EntityGraph(attributePaths = {"category", "createdBy"})
+        List<T> findAllByCreatedById(Long userId);
+
+        // Page of listings without the count query
+        @EntityGraph(attributePaths = {"category", "createdBy"})
+        Slice<T> findAllBy(Pageable pageable);
+
+        // Counts a view in place; leaves updatedAt alone, so cached responses stay valid
+        @Modifying
+        @Transactional
+        @Query("UPDATE #{#entityName} l SET l.viewCount = l.viewCount + 1 WHERE l.id = :id")
+        int incrementViewCount(@Param("id") Long id);
 }
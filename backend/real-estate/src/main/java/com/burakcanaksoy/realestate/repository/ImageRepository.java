@@ -1,8 +1,15 @@
 package com.burakcanaksoy.realestate.repository;
 
 import com.burakcanaksoy.realestate.model.Image;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,4 +26,48 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
     long countByListingIdAndListingType(Long listingId, String listingType);
 
     Optional<Image> findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(Long listingId, String listingType);
+
+    /**
+     * Serializes gallery changes of one listing until the surrounding
+     * transaction ends, so concurrent uploads get distinct display orders.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtextextended(:lockKey, 0))) l",
+            nativeQuery = true)
+    long lockGallery(@Param("lockKey") String lockKey);
+
+    @Query("SELECT COALESCE(MAX(i.displayOrder), -1) FROM Image i WHERE i.listingId = :listingId AND i.listingType = :listingType")
+    int findMaxDisplayOrder(@Param("listingId") Long listingId, @Param("listingType") String listingType);
+
+    @Modifying
+    @Query("UPDATE Image i SET i.isPrimary = false WHERE i.listingId = :listingId AND i.listingType = :listingType AND i.isPrimary = true")
+    int clearPrimary(@Param("listingId") Long listingId, @Param("listingType") String listingType);
+
+    /**
+     * Images of listings that no longer exist, in id order after the given id.
+     */
+    @Query("SELECT i FROM Image i WHERE i.id > :after AND NOT EXISTS "
+            + "(SELECT 1 FROM BaseListing l WHERE l.id = i.listingId) ORDER BY i.id")
+    List<Image> findOrphansAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * Id, listing id, listing owner id and perceptual hash of every
+     * fingerprinted image.
+     */
+    @Query("SELECT i.id, i.listingId, l.createdBy.id, i.perceptualHash FROM Image i, BaseListing l "
+            + "WHERE l.id = i.listingId AND i.perceptualHash IS NOT NULL")
+    List<Object[]> findFingerprints();
+
+    Page<Image> findByNearDuplicateOfIsNotNullOrderByIdDesc(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Image i SET i.perceptualHash = :hash, i.nearDuplicateOf = :nearDuplicateOf WHERE i.id = :id")
+    int updateFingerprint(@Param("id") Long id, @Param("hash") long hash,
+            @Param("nearDuplicateOf") Long nearDuplicateOf);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Image i SET i.thumbnailPath = :thumbnailPath, i.cardPath = :cardPath, i.fullPath = :fullPath WHERE i.id = :id")
+    int updateRenditionPaths(@Param("id") Long id, @Param("thumbnailPath") String thumbnailPath,
+            @Param("cardPath") String cardPath, @Param("fullPath") String fullPath);
 }
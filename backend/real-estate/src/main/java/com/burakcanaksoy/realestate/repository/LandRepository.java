@@ -1,11 +1,12 @@
 package com.burakcanaksoy.realestate.repository;
 
 import com.burakcanaksoy.realestate.model.Land;
-import com.burakcanaksoy.realestate.model.enums.LandType;
 import com.burakcanaksoy.realestate.model.enums.ListingStatus;
 import com.burakcanaksoy.realestate.request.LandFilterRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,8 +15,8 @@ import java.util.List;
 
 public interface LandRepository extends BaseListingRepository<Land> {
 
-  @Query(value = """
-      select l
+  // Shared by the paged search and its count-free slice variant
+  String SEARCH_FROM = """
       from Land l
       join l.category c
       where (:#{#filter.city} is null or lower(l.city) = lower(:#{#filter.city}))
@@ -28,29 +29,21 @@ public interface LandRepository extends BaseListingRepository<Land> {
         and (:#{#filter.minSquareMeter} is null or l.squareMeter >= :#{#filter.minSquareMeter})
         and (:#{#filter.maxSquareMeter} is null or l.squareMeter <= :#{#filter.maxSquareMeter})
         and (:#{#filter.ownerId} is null or l.createdBy.id = :#{#filter.ownerId})
-      """, countQuery = """
-      select count(l)
-      from Land l
-      join l.category c
-      where (:#{#filter.city} is null or lower(l.city) = lower(:#{#filter.city}))
-        and (:#{#filter.district} is null or lower(l.district) = lower(:#{#filter.district}))
-        and (:#{#filter.categorySlug} is null or c.slug = :#{#filter.categorySlug})
-        and (:#{#filter.status} is null or l.status = :#{#filter.status})
-        and (:#{#filter.minPrice} is null or l.price >= :#{#filter.minPrice})
-        and (:#{#filter.maxPrice} is null or l.price <= :#{#filter.maxPrice})
-        and (:#{#filter.landType} is null or l.landType = :#{#filter.landType})
-        and (:#{#filter.minSquareMeter} is null or l.squareMeter >= :#{#filter.minSquareMeter})
-        and (:#{#filter.maxSquareMeter} is null or l.squareMeter <= :#{#filter.maxSquareMeter})
-        and (:#{#filter.ownerId} is null or l.createdBy.id = :#{#filter.ownerId})
-      """)
+      """;
+
+  @EntityGraph(attributePaths = {"category", "createdBy"})
+  @Query(value = "select l " + SEARCH_FROM, countQuery = "select count(l) " + SEARCH_FROM)
   Page<Land> search(@Param("filter") LandFilterRequest filter, Pageable pageable);
 
-  List<Land> findTop3ByCityAndDistrictAndLandTypeAndIdNot(String city, String district, LandType landType, Long id);
+  @EntityGraph(attributePaths = {"category", "createdBy"})
+  @Query("select l " + SEARCH_FROM)
+  Slice<Land> searchSlice(@Param("filter") LandFilterRequest filter, Pageable pageable);
 
   // Analytics queries
   Long countByStatus(ListingStatus status);
 
   Long countByCreatedAtAfter(LocalDateTime date);
 
+  @EntityGraph(attributePaths = {"category", "createdBy"})
   List<Land> findTop10ByOrderByCreatedAtDesc();
 }
@@ -0,0 +1,129 @@
+package com.burakcanaksoy.realestate.repository;
+
+import com.burakcanaksoy.realestate.model.ListingCard;
+import com.burakcanaksoy.realestate.request.GeneralFilterRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ListingCardRepository extends JpaRepository<ListingCard, Long> {
+
+    // Card rows derived from the current listing rows, with category, owner and first media
+    String UPSERT = """
+            INSERT INTO listing_cards (id, listing_type, title, summary, price, currency, status, offer_type,
+                city, district, city_key, district_key, category_slug, category_name, owner_id, owner_username,
+                primary_image_id, first_video_id, view_count, favorite_count, created_at, updated_at)
+            SELECT l.id, t.listing_type, l.title, left(l.description, 300), l.price, l.currency, l.status,
+                l.offer_type, l.city, l.district, lower(l.city), lower(l.district), c.slug, c.name, u.id,
+                u.username,
+                (SELECT i.id FROM images i WHERE i.listing_id = l.id AND i.listing_type = t.listing_type
+                 ORDER BY i.display_order, i.id LIMIT 1),
+                (SELECT v.id FROM videos v WHERE v.listing_id = l.id AND v.listing_type = t.listing_type
+                 ORDER BY v.display_order, v.id LIMIT 1),
+                coalesce(l.view_count, 0), coalesce(l.favorite_count, 0), l.created_at, l.updated_at
+            FROM listings l
+            JOIN (SELECT id, 'REAL_ESTATE' AS listing_type FROM real_estates
+                  UNION ALL SELECT id, 'VEHICLE' FROM vehicles
+                  UNION ALL SELECT id, 'LAND' FROM lands
+                  UNION ALL SELECT id, 'WORKPLACE' FROM workplaces) t ON t.id = l.id
+            JOIN categories c ON c.id = l.category_id
+            JOIN users u ON u.id = l.created_by
+            """;
+
+    String ON_CONFLICT = """
+            ON CONFLICT (id) DO UPDATE SET listing_type = EXCLUDED.listing_type, title = EXCLUDED.title,
+                summary = EXCLUDED.summary, price = EXCLUDED.price, currency = EXCLUDED.currency,
+                status = EXCLUDED.status, offer_type = EXCLUDED.offer_type, city = EXCLUDED.city,
+                district = EXCLUDED.district, city_key = EXCLUDED.city_key, district_key = EXCLUDED.district_key,
+                category_slug = EXCLUDED.category_slug, category_name = EXCLUDED.category_name,
+                owner_id = EXCLUDED.owner_id, owner_username = EXCLUDED.owner_username,
+                primary_image_id = EXCLUDED.primary_image_id, first_video_id = EXCLUDED.first_video_id,
+                view_count = EXCLUDED.view_count, favorite_count = EXCLUDED.favorite_count,
+                created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at
+            """;
+
+    // Shared by the paged search and its count query
+    String SEARCH_FROM = """
+            from ListingCard c
+            where (:listingType is null or c.listingType = :listingType)
+              and (:categorySlug is null or c.categorySlug = :categorySlug)
+              and (:#{#filter.city} is null or c.cityKey = lower(:#{#filter.city}))
+              and (:#{#filter.district} is null or c.districtKey = lower(:#{#filter.district}))
+              and (:#{#filter.status} is null or c.status = :#{#filter.status})
+              and (:#{#filter.minPrice} is null or c.price >= :#{#filter.minPrice})
+              and (:#{#filter.maxPrice} is null or c.price <= :#{#filter.maxPrice})
+              and (:#{#filter.ownerId} is null or c.ownerId = :#{#filter.ownerId})
+            """;
+
+    @Query(value = "select c " + SEARCH_FROM + " order by c.createdAt desc, c.id desc",
+            countQuery = "select count(c) " + SEARCH_FROM)
+    Page<ListingCard> search(@Param("filter") GeneralFilterRequest filter, @Param("listingType") String listingType,
+            @Param("categorySlug") String categorySlug, Pageable pageable);
+
+    List<ListingCard> findAllByOrderByCreatedAtDescIdDesc();
+
+    Page<ListingCard> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    List<ListingCard> findByOwnerIdOrderByCreatedAtDescIdDesc(Long ownerId);
+
+    /**
+     * Cards changed at or after updatedSince, or all cards when it is null,
+     * oldest change first. Rows come from a database cursor in batches of the
+     * fetch size; the stream must be read and closed inside a transaction.
+     * updatedAt is the listing's flush time rather than its commit time, so
+     * a row can appear below a bound that was already read past.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from ListingCard c where (:updatedSince is null or c.updatedAt >= :updatedSince) "
+            + "order by c.updatedAt, c.id")
+    Stream<ListingCard> streamChangedSince(@Param("updatedSince") LocalDateTime updatedSince);
+
+    /**
+     * Writes the listing's card from its current rows, or does nothing when
+     * the listing is gone. Returns the number of cards written. Pending
+     * changes of the caller's transaction are flushed first, so the card is
+     * derived from the listing it has just saved.
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = UPSERT + " WHERE l.id = :id " + ON_CONFLICT, nativeQuery = true)
+    int refresh(@Param("id") Long id);
+
+    // WHERE true keeps ON CONFLICT from being read as the last join's condition
+    @Modifying
+    @Transactional
+    @Query(value = UPSERT + " WHERE true " + ON_CONFLICT, nativeQuery = true)
+    int refreshAll();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ListingCard c WHERE c.id = :id")
+    int deleteCard(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM listing_cards c WHERE NOT EXISTS (SELECT 1 FROM listings l WHERE l.id = c.id)",
+            nativeQuery = true)
+    int deleteOrphans();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ListingCard c SET c.viewCount = c.viewCount + 1 WHERE c.id = :id")
+    int incrementViewCount(@Param("id") Long id);
+}
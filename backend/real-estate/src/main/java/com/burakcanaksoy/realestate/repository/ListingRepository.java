@@ -2,10 +2,91 @@ package com.burakcanaksoy.realestate.repository;
 
 import com.burakcanaksoy.realestate.model.BaseListing;
 import com.burakcanaksoy.realestate.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ListingRepository extends JpaRepository<BaseListing, Long> {
-    void deleteByCreatedBy(User user);
+    List<BaseListing> deleteByCreatedBy(User user);
+
+    // Fallback for listings whose type is unknown; same fetch plan as the typed repositories
+    @Override
+    @EntityGraph(attributePaths = {"category", "createdBy"})
+    List<BaseListing> findAllById(Iterable<Long> ids);
+
+    @Query("SELECT l.id FROM BaseListing l WHERE l.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT l.createdBy.id FROM BaseListing l WHERE l.id = :id")
+    Optional<Long> findOwnerId(@Param("id") Long id);
+
+    @Query("SELECT l.createdBy.lastSeen FROM BaseListing l WHERE l.id = :id")
+    Optional<LocalDateTime> findOwnerLastSeen(@Param("id") Long id);
+
+    /**
+     * Moves updatedAt forward without loading the listing, for changes kept
+     * outside the listing row such as its images and videos.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BaseListing l SET l.updatedAt = :updatedAt WHERE l.id = :id")
+    int touch(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Listing types from the base table alone, without joining the subtype
+     * tables. Listings stored before listing_type existed come back with a
+     * null type until {@link #backfillListingTypes()} has run.
+     */
+    @Query(value = "SELECT id, listing_type AS listingType FROM listings WHERE id IN (:ids)", nativeQuery = true)
+    List<ListingTypeView> findListingTypes(@Param("ids") Collection<Long> ids);
+
+    // Fills listing_type for rows written before the column existed
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE listings l SET listing_type = t.listing_type
+            FROM (SELECT id, 'REAL_ESTATE' AS listing_type FROM real_estates
+                  UNION ALL SELECT id, 'VEHICLE' FROM vehicles
+                  UNION ALL SELECT id, 'LAND' FROM lands
+                  UNION ALL SELECT id, 'WORKPLACE' FROM workplaces) t
+            WHERE t.id = l.id AND l.listing_type IS NULL
+            """, nativeQuery = true)
+    int backfillListingTypes();
+
+    // JSONB attribute store, managed by ListingAttributeStore when listings.attributes.enabled is set
+    @Modifying
+    @Transactional
+    @Query(value = "ALTER TABLE listings ADD COLUMN IF NOT EXISTS attributes jsonb", nativeQuery = true)
+    void addAttributesColumn();
+
+    // jsonb_path_ops answers @> containment only, with a smaller index than the default operator class
+    @Modifying
+    @Transactional
+    @Query(value = "CREATE INDEX IF NOT EXISTS idx_listings_attributes ON listings USING gin (attributes jsonb_path_ops)",
+            nativeQuery = true)
+    void createAttributesIndex();
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE listings SET attributes = CAST(:attributes AS jsonb) WHERE id = :id", nativeQuery = true)
+    int writeAttributes(@Param("id") Long id, @Param("attributes") String attributes);
+
+    @Query(value = "SELECT id FROM listings WHERE attributes IS NULL ORDER BY id", nativeQuery = true)
+    List<Long> findIdsWithoutAttributes();
+
+    interface ListingTypeView {
+        Long getId();
+
+        String getListingType();
+    }
 }
@@ -0,0 +1,69 @@
+package com.burakcanaksoy.realestate.repository;
+
+import com.burakcanaksoy.realestate.model.MediaBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, Long> {
+
+    Optional<MediaBlob> findByDigest(String digest);
+
+    /**
+     * Adds a reference to the blob, inserting it on first use. Waits for a
+     * garbage collection sweep holding the row, so a blob is never revived
+     * while its file is being removed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO media_blobs (digest, storage_path, size, content_type, ref_count, created_at)
+            VALUES (:digest, :storagePath, :size, :contentType, 1, now())
+            ON CONFLICT (digest) DO UPDATE SET ref_count = media_blobs.ref_count + 1, released_at = NULL
+            """, nativeQuery = true)
+    int acquire(@Param("digest") String digest, @Param("storagePath") String storagePath, @Param("size") long size,
+            @Param("contentType") String contentType);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE media_blobs
+            SET ref_count = GREATEST(ref_count - 1, 0),
+                released_at = CASE WHEN ref_count <= 1 THEN now() ELSE released_at END
+            WHERE digest = :digest
+            """, nativeQuery = true)
+    int release(@Param("digest") String digest);
+
+    /**
+     * Digests in byte order after the given one, for walking the blob tree
+     * alongside the table.
+     */
+    @Query(value = """
+            SELECT digest FROM media_blobs
+            WHERE digest COLLATE "C" > :after
+            ORDER BY digest COLLATE "C"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findDigestsAfter(@Param("after") String after, @Param("limit") int limit);
+
+    /**
+     * Unreferenced blobs released before the cutoff, locked for deletion.
+     * Rows locked by another sweep are skipped.
+     */
+    @Query(value = """
+            SELECT * FROM media_blobs
+            WHERE ref_count = 0 AND released_at < :cutoff
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<MediaBlob> lockUnreferenced(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
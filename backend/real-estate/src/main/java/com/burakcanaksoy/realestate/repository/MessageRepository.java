@@ -2,6 +2,7 @@ package com.burakcanaksoy.realestate.repository;
 
 import com.burakcanaksoy.realestate.model.Message;
 import com.burakcanaksoy.realestate.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +15,8 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
 
         // Get all messages between two users, ordered by creation time
         // Filters out messages deleted by the viewing user (userId1)
+        // Fetches the participants and the linked listing the conversation views show
+        @EntityGraph(attributePaths = {"sender", "receiver", "listing"})
         @Query("SELECT m FROM Message m WHERE " +
                         "((m.sender.id = :userId1 AND m.receiver.id = :userId2 AND m.deletedBySender = false) OR " +
                         "(m.sender.id = :userId2 AND m.receiver.id = :userId1 AND m.deletedByReceiver = false)) " +
@@ -15,11 +15,13 @@ public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long>
 
     List<SavedSearch> findByUserId(Long userId);
 
+    List<SavedSearch> findByNotificationEnabledTrue();
+
     Optional<SavedSearch> findByIdAndUserId(Long id, Long userId);
 
     @Modifying
     @Query("DELETE FROM SavedSearch s WHERE s.id = :id AND s.user.id = :userId")
-    void deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
     long countByUserId(Long userId);
 }
@@ -1,7 +1,10 @@
 package com.burakcanaksoy.realestate.repository;
 
 import com.burakcanaksoy.realestate.model.Video;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,11 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     void deleteByListingIdAndListingType(Long listingId, String listingType);
 
     long countByListingIdAndListingType(Long listingId, String listingType);
+
+    /**
+     * Videos of listings that no longer exist, in id order after the given id.
+     */
+    @Query("SELECT v FROM Video v WHERE v.id > :after AND NOT EXISTS "
+            + "(SELECT 1 FROM BaseListing l WHERE l.id = v.listingId) ORDER BY v.id")
+    List<Video> findOrphansAfter(@Param("after") long after, Limit limit);
 }
@@ -0,0 +1,40 @@
+package com.burakcanaksoy.realestate.repository;
+
+import com.burakcanaksoy.realestate.model.VideoUploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VideoUploadSessionRepository extends JpaRepository<VideoUploadSession, String> {
+
+    /**
+     * Moves the resume offset forward to end, never back, so a retried chunk
+     * that was already acknowledged does not lose later progress.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE video_upload_sessions
+            SET received_bytes = GREATEST(received_bytes, :end), updated_at = now()
+            WHERE id = :id
+            """, nativeQuery = true)
+    int advance(@Param("id") String id, @Param("end") long end);
+
+    /**
+     * Removes the session and reports whether this caller did, so only one
+     * of two concurrent completions creates the video.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VideoUploadSession s WHERE s.id = :id")
+    int claim(@Param("id") String id);
+
+    List<VideoUploadSession> findTop500ByUpdatedAtBefore(LocalDateTime cutoff);
+}
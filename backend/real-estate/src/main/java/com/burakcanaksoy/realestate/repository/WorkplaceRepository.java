@@ -2,9 +2,10 @@ package com.burakcanaksoy.realestate.repository;
 
 import com.burakcanaksoy.realestate.model.Workplace;
 import com.burakcanaksoy.realestate.model.enums.ListingStatus;
-import com.burakcanaksoy.realestate.model.enums.WorkplaceType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,8 +15,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public interface WorkplaceRepository extends BaseListingRepository<Workplace> {
-  @Query(value = """
-      select w
+  // Shared by the paged search and its count-free slice variant
+  String SEARCH_FROM = """
       from Workplace w
       join w.category c
       where (:#{#filter.city} is null or lower(w.city) = lower(:#{#filter.city}))
@@ -31,33 +32,21 @@ public interface WorkplaceRepository extends BaseListingRepository<Workplace> {
         and (:#{#filter.maxFloorCount} is null or w.floorCount <= :#{#filter.maxFloorCount})
         and (:#{#filter.furnished} is null or w.furnished = :#{#filter.furnished})
         and (:#{#filter.ownerId} is null or w.createdBy.id = :#{#filter.ownerId})
-      """, countQuery = """
-      select count(w)
-      from Workplace w
-      join w.category c
-      where (:#{#filter.city} is null or lower(w.city) = lower(:#{#filter.city}))
-        and (:#{#filter.district} is null or lower(w.district) = lower(:#{#filter.district}))
-        and (:#{#filter.categorySlug} is null or c.slug = :#{#filter.categorySlug})
-        and (:#{#filter.status} is null or w.status = :#{#filter.status})
-        and (:#{#filter.minPrice} is null or w.price >= :#{#filter.minPrice})
-        and (:#{#filter.maxPrice} is null or w.                                                                                                             price <= :#{#filter.maxPrice})
-        and (:#{#filter.workplaceType} is null or w.workplaceType = :#{#filter.workplaceType})
-        and (:#{#filter.minSquareMeter} is null or w.squareMeter >= :#{#filter.minSquareMeter})
-        and (:#{#filter.maxSquareMeter} is null or w.squareMeter <= :#{#filter.maxSquareMeter})
-        and (:#{#filter.minFloorCount} is null or w.floorCount >= :#{#filter.minFloorCount})
-        and (:#{#filter.maxFloorCount} is null or w.floorCount <= :#{#filter.maxFloorCount})
-        and (:#{#filter.furnished} is null or w.furnished = :#{#filter.furnished})
-        and (:#{#filter.ownerId} is null or w.createdBy.id = :#{#filter.ownerId})
-      """)
+      """;
+
+  @EntityGraph(attributePaths = {"category", "createdBy"})
+  @Query(value = "select w " + SEARCH_FROM, countQuery = "select count(w) " + SEARCH_FROM)
   Page<Workplace> search(@Param("filter") WorkplaceFilterRequest filter, Pageable pageable);
 
-  List<Workplace> findTop3ByCityAndDistrictAndWorkplaceTypeAndIdNot(String city, String district,
-      WorkplaceType workplaceType, Long id);
+  @EntityGraph(attributePaths = {"category", "createdBy"})
+  @Query("select w " + SEARCH_FROM)
+  Slice<Workplace> searchSlice(@Param("filter") WorkplaceFilterRequest filter, Pageable pageable);
 
   // Analytics queries
   Long countByStatus(ListingStatus status);
 
   Long countByCreatedAtAfter(LocalDateTime date);
 
+  @EntityGraph(attributePaths = {"category", "createdBy"})
   List<Workplace> findTop10ByOrderByCreatedAtDesc();
 }
@@ -4,6 +4,8 @@ import com.burakcanaksoy.realestate.model.enums.ListingStatus;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Data
 public class AdvancedSearchRequest {
@@ -20,6 +22,7 @@ public class AdvancedSearchRequest {
 
     // Category & Status
     private String categorySlug;
+    private String listingType; // REAL_ESTATE, VEHICLE, LAND, WORKPLACE
     private ListingStatus status;
 
     // Price range
@@ -40,6 +43,10 @@ public class AdvancedSearchRequest {
     private String fuelType;
     private String transmission;
 
+    // Type-specific attributes such as attributes[color]=red or attributes[elevator]=true,
+    // matched against the JSONB attribute store
+    private Map<String, String> attributes = new LinkedHashMap<>();
+
     // Sorting
     private String sortBy; // price, date, distance, relevance
     private String sortOrder; // asc, desc
@@ -0,0 +1,13 @@
+package com.burakcanaksoy.realestate.request;
+
+/**
+ * How the total of a paged listing search is computed.
+ */
+public enum CountMode {
+    // Separate COUNT(*) with the same predicates
+    EXACT,
+    // Planner row estimate or cached facet counts
+    ESTIMATED,
+    // No count, one extra row is fetched to know whether a next page exists
+    NONE
+}
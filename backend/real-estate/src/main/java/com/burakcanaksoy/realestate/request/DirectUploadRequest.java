@@ -0,0 +1,37 @@
+package com.burakcanaksoy.realestate.request;
+
+import com.burakcanaksoy.realestate.model.enums.MediaKind;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class DirectUploadRequest {
+
+    @NotNull(message = "Kind cannot be null")
+    private MediaKind kind;
+
+    @NotNull(message = "Listing ID cannot be null")
+    private Long listingId;
+
+    @NotBlank(message = "Listing type cannot be blank")
+    private String listingType; // REAL_ESTATE, VEHICLE, LAND, WORKPLACE
+
+    private String fileName;
+
+    @NotBlank(message = "Content type cannot be blank")
+    private String contentType;
+
+    @NotNull(message = "Size cannot be null")
+    @Positive(message = "Size must be positive")
+    private Long size;
+
+    // Hex SHA-256 of the file, checked by the store when it accepts the upload
+    @NotNull(message = "SHA-256 cannot be null")
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "SHA-256 must be 64 hex characters")
+    private String sha256;
+
+    private Boolean isPrimary; // Images only
+}
@@ -0,0 +1,18 @@
+package com.burakcanaksoy.realestate.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FacetFilterRequest {
+    private List<String> listingType;
+    private List<String> city;
+    private List<String> district;
+    private List<String> categorySlug;
+    private List<String> fuelType;
+    private List<String> transmission;
+    private List<String> roomCount;
+    private List<String> heatingType;
+    private List<String> priceBucket;
+}
@@ -0,0 +1,22 @@
+package com.burakcanaksoy.realestate.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class VideoUploadStartRequest {
+
+    @NotBlank(message = "Listing type cannot be blank")
+    private String listingType; // REAL_ESTATE, VEHICLE, LAND, WORKPLACE
+
+    private String fileName;
+
+    @NotBlank(message = "Content type cannot be blank")
+    private String contentType;
+
+    @NotNull(message = "Size cannot be null")
+    @Positive(message = "Size must be positive")
+    private Long size;
+}
@@ -0,0 +1,16 @@
+package com.burakcanaksoy.realestate.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DirectUploadResponse {
+    private Boolean uploadRequired; // False when the store already holds this content
+    private String url; // PUT the file here
+    private Map<String, String> headers; // Send these headers with the PUT
+}
@@ -0,0 +1,22 @@
+package com.burakcanaksoy.realestate.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Two listings of the same type whose title and description are nearly the
+ * same text.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateListingResponse {
+    private String listingType;
+    private Long listingId;
+    private String title;
+    private Long otherListingId;
+    private String otherTitle;
+    private Double similarity; // Estimated Jaccard similarity of the word shingles, 0 to 1
+    private Boolean sameOwner;
+}
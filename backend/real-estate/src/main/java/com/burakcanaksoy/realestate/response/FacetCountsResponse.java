@@ -0,0 +1,15 @@
+package com.burakcanaksoy.realestate.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCountsResponse {
+    private Long total;
+    private Map<String, Map<String, Long>> facets;
+}
@@ -18,4 +18,5 @@ public class ImageResponse {
     private Boolean isPrimary;
     private Integer displayOrder;
     private LocalDateTime createdAt;
+    private Long nearDuplicateOf;
 }
@@ -0,0 +1,38 @@
+package com.burakcanaksoy.realestate.response;
+
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.model.enums.OfferType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A listing as a grid card. Field names follow BaseListingResponse; only the
+ * fields selected with fields= are read from the card row, the others stay
+ * null and are left out of the JSON.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ListingCardResponse {
+    private Long id;
+    private String listingType;
+    private String title;
+    private String description;
+    private BigDecimal price;
+    private String currency;
+    private String city;
+    private String district;
+    private String categorySlug;
+    private String categoryName;
+    private ListingStatus status;
+    private OfferType offerType;
+    private String createdByUsername;
+    private String imageUrl;
+    private String videoUrl;
+    private Long viewCount;
+    private Long favoriteCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.burakcanaksoy.realestate.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the listing detail page shows, gathered in one response. Parts
+ * that could not be loaded in time are null and named in unavailable.
+ */
+@Data
+@NoArgsConstructor
+public class ListingDetailResponse {
+    private Object listing; // RealEstateResponse, VehicleResponse, LandResponse or WorkplaceResponse
+    private String listingType;
+    private List<ImageResponse> images;
+    private List<VideoResponse> videos;
+    private List<?> similar;
+    private Boolean favorite; // null for anonymous visitors
+    private LocalDateTime ownerLastSeen;
+    private Boolean ownerOnline;
+    private List<String> unavailable = new ArrayList<>();
+}
@@ -0,0 +1,15 @@
+package com.burakcanaksoy.realestate.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VideoUploadResponse {
+    private String uploadId;
+    private Long size;
+    private Long offset; // Bytes received so far, where the next chunk starts
+    private Integer chunkSize; // Suggested chunk size
+}
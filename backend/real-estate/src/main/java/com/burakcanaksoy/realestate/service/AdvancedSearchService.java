@@ -1,9 +1,14 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.exception.InvalidSearchException;
 import com.burakcanaksoy.realestate.mapper.BaseListingMapper;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
+import com.burakcanaksoy.realestate.mapper.ListingAttributesMapper;
 import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.repository.*;
 import com.burakcanaksoy.realestate.request.AdvancedSearchRequest;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.response.BaseListingResponse;
 import com.burakcanaksoy.realestate.response.SearchSuggestion;
 import jakarta.persistence.EntityManager;
@@ -13,8 +18,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,14 +33,124 @@ public class AdvancedSearchService {
     private EntityManager entityManager;
 
     private final ImageRepository imageRepository;
+    private final SearchResultCache searchResultCache;
+    private final CountEstimator countEstimator;
+    private final ListingAttributeStore listingAttributeStore;
+    private final TypedListingLoader typedListingLoader;
+
+    private static final Map<String, String> LISTING_TYPE_TABLES = Map.of(
+            "REAL_ESTATE", "real_estates",
+            "VEHICLE", "vehicles",
+            "LAND", "lands",
+            "WORKPLACE", "workplaces");
 
     /**
      * Advanced search with full-text, geospatial, and multi-criteria filtering
      */
     public Page<BaseListingResponse> advancedSearch(AdvancedSearchRequest request, Pageable pageable) {
-        StringBuilder sql = new StringBuilder("SELECT * FROM listings WHERE 1=1");
+        return advancedSearch(request, pageable, CountMode.EXACT);
+    }
+
+    /**
+     * Advanced search with the total computed as requested by the count mode
+     */
+    public Page<BaseListingResponse> advancedSearch(AdvancedSearchRequest request, Pageable pageable,
+            CountMode countMode) {
+        Map<Long, BaseListing> loaded = new HashMap<>();
+        SearchResultCache.CachedResult result = searchResultCache.get(
+                SearchResultCache.key("advanced:" + countMode, request, pageable), request.getCity(),
+                request.getListingType(),
+                () -> {
+                    Page<BaseListing> page = search(request, null, null, false, countMode, pageable);
+                    page.forEach(listing -> loaded.put(listing.getId(), listing));
+                    return SearchResultCache.CachedResult.of(page);
+                });
+
+        List<BaseListingResponse> responses = searchResultCache.resolve(result, loaded).stream()
+                .map(this::convertToResponseWithImage)
+                .collect(Collectors.toList());
+        return new PageImpl<>(responses, pageable, result.total());
+    }
+
+    /**
+     * Same filters as {@link #advancedSearch}, limited to listings created after
+     * the given (createdAt, id) position and ordered newest first. The row
+     * comparison is answered by a range seek on the (created_at, id) index.
+     */
+    public Page<BaseListingResponse> advancedSearchSince(AdvancedSearchRequest request, LocalDateTime seenCreatedAt,
+            Long seenListingId, Pageable pageable) {
+        return search(request, seenCreatedAt, seenListingId, true, CountMode.EXACT, pageable)
+                .map(this::convertToResponseWithImage);
+    }
+
+    private Page<BaseListing> search(AdvancedSearchRequest request, LocalDateTime seenCreatedAt,
+            Long seenListingId, boolean newestFirst, CountMode countMode, Pageable pageable) {
+        StringBuilder sql = new StringBuilder("FROM listings WHERE 1=1");
         Map<String, Object> params = new HashMap<>();
 
+        appendFilters(request, sql, params);
+
+        // Only listings newer than the last seen position
+        if (seenCreatedAt != null && seenListingId != null) {
+            sql.append(" AND (created_at, id) > (:seenCreatedAt, :seenListingId)");
+            params.put("seenCreatedAt", seenCreatedAt);
+            params.put("seenListingId", seenListingId);
+        }
+
+        // Sorting
+        String orderBy = " ORDER BY ";
+        if (newestFirst) {
+            orderBy += "created_at DESC, id DESC";
+        } else if ("price".equals(request.getSortBy())) {
+            orderBy += "price " + ("desc".equalsIgnoreCase(request.getSortOrder()) ? "DESC" : "ASC");
+        } else if ("distance".equals(request.getSortBy()) && request.getLatitude() != null
+                && request.getLongitude() != null) {
+            orderBy += "ST_Distance(location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326))";
+        } else if ("relevance".equals(request.getSortBy()) && request.getQuery() != null) {
+            orderBy += "ts_rank(search_vector, to_tsquery('turkish', :query)) DESC";
+        } else {
+            orderBy += "created_at DESC, id DESC"; // Default: newest first
+        }
+
+        return fetchPage(sql.toString(), orderBy, params, countMode, pageable);
+    }
+
+    /**
+     * Runs a native listing query for one page. EXACT counts the matches; the
+     * other modes read one extra row to know whether a next page exists and
+     * take the total from the planner estimate (ESTIMATED) or leave it open
+     * (NONE). The native query only picks the ids; the listings are then
+     * loaded per type with their category and owner.
+     */
+    private Page<BaseListing> fetchPage(String fromWhere, String orderBy, Map<String, Object> params,
+            CountMode countMode, Pageable pageable) {
+        boolean exact = countMode == CountMode.EXACT;
+
+        Query query = entityManager.createNativeQuery("SELECT id " + fromWhere + orderBy);
+        params.forEach(query::setParameter);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(exact ? pageable.getPageSize() : pageable.getPageSize() + 1);
+
+        @SuppressWarnings("unchecked")
+        List<Long> ids = ((List<Number>) query.getResultList()).stream().map(Number::longValue).toList();
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<BaseListing> listings = typedListingLoader.findAllById(
+                hasNext ? ids.subList(0, pageable.getPageSize()) : ids);
+
+        if (exact) {
+            Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) " + fromWhere);
+            params.forEach(countQuery::setParameter);
+            long total = ((Number) countQuery.getSingleResult()).longValue();
+            return new PageImpl<>(listings, pageable, total);
+        }
+
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateQueryRows("SELECT * " + fromWhere, params)
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(new SliceImpl<>(listings, pageable, hasNext), estimate);
+    }
+
+    private void appendFilters(AdvancedSearchRequest request, StringBuilder sql, Map<String, Object> params) {
         // Full-text search
         if (request.getQuery() != null && !request.getQuery().trim().isEmpty()) {
             sql.append(" AND search_vector @@ to_tsquery('turkish', :query)");
@@ -77,42 +194,98 @@ public class AdvancedSearchService {
             params.put("maxPrice", request.getMaxPrice());
         }
 
-        // Sorting
-        String orderBy = " ORDER BY ";
-        if ("price".equals(request.getSortBy())) {
-            orderBy += "price " + ("desc".equalsIgnoreCase(request.getSortOrder()) ? "DESC" : "ASC");
-        } else if ("distance".equals(request.getSortBy()) && request.getLatitude() != null
-                && request.getLongitude() != null) {
-            orderBy += "ST_Distance(location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326))";
-        } else if ("relevance".equals(request.getSortBy()) && request.getQuery() != null) {
-            orderBy += "ts_rank(search_vector, to_tsquery('turkish', :query)) DESC";
-        } else {
-            orderBy += "created_at DESC"; // Default: newest first
+        // Category filter
+        if (request.getCategorySlug() != null && !request.getCategorySlug().trim().isEmpty()) {
+            sql.append(" AND category_id IN (SELECT c.id FROM categories c WHERE c.slug = :categorySlug)");
+            params.put("categorySlug", request.getCategorySlug().trim());
         }
-        sql.append(orderBy);
 
-        // Count query
-        String countSql = "SELECT COUNT(*) FROM listings WHERE 1=1" +
-                sql.substring(sql.indexOf("WHERE 1=1") + 9, sql.indexOf("ORDER BY"));
+        // Listing type filter
+        String typeTable = request.getListingType() != null
+                ? LISTING_TYPE_TABLES.get(request.getListingType().trim().toUpperCase(Locale.ROOT))
+                : null;
+        if (typeTable != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM ").append(typeTable).append(" t WHERE t.id = listings.id)");
+        }
 
-        Query countQuery = entityManager.createNativeQuery(countSql);
-        params.forEach(countQuery::setParameter);
-        long total = ((Number) countQuery.getSingleResult()).longValue();
+        // Room count (real estate, stored as "3+1")
+        if (request.getMinRooms() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM real_estates r WHERE r.id = listings.id")
+                    .append(" AND CAST(substring(r.room_count from '^[0-9]+') AS INTEGER) >= :minRooms)");
+            params.put("minRooms", request.getMinRooms());
+        }
+        if (request.getMaxRooms() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM real_estates r WHERE r.id = listings.id")
+                    .append(" AND CAST(substring(r.room_count from '^[0-9]+') AS INTEGER) <= :maxRooms)");
+            params.put("maxRooms", request.getMaxRooms());
+        }
 
-        // Main query with pagination
-        Query query = entityManager.createNativeQuery(sql.toString(), BaseListing.class);
-        params.forEach(query::setParameter);
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
+        // Area (gross area for real estate, square meters for land and workplaces)
+        if (request.getMinArea() != null || request.getMaxArea() != null) {
+            sql.append(" AND (")
+                    .append(areaCondition("real_estates", "gross_square_meter", request)).append(" OR ")
+                    .append(areaCondition("lands", "square_meter", request)).append(" OR ")
+                    .append(areaCondition("workplaces", "square_meter", request)).append(")");
+            if (request.getMinArea() != null) {
+                params.put("minArea", request.getMinArea());
+            }
+            if (request.getMaxArea() != null) {
+                params.put("maxArea", request.getMaxArea());
+            }
+        }
 
-        @SuppressWarnings("unchecked")
-        List<BaseListing> listings = query.getResultList();
+        // Vehicle specific
+        StringBuilder vehicleConditions = new StringBuilder();
+        if (request.getMinYear() != null) {
+            vehicleConditions.append(" AND v.production_year >= :minYear");
+            params.put("minYear", request.getMinYear());
+        }
+        if (request.getMaxYear() != null) {
+            vehicleConditions.append(" AND v.production_year <= :maxYear");
+            params.put("maxYear", request.getMaxYear());
+        }
+        if (request.getBrand() != null && !request.getBrand().trim().isEmpty()) {
+            vehicleConditions.append(" AND LOWER(v.brand) = LOWER(:brand)");
+            params.put("brand", request.getBrand().trim());
+        }
+        if (request.getModel() != null && !request.getModel().trim().isEmpty()) {
+            vehicleConditions.append(" AND LOWER(v.model) = LOWER(:model)");
+            params.put("model", request.getModel().trim());
+        }
+        if (request.getFuelType() != null && !request.getFuelType().trim().isEmpty()) {
+            vehicleConditions.append(" AND v.fuel_type = :fuelType");
+            params.put("fuelType", request.getFuelType().trim().toUpperCase(Locale.ROOT));
+        }
+        if (request.getTransmission() != null && !request.getTransmission().trim().isEmpty()) {
+            vehicleConditions.append(" AND v.transmission = :transmission");
+            params.put("transmission", request.getTransmission().trim().toUpperCase(Locale.ROOT));
+        }
+        if (vehicleConditions.length() > 0) {
+            sql.append(" AND EXISTS (SELECT 1 FROM vehicles v WHERE v.id = listings.id")
+                    .append(vehicleConditions).append(")");
+        }
 
-        List<BaseListingResponse> responses = listings.stream()
-                .map(this::convertToResponseWithImage)
-                .collect(Collectors.toList());
+        // Type-specific attributes, all answered by the GIN index on the JSONB attribute store
+        Map<String, String> attributes = ListingAttributesMapper.normalize(request.getAttributes());
+        if (!attributes.isEmpty()) {
+            if (!listingAttributeStore.isEnabled()) {
+                throw new InvalidSearchException("Attribute filters are not enabled");
+            }
+            sql.append(" AND attributes @> CAST(:attributes AS jsonb)");
+            params.put("attributes", ListingAttributeStore.toJson(attributes));
+        }
+    }
 
-        return new PageImpl<>(responses, pageable, total);
+    private String areaCondition(String table, String column, AdvancedSearchRequest request) {
+        StringBuilder condition = new StringBuilder("EXISTS (SELECT 1 FROM ").append(table)
+                .append(" a WHERE a.id = listings.id");
+        if (request.getMinArea() != null) {
+            condition.append(" AND a.").append(column).append(" >= :minArea");
+        }
+        if (request.getMaxArea() != null) {
+            condition.append(" AND a.").append(column).append(" <= :maxArea");
+        }
+        return condition.append(")").toString();
     }
 
     /**
@@ -161,37 +334,25 @@ public class AdvancedSearchService {
      */
     public Page<BaseListingResponse> searchNearby(Double latitude, Double longitude, Double radiusKm,
             Pageable pageable) {
-        String sql = "SELECT * FROM listings " +
-                "WHERE location IS NOT NULL " +
-                "AND ST_DWithin(location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography, :radiusMeters) "
-                +
-                "ORDER BY ST_Distance(location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326))";
+        return searchNearby(latitude, longitude, radiusKm, pageable, CountMode.EXACT);
+    }
 
-        String countSql = "SELECT COUNT(*) FROM listings " +
+    /**
+     * Nearby search with the total computed as requested by the count mode
+     */
+    public Page<BaseListingResponse> searchNearby(Double latitude, Double longitude, Double radiusKm,
+            Pageable pageable, CountMode countMode) {
+        String fromWhere = "FROM listings " +
                 "WHERE location IS NOT NULL " +
                 "AND ST_DWithin(location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography, :radiusMeters)";
+        String orderBy = " ORDER BY ST_Distance(location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326))";
 
-        Query countQuery = entityManager.createNativeQuery(countSql);
-        countQuery.setParameter("latitude", latitude);
-        countQuery.setParameter("longitude", longitude);
-        countQuery.setParameter("radiusMeters", radiusKm * 1000);
-        long total = ((Number) countQuery.getSingleResult()).longValue();
-
-        Query query = entityManager.createNativeQuery(sql, BaseListing.class);
-        query.setParameter("latitude", latitude);
-        query.setParameter("longitude", longitude);
-        query.setParameter("radiusMeters", radiusKm * 1000);
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
-
-        @SuppressWarnings("unchecked")
-        List<BaseListing> listings = query.getResultList();
-
-        List<BaseListingResponse> responses = listings.stream()
-                .map(this::convertToResponseWithImage)
-                .collect(Collectors.toList());
+        Map<String, Object> params = new HashMap<>();
+        params.put("latitude", latitude);
+        params.put("longitude", longitude);
+        params.put("radiusMeters", radiusKm * 1000);
 
-        return new PageImpl<>(responses, pageable, total);
+        return fetchPage(fromWhere, orderBy, params, countMode, pageable).map(this::convertToResponseWithImage);
     }
 
     /**
@@ -214,7 +375,7 @@ public class AdvancedSearchService {
 
         imageRepository
                 .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(listing.getId(), response.getListingType())
-                .ifPresent(image -> response.setImageUrl("/api/images/view/" + image.getId()));
+                .ifPresent(image -> response.setImageUrl(ImageMapper.viewUrl(image.getId(), ImageSize.CARD)));
 
         return response;
     }
@@ -3,7 +3,6 @@ package com.burakcanaksoy.realestate.service;
 import com.burakcanaksoy.realestate.exception.InvalidComparisonException;
 import com.burakcanaksoy.realestate.model.*;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
-import com.burakcanaksoy.realestate.repository.ListingRepository;
 import com.burakcanaksoy.realestate.response.ComparisonFieldResponse;
 import com.burakcanaksoy.realestate.response.ComparisonResponse;
 import jakarta.persistence.EntityNotFoundException;
@@ -19,7 +18,7 @@ import java.util.*;
 @RequiredArgsConstructor
 public class ComparisonService {
 
-    private final ListingRepository listingRepository;
+    private final TypedListingLoader typedListingLoader;
     private final ImageRepository imageRepository;
 
     @Transactional(readOnly = true)
@@ -29,8 +28,8 @@ public class ComparisonService {
             throw new InvalidComparisonException("Karşılaştırma için 2 veya 3 ilan seçmelisiniz");
         }
 
-        // Fetch all listings with category in a single query
-        List<BaseListing> listings = listingRepository.findAllById(listingIds);
+        // Fetch each listing from its own type's table, in the requested order
+        List<BaseListing> listings = typedListingLoader.findAllById(listingIds);
 
         // Validate all listings exist
         if (listings.size() != listingIds.size()) {
@@ -0,0 +1,104 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Totals for paged searches that do not need an exact COUNT(*). Estimates come
+ * from planner statistics or from the in-memory facet index; -1 means no
+ * estimate is available and the page only tells whether a next page exists.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CountEstimator {
+
+    public static final long UNKNOWN = -1;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final FacetIndexService facetIndexService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Row count of a table as last recorded by ANALYZE / autovacuum.
+     */
+    public long estimateTableRows(String table) {
+        try {
+            Object rows = entityManager
+                    .createNativeQuery("SELECT reltuples::bigint FROM pg_class WHERE relname = :table")
+                    .setParameter("table", table)
+                    .getSingleResult();
+            long estimate = ((Number) rows).longValue();
+            return estimate >= 0 ? estimate : UNKNOWN;
+        } catch (RuntimeException e) {
+            log.debug("No row estimate for table {}: {}", table, e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Number of rows the planner expects the query to return.
+     */
+    public long estimateQueryRows(String sql, Map<String, Object> params) {
+        try {
+            Query explain = entityManager.createNativeQuery("EXPLAIN (FORMAT JSON) " + sql);
+            params.forEach(explain::setParameter);
+            JsonNode plan = objectMapper.readTree(explain.getSingleResult().toString());
+            return plan.path(0).path("Plan").path("Plan Rows").asLong(UNKNOWN);
+        } catch (Exception e) {
+            log.debug("Could not estimate rows of search query: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Active listings of a type matching the location and category filters,
+     * answered from the facet index. Other filters are not taken into account.
+     */
+    public long estimateListings(String listingType, ListingStatus status, String city, String district,
+            String categorySlug) {
+        if (status != null && status != ListingStatus.ACTIVE) {
+            return UNKNOWN;
+        }
+        Map<FacetIndexService.Facet, String> criteria = new EnumMap<>(FacetIndexService.Facet.class);
+        criteria.put(FacetIndexService.Facet.LISTING_TYPE, listingType);
+        putIfPresent(criteria, FacetIndexService.Facet.CITY, city);
+        putIfPresent(criteria, FacetIndexService.Facet.DISTRICT, district);
+        putIfPresent(criteria, FacetIndexService.Facet.CATEGORY, categorySlug);
+        return facetIndexService.count(criteria);
+    }
+
+    /**
+     * Turns a slice into a page. The total is the estimate while more pages
+     * follow, and exact once the last page has been reached.
+     */
+    public static <T> Page<T> toPage(Slice<T> slice, long estimatedTotal) {
+        long seen = slice.getPageable().isPaged()
+                ? slice.getPageable().getOffset() + slice.getNumberOfElements()
+                : slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimatedTotal, seen + 1) : seen;
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    private static void putIfPresent(Map<FacetIndexService.Facet, String> criteria, FacetIndexService.Facet facet,
+            String value) {
+        if (value != null && !value.isBlank()) {
+            criteria.put(facet, value);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.exception.InvalidUploadException;
+import com.burakcanaksoy.realestate.model.MediaBlob;
+import com.burakcanaksoy.realestate.model.enums.MediaKind;
+import com.burakcanaksoy.realestate.request.DirectUploadRequest;
+import com.burakcanaksoy.realestate.response.DirectUploadResponse;
+import com.burakcanaksoy.realestate.storage.MediaStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Uploads that go from the client straight to the media store. The client
+ * announces the file with its SHA-256, PUTs it to the signed URL it gets
+ * back, then completes the upload to create the Image or Video row. The
+ * bytes never pass through this server.
+ */
+@Service
+@RequiredArgsConstructor
+public class DirectUploadService {
+
+    private final MediaBlobStore mediaBlobStore;
+    private final FileStorageService fileStorageService;
+
+    public DirectUploadResponse prepare(DirectUploadRequest request) {
+        checkContentType(request);
+        try {
+            Optional<MediaStore.DirectUpload> upload = mediaBlobStore.prepareDirectUpload(digest(request),
+                    request.getSize(), request.getContentType(), request.getFileName());
+            return upload
+                    .map(target -> new DirectUploadResponse(true, target.url().toString(), target.headers()))
+                    .orElseGet(() -> new DirectUploadResponse(false, null, Map.of()));
+        } catch (UnsupportedOperationException e) {
+            throw new InvalidUploadException("Direct uploads need an object storage backend");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to prepare upload: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates the row for an uploaded file. Returns an ImageResponse or a
+     * VideoResponse depending on the kind.
+     */
+    public Object complete(DirectUploadRequest request) {
+        checkContentType(request);
+        MediaBlob blob;
+        try {
+            blob = mediaBlobStore.completeDirectUpload(digest(request), request.getSize(),
+                    request.getContentType(), request.getFileName())
+                    .orElseThrow(() -> new InvalidUploadException("Uploaded file not found or of another size"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to complete upload: " + e.getMessage(), e);
+        }
+
+        if (request.getKind() == MediaKind.IMAGE) {
+            return fileStorageService.registerImage(blob, request.getContentType(), request.getListingId(),
+                    request.getListingType(), request.getIsPrimary());
+        }
+        return fileStorageService.createVideo(blob, request.getContentType(), request.getListingId(),
+                request.getListingType());
+    }
+
+    private static void checkContentType(DirectUploadRequest request) {
+        String expected = request.getKind() == MediaKind.IMAGE ? "image/" : "video/";
+        if (!request.getContentType().startsWith(expected)) {
+            throw new InvalidUploadException("Content type must start with " + expected);
+        }
+    }
+
+    private static String digest(DirectUploadRequest request) {
+        return request.getSha256().toLowerCase(Locale.ROOT);
+    }
+}
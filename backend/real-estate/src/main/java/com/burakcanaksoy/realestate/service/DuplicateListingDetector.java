@@ -0,0 +1,264 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.BaseListingMapper;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.response.DuplicateListingResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds listings posted more than once with lightly edited text. The title
+ * and description of every listing are cut into overlapping three-word
+ * shingles and summarised by a MinHash signature, whose matching positions
+ * estimate the Jaccard similarity of two shingle sets. Signatures are split
+ * into bands that are hashed into buckets (locality-sensitive hashing), so a
+ * listing is only compared with the few listings sharing a bucket with it
+ * instead of the whole catalogue.
+ */
+@Service
+@Slf4j
+public class DuplicateListingDetector {
+
+    static final int SIGNATURE_LENGTH = 128;
+    // 32 bands of 4 rows: pairs above about 0.5 similarity share a bucket with high probability
+    static final int BANDS = 32;
+    private static final int ROWS = SIGNATURE_LENGTH / BANDS;
+    private static final int SHINGLE_WORDS = 3;
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final ListingRepository listingRepository;
+    private final double threshold;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // One bucket map per band, from the hash of the band's rows to listing ids
+    private final List<Map<Long, Set<Long>>> buckets = new ArrayList<>(BANDS);
+    // Pairs above the threshold, kept in both directions
+    private final Map<Long, Map<Long, Double>> candidates = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Entry(long listingId, String listingType, String title, Long ownerId, long[] signature) {
+    }
+
+    public DuplicateListingDetector(ListingRepository listingRepository,
+            @Value("${listings.duplicates.similarity:0.6}") double threshold) {
+        this.listingRepository = listingRepository;
+        this.threshold = threshold;
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.forEach(Map::clear);
+            candidates.clear();
+            listingRepository.findAll().forEach(listing -> index(listing, BaseListingMapper.listingTypeOf(listing)));
+            log.info("Duplicate index built for {} listings, {} candidate pairs", entries.size(),
+                    candidates.values().stream().mapToInt(Map::size).sum() / 2);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // After commit: a writer that rolls back must leave the index as it was
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getListingId());
+            if (event.getChangeType() != ListingChangedEvent.ChangeType.DELETED) {
+                index(event.getListing(), event.getListingType());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Candidate duplicate pairs, most similar first.
+     */
+    public List<DuplicateListingResponse> getCandidates(int limit) {
+        lock.readLock().lock();
+        try {
+            List<DuplicateListingResponse> pairs = new ArrayList<>();
+            candidates.forEach((listingId, others) -> others.forEach((otherId, similarity) -> {
+                if (listingId < otherId) {
+                    Entry entry = entries.get(listingId);
+                    Entry other = entries.get(otherId);
+                    pairs.add(new DuplicateListingResponse(entry.listingType(), listingId, entry.title(), otherId,
+                            other.title(), similarity,
+                            entry.ownerId() != null && entry.ownerId().equals(other.ownerId())));
+                }
+            }));
+            pairs.sort(Comparator.comparing(DuplicateListingResponse::getSimilarity).reversed()
+                    .thenComparing(DuplicateListingResponse::getListingId));
+            return pairs.size() > limit ? new ArrayList<>(pairs.subList(0, limit)) : pairs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Listings that look like duplicates of the given one, with their
+     * estimated similarity.
+     */
+    public Map<Long, Double> getCandidates(Long listingId) {
+        lock.readLock().lock();
+        try {
+            return Map.copyOf(candidates.getOrDefault(listingId, Map.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(BaseListing listing, String listingType) {
+        long[] signature = signature(shingles(listing.getTitle() + " " + Objects.toString(listing.getDescription(), "")));
+        if (signature == null) {
+            return;
+        }
+        Long ownerId = listing.getCreatedBy() != null ? listing.getCreatedBy().getId() : null;
+        Entry entry = new Entry(listing.getId(), listingType, listing.getTitle(), ownerId, signature);
+
+        Set<Long> neighbours = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(band).computeIfAbsent(bandKey(signature, band), key -> new HashSet<>());
+            neighbours.addAll(bucket);
+            bucket.add(entry.listingId());
+        }
+        entries.put(entry.listingId(), entry);
+
+        for (Long neighbourId : neighbours) {
+            Entry neighbour = entries.get(neighbourId);
+            if (!neighbour.listingType().equals(listingType)) {
+                continue;
+            }
+            double similarity = similarity(signature, neighbour.signature());
+            if (similarity >= threshold) {
+                candidates.computeIfAbsent(entry.listingId(), id -> new HashMap<>()).put(neighbourId, similarity);
+                candidates.computeIfAbsent(neighbourId, id -> new HashMap<>()).put(entry.listingId(), similarity);
+            }
+        }
+    }
+
+    private void remove(Long listingId) {
+        Entry entry = entries.remove(listingId);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(entry.signature(), band);
+            Set<Long> bucket = buckets.get(band).get(key);
+            bucket.remove(listingId);
+            if (bucket.isEmpty()) {
+                buckets.get(band).remove(key);
+            }
+        }
+        Map<Long, Double> others = candidates.remove(listingId);
+        if (others != null) {
+            for (Long otherId : others.keySet()) {
+                Map<Long, Double> reverse = candidates.get(otherId);
+                reverse.remove(listingId);
+                if (reverse.isEmpty()) {
+                    candidates.remove(otherId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hashes of the overlapping word triples of the text, lower-cased and
+     * stripped of punctuation. Texts shorter than a triple give one shingle.
+     */
+    static Set<Long> shingles(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        List<String> tokens = Arrays.stream(words).filter(word -> !word.isEmpty()).toList();
+        Set<Long> shingles = new LinkedHashSet<>();
+        for (int start = 0; start == 0 || start + SHINGLE_WORDS <= tokens.size(); start++) {
+            int end = Math.min(tokens.size(), start + SHINGLE_WORDS);
+            if (end > start) {
+                shingles.add(mix(String.join(" ", tokens.subList(start, end)).hashCode()));
+            }
+        }
+        return shingles;
+    }
+
+    /**
+     * MinHash signature: for each of the seeded hash functions, the smallest
+     * hash over all shingles. Null for text without shingles.
+     */
+    static long[] signature(Set<Long> shingles) {
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        long[] signature = new long[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                long hash = mix(shingle ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(long[] first, long[] second) {
+        int same = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (first[i] == second[i]) {
+                same++;
+            }
+        }
+        return (double) same / SIGNATURE_LENGTH;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = mix(key * 31 + signature[row]);
+        }
+        return key;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
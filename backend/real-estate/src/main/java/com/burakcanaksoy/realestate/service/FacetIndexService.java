@@ -0,0 +1,325 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.Land;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.Workplace;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.repository.LandRepository;
+import com.burakcanaksoy.realestate.repository.RealEstateRepository;
+import com.burakcanaksoy.realestate.repository.VehicleRepository;
+import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
+import com.burakcanaksoy.realestate.request.FacetFilterRequest;
+import com.burakcanaksoy.realestate.response.FacetCountsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet index over active listings. Every facet value keeps a
+ * compressed bitmap of listings, so counts for the search sidebar are
+ * answered by bitmap intersection instead of one query per facet value.
+ * Listings take dense int positions in the bitmaps, as their Long ids may
+ * outgrow the int range.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FacetIndexService {
+
+    public enum Facet {
+        LISTING_TYPE("listingType"),
+        CITY("city"),
+        DISTRICT("district"),
+        CATEGORY("categorySlug"),
+        FUEL_TYPE("fuelType"),
+        TRANSMISSION("transmission"),
+        ROOM_COUNT("roomCount"),
+        HEATING_TYPE("heatingType"),
+        PRICE("priceBucket");
+
+        private final String paramName;
+
+        Facet(String paramName) {
+            this.paramName = paramName;
+        }
+
+        public String getParamName() {
+            return paramName;
+        }
+    }
+
+    // Upper bounds of the price buckets, the last bucket is open ended
+    private static final long[] PRICE_BUCKET_BOUNDS = { 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L };
+
+    private final RealEstateRepository realEstateRepository;
+    private final VehicleRepository vehicleRepository;
+    private final LandRepository landRepository;
+    private final WorkplaceRepository workplaceRepository;
+
+    private final Map<Facet, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(Facet.class);
+    private final Map<Facet, Map<String, String>> labels = new EnumMap<>(Facet.class);
+    private final Map<Integer, Map<Facet, String>> indexedValues = new HashMap<>();
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    // Positions of removed listings, handed out again before new ones
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private int nextDocId;
+    private final RoaringBitmap allListings = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            bitmaps.clear();
+            labels.clear();
+            indexedValues.clear();
+            docIds.clear();
+            freeDocIds.clear();
+            nextDocId = 0;
+            allListings.clear();
+
+            realEstateRepository.findAll().forEach(this::indexListing);
+            vehicleRepository.findAll().forEach(this::indexListing);
+            landRepository.findAll().forEach(this::indexListing);
+            workplaceRepository.findAll().forEach(this::indexListing);
+
+            bitmaps.values().forEach(values -> values.values().forEach(RoaringBitmap::runOptimize));
+            log.info("Facet index built for {} active listings", allListings.getCardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // After commit: a writer that rolls back must leave the index as it was
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeListing(event.getListingId());
+            if (event.getChangeType() != ListingChangedEvent.ChangeType.DELETED) {
+                indexListing(event.getListing());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts per facet value for the given filter. The selection of a facet is
+     * ignored while counting that same facet, so the sidebar keeps showing the
+     * alternatives the user can switch to.
+     */
+    public FacetCountsResponse getFacetCounts(FacetFilterRequest filter) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, RoaringBitmap> selections = resolveSelections(filter);
+
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            for (Facet facet : Facet.values()) {
+                RoaringBitmap base = intersect(selections, facet);
+                Map<String, RoaringBitmap> values = bitmaps.getOrDefault(facet, Collections.emptyMap());
+                Map<String, String> facetLabels = labels.getOrDefault(facet, Collections.emptyMap());
+
+                List<Map.Entry<String, Long>> counts = new ArrayList<>();
+                for (Map.Entry<String, RoaringBitmap> entry : values.entrySet()) {
+                    long count = RoaringBitmap.andCardinality(base, entry.getValue());
+                    if (count > 0) {
+                        counts.add(Map.entry(facetLabels.getOrDefault(entry.getKey(), entry.getKey()), count));
+                    }
+                }
+                if (facet == Facet.PRICE) {
+                    counts.sort(Comparator.comparingInt(e -> priceBucketOrder(e.getKey())));
+                } else {
+                    counts.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+                }
+
+                Map<String, Long> ordered = new LinkedHashMap<>();
+                counts.forEach(e -> ordered.put(e.getKey(), e.getValue()));
+                facets.put(facet.getParamName(), ordered);
+            }
+
+            long total = intersect(selections, null).getCardinality();
+            return new FacetCountsResponse(total, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of active listings matching every given facet value. Values that
+     * are not indexed match nothing.
+     */
+    public long count(Map<Facet, String> criteria) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = allListings.clone();
+            for (Map.Entry<Facet, String> entry : criteria.entrySet()) {
+                RoaringBitmap values = bitmaps.getOrDefault(entry.getKey(), Collections.emptyMap())
+                        .get(normalize(entry.getValue()));
+                if (values == null) {
+                    return 0;
+                }
+                result.and(values);
+            }
+            return result.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String priceBucket(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        long value = price.longValue();
+        long lower = 0;
+        for (long bound : PRICE_BUCKET_BOUNDS) {
+            if (value < bound) {
+                return lower + "-" + bound;
+            }
+            lower = bound;
+        }
+        return lower + "+";
+    }
+
+    private Map<Facet, RoaringBitmap> resolveSelections(FacetFilterRequest filter) {
+        Map<Facet, RoaringBitmap> selections = new EnumMap<>(Facet.class);
+        if (filter == null) {
+            return selections;
+        }
+        addSelection(selections, Facet.LISTING_TYPE, filter.getListingType());
+        addSelection(selections, Facet.CITY, filter.getCity());
+        addSelection(selections, Facet.DISTRICT, filter.getDistrict());
+        addSelection(selections, Facet.CATEGORY, filter.getCategorySlug());
+        addSelection(selections, Facet.FUEL_TYPE, filter.getFuelType());
+        addSelection(selections, Facet.TRANSMISSION, filter.getTransmission());
+        addSelection(selections, Facet.ROOM_COUNT, filter.getRoomCount());
+        addSelection(selections, Facet.HEATING_TYPE, filter.getHeatingType());
+        addSelection(selections, Facet.PRICE, filter.getPriceBucket());
+        return selections;
+    }
+
+    private void addSelection(Map<Facet, RoaringBitmap> selections, Facet facet, List<String> selectedValues) {
+        if (selectedValues == null || selectedValues.isEmpty()) {
+            return;
+        }
+        Map<String, RoaringBitmap> values = bitmaps.getOrDefault(facet, Collections.emptyMap());
+        RoaringBitmap union = new RoaringBitmap();
+        for (String selected : selectedValues) {
+            RoaringBitmap bitmap = values.get(normalize(selected));
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        selections.put(facet, union);
+    }
+
+    private RoaringBitmap intersect(Map<Facet, RoaringBitmap> selections, Facet skipped) {
+        RoaringBitmap result = allListings.clone();
+        for (Map.Entry<Facet, RoaringBitmap> entry : selections.entrySet()) {
+            if (entry.getKey() != skipped) {
+                result.and(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void indexListing(BaseListing listing) {
+        if (listing == null || listing.getId() == null || listing.getStatus() != ListingStatus.ACTIVE) {
+            return;
+        }
+        int docId = docIds.computeIfAbsent(listing.getId(),
+                id -> freeDocIds.isEmpty() ? nextDocId++ : freeDocIds.pop());
+
+        Map<Facet, String> values = new EnumMap<>(Facet.class);
+        values.put(Facet.CITY, listing.getCity());
+        values.put(Facet.DISTRICT, listing.getDistrict());
+        values.put(Facet.PRICE, priceBucket(listing.getPrice()));
+        if (listing.getCategory() != null) {
+            values.put(Facet.CATEGORY, listing.getCategory().getSlug());
+        }
+
+        if (listing instanceof RealEstate realEstate) {
+            values.put(Facet.LISTING_TYPE, "REAL_ESTATE");
+            values.put(Facet.ROOM_COUNT, realEstate.getRoomCount());
+            values.put(Facet.HEATING_TYPE, enumName(realEstate.getHeatingType()));
+        } else if (listing instanceof Vehicle vehicle) {
+            values.put(Facet.LISTING_TYPE, "VEHICLE");
+            values.put(Facet.FUEL_TYPE, enumName(vehicle.getFuelType()));
+            values.put(Facet.TRANSMISSION, enumName(vehicle.getTransmission()));
+        } else if (listing instanceof Land) {
+            values.put(Facet.LISTING_TYPE, "LAND");
+        } else if (listing instanceof Workplace workplace) {
+            values.put(Facet.LISTING_TYPE, "WORKPLACE");
+            values.put(Facet.HEATING_TYPE, enumName(workplace.getHeatingType()));
+        }
+
+        values.values().removeIf(Objects::isNull);
+        values.forEach((facet, value) -> {
+            String key = normalize(value);
+            bitmaps.computeIfAbsent(facet, f -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new RoaringBitmap())
+                    .add(docId);
+            labels.computeIfAbsent(facet, f -> new HashMap<>()).putIfAbsent(key, value.trim());
+        });
+        indexedValues.put(docId, values);
+        allListings.add(docId);
+    }
+
+    private void removeListing(Long listingId) {
+        Integer docId = docIds.remove(listingId);
+        if (docId == null) {
+            return;
+        }
+        freeDocIds.push(docId);
+        Map<Facet, String> values = indexedValues.remove(docId);
+        allListings.remove(docId);
+        if (values == null) {
+            return;
+        }
+        values.forEach((facet, value) -> {
+            String key = normalize(value);
+            Map<String, RoaringBitmap> facetValues = bitmaps.get(facet);
+            RoaringBitmap bitmap = facetValues != null ? facetValues.get(key) : null;
+            if (bitmap != null) {
+                bitmap.remove(docId);
+                if (bitmap.isEmpty()) {
+                    facetValues.remove(key);
+                    labels.get(facet).remove(key);
+                }
+            }
+        });
+    }
+
+    private static int priceBucketOrder(String bucket) {
+        for (int i = 0; i < PRICE_BUCKET_BOUNDS.length; i++) {
+            if (bucket.endsWith("-" + PRICE_BUCKET_BOUNDS[i])) {
+                return i;
+            }
+        }
+        return PRICE_BUCKET_BOUNDS.length;
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,7 +2,9 @@ package com.burakcanaksoy.realestate.service;
 
 import com.burakcanaksoy.realestate.event.FavoriteCountUpdateEvent;
 import com.burakcanaksoy.realestate.mapper.BaseListingMapper;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
 import com.burakcanaksoy.realestate.model.*;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.model.enums.NotificationType;
 import com.burakcanaksoy.realestate.repository.*;
 import com.burakcanaksoy.realestate.response.BaseListingResponse;
@@ -12,7 +14,9 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class FavoriteService {
@@ -26,6 +30,8 @@ public class FavoriteService {
     private final SimpMessagingTemplate messagingTemplate;
     private final NotificationService notificationService;
     private final ActivityLogService activityLogService;
+    private final ListingCardService listingCardService;
+    private final TypedListingLoader typedListingLoader;
 
     public FavoriteService(FavoriteRepository favoriteRepository,
             UserRepository userRepository,
@@ -36,7 +42,9 @@ public class FavoriteService {
             ImageRepository imageRepository,
             SimpMessagingTemplate messagingTemplate,
             NotificationService notificationService,
-            ActivityLogService activityLogService) {
+            ActivityLogService activityLogService,
+            ListingCardService listingCardService,
+            TypedListingLoader typedListingLoader) {
         this.favoriteRepository = favoriteRepository;
         this.userRepository = userRepository;
         this.realEstateRepository = realEstateRepository;
@@ -47,6 +55,8 @@ public class FavoriteService {
         this.messagingTemplate = messagingTemplate;
         this.notificationService = notificationService;
         this.activityLogService = activityLogService;
+        this.listingCardService = listingCardService;
+        this.typedListingLoader = typedListingLoader;
     }
 
     @Transactional
@@ -68,6 +78,7 @@ public class FavoriteService {
 
         // Increment favorite count
         incrementFavoriteCount(listingId, listingType);
+        listingCardService.refresh(listingId);
 
         // Notify listing owner
         notifyListingOwner(listingId, listingType, user);
@@ -76,7 +87,7 @@ public class FavoriteService {
         String description = String.format("User added listing #%d (%s) to favorites", listingId, listingType);
         activityLogService.logActivity(user.getUsername(), "FAVORITE_ADDED", description, "N/A");
 
-        return mapToResponse(saved);
+        return mapToResponse(saved, typedListingLoader.findById(listingId, listingType).orElse(null));
     }
 
     @Transactional
@@ -93,6 +104,7 @@ public class FavoriteService {
 
         // Decrement favorite count
         decrementFavoriteCount(listingId, listingType);
+        listingCardService.refresh(listingId);
 
         // Log activity
         String description = String.format("User removed listing #%d (%s) from favorites", listingId, listingType);
@@ -106,8 +118,13 @@ public class FavoriteService {
         List<Favorite> favorites = favoriteRepository.findByUserOrderByCreatedAtDesc(user);
         List<FavoriteResponse> responses = new ArrayList<>();
 
+        // Load the favorited listings together, one query per listing type
+        Map<Long, BaseListing> listings = new HashMap<>();
+        typedListingLoader.findAllById(favorites.stream().map(Favorite::getListingId).toList())
+                .forEach(listing -> listings.put(listing.getId(), listing));
+
         for (Favorite favorite : favorites) {
-            FavoriteResponse response = mapToResponse(favorite);
+            FavoriteResponse response = mapToResponse(favorite, listings.get(favorite.getListingId()));
             if (response != null) {
                 responses.add(response);
             }
@@ -225,76 +242,29 @@ public class FavoriteService {
         }
     }
 
-    private FavoriteResponse mapToResponse(Favorite favorite) {
+    private FavoriteResponse mapToResponse(Favorite favorite, BaseListing listing) {
+        if (!TypedListingLoader.isListingType(favorite.getListingType())) {
+            return null;
+        }
+
         FavoriteResponse response = new FavoriteResponse();
         response.setId(favorite.getId());
         response.setListingId(favorite.getListingId());
         response.setListingType(favorite.getListingType());
         response.setCreatedAt(favorite.getCreatedAt());
 
-        // Fetch listing details based on type
-        switch (favorite.getListingType()) {
-            case "REAL_ESTATE":
-                realEstateRepository.findById(favorite.getListingId()).ifPresent(listing -> {
-                    response.setTitle(listing.getTitle());
-                    response.setDescription(listing.getDescription());
-                    response.setPrice(listing.getPrice().doubleValue());
-                    response.setCurrency(listing.getCurrency().toString());
-                    response.setCity(listing.getCity());
-                    response.setDistrict(listing.getDistrict());
-                    response.setImageUrl(imageRepository
-                            .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(favorite.getListingId(),
-                                    "REAL_ESTATE")
-                            .map(image -> "/api/images/view/" + image.getId()).orElse(null));
-                    response.setStatus(listing.getStatus().toString());
-                });
-                break;
-            case "VEHICLE":
-                vehicleRepository.findById(favorite.getListingId()).ifPresent(listing -> {
-                    response.setTitle(listing.getTitle());
-                    response.setDescription(listing.getDescription());
-                    response.setPrice(listing.getPrice().doubleValue());
-                    response.setCurrency(listing.getCurrency().toString());
-                    response.setCity(listing.getCity());
-                    response.setDistrict(listing.getDistrict());
-                    response.setImageUrl(imageRepository
-                            .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(favorite.getListingId(),
-                                    "VEHICLE")
-                            .map(image -> "/api/images/view/" + image.getId()).orElse(null));
-                    response.setStatus(listing.getStatus().toString());
-                });
-                break;
-            case "LAND":
-                landRepository.findById(favorite.getListingId()).ifPresent(listing -> {
-                    response.setTitle(listing.getTitle());
-                    response.setDescription(listing.getDescription());
-                    response.setPrice(listing.getPrice().doubleValue());
-                    response.setCurrency(listing.getCurrency().toString());
-                    response.setCity(listing.getCity());
-                    response.setDistrict(listing.getDistrict());
-                    response.setImageUrl(imageRepository
-                            .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(favorite.getListingId(), "LAND")
-                            .map(image -> "/api/images/view/" + image.getId()).orElse(null));
-                    response.setStatus(listing.getStatus().toString());
-                });
-                break;
-            case "WORKPLACE":
-                workplaceRepository.findById(favorite.getListingId()).ifPresent(listing -> {
-                    response.setTitle(listing.getTitle());
-                    response.setDescription(listing.getDescription());
-                    response.setPrice(listing.getPrice().doubleValue());
-                    response.setCurrency(listing.getCurrency().toString());
-                    response.setCity(listing.getCity());
-                    response.setDistrict(listing.getDistrict());
-                    response.setImageUrl(imageRepository
-                            .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(favorite.getListingId(),
-                                    "WORKPLACE")
-                            .map(image -> "/api/images/view/" + image.getId()).orElse(null));
-                    response.setStatus(listing.getStatus().toString());
-                });
-                break;
-            default:
-                return null;
+        if (listing != null) {
+            response.setTitle(listing.getTitle());
+            response.setDescription(listing.getDescription());
+            response.setPrice(listing.getPrice().doubleValue());
+            response.setCurrency(listing.getCurrency().toString());
+            response.setCity(listing.getCity());
+            response.setDistrict(listing.getDistrict());
+            response.setImageUrl(imageRepository
+                    .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(favorite.getListingId(),
+                            favorite.getListingType())
+                    .map(image -> ImageMapper.viewUrl(image.getId(), ImageSize.CARD)).orElse(null));
+            response.setStatus(listing.getStatus().toString());
         }
 
         return response;
@@ -306,27 +276,13 @@ public class FavoriteService {
         // Fetch first image if available
         imageRepository
                 .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(listing.getId(), response.getListingType())
-                .ifPresent(image -> response.setImageUrl("/api/images/view/" + image.getId()));
+                .ifPresent(image -> response.setImageUrl(ImageMapper.viewUrl(image.getId(), ImageSize.CARD)));
 
         return response;
     }
 
     private void notifyListingOwner(Long listingId, String listingType, User favoritedBy) {
-        BaseListing listing = null;
-        switch (listingType) {
-            case "REAL_ESTATE":
-                listing = realEstateRepository.findById(listingId).orElse(null);
-                break;
-            case "VEHICLE":
-                listing = vehicleRepository.findById(listingId).orElse(null);
-                break;
-            case "LAND":
-                listing = landRepository.findById(listingId).orElse(null);
-                break;
-            case "WORKPLACE":
-                listing = workplaceRepository.findById(listingId).orElse(null);
-                break;
-        }
+        BaseListing listing = typedListingLoader.findById(listingId, listingType).orElse(null);
 
         if (listing != null && listing.getCreatedBy() != null
                 && !listing.getCreatedBy().getId().equals(favoritedBy.getId())) {
@@ -1,17 +1,22 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.config.AsyncConfig;
 import com.burakcanaksoy.realestate.mapper.ImageMapper;
 import com.burakcanaksoy.realestate.mapper.VideoMapper;
 import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.MediaBlob;
 import com.burakcanaksoy.realestate.model.Video;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.VideoRepository;
 import com.burakcanaksoy.realestate.response.ImageResponse;
 import com.burakcanaksoy.realestate.response.VideoResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -19,8 +24,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,58 +39,131 @@ public class FileStorageService {
 
     private final ImageRepository imageRepository;
     private final VideoRepository videoRepository;
+    private final MediaStreamingService mediaStreamingService;
+    private final ImageRenditionService imageRenditionService;
+    private final MediaBlobStore mediaBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ListingResponseCache listingResponseCache;
+    private final ListingCardService listingCardService;
+    @Qualifier(AsyncConfig.MEDIA_IO_EXECUTOR)
+    private final Executor mediaIoExecutor;
 
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
     public ImageResponse uploadImage(MultipartFile file, Long listingId, String listingType, Boolean isPrimary) {
-        try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir, listingType.toLowerCase(), listingId.toString());
-            Files.createDirectories(uploadPath);
+        // Save file, or reuse the stored copy of identical content
+        MediaBlob blob = storeImage(file);
+        return registerImage(blob, file.getContentType(), listingId, listingType, isPrimary);
+    }
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : "";
-            String filename = UUID.randomUUID().toString() + extension;
+    /**
+     * Creates the Image row for a stored blob, after the listing's existing
+     * images.
+     */
+    public ImageResponse registerImage(MediaBlob blob, String contentType, Long listingId, String listingType,
+            Boolean isPrimary) {
+        List<Image> saved = insertImages(listingId, listingType, List.of(contentType), List.of(blob),
+                Boolean.TRUE.equals(isPrimary) ? 0 : null);
+        return ImageMapper.toResponse(saved.get(0));
+    }
 
-            // Save file
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Stores several images for one listing. Files are written in parallel on
+     * the media I/O pool, then all rows are inserted in one transaction with
+     * consecutive display orders after the existing gallery. Returns the whole
+     * gallery in display order.
+     *
+     * @param primaryIndex index of the file to make the primary image, or null
+     *                     to keep the current one
+     */
+    public List<ImageResponse> uploadImages(List<MultipartFile> files, Long listingId, String listingType,
+            Integer primaryIndex) {
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No files to upload");
+        }
+        if (primaryIndex != null && (primaryIndex < 0 || primaryIndex >= files.size())) {
+            throw new IllegalArgumentException("primaryIndex out of range: " + primaryIndex);
+        }
 
-            // Create image entity
-            Image image = new Image();
-            image.setFileName(filename);
-            image.setFilePath(filePath.toString());
-            image.setFileType(file.getContentType());
-            image.setFileSize(file.getSize());
-            image.setListingId(listingId);
-            image.setListingType(listingType);
-            image.setIsPrimary(isPrimary != null ? isPrimary : false);
+        List<CompletableFuture<MediaBlob>> writes = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> storeImage(file), mediaIoExecutor))
+                .toList();
 
-            // Set display order
-            long imageCount = imageRepository.countByListingIdAndListingType(listingId, listingType);
-            image.setDisplayOrder((int) imageCount);
-
-            // If this is set as primary, unset other primary images
-            if (image.getIsPrimary()) {
-                imageRepository.findByListingIdAndListingTypeAndIsPrimaryTrue(listingId, listingType)
-                        .ifPresent(existingPrimary -> {
-                            existingPrimary.setIsPrimary(false);
-                            imageRepository.save(existingPrimary);
-                        });
+        // Wait for every write, so none is left running when a sibling fails
+        List<MediaBlob> blobs = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<MediaBlob> write : writes) {
+            try {
+                blobs.add(write.join());
+            } catch (CompletionException e) {
+                failure = e.getCause() instanceof RuntimeException cause ? cause : e;
             }
+        }
+        if (failure != null) {
+            blobs.forEach(blob -> mediaBlobStore.release(blob.getDigest()));
+            throw failure;
+        }
 
-            Image savedImage = imageRepository.save(image);
-            return ImageMapper.toResponse(savedImage);
+        insertImages(listingId, listingType, files.stream().map(MultipartFile::getContentType).toList(), blobs,
+                primaryIndex);
+        return getListingImages(listingId, listingType);
+    }
 
+    private MediaBlob storeImage(MultipartFile file) {
+        try {
+            return mediaBlobStore.store(file.getInputStream(), file.getContentType(), file.getOriginalFilename());
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Inserts the image rows in a single transaction holding the listing's
+     * gallery lock, so concurrent uploads never share a display order. On
+     * failure the blob references are dropped again.
+     */
+    private List<Image> insertImages(Long listingId, String listingType, List<String> contentTypes,
+            List<MediaBlob> blobs, Integer primaryIndex) {
+        List<Image> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                imageRepository.lockGallery(listingType + ":" + listingId);
+                int displayOrder = imageRepository.findMaxDisplayOrder(listingId, listingType);
+
+                // If one of these is the primary image, unset the current one
+                if (primaryIndex != null) {
+                    imageRepository.clearPrimary(listingId, listingType);
+                }
+
+                List<Image> images = new ArrayList<>(blobs.size());
+                for (int i = 0; i < blobs.size(); i++) {
+                    MediaBlob blob = blobs.get(i);
+
+                    Image image = new Image();
+                    image.setFileName(fileName(blob.getStoragePath()));
+                    image.setFilePath(blob.getStoragePath());
+                    image.setBlobDigest(blob.getDigest());
+                    image.setFileType(contentTypes.get(i));
+                    image.setFileSize(blob.getSize());
+                    image.setListingId(listingId);
+                    image.setListingType(listingType);
+                    image.setIsPrimary(primaryIndex != null && primaryIndex == i);
+                    image.setDisplayOrder(++displayOrder);
+                    images.add(image);
+                }
+                return imageRepository.saveAll(images);
+            });
+        } catch (RuntimeException e) {
+            blobs.forEach(blob -> mediaBlobStore.release(blob.getDigest()));
+            throw e;
+        }
+
+        mediaChanged(listingId);
+        saved.forEach(image -> imageRenditionService.generateAsync(image.getId()));
+        return saved;
+    }
+
     public List<ImageResponse> getListingImages(Long listingId, String listingType) {
         return imageRepository.findByListingIdAndListingTypeOrderByDisplayOrderAsc(listingId, listingType)
                 .stream()
@@ -94,12 +176,16 @@ public class FileStorageService {
                 .orElseThrow(() -> new RuntimeException("Image not found"));
 
         try {
-            // Delete file from filesystem
-            Path filePath = Paths.get(image.getFilePath());
-            Files.deleteIfExists(filePath);
+            // Delete file and its renditions from filesystem, shared blobs are left to the sweep
+            if (image.getBlobDigest() == null) {
+                deleteImageFiles(image);
+            }
 
             // Delete from database
             imageRepository.delete(image);
+            mediaBlobStore.release(image.getBlobDigest());
+            mediaStreamingService.evictImage(imageId);
+            mediaChanged(image.getListingId());
 
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete file: " + e.getMessage(), e);
@@ -111,54 +197,83 @@ public class FileStorageService {
                 listingType);
 
         for (Image image : images) {
+            if (image.getBlobDigest() != null) {
+                continue;
+            }
             try {
-                Path filePath = Paths.get(image.getFilePath());
-                Files.deleteIfExists(filePath);
+                deleteImageFiles(image);
             } catch (IOException e) {
                 // Log error but continue deleting other images
-                System.err.println("Failed to delete file: " + image.getFilePath());
+                log.warn("Failed to delete file: {}", image.getFilePath(), e);
             }
         }
 
         imageRepository.deleteByListingIdAndListingType(listingId, listingType);
+        for (Image image : images) {
+            mediaBlobStore.release(image.getBlobDigest());
+            mediaStreamingService.evictImage(image.getId());
+        }
+        mediaChanged(listingId);
     }
 
-    public VideoResponse uploadVideo(MultipartFile file, Long listingId, String listingType) {
-        try {
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir, listingType.toLowerCase(), listingId.toString(), "videos");
-            Files.createDirectories(uploadPath);
+    /**
+     * Last segment of a storage location. Locations may be store URIs such as
+     * s3://bucket/key, which Paths would collapse, so they are kept as text.
+     */
+    private static String fileName(String location) {
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".")
-                    ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                    : "";
-            String filename = UUID.randomUUID().toString() + extension;
+    private void deleteImageFiles(Image image) throws IOException {
+        Files.deleteIfExists(Paths.get(image.getFilePath()));
+        for (ImageSize size : ImageSize.values()) {
+            String renditionPath = image.getRenditionPath(size);
+            if (renditionPath != null) {
+                Files.deleteIfExists(Paths.get(renditionPath));
+            }
+        }
+    }
 
-            // Save file
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    public VideoResponse uploadVideo(MultipartFile file, Long listingId, String listingType) {
+        try {
+            // Save file, or reuse the stored copy of identical content
+            MediaBlob blob = mediaBlobStore.store(file.getInputStream(), file.getContentType(),
+                    file.getOriginalFilename());
+            return createVideo(blob, file.getContentType(), listingId, listingType);
 
-            // Create video entity
-            Video video = new Video();
-            video.setFileName(filename);
-            video.setFilePath(filePath.toString());
-            video.setFileType(file.getContentType());
-            video.setFileSize(file.getSize());
-            video.setListingId(listingId);
-            video.setListingType(listingType);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store video: " + e.getMessage(), e);
+        }
+    }
 
+    /**
+     * Creates the Video row for a stored blob, after the listing's existing
+     * videos. On failure the blob reference is dropped again.
+     */
+    public VideoResponse createVideo(MediaBlob blob, String contentType, Long listingId, String listingType) {
+        // Create video entity
+        Video video = new Video();
+        video.setFileName(fileName(blob.getStoragePath()));
+        video.setFilePath(blob.getStoragePath());
+        video.setBlobDigest(blob.getDigest());
+        video.setFileType(contentType);
+        video.setFileSize(blob.getSize());
+        video.setListingId(listingId);
+        video.setListingType(listingType);
+
+        Video savedVideo;
+        try {
             // Set display order
             long videoCount = videoRepository.countByListingIdAndListingType(listingId, listingType);
             video.setDisplayOrder((int) videoCount);
 
-            Video savedVideo = videoRepository.save(video);
-            return VideoMapper.toResponse(savedVideo);
-
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store video: " + e.getMessage(), e);
+            savedVideo = videoRepository.save(video);
+        } catch (RuntimeException e) {
+            mediaBlobStore.release(blob.getDigest());
+            throw e;
         }
+        mediaChanged(listingId);
+        return VideoMapper.toResponse(savedVideo);
     }
 
     public List<VideoResponse> getListingVideos(Long listingId, String listingType) {
@@ -173,12 +288,16 @@ public class FileStorageService {
                 .orElseThrow(() -> new RuntimeException("Video not found"));
 
         try {
-            // Delete file from filesystem
-            Path filePath = Paths.get(video.getFilePath());
-            Files.deleteIfExists(filePath);
+            // Delete file from filesystem, shared blobs are left to the sweep
+            if (video.getBlobDigest() == null) {
+                Files.deleteIfExists(Paths.get(video.getFilePath()));
+            }
 
             // Delete from database
             videoRepository.delete(video);
+            mediaBlobStore.release(video.getBlobDigest());
+            mediaStreamingService.evictVideo(videoId);
+            mediaChanged(video.getListingId());
 
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete video file: " + e.getMessage(), e);
@@ -190,102 +309,29 @@ public class FileStorageService {
                 listingType);
 
         for (Video video : videos) {
+            if (video.getBlobDigest() != null) {
+                continue;
+            }
             try {
                 Path filePath = Paths.get(video.getFilePath());
                 Files.deleteIfExists(filePath);
             } catch (IOException e) {
-                System.err.println("Failed to delete video file: " + video.getFilePath());
+                log.warn("Failed to delete video file: {}", video.getFilePath(), e);
             }
         }
 
         videoRepository.deleteByListingIdAndListingType(listingId, listingType);
-    }
-
-    public org.springframework.core.io.Resource loadFileAsResource(Long imageId) {
-        try {
-            Image image = imageRepository.findById(imageId)
-                    .orElseThrow(() -> new RuntimeException("Image not found " + imageId));
-
-            Path filePath = Paths.get(image.getFilePath());
-
-            // Eğer path relative ise, mevcut çalışma dizini ile birleştir
-            if (!filePath.isAbsolute()) {
-                String cwd = System.getProperty("user.dir");
-                filePath = Paths.get(cwd).resolve(filePath);
-            }
-
-            filePath = filePath.normalize();
-
-            System.out.println("DEBUG IMAGE LOAD: ID=" + imageId + ", Path=" + filePath.toAbsolutePath());
-
-            org.springframework.core.io.Resource resource = new org.springframework.core.io.UrlResource(
-                    filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                System.err.println("ERROR IMAGE LOAD: File not found or not readable: " + filePath.toAbsolutePath());
-
-                // Fallback: Try with just 'uploads' relative to run dir if explicit path failed
-                if (!filePath.toString().contains("uploads")) {
-                    Path fallback = Paths.get("uploads").resolve(image.getFilePath());
-                    System.err.println("Trying fallback: " + fallback.toAbsolutePath());
-                    org.springframework.core.io.Resource fbResource = new org.springframework.core.io.UrlResource(
-                            fallback.toAbsolutePath().toUri());
-                    if (fbResource.exists())
-                        return fbResource;
-                }
-
-                throw new RuntimeException("File not found at path: " + filePath.toAbsolutePath());
-            }
-        } catch (Exception ex) {
-            System.err.println("EXCEPTION IMAGE LOAD: " + ex.getMessage());
-            ex.printStackTrace();
-            throw new RuntimeException("File not found " + imageId, ex);
-        }
-    }
-
-    public org.springframework.core.io.Resource loadVideoAsResource(Long videoId) {
-        try {
-            Video video = videoRepository.findById(videoId)
-                    .orElseThrow(() -> new RuntimeException("Video not found " + videoId));
-
-            Path filePath = Paths.get(video.getFilePath());
-            log.info("Loading video ID: {}, DB Path: {}", videoId, filePath);
-
-            if (!filePath.isAbsolute()) {
-                String cwd = System.getProperty("user.dir");
-                filePath = Paths.get(cwd).resolve(filePath);
-            }
-
-            filePath = filePath.normalize();
-            log.info("Resolved video path: {}", filePath.toAbsolutePath());
-
-            org.springframework.core.io.Resource resource = new org.springframework.core.io.UrlResource(
-                    filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                log.error("Video file NOT FOUND or NOT READABLE at: {}", filePath.toAbsolutePath());
-                throw new RuntimeException("Video not found or not readable: " + filePath.toAbsolutePath());
-            }
-        } catch (Exception ex) {
-            log.error("Failed to load video resource {}: {}", videoId, ex.getMessage(), ex);
-            throw new RuntimeException("Video not found " + videoId, ex);
+        for (Video video : videos) {
+            mediaBlobStore.release(video.getBlobDigest());
+            mediaStreamingService.evictVideo(video.getId());
         }
+        mediaChanged(listingId);
     }
 
-    public String getVideoContentType(Long videoId) {
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new RuntimeException("Video not found " + videoId));
-        return video.getFileType();
-    }
-
-    public String getImageContentType(Long imageId) {
-        Image image = imageRepository.findById(imageId)
-                .orElseThrow(() -> new RuntimeException("Image not found " + imageId));
-        return image.getFileType();
+    // The listing's cached response and card show its first image and video
+    private void mediaChanged(Long listingId) {
+        listingResponseCache.mediaChanged(listingId);
+        listingCardService.refresh(listingId);
     }
 
     public String uploadUserProfileImage(MultipartFile file, Long userId) {
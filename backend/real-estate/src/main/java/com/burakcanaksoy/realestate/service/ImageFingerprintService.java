@@ -0,0 +1,276 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.response.ImageResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Perceptual fingerprints of uploaded images, for spotting photos reused by
+ * other users' listings. The fingerprint is a 64-bit difference hash (dHash)
+ * of a tiny grayscale copy, which survives recompression, rescaling and small
+ * crops. All fingerprints are held in a BK-tree, so the images within a
+ * Hamming distance of a new upload are found by visiting a small part of the
+ * tree rather than comparing against every image.
+ */
+@Service
+@Slf4j
+public class ImageFingerprintService {
+
+    private final ImageRepository imageRepository;
+    private final ListingRepository listingRepository;
+    private final int maxDistance;
+
+    private BkTree tree = new BkTree();
+    // Listings deleted since the tree was built, skipped by lookups
+    private final Set<Long> removedListings = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ImageFingerprintService(ImageRepository imageRepository, ListingRepository listingRepository,
+            @Value("${media.duplicates.max-distance:6}") int maxDistance) {
+        this.imageRepository = imageRepository;
+        this.listingRepository = listingRepository;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * A fingerprinted image with the listing and user it belongs to.
+     */
+    public record Fingerprint(long imageId, long listingId, long ownerId, long hash) {
+    }
+
+    /**
+     * Loads every stored fingerprint, at startup and nightly to drop deleted
+     * images.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${media.duplicates.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        BkTree rebuilt = new BkTree();
+        for (Object[] row : imageRepository.findFingerprints()) {
+            rebuilt.add(new Fingerprint((Long) row[0], (Long) row[1], (Long) row[2], (Long) row[3]));
+        }
+        lock.writeLock().lock();
+        try {
+            tree = rebuilt;
+            removedListings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Image fingerprint index built for {} images", rebuilt.size());
+    }
+
+    /**
+     * Fingerprints the image from a decoded copy of it, flags it when another
+     * user's listing has a near-identical photo, and adds it to the index.
+     * Returns the fingerprint.
+     */
+    public long fingerprint(Image image, BufferedImage picture) {
+        long hash = dHash(picture);
+        Long ownerId = listingRepository.findOwnerId(image.getListingId()).orElse(null);
+        if (ownerId == null) {
+            return hash;
+        }
+        // Single images deleted since the last rebuild are still indexed, check the closest matches exist
+        Long duplicateOf = findSimilar(hash, maxDistance).stream()
+                .filter(match -> match.ownerId() != ownerId && match.imageId() != image.getId())
+                .sorted(Comparator.comparingInt(match -> distance(match.hash(), hash)))
+                .map(Fingerprint::imageId)
+                .filter(imageRepository::existsById)
+                .findFirst()
+                .orElse(null);
+        imageRepository.updateFingerprint(image.getId(), hash, duplicateOf);
+        if (duplicateOf != null) {
+            log.info("Image {} of listing {} looks like image {} of another user", image.getId(),
+                    image.getListingId(), duplicateOf);
+        }
+
+        lock.writeLock().lock();
+        try {
+            tree.add(new Fingerprint(image.getId(), image.getListingId(), ownerId, hash));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return hash;
+    }
+
+    /**
+     * Indexed images whose fingerprint differs from hash in at most
+     * maxDistance bits.
+     */
+    public List<Fingerprint> findSimilar(long hash, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            List<Fingerprint> matches = tree.search(hash, maxDistance);
+            matches.removeIf(match -> removedListings.contains(match.listingId()));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Images flagged as near-duplicates of another user's photo, newest first.
+     */
+    public Page<ImageResponse> getFlaggedImages(Pageable pageable) {
+        return imageRepository.findByNearDuplicateOfIsNotNullOrderByIdDesc(pageable).map(ImageMapper::toResponse);
+    }
+
+    @EventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.getChangeType() != ListingChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removedListings.add(event.getListingId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Difference hash: the image shrunk to 9x8 grayscale pixels, one bit per
+     * pair of horizontal neighbours, set when the left one is brighter.
+     */
+    static long dHash(BufferedImage picture) {
+        BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = small.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Scale the rendition rather than the original so bilinear filtering averages enough pixels
+            graphics.drawImage(ImageRenditionService.scale(picture, 64), 0, 0, 9, 8, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /**
+     * Burkhard-Keller tree over Hamming distance. Every child edge is labelled
+     * with the distance between the child and its parent; by the triangle
+     * inequality a search only follows edges within maxDistance of the
+     * distance between the query and the parent.
+     */
+    static class BkTree {
+
+        private Node root;
+        private int size;
+
+        private static class Node {
+            final long hash;
+            final List<Fingerprint> fingerprints = new ArrayList<>(1);
+            // Child edges, kept short: distances are at most 64
+            int[] distances = new int[0];
+            Node[] children = new Node[0];
+
+            Node(long hash) {
+                this.hash = hash;
+            }
+
+            Node child(int distance) {
+                for (int i = 0; i < distances.length; i++) {
+                    if (distances[i] == distance) {
+                        return children[i];
+                    }
+                }
+                return null;
+            }
+
+            Node addChild(int distance, long hash) {
+                distances = Arrays.copyOf(distances, distances.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                distances[distances.length - 1] = distance;
+                children[children.length - 1] = new Node(hash);
+                return children[children.length - 1];
+            }
+        }
+
+        void add(Fingerprint fingerprint) {
+            size++;
+            if (root == null) {
+                root = new Node(fingerprint.hash());
+                root.fingerprints.add(fingerprint);
+                return;
+            }
+            Node node = root;
+            while (true) {
+                int distance = distance(node.hash, fingerprint.hash());
+                if (distance == 0) {
+                    node.fingerprints.add(fingerprint);
+                    return;
+                }
+                Node child = node.child(distance);
+                if (child == null) {
+                    node.addChild(distance, fingerprint.hash()).fingerprints.add(fingerprint);
+                    return;
+                }
+                node = child;
+            }
+        }
+
+        List<Fingerprint> search(long hash, int maxDistance) {
+            List<Fingerprint> matches = new ArrayList<>();
+            if (root == null) {
+                return matches;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                int distance = distance(node.hash, hash);
+                if (distance <= maxDistance) {
+                    matches.addAll(node.fingerprints);
+                }
+                for (int i = 0; i < node.distances.length; i++) {
+                    if (Math.abs(node.distances[i] - distance) <= maxDistance) {
+                        pending.push(node.children[i]);
+                    }
+                }
+            }
+            return matches;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.config.AsyncConfig;
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.storage.MediaStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates the thumbnail, card and full renditions of uploaded images. Each
+ * rendition is scaled down to fit its size and re-encoded as a baseline JPEG
+ * without any of the original metadata, so EXIF data (including GPS
+ * positions) is never served. The thumbnail is also fingerprinted for
+ * near-duplicate detection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageRenditionService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final ImageRepository imageRepository;
+    private final MediaStreamingService mediaStreamingService;
+    private final MediaStore mediaStore;
+    private final ImageFingerprintService imageFingerprintService;
+
+    // Images queued or being processed, and images that cannot be decoded
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Queues rendition generation for the image on the media worker pool.
+     * Requests for an image that is already queued or failed are ignored.
+     */
+    @Async(AsyncConfig.MEDIA_EXECUTOR)
+    public void generateAsync(Long imageId) {
+        if (failed.contains(imageId) || !pending.add(imageId)) {
+            return;
+        }
+        try {
+            generate(imageId);
+        } catch (Exception e) {
+            failed.add(imageId);
+            log.warn("Could not create renditions of image {}: {}", imageId, e.getMessage());
+        } finally {
+            pending.remove(imageId);
+        }
+    }
+
+    /**
+     * Creates every rendition of the image next to the original file and
+     * records their locations.
+     */
+    public void generate(Long imageId) throws IOException {
+        Image image = imageRepository.findById(imageId).orElse(null);
+        if (image == null) {
+            return;
+        }
+        String original = image.getFilePath();
+        Map<ImageSize, String> locations = new EnumMap<>(ImageSize.class);
+        for (ImageSize size : ImageSize.values()) {
+            locations.put(size, renditionLocation(original, size));
+        }
+
+        // Renditions of a shared blob exist already when the same file was uploaded before
+        boolean generated = true;
+        for (String location : locations.values()) {
+            generated &= mediaStore.exists(location);
+        }
+        BufferedImage thumbnail = null;
+        if (!generated) {
+            Path source = mediaStore.localPath(original).orElse(null);
+            Path download = null;
+            if (source == null) {
+                download = Files.createTempFile("rendition-source-", ".tmp");
+                try (InputStream in = mediaStore.open(original)) {
+                    Files.copy(in, download, StandardCopyOption.REPLACE_EXISTING);
+                }
+                source = download;
+            }
+            try {
+                BufferedImage previous = read(source, ImageSize.FULL.getMaxDimension());
+                // Largest first, each size is scaled from the one before it
+                for (ImageSize size : new ImageSize[] { ImageSize.FULL, ImageSize.CARD, ImageSize.THUMB }) {
+                    BufferedImage scaled = scale(previous, size.getMaxDimension());
+                    Path encoded = Files.createTempFile("rendition-", ".jpg");
+                    try {
+                        write(scaled, encoded);
+                        mediaStore.put(locations.get(size), encoded, MediaType.IMAGE_JPEG_VALUE);
+                    } finally {
+                        Files.deleteIfExists(encoded);
+                    }
+                    previous = scaled;
+                }
+                thumbnail = previous;
+            } finally {
+                if (download != null) {
+                    Files.deleteIfExists(download);
+                }
+            }
+        }
+
+        imageRepository.updateRenditionPaths(imageId, locations.get(ImageSize.THUMB), locations.get(ImageSize.CARD),
+                locations.get(ImageSize.FULL));
+        mediaStreamingService.evictImage(imageId);
+
+        if (image.getPerceptualHash() == null) {
+            if (thumbnail == null) {
+                try (InputStream in = mediaStore.open(locations.get(ImageSize.THUMB))) {
+                    thumbnail = ImageIO.read(in);
+                }
+            }
+            if (thumbnail != null) {
+                imageFingerprintService.fingerprint(image, thumbnail);
+            }
+        }
+        log.debug("Created renditions of image {}", imageId);
+    }
+
+    public static Path renditionPath(Path original, ImageSize size) {
+        return Path.of(renditionLocation(original.toString(), size));
+    }
+
+    /**
+     * Location of a rendition, a JPEG beside the original named
+     * {@code <name>_<size>.jpg}.
+     */
+    public static String renditionLocation(String original, ImageSize size) {
+        int slash = Math.max(original.lastIndexOf('/'), original.lastIndexOf(File.separatorChar));
+        int dot = original.lastIndexOf('.');
+        String base = dot > slash + 1 ? original.substring(0, dot) : original;
+        return base + "_" + size.getParam() + ".jpg";
+    }
+
+    /**
+     * Decodes the image, skipping source pixels of very large images so that no
+     * more than about twice the largest rendition is held in memory.
+     */
+    static BufferedImage read(Path path, int maxDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null) {
+                throw new IOException("Cannot open " + path);
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + path.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longest / (2 * maxDimension));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image to fit within maxDimension, halving step by step while
+     * far above the target to keep bilinear filtering from aliasing. Images are
+     * never scaled up. Transparent areas become white.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        do {
+            width = width / 2 >= targetWidth ? width / 2 : targetWidth;
+            height = height / 2 >= targetHeight ? height / 2 : targetHeight;
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * Encodes the image as JPEG into target.
+     */
+    static void write(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Files.deleteIfExists(target);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
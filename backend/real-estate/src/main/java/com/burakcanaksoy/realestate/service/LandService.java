@@ -1,15 +1,19 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
 import com.burakcanaksoy.realestate.mapper.LandMapper;
 import com.burakcanaksoy.realestate.model.Category;
 import com.burakcanaksoy.realestate.model.Land;
 import com.burakcanaksoy.realestate.model.User;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.model.enums.Role;
 import com.burakcanaksoy.realestate.repository.CategoryRepository;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.LandRepository;
 import com.burakcanaksoy.realestate.repository.VideoRepository;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.LandCreateRequest;
 import com.burakcanaksoy.realestate.request.LandFilterRequest;
 import com.burakcanaksoy.realestate.request.LandUpdateRequest;
@@ -17,11 +21,15 @@ import com.burakcanaksoy.realestate.response.LandResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -31,14 +39,27 @@ public class LandService {
     private final AuthService authService;
     private final ImageRepository imageRepository;
     private final VideoRepository videoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CountEstimator countEstimator;
+    private final SimilarListingIndex similarListingIndex;
+    private final ListingResponseCache listingResponseCache;
+    private final ListingCardService listingCardService;
 
     public LandService(LandRepository landRepository, CategoryRepository categoryRepository, AuthService authService,
-            ImageRepository imageRepository, VideoRepository videoRepository) {
+            ImageRepository imageRepository, VideoRepository videoRepository,
+            ApplicationEventPublisher eventPublisher, CountEstimator countEstimator,
+            SimilarListingIndex similarListingIndex, ListingResponseCache listingResponseCache,
+            ListingCardService listingCardService) {
         this.landRepository = landRepository;
         this.categoryRepository = categoryRepository;
         this.authService = authService;
         this.imageRepository = imageRepository;
         this.videoRepository = videoRepository;
+        this.eventPublisher = eventPublisher;
+        this.countEstimator = countEstimator;
+        this.similarListingIndex = similarListingIndex;
+        this.listingResponseCache = listingResponseCache;
+        this.listingCardService = listingCardService;
     }
 
     public List<LandResponse> getAllLands() {
@@ -58,10 +79,33 @@ public class LandService {
         return landPage.map(this::convertToResponse);
     }
 
+    public Page<LandResponse> getAllLands(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getAllLands(pageable);
+        }
+        Slice<Land> slice = this.landRepository.findAllBy(pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateTableRows("lands")
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
+    public Page<LandResponse> search(LandFilterRequest filter, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return search(filter, pageable);
+        }
+        Slice<Land> slice = this.landRepository.searchSlice(filter, pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateListings("LAND", filter.getStatus(), filter.getCity(),
+                        filter.getDistrict(), filter.getCategorySlug())
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
     private LandResponse convertToResponse(Land land) {
         LandResponse response = LandMapper.toResponse(land);
         imageRepository.findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(land.getId(), "LAND")
-                .ifPresent(image -> response.setImageUrl("/api/images/view/" + image.getId()));
+                .ifPresent(image -> response.setImageUrl(ImageMapper.viewUrl(image.getId(), ImageSize.CARD)));
 
         videoRepository.findByListingIdAndListingTypeOrderByDisplayOrderAsc(land.getId(), "LAND")
                 .stream().findFirst()
@@ -70,6 +114,7 @@ public class LandService {
         return response;
     }
 
+    @Transactional
     public LandResponse createLand(@Valid LandCreateRequest landCreateRequest) {
         Category category = categoryRepository.findBySlug(landCreateRequest.getCategorySlug())
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -80,20 +125,24 @@ public class LandService {
         land.setCreatedBy(currentUser);
 
         Land savedLand = this.landRepository.save(land);
+        eventPublisher.publishEvent(ListingChangedEvent.created(savedLand, "LAND"));
         return LandMapper.toResponse(savedLand);
     }
 
     public LandResponse getLandById(Long landId) {
-        Land land = this.landRepository.findById(landId)
-                .orElseThrow(() -> new EntityNotFoundException("Land not found with this id : " + landId));
-        return convertToResponse(land);
+        return listingResponseCache.get(landId, LandResponse.class, () -> {
+            Land land = this.landRepository.findById(landId)
+                    .orElseThrow(() -> new EntityNotFoundException("Land not found with this id : " + landId));
+            return convertToResponse(land);
+        });
     }
 
+    @Transactional
     public void incrementViewCount(Long landId) {
-        Land land = this.landRepository.findById(landId)
-                .orElseThrow(() -> new EntityNotFoundException("Land not found with this id : " + landId));
-        land.setViewCount(land.getViewCount() + 1);
-        this.landRepository.save(land);
+        if (this.landRepository.incrementViewCount(landId) == 0) {
+            throw new EntityNotFoundException("Land not found with this id : " + landId);
+        }
+        listingCardService.viewed(landId);
     }
 
     private void assertOwnerOrAdmin(Land land, User currentUser) {
@@ -105,19 +154,24 @@ public class LandService {
         }
     }
 
+    @Transactional
     public void deleteLand(Long landId) {
         User currentUser = this.authService.getCurrentUser();
         Land land = this.landRepository.findById(landId)
                 .orElseThrow(() -> new EntityNotFoundException("Land not found with this id : " + landId));
         assertOwnerOrAdmin(land, currentUser);
         this.landRepository.delete(land);
+        eventPublisher.publishEvent(ListingChangedEvent.deleted(land, "LAND"));
     }
 
+    @Transactional
     public LandResponse updateLand(Long id, LandUpdateRequest request) {
         User currentUser = this.authService.getCurrentUser();
         Land land = landRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Land not found with id: " + id));
         assertOwnerOrAdmin(land, currentUser);
+        BigDecimal previousPrice = land.getPrice();
+        String previousCity = land.getCity();
 
         if (request.getTitle() != null) {
             land.setTitle(request.getTitle());
@@ -202,6 +256,7 @@ public class LandService {
         }
 
         landRepository.save(land);
+        eventPublisher.publishEvent(ListingChangedEvent.updated(land, "LAND", previousPrice, previousCity));
         return LandMapper.toResponse(land);
     }
 
@@ -209,11 +264,9 @@ public class LandService {
         Land land = landRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Land not found with id: " + id));
 
-        List<Land> similarLands = landRepository.findTop3ByCityAndDistrictAndLandTypeAndIdNot(
-                land.getCity(),
-                land.getDistrict(),
-                land.getLandType(),
-                id);
+        List<Long> similarIds = similarListingIndex.findSimilar(land, 3);
+        List<Land> similarLands = SimilarListingIndex.inOrder(similarIds,
+                landRepository.findAllById(similarIds));
 
         return similarLands.stream()
                 .map(this::convertToResponse)
@@ -0,0 +1,89 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ListingAttributesMapper;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional hybrid storage of type-specific listing attributes. When enabled,
+ * the subtype columns of every listing are mirrored into a JSONB attributes
+ * column on listings with a GIN index, so any combination of attribute
+ * filters is answered by one index containment check on the base table
+ * instead of a join to the subtype table per filter.
+ */
+@Service
+@Slf4j
+public class ListingAttributeStore {
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final ListingRepository listingRepository;
+    private final TypedListingLoader typedListingLoader;
+    private final boolean enabled;
+
+    public ListingAttributeStore(ListingRepository listingRepository, TypedListingLoader typedListingLoader,
+            @Value("${listings.attributes.enabled:false}") boolean enabled) {
+        this.listingRepository = listingRepository;
+        this.typedListingLoader = typedListingLoader;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates the column and its index when missing, then fills in listings
+     * written while the store was off.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        listingRepository.addAttributesColumn();
+        listingRepository.createAttributesIndex();
+
+        long start = System.currentTimeMillis();
+        List<Long> ids = listingRepository.findIdsWithoutAttributes();
+        for (int from = 0; from < ids.size(); from += BACKFILL_BATCH_SIZE) {
+            typedListingLoader.findAllById(ids.subList(from, Math.min(from + BACKFILL_BATCH_SIZE, ids.size())))
+                    .forEach(this::write);
+        }
+        log.info("Listing attribute store ready: {} listings backfilled in {} ms", ids.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // In the writer's transaction, so searches after the search cache is dropped on commit see the new attributes
+    @EventListener
+    public void onListingChanged(ListingChangedEvent event) {
+        if (enabled && event.getChangeType() != ListingChangedEvent.ChangeType.DELETED) {
+            write(event.getListing());
+        }
+    }
+
+    private void write(BaseListing listing) {
+        listingRepository.writeAttributes(listing.getId(), toJson(ListingAttributesMapper.toAttributes(listing)));
+    }
+
+    public static String toJson(Map<String, String> attributes) {
+        try {
+            return JSON.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize listing attributes", e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.exception.InvalidSearchException;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
+import com.burakcanaksoy.realestate.model.enums.Currency;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.model.enums.OfferType;
+import com.burakcanaksoy.realestate.request.GeneralFilterRequest;
+import com.burakcanaksoy.realestate.response.ListingCardResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse reads of the listing_cards read model. The select list holds only
+ * the columns behind the requested fields, so neither the database nor
+ * Jackson handle the rest of the card.
+ */
+@Service
+public class ListingCardProjection {
+
+    // What a grid card shows when no fields are given
+    public static final List<String> DEFAULT_FIELDS = List.of(
+            "id", "listingType", "title", "price", "currency", "city", "district", "imageUrl");
+
+    private record Column(String path, BiConsumer<ListingCardResponse, Object> setter) {
+    }
+
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", new Column("id", (card, value) -> card.setId((Long) value)));
+        COLUMNS.put("listingType", new Column("listingType", (card, value) -> card.setListingType((String) value)));
+        COLUMNS.put("title", new Column("title", (card, value) -> card.setTitle((String) value)));
+        COLUMNS.put("description", new Column("summary", (card, value) -> card.setDescription((String) value)));
+        COLUMNS.put("price", new Column("price", (card, value) -> card.setPrice((BigDecimal) value)));
+        COLUMNS.put("currency", new Column("currency",
+                (card, value) -> card.setCurrency(((Currency) value).name())));
+        COLUMNS.put("city", new Column("city", (card, value) -> card.setCity((String) value)));
+        COLUMNS.put("district", new Column("district", (card, value) -> card.setDistrict((String) value)));
+        COLUMNS.put("categorySlug", new Column("categorySlug",
+                (card, value) -> card.setCategorySlug((String) value)));
+        COLUMNS.put("categoryName", new Column("categoryName",
+                (card, value) -> card.setCategoryName((String) value)));
+        COLUMNS.put("status", new Column("status", (card, value) -> card.setStatus((ListingStatus) value)));
+        COLUMNS.put("offerType", new Column("offerType", (card, value) -> card.setOfferType((OfferType) value)));
+        COLUMNS.put("createdByUsername", new Column("ownerUsername",
+                (card, value) -> card.setCreatedByUsername((String) value)));
+        COLUMNS.put("imageUrl", new Column("primaryImageId",
+                (card, value) -> card.setImageUrl(ImageMapper.viewUrl((Long) value, ImageSize.CARD))));
+        COLUMNS.put("videoUrl", new Column("firstVideoId",
+                (card, value) -> card.setVideoUrl("/api/listings/videos/" + value)));
+        COLUMNS.put("viewCount", new Column("viewCount", (card, value) -> card.setViewCount((Long) value)));
+        COLUMNS.put("favoriteCount", new Column("favoriteCount",
+                (card, value) -> card.setFavoriteCount((Long) value)));
+        COLUMNS.put("createdAt", new Column("createdAt", (card, value) -> card.setCreatedAt((LocalDateTime) value)));
+        COLUMNS.put("updatedAt", new Column("updatedAt", (card, value) -> card.setUpdatedAt((LocalDateTime) value)));
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The fields of a comma separated fields= value in card order, always
+     * with the id. No value selects DEFAULT_FIELDS; unknown names are
+     * rejected.
+     */
+    public static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULT_FIELDS;
+        }
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!COLUMNS.containsKey(name)) {
+                throw new InvalidSearchException(
+                        "Unknown field: " + name + ". Available fields: " + String.join(", ", COLUMNS.keySet()));
+            }
+            requested.add(name);
+        }
+        requested.add("id");
+        return COLUMNS.keySet().stream().filter(requested::contains).toList();
+    }
+
+    /**
+     * One page of matching cards, newest first. Null criteria do not filter;
+     * the count query runs only when the page does not tell the total.
+     */
+    public Page<ListingCardResponse> search(GeneralFilterRequest criteria, String listingType, String categorySlug,
+            List<String> fields, Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        String fromWhere = fromWhere(criteria, listingType, categorySlug, params);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                select(fields) + fromWhere + " order by c.createdAt desc, c.id desc", Tuple.class);
+        params.forEach(query::setParameter);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<ListingCardResponse> cards = query.getResultList().stream().map(row -> toResponse(row, fields)).toList();
+
+        return PageableExecutionUtils.getPage(cards, pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery("select count(c) " + fromWhere, Long.class);
+            params.forEach(countQuery::setParameter);
+            return countQuery.getSingleResult();
+        });
+    }
+
+    // In no particular order
+    public List<ListingCardResponse> findAllById(Collection<Long> ids, List<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(select(fields) + " from ListingCard c where c.id in :ids", Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .map(row -> toResponse(row, fields))
+                .toList();
+    }
+
+    private static String select(List<String> fields) {
+        return fields.stream().map(field -> "c." + COLUMNS.get(field).path())
+                .collect(Collectors.joining(", ", "select ", ""));
+    }
+
+    // Mirrors ListingCardRepository.SEARCH_FROM, with only the conditions that filter
+    private static String fromWhere(GeneralFilterRequest criteria, String listingType, String categorySlug,
+            Map<String, Object> params) {
+        StringBuilder jpql = new StringBuilder(" from ListingCard c where 1 = 1");
+        if (listingType != null) {
+            jpql.append(" and c.listingType = :listingType");
+            params.put("listingType", listingType);
+        }
+        if (categorySlug != null) {
+            jpql.append(" and c.categorySlug = :categorySlug");
+            params.put("categorySlug", categorySlug);
+        }
+        if (criteria.getCity() != null) {
+            jpql.append(" and c.cityKey = lower(:city)");
+            params.put("city", criteria.getCity());
+        }
+        if (criteria.getDistrict() != null) {
+            jpql.append(" and c.districtKey = lower(:district)");
+            params.put("district", criteria.getDistrict());
+        }
+        if (criteria.getStatus() != null) {
+            jpql.append(" and c.status = :status");
+            params.put("status", criteria.getStatus());
+        }
+        if (criteria.getMinPrice() != null) {
+            jpql.append(" and c.price >= :minPrice");
+            params.put("minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            jpql.append(" and c.price <= :maxPrice");
+            params.put("maxPrice", criteria.getMaxPrice());
+        }
+        if (criteria.getOwnerId() != null) {
+            jpql.append(" and c.ownerId = :ownerId");
+            params.put("ownerId", criteria.getOwnerId());
+        }
+        return jpql.toString();
+    }
+
+    private static ListingCardResponse toResponse(Tuple row, List<String> fields) {
+        ListingCardResponse card = new ListingCardResponse();
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = row.get(i);
+            if (value != null) {
+                COLUMNS.get(fields.get(i)).setter().accept(card, value);
+            }
+        }
+        return card;
+    }
+}
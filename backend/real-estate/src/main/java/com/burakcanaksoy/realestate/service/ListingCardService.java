@@ -0,0 +1,68 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.repository.ListingCardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the listing_cards read model in step with the listings. Every write
+ * re-derives the listing's card from the current rows in a single upsert,
+ * so cards converge whatever order changes arrive in. The listing services
+ * create, update and delete inside a transaction, which the upsert joins:
+ * a listing and its card commit or roll back together. A periodic pass
+ * picks up what changes outside the listing paths, such as category renames.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ListingCardService {
+
+    private final ListingCardRepository listingCardRepository;
+
+    // Ahead of the caches listening to the same event, so a reload after their invalidation sees the new card
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.getChangeType() == ListingChangedEvent.ChangeType.DELETED) {
+            listingCardRepository.deleteCard(event.getListingId());
+        } else {
+            listingCardRepository.refresh(event.getListingId());
+        }
+    }
+
+    /**
+     * Re-derives the listing's card, for changes kept outside the listing row
+     * such as its media and favorite count.
+     */
+    @Transactional
+    public void refresh(Long listingId) {
+        if (listingId != null) {
+            listingCardRepository.refresh(listingId);
+        }
+    }
+
+    @Transactional
+    public void viewed(Long listingId) {
+        listingCardRepository.incrementViewCount(listingId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${listings.cards.rebuild-cron:0 45 4 * * *}")
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int written = listingCardRepository.refreshAll();
+        int removed = listingCardRepository.deleteOrphans();
+        log.info("Listing cards rebuilt: {} written, {} removed in {} ms", written, removed,
+                System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,226 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.config.AsyncConfig;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.UserRepository;
+import com.burakcanaksoy.realestate.response.ImageResponse;
+import com.burakcanaksoy.realestate.response.ListingDetailResponse;
+import com.burakcanaksoy.realestate.response.VideoResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the listing detail page in one call. The listing, its images,
+ * videos, similar listings, the visitor's favorite flag and the owner's
+ * presence are loaded concurrently on the detail pool, each in its own
+ * read-only transaction and with its own timeout. A part that fails or runs
+ * late is left out and named in the response; only the listing itself is
+ * required.
+ */
+@Service
+@Slf4j
+public class ListingDetailService {
+
+    private static final List<String> LISTING_TYPES = List.of("REAL_ESTATE", "VEHICLE", "LAND", "WORKPLACE");
+
+    private final RealEstateService realEstateService;
+    private final VehicleService vehicleService;
+    private final LandService landService;
+    private final WorkplaceService workplaceService;
+    private final FileStorageService fileStorageService;
+    private final FavoriteService favoriteService;
+    private final ListingRepository listingRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor detailExecutor;
+    private final long listingTimeoutMs;
+    private final long partTimeoutMs;
+    private final long onlineMinutes;
+
+    public ListingDetailService(RealEstateService realEstateService, VehicleService vehicleService,
+            LandService landService, WorkplaceService workplaceService, FileStorageService fileStorageService,
+            FavoriteService favoriteService, ListingRepository listingRepository, UserRepository userRepository,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Qualifier(AsyncConfig.DETAIL_EXECUTOR) Executor detailExecutor,
+            @Value("${listing.detail.timeout-ms:2000}") long listingTimeoutMs,
+            @Value("${listing.detail.part-timeout-ms:800}") long partTimeoutMs,
+            @Value("${listing.detail.online-minutes:5}") long onlineMinutes) {
+        this.realEstateService = realEstateService;
+        this.vehicleService = vehicleService;
+        this.landService = landService;
+        this.workplaceService = workplaceService;
+        this.fileStorageService = fileStorageService;
+        this.favoriteService = favoriteService;
+        this.listingRepository = listingRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.detailExecutor = detailExecutor;
+        this.listingTimeoutMs = listingTimeoutMs;
+        this.partTimeoutMs = partTimeoutMs;
+        this.onlineMinutes = onlineMinutes;
+    }
+
+    /**
+     * The detail page of a listing, counting one view.
+     *
+     * @throws jakarta.persistence.EntityNotFoundException when the listing
+     *                                                     does not exist
+     */
+    public ListingDetailResponse getDetail(Long id, String listingType) {
+        String type = listingType.toUpperCase(Locale.ROOT);
+        if (!LISTING_TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unknown listing type: " + listingType);
+        }
+        // The security context stays on this thread, resolve the visitor before fanning out
+        String username = currentUsername();
+
+        CompletableFuture<Object> listing = part(() -> loadListing(type, id), listingTimeoutMs);
+        CompletableFuture<List<ImageResponse>> images = part(() -> fileStorageService.getListingImages(id, type),
+                partTimeoutMs);
+        CompletableFuture<List<VideoResponse>> videos = part(() -> fileStorageService.getListingVideos(id, type),
+                partTimeoutMs);
+        CompletableFuture<List<?>> similar = part(() -> loadSimilar(type, id), partTimeoutMs);
+        CompletableFuture<Boolean> favorite = username == null ? CompletableFuture.completedFuture(null)
+                : part(() -> userRepository.findByUsername(username)
+                        .map(user -> favoriteService.isFavorite(user.getId(), id))
+                        .orElse(null), partTimeoutMs);
+        CompletableFuture<LocalDateTime> ownerLastSeen = part(
+                () -> listingRepository.findOwnerLastSeen(id).orElse(null), partTimeoutMs);
+        countView(type, id);
+
+        ListingDetailResponse response = new ListingDetailResponse();
+        response.setListingType(type);
+        try {
+            response.setListing(listing.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        response.setImages(collect("images", images, response));
+        response.setVideos(collect("videos", videos, response));
+        response.setSimilar(collect("similar", similar, response));
+        response.setFavorite(collect("favorite", favorite, response));
+        LocalDateTime lastSeen = collect("ownerPresence", ownerLastSeen, response);
+        response.setOwnerLastSeen(lastSeen);
+        if (!response.getUnavailable().contains("ownerPresence")) {
+            response.setOwnerOnline(lastSeen != null
+                    && lastSeen.isAfter(LocalDateTime.now().minusMinutes(onlineMinutes)));
+        }
+        return response;
+    }
+
+    /**
+     * Validator for a complete response, a hash of its JSON without the view
+     * count, which changes with every visit. Null when parts are missing, so
+     * a degraded page is never revalidated as current.
+     */
+    public String etag(ListingDetailResponse response) {
+        if (!response.getUnavailable().isEmpty()) {
+            return null;
+        }
+        JsonNode tree = objectMapper.valueToTree(response);
+        if (tree.get("listing") instanceof ObjectNode listing) {
+            listing.remove("viewCount");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(tree.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Object loadListing(String type, Long id) {
+        return switch (type) {
+            case "REAL_ESTATE" -> realEstateService.getRealEstateById(id);
+            case "VEHICLE" -> vehicleService.getVehicleById(id);
+            case "LAND" -> landService.getLandById(id);
+            default -> workplaceService.getWorkplaceById(id);
+        };
+    }
+
+    private List<?> loadSimilar(String type, Long id) {
+        return switch (type) {
+            case "REAL_ESTATE" -> realEstateService.getSimilarRealEstates(id);
+            case "VEHICLE" -> vehicleService.getSimilarVehicles(id);
+            case "LAND" -> landService.getSimilarLands(id);
+            default -> workplaceService.getSimilarWorkplaces(id);
+        };
+    }
+
+    // Nobody waits for the view count, a failed increment only loses one view
+    private void countView(String type, Long id) {
+        Runnable increment = switch (type) {
+            case "REAL_ESTATE" -> () -> realEstateService.incrementViewCount(id);
+            case "VEHICLE" -> () -> vehicleService.incrementViewCount(id);
+            case "LAND" -> () -> landService.incrementViewCount(id);
+            default -> () -> workplaceService.incrementViewCount(id);
+        };
+        try {
+            CompletableFuture.runAsync(increment, detailExecutor).exceptionally(e -> {
+                log.debug("Could not count view of listing {}: {}", id, e.getMessage());
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Detail pool full, view of listing {} not counted", id);
+        }
+    }
+
+    private <T> CompletableFuture<T> part(Supplier<T> supplier, long timeoutMs) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> supplier.get()),
+                    detailExecutor).orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> T collect(String name, CompletableFuture<T> part, ListingDetailResponse response) {
+        try {
+            return part.join();
+        } catch (CompletionException e) {
+            log.debug("Detail part {} unavailable: {}", name, e.getCause() == null ? e : e.getCause().toString());
+            response.getUnavailable().add(name);
+            return null;
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
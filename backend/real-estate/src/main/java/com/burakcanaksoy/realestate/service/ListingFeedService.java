@@ -0,0 +1,115 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.exception.FeedLimitException;
+import com.burakcanaksoy.realestate.mapper.ListingCardMapper;
+import com.burakcanaksoy.realestate.model.ListingCard;
+import com.burakcanaksoy.realestate.repository.ListingCardRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Listing feed for partners as NDJSON, one BaseListingResponse per line.
+ * Cards are read through a database cursor, written as they arrive and
+ * detached once written, so memory use does not grow with the catalogue.
+ * An export holds a connection and a transaction for as long as it runs, so
+ * only a few may run at once.
+ */
+@Service
+@Slf4j
+public class ListingFeedService {
+
+    // Lines written between flushes, so clients see progress on long exports
+    private static final int FLUSH_EVERY = 500;
+
+    // Suggested wait for a client turned away because every slot is taken
+    private static final long RETRY_AFTER_SECONDS = 30;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ListingCardRepository listingCardRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore feedSlots;
+    private final Duration overlap;
+
+    public ListingFeedService(ListingCardRepository listingCardRepository, ObjectMapper objectMapper,
+            @Value("${listing.feed.max-concurrent:4}") int maxConcurrent,
+            @Value("${listing.feed.overlap-seconds:300}") long overlapSeconds) {
+        this.listingCardRepository = listingCardRepository;
+        this.objectMapper = objectMapper;
+        this.feedSlots = new Semaphore(maxConcurrent);
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+    }
+
+    /**
+     * Takes one of the feed slots. The returned handle gives it back; running
+     * it again is harmless, so both the export and the end of the request
+     * may run it, and a slot comes back even when the export never starts.
+     *
+     * @throws FeedLimitException when every slot is taken
+     */
+    public Runnable acquireSlot() {
+        if (!feedSlots.tryAcquire()) {
+            throw new FeedLimitException("Too many listing feeds are running, try again later",
+                    RETRY_AFTER_SECONDS);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                feedSlots.release();
+            }
+        };
+    }
+
+    /**
+     * Writes the listings changed since updatedSince, or every listing when it
+     * is null, oldest change first. For an incremental sync pass the last
+     * updatedAt received. A card's updatedAt is stamped when its writer
+     * flushes, not when it commits, so a slow transaction can become visible
+     * after later changes were already exported. The feed therefore starts
+     * listing.feed.overlap-seconds before updatedSince and sends some
+     * listings again; clients apply lines by id, so repeats are harmless.
+     * Writers must commit within the overlap for nothing to be missed.
+     * Deleted listings are not reported. Returns the number of lines written.
+     */
+    @Transactional(readOnly = true)
+    public long writeFeed(LocalDateTime updatedSince, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        LocalDateTime from = updatedSince != null ? updatedSince.minus(overlap) : null;
+        try (Stream<ListingCard> cards = listingCardRepository.streamChangedSince(from);
+                JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(out))) {
+            // Lines are ended explicitly instead of separated by Jackson's default space
+            generator.setRootValueSeparator(null);
+            Iterator<ListingCard> iterator = cards.iterator();
+            while (iterator.hasNext()) {
+                ListingCard card = iterator.next();
+                generator.writeObject(ListingCardMapper.toResponse(card));
+                generator.writeRaw('\n');
+                entityManager.detach(card);
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Listing feed since {}: {} listings in {} ms", updatedSince, count,
+                System.currentTimeMillis() - start);
+        return count;
+    }
+}
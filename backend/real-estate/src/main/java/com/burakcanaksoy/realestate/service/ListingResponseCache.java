@@ -0,0 +1,105 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of single listing responses keyed by listing id, so repeated detail
+ * views skip the mapping and the image and video lookups. Updates and deletes
+ * drop the entry through {@link ListingChangedEvent}; media changes touch the
+ * listing's updatedAt and drop it through {@link #mediaChanged(Long)}, so
+ * updatedAt also serves as the validator for conditional requests.
+ * <p>
+ * View counts are not writes to the listing and do not invalidate entries; a
+ * cached response shows the count from when it was built, for at most the
+ * time to live.
+ */
+@Service
+public class ListingResponseCache {
+
+    private final ListingRepository listingRepository;
+    private final Cache<Long, Object> cache;
+
+    public ListingResponseCache(ListingRepository listingRepository,
+            @Value("${listing.response-cache.max-entries:5000}") long maxEntries,
+            @Value("${listing.response-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.listingRepository = listingRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Cached response of the listing, built with the loader on a miss.
+     * Concurrent misses for the same listing wait for a single load, and an
+     * invalidation during the load drops its result. Ids are unique across
+     * listing types; an entry of another type is left alone and the loader
+     * decides, which normally means a not found error.
+     */
+    public <T> T get(Long listingId, Class<T> type, Supplier<T> loader) {
+        Object response = cache.get(listingId, id -> loader.get());
+        if (!type.isInstance(response)) {
+            return loader.get();
+        }
+        return type.cast(response);
+    }
+
+    // After commit: dropped earlier, a concurrent read could cache the old state again until the TTL
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        if (event.getChangeType() != ListingChangedEvent.ChangeType.CREATED) {
+            cache.invalidate(event.getListingId());
+        }
+    }
+
+    /**
+     * Records a change to the listing's images or videos: moves its updatedAt
+     * forward, so validators held by clients no longer match, and drops the
+     * cached response.
+     */
+    public void mediaChanged(Long listingId) {
+        if (listingId == null) {
+            return;
+        }
+        listingRepository.touch(listingId, LocalDateTime.now());
+        cache.invalidate(listingId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Weak entity tag for a listing response. Weak because the view count in
+     * the body may differ between two responses with the same tag.
+     */
+    public static String etag(Long listingId, LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return null;
+        }
+        long millis = updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return "W/\"" + listingId + "-" + millis + "\"";
+    }
+
+    /**
+     * updatedAt as an instant in whole seconds, the precision of the
+     * Last-Modified header.
+     */
+    public static Instant lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -1,31 +1,35 @@
 package com.burakcanaksoy.realestate.service;
 
-import com.burakcanaksoy.realestate.mapper.BaseListingMapper;
-import com.burakcanaksoy.realestate.model.BaseListing;
-import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.mapper.ListingCardMapper;
+import com.burakcanaksoy.realestate.model.ListingCard;
 import com.burakcanaksoy.realestate.repository.LandRepository;
+import com.burakcanaksoy.realestate.repository.ListingCardRepository;
 import com.burakcanaksoy.realestate.repository.RealEstateRepository;
 import com.burakcanaksoy.realestate.repository.VehicleRepository;
-import com.burakcanaksoy.realestate.repository.VideoRepository;
 import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
 import com.burakcanaksoy.realestate.request.GeneralFilterRequest;
-import com.burakcanaksoy.realestate.request.LandFilterRequest;
-import com.burakcanaksoy.realestate.request.RealEstateFilterRequest;
-import com.burakcanaksoy.realestate.request.VehicleFilterRequest;
-import com.burakcanaksoy.realestate.request.WorkplaceFilterRequest;
 import com.burakcanaksoy.realestate.response.BaseListingResponse;
 import com.burakcanaksoy.realestate.response.CategoryStatsResponse;
+import com.burakcanaksoy.realestate.response.ListingCardResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Listings across all types. Lists and searches read only the listing_cards
+ * read model kept by ListingCardService, newest first.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -35,161 +39,122 @@ public class ListingService {
     private final LandRepository landRepository;
     private final VehicleRepository vehicleRepository;
     private final WorkplaceRepository workplaceRepository;
-    private final ImageRepository imageRepository; // Inject added
-    private final VideoRepository videoRepository;
+    private final ListingCardRepository listingCardRepository;
+    private final SearchResultCache searchResultCache;
+    private final ListingCardProjection listingCardProjection;
 
     public List<BaseListingResponse> getAllListings() {
-        List<BaseListing> allListings = new ArrayList<>();
-        allListings.addAll(realEstateRepository.findAll());
-        allListings.addAll(landRepository.findAll());
-        allListings.addAll(vehicleRepository.findAll());
-        allListings.addAll(workplaceRepository.findAll());
-
-        return allListings.stream()
-                .map(this::convertToResponseWithImage)
+        return listingCardRepository.findAllByOrderByCreatedAtDescIdDesc().stream()
+                .map(ListingCardMapper::toResponse)
                 .toList();
     }
 
     public Page<BaseListingResponse> getAllListings(Pageable pageable) {
-        List<BaseListing> allListings = new ArrayList<>();
-        allListings.addAll(realEstateRepository.findAll());
-        allListings.addAll(landRepository.findAll());
-        allListings.addAll(vehicleRepository.findAll());
-        allListings.addAll(workplaceRepository.findAll());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), allListings.size());
-        List<BaseListing> pageList = allListings.subList(start, end);
-        return new PageImpl<>(pageList.stream().map(this::convertToResponseWithImage).toList(), pageable,
-                allListings.size());
+        return listingCardRepository.findAllByOrderByCreatedAtDescIdDesc(unsorted(pageable))
+                .map(ListingCardMapper::toResponse);
     }
 
     public Page<BaseListingResponse> search(GeneralFilterRequest filter, Pageable pageable) {
         log.info("Processing search in service. Filter: {}", filter);
-        List<BaseListing> allListings = new ArrayList<>();
-        String categorySlug = filter.getCategorySlug();
-
-        if (categorySlug != null && categorySlug.trim().isEmpty()) {
-            categorySlug = null;
-        }
-
-        boolean searchRealEstate = true;
-        boolean searchLand = true;
-        boolean searchVehicle = true;
-        boolean searchWorkplace = true;
-
-        // If a main category is selected, search only the relevant repository
-        // and clear categorySlug so it returns all listings of that type regardless of
-        // sub-category.
-        if ("emlak".equals(categorySlug)) {
-            searchLand = false;
-            searchVehicle = false;
-            searchWorkplace = false;
-            categorySlug = null;
-        } else if ("arsa".equals(categorySlug)) {
-            searchRealEstate = false;
-            searchVehicle = false;
-            searchWorkplace = false;
-            categorySlug = null;
-        } else if ("arac".equals(categorySlug)) {
-            searchRealEstate = false;
-            searchLand = false;
-            searchWorkplace = false;
-            categorySlug = null;
-        } else if ("isyeri".equals(categorySlug)) {
-            searchRealEstate = false;
-            searchLand = false;
-            searchVehicle = false;
-            categorySlug = null;
-        }
+        String listingType = listingTypeOfCategory(filter.getCategorySlug());
+        Map<Long, ListingCard> loaded = new HashMap<>();
+        SearchResultCache.CachedResult result = searchResultCache.get(
+                SearchResultCache.key("listings", filter, pageable), filter.getCity(), listingType,
+                () -> {
+                    Page<ListingCard> page = searchCards(filter, listingType, unsorted(pageable));
+                    page.forEach(card -> loaded.put(card.getId(), card));
+                    return new SearchResultCache.CachedResult(page.map(ListingCard::getId).getContent(),
+                            page.getTotalElements());
+                });
+
+        List<ListingCard> cards = resolve(result.ids(), loaded, listingCardRepository::findAllById, ListingCard::getId);
+        return new PageImpl<>(cards.stream().map(ListingCardMapper::toResponse).toList(), pageable, result.total());
+    }
 
-        // Her ilan tipine özgü filter request oluştur ve ara
-
-        if (searchRealEstate) {
-            RealEstateFilterRequest realEstateFilter = new RealEstateFilterRequest();
-            realEstateFilter.setCity(filter.getCity());
-            realEstateFilter.setDistrict(filter.getDistrict());
-            realEstateFilter.setCategorySlug(categorySlug);
-            realEstateFilter.setStatus(filter.getStatus());
-            realEstateFilter.setMinPrice(filter.getMinPrice());
-            realEstateFilter.setMaxPrice(filter.getMaxPrice());
-            realEstateFilter.setOwnerId(filter.getOwnerId());
-            List<com.burakcanaksoy.realestate.model.RealEstate> results = realEstateRepository
-                    .search(realEstateFilter, Pageable.unpaged()).getContent();
-            log.info("Real Estate search results count: {}", results.size());
-            allListings.addAll(results);
-        }
+    /**
+     * Cards with only the given fields, newest first. Only the columns behind
+     * those fields are read.
+     */
+    public Page<ListingCardResponse> getCards(List<String> fields, Pageable pageable) {
+        return listingCardProjection.search(new GeneralFilterRequest(), null, null, fields, unsorted(pageable));
+    }
 
-        if (searchLand) {
-            LandFilterRequest landFilter = new LandFilterRequest();
-            landFilter.setCity(filter.getCity());
-            landFilter.setDistrict(filter.getDistrict());
-            landFilter.setCategorySlug(categorySlug);
-            landFilter.setStatus(filter.getStatus());
-            landFilter.setMinPrice(filter.getMinPrice());
-            landFilter.setMaxPrice(filter.getMaxPrice());
-            landFilter.setOwnerId(filter.getOwnerId());
-            List<com.burakcanaksoy.realestate.model.Land> results = landRepository
-                    .search(landFilter, Pageable.unpaged()).getContent();
-            log.info("Land search results count: {}", results.size());
-            allListings.addAll(results);
-        }
+    /**
+     * search with only the given fields of each card. Both cache the ids of a
+     * page under the same key, so a page cached by one serves the other.
+     */
+    public Page<ListingCardResponse> searchCards(GeneralFilterRequest filter, List<String> fields,
+            Pageable pageable) {
+        String listingType = listingTypeOfCategory(filter.getCategorySlug());
+        Map<Long, ListingCardResponse> loaded = new HashMap<>();
+        SearchResultCache.CachedResult result = searchResultCache.get(
+                SearchResultCache.key("listings", filter, pageable), filter.getCity(), listingType,
+                () -> {
+                    Page<ListingCardResponse> page = listingCardProjection.search(criteria(filter), listingType,
+                            categorySlugFilter(filter, listingType), fields, unsorted(pageable));
+                    page.forEach(card -> loaded.put(card.getId(), card));
+                    return new SearchResultCache.CachedResult(page.map(ListingCardResponse::getId).getContent(),
+                            page.getTotalElements());
+                });
+
+        return new PageImpl<>(resolve(result.ids(), loaded,
+                missing -> listingCardProjection.findAllById(missing, fields), ListingCardResponse::getId),
+                pageable, result.total());
+    }
 
-        if (searchVehicle) {
-            VehicleFilterRequest vehicleFilter = new VehicleFilterRequest();
-            vehicleFilter.setCity(filter.getCity());
-            vehicleFilter.setDistrict(filter.getDistrict());
-            vehicleFilter.setCategorySlug(categorySlug);
-            vehicleFilter.setStatus(filter.getStatus());
-            vehicleFilter.setMinPrice(filter.getMinPrice());
-            vehicleFilter.setMaxPrice(filter.getMaxPrice());
-            vehicleFilter.setOwnerId(filter.getOwnerId());
-            List<com.burakcanaksoy.realestate.model.Vehicle> results = vehicleRepository
-                    .search(vehicleFilter, Pageable.unpaged()).getContent();
-            log.info("Vehicle search results count: {}", results.size());
-            allListings.addAll(results);
+    private static String listingTypeOfCategory(String categorySlug) {
+        if (categorySlug == null) {
+            return null;
         }
+        return switch (categorySlug.trim()) {
+            case "emlak" -> "REAL_ESTATE";
+            case "arsa" -> "LAND";
+            case "arac" -> "VEHICLE";
+            case "isyeri" -> "WORKPLACE";
+            default -> null;
+        };
+    }
 
-        if (searchWorkplace) {
-            WorkplaceFilterRequest workplaceFilter = new WorkplaceFilterRequest();
-            workplaceFilter.setCity(filter.getCity());
-            workplaceFilter.setDistrict(filter.getDistrict());
-            workplaceFilter.setCategorySlug(categorySlug);
-            workplaceFilter.setStatus(filter.getStatus());
-            workplaceFilter.setMinPrice(filter.getMinPrice());
-            workplaceFilter.setMaxPrice(filter.getMaxPrice());
-            workplaceFilter.setOwnerId(filter.getOwnerId());
-            List<com.burakcanaksoy.realestate.model.Workplace> results = workplaceRepository
-                    .search(workplaceFilter, Pageable.unpaged()).getContent();
-            log.info("Workplace search results count: {}", results.size());
-            allListings.addAll(results);
-        }
+    private Page<ListingCard> searchCards(GeneralFilterRequest filter, String listingType, Pageable pageable) {
+        return listingCardRepository.search(criteria(filter), listingType, categorySlugFilter(filter, listingType),
+                pageable);
+    }
 
-        // Tarihe göre sırala (en yeni önce)
-        allListings.sort(Comparator.comparing(BaseListing::getCreatedAt).reversed());
+    // Blank fields do not filter, as in the cache key
+    private static GeneralFilterRequest criteria(GeneralFilterRequest filter) {
+        GeneralFilterRequest criteria = new GeneralFilterRequest();
+        criteria.setCity(blankToNull(filter.getCity()));
+        criteria.setDistrict(blankToNull(filter.getDistrict()));
+        criteria.setStatus(filter.getStatus());
+        criteria.setMinPrice(filter.getMinPrice());
+        criteria.setMaxPrice(filter.getMaxPrice());
+        criteria.setOwnerId(filter.getOwnerId());
+        return criteria;
+    }
 
-        // Sayfalama uygula
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), allListings.size());
-        List<BaseListing> pageList = start < allListings.size() ? allListings.subList(start, end) : new ArrayList<>();
+    // A main category selects its listing type with all of its sub-categories
+    private static String categorySlugFilter(GeneralFilterRequest filter, String listingType) {
+        return listingType == null ? blankToNull(filter.getCategorySlug()) : null;
+    }
 
-        return new PageImpl<>(
-                pageList.stream().map(this::convertToResponseWithImage).toList(),
-                pageable,
-                allListings.size());
+    /**
+     * Cards of a cached page in cached order. Cards already loaded by the
+     * caller are reused, the rest are fetched in one query; listings deleted
+     * in the meantime are skipped.
+     */
+    private static <T> List<T> resolve(List<Long> ids, Map<Long, T> loaded, Function<List<Long>, List<T>> loader,
+            Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>(loaded);
+        List<Long> missing = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            loader.apply(missing).forEach(card -> byId.put(idOf.apply(card), card));
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
     public List<BaseListingResponse> getListingsByOwnerId(Long ownerId) {
-        List<BaseListing> userListings = new ArrayList<>();
-        userListings.addAll(realEstateRepository.findAllByCreatedById(ownerId));
-        userListings.addAll(landRepository.findAllByCreatedById(ownerId));
-        userListings.addAll(vehicleRepository.findAllByCreatedById(ownerId));
-        userListings.addAll(workplaceRepository.findAllByCreatedById(ownerId));
-
-        userListings.sort(Comparator.comparing(BaseListing::getCreatedAt).reversed());
-
-        return userListings.stream()
-                .map(this::convertToResponseWithImage)
+        return listingCardRepository.findByOwnerIdOrderByCreatedAtDescIdDesc(ownerId).stream()
+                .map(ListingCardMapper::toResponse)
                 .toList();
     }
 
@@ -215,19 +180,12 @@ public class ListingService {
         return stats;
     }
 
-    private BaseListingResponse convertToResponseWithImage(BaseListing listing) {
-        BaseListingResponse response = BaseListingMapper.toResponse(listing);
-
-        // Fetch first image if available
-        imageRepository
-                .findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(listing.getId(), response.getListingType())
-                .ifPresent(image -> response.setImageUrl("/api/images/view/" + image.getId()));
-
-        // Fetch first video if available
-        videoRepository.findByListingIdAndListingTypeOrderByDisplayOrderAsc(listing.getId(), response.getListingType())
-                .stream().findFirst()
-                .ifPresent(video -> response.setVideoUrl("/api/listings/videos/" + video.getId()));
+    // Cards come newest first; sort parameters of the request are not applied
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
 
-        return response;
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.MediaBlob;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.repository.MediaBlobRepository;
+import com.burakcanaksoy.realestate.storage.MediaStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for uploaded media. Uploads are hashed while they
+ * are written to a local temporary file and kept once per SHA-256 digest in
+ * the {@link MediaStore} under {@code blobs/ab/cd/<digest>.<ext>}. Clients may
+ * also upload straight to the store when it allows, announcing the digest
+ * first. Image and Video rows hold references;
+ * blobs left without references are removed by a periodic sweep after a grace
+ * period.
+ */
+@Service
+@Slf4j
+public class MediaBlobStore {
+
+    private static final Duration DIRECT_UPLOAD_TTL = Duration.ofMinutes(30);
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final MediaStore mediaStore;
+    // Local staging area for uploads being received
+    private final Path root;
+    private final Duration gracePeriod;
+    private final int sweepBatchSize;
+
+    public MediaBlobStore(MediaBlobRepository mediaBlobRepository, MediaStore mediaStore,
+            @Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${media.gc.grace-minutes:60}") long graceMinutes,
+            @Value("${media.gc.batch-size:500}") int sweepBatchSize) {
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.mediaStore = mediaStore;
+        this.root = Paths.get(uploadDir, "blobs");
+        this.gracePeriod = Duration.ofMinutes(graceMinutes);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Stores the content and adds a reference to its blob. The bytes are
+     * written once; when a blob with the same digest exists the temporary copy
+     * is dropped.
+     */
+    public MediaBlob store(InputStream content, String contentType, String originalFilename) throws IOException {
+        Path temp = Files.createTempFile(tempDir(), "upload-", ".part");
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(content, sha256)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String digest = HexFormat.of().formatHex(sha256.digest());
+            return adopt(temp, digest, size, contentType, originalFilename);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Adds a reference to the blob for a file already written under
+     * {@link #partPath(String)} and hashed by the caller. The file is handed
+     * to the media store when the blob is new and deleted otherwise.
+     */
+    public MediaBlob adopt(Path file, String digest, long size, String contentType, String originalFilename)
+            throws IOException {
+        MediaBlob blob = register(digest, size, contentType, originalFilename);
+        if (!mediaStore.exists(blob.getStoragePath())) {
+            mediaStore.put(blob.getStoragePath(), file, contentType);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        return blob;
+    }
+
+    /**
+     * Where the client should upload content with this digest directly, or
+     * empty when the store holds it already and no upload is needed.
+     *
+     * @throws UnsupportedOperationException when the media store does not
+     *                                       take direct uploads
+     */
+    public Optional<MediaStore.DirectUpload> prepareDirectUpload(String digest, long size, String contentType,
+            String originalFilename) throws IOException {
+        Optional<MediaBlob> existing = mediaBlobRepository.findByDigest(digest);
+        String location = existing.map(MediaBlob::getStoragePath)
+                .orElseGet(() -> mediaStore.locate(blobKey(digest, originalFilename)));
+        if (mediaStore.exists(location)) {
+            return Optional.empty();
+        }
+        return Optional.of(mediaStore.directUpload(location, contentType, size, digest, DIRECT_UPLOAD_TTL)
+                .orElseThrow(() -> new UnsupportedOperationException("Media store does not take direct uploads")));
+    }
+
+    /**
+     * Adds a reference to content the client uploaded directly, once the
+     * store holds an object of the announced size. The store checked the
+     * digest when it accepted the upload.
+     */
+    public Optional<MediaBlob> completeDirectUpload(String digest, long size, String contentType,
+            String originalFilename) throws IOException {
+        String location = mediaBlobRepository.findByDigest(digest).map(MediaBlob::getStoragePath)
+                .orElseGet(() -> mediaStore.locate(blobKey(digest, originalFilename)));
+        if (mediaStore.size(location).orElse(-1) != size) {
+            return Optional.empty();
+        }
+        return Optional.of(register(digest, size, contentType, originalFilename));
+    }
+
+    private MediaBlob register(String digest, long size, String contentType, String originalFilename) {
+        // Reference first: a sweep removing the same blob finishes before this returns
+        mediaBlobRepository.acquire(digest, mediaStore.locate(blobKey(digest, originalFilename)), size,
+                contentType);
+        return mediaBlobRepository.findByDigest(digest)
+                .orElseThrow(() -> new IllegalStateException("Blob vanished after insert: " + digest));
+    }
+
+    /**
+     * Location for a file being assembled before it becomes a blob, on the
+     * same file system as the blobs so it can be moved into place.
+     */
+    public Path partPath(String name) throws IOException {
+        return tempDir().resolve(name + ".part");
+    }
+
+    private Path tempDir() throws IOException {
+        return Files.createDirectories(root.resolve("tmp"));
+    }
+
+    /**
+     * Drops one reference to the blob. The file stays until a sweep finds the
+     * blob unreferenced for longer than the grace period.
+     */
+    public void release(String digest) {
+        if (digest != null) {
+            mediaBlobRepository.release(digest);
+        }
+    }
+
+    /**
+     * Removes blobs that have had no references for the grace period, with
+     * their image renditions. Returns the number of blobs removed.
+     */
+    @Scheduled(fixedDelayString = "${media.gc.interval-ms:3600000}",
+            initialDelayString = "${media.gc.initial-delay-ms:300000}")
+    @Transactional
+    public int sweep() {
+        List<MediaBlob> unreferenced = mediaBlobRepository.lockUnreferenced(LocalDateTime.now().minus(gracePeriod),
+                sweepBatchSize);
+        for (MediaBlob blob : unreferenced) {
+            try {
+                for (ImageSize size : ImageSize.values()) {
+                    mediaStore.delete(ImageRenditionService.renditionLocation(blob.getStoragePath(), size));
+                }
+                mediaStore.delete(blob.getStoragePath());
+            } catch (IOException e) {
+                log.warn("Could not delete blob {}: {}", blob.getDigest(), e.getMessage());
+                continue;
+            }
+            mediaBlobRepository.delete(blob);
+        }
+        if (!unreferenced.isEmpty()) {
+            log.info("Removed {} unreferenced media blobs", unreferenced.size());
+        }
+        return unreferenced.size();
+    }
+
+    static String blobKey(String digest, String originalFilename) {
+        return "blobs/" + digest.substring(0, 2) + "/" + digest.substring(2, 4) + "/" + digest
+                + extensionOf(originalFilename);
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return extension.matches("[a-z0-9]{1,8}") ? "." + extension : "";
+    }
+}
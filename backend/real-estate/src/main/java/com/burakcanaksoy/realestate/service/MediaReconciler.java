@@ -0,0 +1,344 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.Video;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.MediaBlobRepository;
+import com.burakcanaksoy.realestate.repository.VideoRepository;
+import com.burakcanaksoy.realestate.storage.LocalMediaStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Removes media left behind by listings deleted without their images and
+ * videos. Each run works in bounded batches and at a limited deletion rate:
+ * <ol>
+ * <li>Image and Video rows of missing listings are deleted, releasing their
+ * blobs or deleting their files.</li>
+ * <li>The blob tree, whose shard directories list files in digest order, is
+ * merge-joined with the digests of media_blobs read in the same order; files
+ * without a row are deleted once older than the grace period.</li>
+ * <li>Per-listing directories of the layout used before blobs are checked
+ * against the listings table batch by batch and deleted for missing
+ * listings.</li>
+ * </ol>
+ */
+@Service
+@Slf4j
+public class MediaReconciler {
+
+    // Directories of the per-listing layout, named after the lower-case listing type
+    private static final List<String> LEGACY_LISTING_DIRECTORIES = List.of("real_estate", "vehicle", "land",
+            "workplace");
+
+    private final ImageRepository imageRepository;
+    private final VideoRepository videoRepository;
+    private final MediaBlobRepository mediaBlobRepository;
+    private final ListingRepository listingRepository;
+    private final MediaBlobStore mediaBlobStore;
+    private final MediaStreamingService mediaStreamingService;
+    private final Path uploadRoot;
+    private final int batchSize;
+    private final int deletesPerSecond;
+    private final Duration gracePeriod;
+    private final Counter reclaimedBytes;
+    private final MeterRegistry meterRegistry;
+
+    public MediaReconciler(ImageRepository imageRepository, VideoRepository videoRepository,
+            MediaBlobRepository mediaBlobRepository, ListingRepository listingRepository,
+            MediaBlobStore mediaBlobStore, MediaStreamingService mediaStreamingService, MeterRegistry meterRegistry,
+            @Value("${file.upload-dir:uploads}") String uploadDir,
+            @Value("${media.reconcile.batch-size:500}") int batchSize,
+            @Value("${media.reconcile.deletes-per-second:50}") int deletesPerSecond,
+            @Value("${media.gc.grace-minutes:60}") long graceMinutes) {
+        this.imageRepository = imageRepository;
+        this.videoRepository = videoRepository;
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.listingRepository = listingRepository;
+        this.mediaBlobStore = mediaBlobStore;
+        this.mediaStreamingService = mediaStreamingService;
+        this.uploadRoot = Paths.get(uploadDir);
+        this.batchSize = batchSize;
+        this.deletesPerSecond = deletesPerSecond;
+        this.gracePeriod = Duration.ofMinutes(graceMinutes);
+        this.meterRegistry = meterRegistry;
+        this.reclaimedBytes = Counter.builder("media.reconciler.reclaimed")
+                .baseUnit("bytes")
+                .description("Bytes of orphaned media files deleted by the reconciler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * One reconciliation pass, nightly by default.
+     */
+    @Scheduled(cron = "${media.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            int rows = removeOrphanRows();
+            int files = removeOrphanBlobFiles();
+            int directories = removeOrphanListingDirectories();
+            if (rows + files + directories > 0) {
+                log.info("Media reconciliation removed {} rows, {} blob files and {} listing directories", rows,
+                        files, directories);
+            }
+        } catch (IOException e) {
+            log.warn("Media reconciliation stopped: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deletes Image and Video rows whose listing is gone. Returns the number
+     * of rows removed.
+     */
+    int removeOrphanRows() throws InterruptedException {
+        int removed = 0;
+        long after = 0;
+        List<Image> images;
+        while (!(images = imageRepository.findOrphansAfter(after, Limit.of(batchSize))).isEmpty()) {
+            long started = System.nanoTime();
+            for (Image image : images) {
+                if (image.getBlobDigest() == null) {
+                    deleteFile(image.getFilePath());
+                    for (ImageSize size : ImageSize.values()) {
+                        deleteFile(image.getRenditionPath(size));
+                    }
+                }
+            }
+            imageRepository.deleteAllByIdInBatch(images.stream().map(Image::getId).toList());
+            for (Image image : images) {
+                mediaBlobStore.release(image.getBlobDigest());
+                mediaStreamingService.evictImage(image.getId());
+            }
+            removed += record("row", images.size());
+            after = images.get(images.size() - 1).getId();
+            pace(images.size(), started);
+        }
+
+        after = 0;
+        List<Video> videos;
+        while (!(videos = videoRepository.findOrphansAfter(after, Limit.of(batchSize))).isEmpty()) {
+            long started = System.nanoTime();
+            for (Video video : videos) {
+                if (video.getBlobDigest() == null) {
+                    deleteFile(video.getFilePath());
+                }
+            }
+            videoRepository.deleteAllByIdInBatch(videos.stream().map(Video::getId).toList());
+            for (Video video : videos) {
+                mediaBlobStore.release(video.getBlobDigest());
+                mediaStreamingService.evictVideo(video.getId());
+            }
+            removed += record("row", videos.size());
+            after = videos.get(videos.size() - 1).getId();
+            pace(videos.size(), started);
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes files in the blob tree that belong to no media_blobs row. The
+     * tree is {@code blobs/ab/cd/<digest>...}, so listing each level in name
+     * order yields files in digest order, and only one directory listing and
+     * one batch of digests are held at a time.
+     */
+    int removeOrphanBlobFiles() throws IOException, InterruptedException {
+        Path blobs = uploadRoot.resolve("blobs");
+        if (!Files.isDirectory(blobs)) {
+            return 0;
+        }
+        DigestCursor referenced = new DigestCursor();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        int removed = 0;
+        for (Path first : sortedChildren(blobs)) {
+            if (!isShard(first)) {
+                continue; // tmp holds uploads in progress
+            }
+            for (Path second : sortedChildren(first)) {
+                if (!isShard(second)) {
+                    continue;
+                }
+                long started = System.nanoTime();
+                int deleted = 0;
+                for (Path file : sortedChildren(second)) {
+                    String digest = digestOf(file);
+                    if (digest == null || referenced.contains(digest)) {
+                        continue;
+                    }
+                    // Young files may belong to an upload that has not added its row yet
+                    FileTime modified = Files.getLastModifiedTime(file);
+                    if (modified.toInstant().isBefore(cutoff)) {
+                        deleteFile(file.toString());
+                        deleted++;
+                    }
+                }
+                removed += record("blob-file", deleted);
+                pace(deleted, started);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Deletes {@code <type>/<listingId>} directories written before uploads
+     * moved to the blob tree, for listings that no longer exist.
+     */
+    int removeOrphanListingDirectories() throws IOException, InterruptedException {
+        int removed = 0;
+        for (String type : LEGACY_LISTING_DIRECTORIES) {
+            Path typeDirectory = uploadRoot.resolve(type);
+            if (!Files.isDirectory(typeDirectory)) {
+                continue;
+            }
+            Map<Long, Path> batch = new HashMap<>();
+            try (DirectoryStream<Path> directories = Files.newDirectoryStream(typeDirectory, Files::isDirectory)) {
+                for (Path directory : directories) {
+                    String name = directory.getFileName().toString();
+                    if (name.matches("\\d{1,18}")) {
+                        batch.put(Long.valueOf(name), directory);
+                    }
+                    if (batch.size() == batchSize) {
+                        removed += removeMissingListings(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            removed += removeMissingListings(batch);
+        }
+        return removed;
+    }
+
+    private int removeMissingListings(Map<Long, Path> directories) throws IOException, InterruptedException {
+        if (directories.isEmpty()) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        Set<Long> missing = new HashSet<>(directories.keySet());
+        listingRepository.findExistingIds(directories.keySet()).forEach(missing::remove);
+        for (Long listingId : missing) {
+            try (Stream<Path> tree = Files.walk(directories.get(listingId))) {
+                for (Path path : tree.sorted(Comparator.reverseOrder()).toList()) {
+                    if (Files.isDirectory(path)) {
+                        Files.deleteIfExists(path);
+                    } else {
+                        deleteFile(path.toString());
+                    }
+                }
+            }
+        }
+        pace(missing.size(), started);
+        return record("listing-directory", missing.size());
+    }
+
+    private void deleteFile(String location) {
+        if (location == null) {
+            return;
+        }
+        Path path = LocalMediaStore.resolveStoredPath(location);
+        try {
+            long size = Files.size(path);
+            Files.delete(path);
+            reclaimedBytes.increment(size);
+        } catch (IOException e) {
+            // Already gone, or removed on the next run
+            log.debug("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private int record(String kind, int removed) {
+        if (removed > 0) {
+            meterRegistry.counter("media.reconciler.removed", "kind", kind).increment(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Sleeps long enough that deletions stay under the configured rate.
+     */
+    private void pace(int deletions, long startedNanos) throws InterruptedException {
+        long budgetMillis = deletions * 1000L / deletesPerSecond;
+        long spentMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+        if (budgetMillis > spentMillis) {
+            Thread.sleep(budgetMillis - spentMillis);
+        }
+    }
+
+    private static List<Path> sortedChildren(Path directory) throws IOException {
+        try (Stream<Path> children = Files.list(directory)) {
+            return children.sorted(Comparator.comparing(path -> path.getFileName().toString())).toList();
+        }
+    }
+
+    private static boolean isShard(Path directory) {
+        return Files.isDirectory(directory) && directory.getFileName().toString().matches("[0-9a-f]{2}");
+    }
+
+    // Blob files and their renditions are named <digest>.<ext> and <digest>_<size>.jpg
+    private static String digestOf(Path file) {
+        String name = file.getFileName().toString();
+        if (name.length() < 64 || !Files.isRegularFile(file)) {
+            return null;
+        }
+        String digest = name.substring(0, 64);
+        return digest.matches("[0-9a-f]{64}") ? digest : null;
+    }
+
+    /**
+     * Walks media_blobs digests in byte order, a batch at a time. Lookups must
+     * come in ascending order.
+     */
+    private class DigestCursor {
+
+        private List<String> batch = new ArrayList<>();
+        private int index;
+        private boolean exhausted;
+
+        boolean contains(String digest) {
+            String current = current();
+            while (current != null && current.compareTo(digest) < 0) {
+                index++;
+                current = current();
+            }
+            return digest.equals(current);
+        }
+
+        private String current() {
+            if (index < batch.size()) {
+                return batch.get(index);
+            }
+            if (exhausted) {
+                return null;
+            }
+            String last = batch.isEmpty() ? "" : batch.get(batch.size() - 1);
+            batch = mediaBlobRepository.findDigestsAfter(last, batchSize);
+            index = 0;
+            exhausted = batch.size() < batchSize;
+            return batch.isEmpty() ? null : batch.get(0);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.Video;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.repository.VideoRepository;
+import com.burakcanaksoy.realestate.storage.MediaStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves stored media files straight from disk. File metadata is resolved once
+ * per file and cached; bodies are handed to Tomcat's sendfile support when the
+ * connector offers it and are otherwise copied with FileChannel.transferTo, so
+ * no request reads a whole file into the heap.
+ */
+@Service
+public class MediaStreamingService {
+
+    // Uploaded files get a random name and are never rewritten in place
+    public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    public static final String REVALIDATE_CACHE_CONTROL = "public, max-age=60";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Below this size a plain copy is cheaper than setting up sendfile
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    // Lifetime of the signed URLs remote files are redirected to
+    private static final Duration REDIRECT_TTL = Duration.ofMinutes(10);
+
+    private final ImageRepository imageRepository;
+    private final VideoRepository videoRepository;
+    private final MediaStore mediaStore;
+    private final Cache<String, MediaFile> images;
+    private final Cache<Long, MediaFile> videos;
+
+    public MediaStreamingService(ImageRepository imageRepository, VideoRepository videoRepository,
+            MediaStore mediaStore, @Value("${media.metadata-cache.max-entries:20000}") long maxEntries) {
+        this.imageRepository = imageRepository;
+        this.videoRepository = videoRepository;
+        this.mediaStore = mediaStore;
+        this.images = Caffeine.newBuilder().maximumSize(maxEntries).build();
+        this.videos = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * What is needed to answer a request for a stored file without touching the
+     * database again. Files that stand in for a rendition not generated yet are
+     * not immutable, since the URL will serve the rendition later. Files kept
+     * by a remote media store have no local path, size or modification time;
+     * requests for them are redirected to the store.
+     */
+    public record MediaFile(String location, Path path, String contentType, long size, long lastModified,
+            String etag, boolean immutable) {
+
+        public String cacheControl() {
+            return immutable ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL;
+        }
+
+        public boolean remote() {
+            return path == null;
+        }
+    }
+
+    /**
+     * Metadata of a rendition of an image, read from the database and the file
+     * system on the first request only. Until the rendition exists the
+     * original file is served in its place.
+     */
+    public MediaFile resolveImage(Long imageId, ImageSize size) {
+        String key = imageId + ":" + size;
+        MediaFile cached = images.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Image image = imageRepository.findById(imageId)
+                .orElseThrow(() -> new EntityNotFoundException("Image not found " + imageId));
+
+        // Identical content shares its ETag across images
+        String etagKey = image.getBlobDigest() != null ? image.getBlobDigest() : "image-" + imageId;
+        MediaFile file;
+        String rendition = image.getRenditionPath(size);
+        if (rendition != null && isAvailable(rendition)) {
+            file = locate(etagKey + "-" + size.getParam(), rendition, null, true);
+        } else {
+            file = locate(etagKey, image.getFilePath(), image.getFileType(), false);
+        }
+        images.put(key, file);
+        return file;
+    }
+
+    public void evictImage(Long imageId) {
+        for (ImageSize size : ImageSize.values()) {
+            images.invalidate(imageId + ":" + size);
+        }
+    }
+
+    /**
+     * Metadata of a video, read from the database on the first request only so
+     * the range requests of a playback session are answered from memory.
+     */
+    public MediaFile resolveVideo(Long videoId) {
+        MediaFile cached = videos.getIfPresent(videoId);
+        if (cached != null) {
+            return cached;
+        }
+        Video video = videoRepository.findById(videoId)
+                .orElseThrow(() -> new EntityNotFoundException("Video not found " + videoId));
+
+        String etagKey = video.getBlobDigest() != null ? video.getBlobDigest() : "video-" + videoId;
+        MediaFile file = locate(etagKey, video.getFilePath(), video.getFileType(), true);
+        videos.put(videoId, file);
+        return file;
+    }
+
+    public void evictVideo(Long videoId) {
+        videos.invalidate(videoId);
+    }
+
+    /**
+     * Sends a redirect to a signed URL of the store for remote files, so their
+     * bytes do not pass through this server. Returns false for local files,
+     * which the caller streams itself.
+     */
+    public boolean redirect(MediaFile file, HttpServletResponse response) throws IOException {
+        if (!file.remote()) {
+            return false;
+        }
+        URI url = mediaStore.downloadUrl(file.location(), file.contentType(), REDIRECT_TTL)
+                .orElseThrow(() -> new IllegalStateException("No download URL for " + file.location()));
+        // Cached redirects must expire before the signature does
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + (REDIRECT_TTL.toSeconds() / 2));
+        response.sendRedirect(url.toString());
+        return true;
+    }
+
+    private boolean isAvailable(String location) {
+        // Remote renditions are recorded only after they were stored
+        return mediaStore.localPath(location).map(Files::isReadable).orElse(true);
+    }
+
+    private MediaFile locate(String key, String location, String storedContentType, boolean immutable) {
+        Path path = mediaStore.localPath(location).orElse(null);
+        if (path != null) {
+            return describe(key, path, storedContentType, immutable);
+        }
+        return new MediaFile(location, null, contentTypeOf(location, storedContentType), -1, -1,
+                "\"" + key + "\"", immutable);
+    }
+
+    /**
+     * Metadata of a file on disk. The strong ETag is derived from the owner key,
+     * size and modification time, which change whenever the bytes do.
+     */
+    public MediaFile describe(String key, Path path, String storedContentType, boolean immutable) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            String etag = "\"" + key + "-" + Long.toHexString(attributes.size()) + "-"
+                    + Long.toHexString(lastModified) + "\"";
+            return new MediaFile(path.toString(), path, contentTypeOf(path.getFileName().toString(),
+                    storedContentType), attributes.size(), lastModified, etag, immutable);
+        } catch (IOException e) {
+            throw new EntityNotFoundException("File not found at path: " + path);
+        }
+    }
+
+    /**
+     * Writes the whole file as the response body.
+     */
+    public void send(MediaFile file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(file, 0, file.size(), request, response);
+    }
+
+    /**
+     * Writes length bytes of the file starting at offset as the response body.
+     * Status and headers other than Content-Type and Content-Length must be set
+     * by the caller beforehand.
+     */
+    public void send(MediaFile file, long offset, long length, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(length);
+
+        if (length >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, offset);
+            request.setAttribute(SENDFILE_END, offset + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            transfer(channel, offset, length, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * Answers a request that may carry a Range header: 206 with one region,
+     * 206 multipart/byteranges with several, 416 when none can be satisfied,
+     * or the whole file when there is no usable Range or If-Range no longer
+     * matches. Conditional GET headers must be handled by the caller.
+     */
+    public void sendRanges(MediaFile file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(file, request)) {
+            send(file, request, response);
+            return;
+        }
+
+        List<long[]> regions = new ArrayList<>();
+        long total = 0;
+        try {
+            for (HttpRange range : HttpRange.parseRanges(rangeHeader)) {
+                long start = range.getRangeStart(file.size());
+                long end = range.getRangeEnd(file.size());
+                if (start >= file.size() || start > end) {
+                    // Starts past the end of the file, other ranges may still be served
+                    continue;
+                }
+                regions.add(new long[] { start, end });
+                total += end - start + 1;
+            }
+        } catch (IllegalArgumentException e) {
+            regions.clear();
+        }
+        if (regions.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+            return;
+        }
+        if (total > file.size()) {
+            // Overlapping ranges asking for more than the file, send it once instead
+            send(file, request, response);
+            return;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (regions.size() == 1) {
+            long[] region = regions.get(0);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(region, file.size()));
+            send(file, region[0], region[1] - region[0] + 1, request, response);
+            return;
+        }
+
+        String boundary = UUID.randomUUID().toString();
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long contentLength = 0;
+        for (long[] region : regions) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + file.contentType() + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, file.size()) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + region[1] - region[0] + 1;
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel body = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            for (int i = 0; i < regions.size(); i++) {
+                long[] region = regions.get(i);
+                out.write(partHeaders.get(i));
+                transfer(channel, region[0], region[1] - region[0] + 1, body);
+            }
+        }
+        out.write(closing);
+    }
+
+    /**
+     * If-Range holds a strong ETag or the Last-Modified date of the copy the
+     * client already has part of; ranges only apply while it is current.
+     */
+    private static boolean ifRangeMatches(MediaFile file, HttpServletRequest request) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(file.etag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == file.lastModified() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String contentRange(long[] region, long size) {
+        return "bytes " + region[0] + "-" + region[1] + "/" + size;
+    }
+
+    private static void transfer(FileChannel channel, long offset, long length, WritableByteChannel out)
+            throws IOException {
+        long position = offset;
+        long end = offset + length;
+        while (position < end) {
+            long written = channel.transferTo(position, end - position, out);
+            if (written <= 0) {
+                break;
+            }
+            position += written;
+        }
+    }
+
+    private static String contentTypeOf(String name, String storedContentType) {
+        if (storedContentType != null && !MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(storedContentType)) {
+            return storedContentType;
+        }
+        return MediaTypeFactory.getMediaType(name)
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+}
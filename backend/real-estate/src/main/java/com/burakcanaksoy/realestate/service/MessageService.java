@@ -1,18 +1,11 @@
 package com.burakcanaksoy.realestate.service;
 
 import com.burakcanaksoy.realestate.exception.ResourceNotFoundException;
+import com.burakcanaksoy.realestate.model.BaseListing;
 import com.burakcanaksoy.realestate.model.Message;
 import com.burakcanaksoy.realestate.model.User;
-import com.burakcanaksoy.realestate.model.Vehicle;
-import com.burakcanaksoy.realestate.model.RealEstate;
-import com.burakcanaksoy.realestate.model.Land;
-import com.burakcanaksoy.realestate.model.Workplace;
 import com.burakcanaksoy.realestate.repository.MessageRepository;
 import com.burakcanaksoy.realestate.repository.UserRepository;
-import com.burakcanaksoy.realestate.repository.VehicleRepository;
-import com.burakcanaksoy.realestate.repository.RealEstateRepository;
-import com.burakcanaksoy.realestate.repository.LandRepository;
-import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
 import com.burakcanaksoy.realestate.request.MessageCreateRequest;
 import com.burakcanaksoy.realestate.response.ConversationResponse;
 import com.burakcanaksoy.realestate.response.MessageDetailResponse;
@@ -29,10 +22,7 @@ public class MessageService {
 
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
-    private final VehicleRepository vehicleRepository;
-    private final RealEstateRepository realEstateRepository;
-    private final LandRepository landRepository;
-    private final WorkplaceRepository workplaceRepository;
+    private final TypedListingLoader typedListingLoader;
     private final org.springframework.messaging.simp.SimpMessagingTemplate messagingTemplate;
     private final ActivityLogService activityLogService;
 
@@ -170,35 +160,9 @@ public class MessageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Recipient not found"));
 
         // Fetch listing details
-        String listingTitle = "\u0130lan";
-
-        try {
-            switch (listingType.toUpperCase()) {
-                case "VEHICLE":
-                    Vehicle vehicle = vehicleRepository.findById(listingId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found"));
-                    listingTitle = vehicle.getTitle();
-                    break;
-                case "REAL_ESTATE":
-                    RealEstate realEstate = realEstateRepository.findById(listingId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Real estate not found"));
-                    listingTitle = realEstate.getTitle();
-                    break;
-                case "LAND":
-                    Land land = landRepository.findById(listingId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Land not found"));
-                    listingTitle = land.getTitle();
-                    break;
-                case "WORKPLACE":
-                    Workplace workplace = workplaceRepository.findById(listingId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Workplace not found"));
-                    listingTitle = workplace.getTitle();
-                    break;
-            }
-        } catch (Exception e) {
-            // If listing not found, continue without details
-            listingTitle = "İlan";
-        }
+        String listingTitle = typedListingLoader.findById(listingId, listingType.toUpperCase())
+                .map(BaseListing::getTitle)
+                .orElse("İlan");
 
         // Create message with listing link
         Message message = new Message();
@@ -1,14 +1,18 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
 import com.burakcanaksoy.realestate.mapper.RealEstateMapper;
 import com.burakcanaksoy.realestate.model.Category;
 import com.burakcanaksoy.realestate.model.RealEstate;
 import com.burakcanaksoy.realestate.model.User;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.model.enums.Role;
 import com.burakcanaksoy.realestate.repository.CategoryRepository;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.RealEstateRepository;
 import com.burakcanaksoy.realestate.repository.VideoRepository;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.RealEstateCreateRequest;
 import com.burakcanaksoy.realestate.request.RealEstateFilterRequest;
 import com.burakcanaksoy.realestate.request.RealEstateUpdateRequest;
@@ -16,11 +20,15 @@ import com.burakcanaksoy.realestate.response.RealEstateResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -31,16 +39,28 @@ public class RealEstateService {
     private final ImageRepository imageRepository;
     private final VideoRepository videoRepository;
     private final ActivityLogService activityLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CountEstimator countEstimator;
+    private final SimilarListingIndex similarListingIndex;
+    private final ListingResponseCache listingResponseCache;
+    private final ListingCardService listingCardService;
 
     public RealEstateService(RealEstateRepository realEstateRepository, CategoryRepository categoryRepository,
             AuthService authService, ImageRepository imageRepository, VideoRepository videoRepository,
-            ActivityLogService activityLogService) {
+            ActivityLogService activityLogService, ApplicationEventPublisher eventPublisher,
+            CountEstimator countEstimator, SimilarListingIndex similarListingIndex,
+            ListingResponseCache listingResponseCache, ListingCardService listingCardService) {
         this.realEstateRepository = realEstateRepository;
         this.categoryRepository = categoryRepository;
         this.authService = authService;
         this.imageRepository = imageRepository;
         this.videoRepository = videoRepository;
         this.activityLogService = activityLogService;
+        this.eventPublisher = eventPublisher;
+        this.countEstimator = countEstimator;
+        this.similarListingIndex = similarListingIndex;
+        this.listingResponseCache = listingResponseCache;
+        this.listingCardService = listingCardService;
     }
 
     public List<RealEstateResponse> getAllRealEstates() {
@@ -50,6 +70,7 @@ public class RealEstateService {
                 .toList();
     }
 
+    @Transactional
     public RealEstateResponse createRealEstate(@Valid RealEstateCreateRequest realEstateCreateRequest) {
         Category category = categoryRepository.findBySlug(realEstateCreateRequest.getCategorySlug())
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -60,6 +81,7 @@ public class RealEstateService {
         realEstate.setCreatedBy(currentUser);
 
         RealEstate savedRealEstate = this.realEstateRepository.save(realEstate);
+        eventPublisher.publishEvent(ListingChangedEvent.created(savedRealEstate, "REAL_ESTATE"));
 
         // Log activity
         String description = String.format("User created real estate listing: %s", savedRealEstate.getTitle());
@@ -70,16 +92,20 @@ public class RealEstateService {
     }
 
     public RealEstateResponse getRealEstateById(Long realEstateId) {
-        RealEstate realEstate = this.realEstateRepository.findById(realEstateId)
-                .orElseThrow(() -> new EntityNotFoundException("Real Estate not found with this id : " + realEstateId));
-        return convertToResponse(realEstate);
+        return listingResponseCache.get(realEstateId, RealEstateResponse.class, () -> {
+            RealEstate realEstate = this.realEstateRepository.findById(realEstateId)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            "Real Estate not found with this id : " + realEstateId));
+            return convertToResponse(realEstate);
+        });
     }
 
+    @Transactional
     public void incrementViewCount(Long realEstateId) {
-        RealEstate realEstate = this.realEstateRepository.findById(realEstateId)
-                .orElseThrow(() -> new EntityNotFoundException("Real Estate not found with this id : " + realEstateId));
-        realEstate.setViewCount(realEstate.getViewCount() + 1);
-        this.realEstateRepository.save(realEstate);
+        if (this.realEstateRepository.incrementViewCount(realEstateId) == 0) {
+            throw new EntityNotFoundException("Real Estate not found with this id : " + realEstateId);
+        }
+        listingCardService.viewed(realEstateId);
     }
 
     private void assertOwnerOrAdmin(RealEstate realEstate, User currentUser) {
@@ -91,6 +117,7 @@ public class RealEstateService {
         }
     }
 
+    @Transactional
     public void deleteRealEstate(Long realEstateId) {
         User currentUser = this.authService.getCurrentUser();
         RealEstate realEstate = this.realEstateRepository.findById(realEstateId)
@@ -99,18 +126,22 @@ public class RealEstateService {
 
         String listingTitle = realEstate.getTitle();
         this.realEstateRepository.delete(realEstate);
+        eventPublisher.publishEvent(ListingChangedEvent.deleted(realEstate, "REAL_ESTATE"));
 
         // Log activity
         String description = String.format("User deleted real estate listing: %s (ID: %d)", listingTitle, realEstateId);
         activityLogService.logActivity(currentUser.getUsername(), "LISTING_DELETED", description, "N/A");
     }
 
+    @Transactional
     public RealEstateResponse updateRealEstate(Long realEstateId, @Valid RealEstateUpdateRequest request) {
         User currentUser = this.authService.getCurrentUser();
         RealEstate realEstate = realEstateRepository.findById(realEstateId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         "Real estate not found with id: " + realEstateId));
         assertOwnerOrAdmin(realEstate, currentUser);
+        BigDecimal previousPrice = realEstate.getPrice();
+        String previousCity = realEstate.getCity();
 
         /* ---------------- BaseListing fields ---------------- */
 
@@ -233,6 +264,7 @@ public class RealEstateService {
         }
 
         RealEstate updated = realEstateRepository.save(realEstate);
+        eventPublisher.publishEvent(ListingChangedEvent.updated(updated, "REAL_ESTATE", previousPrice, previousCity));
 
         return RealEstateMapper.toResponse(updated);
     }
@@ -248,10 +280,33 @@ public class RealEstateService {
         return realEstatePage.map(this::convertToResponse);
     }
 
+    public Page<RealEstateResponse> getAllRealEstates(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getAllRealEstates(pageable);
+        }
+        Slice<RealEstate> slice = this.realEstateRepository.findAllBy(pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateTableRows("real_estates")
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
+    public Page<RealEstateResponse> search(RealEstateFilterRequest filter, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return search(filter, pageable);
+        }
+        Slice<RealEstate> slice = this.realEstateRepository.searchSlice(filter, pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateListings("REAL_ESTATE", filter.getStatus(), filter.getCity(),
+                        filter.getDistrict(), filter.getCategorySlug())
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
     private RealEstateResponse convertToResponse(RealEstate realEstate) {
         RealEstateResponse response = RealEstateMapper.toResponse(realEstate);
         imageRepository.findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(realEstate.getId(), "REAL_ESTATE")
-                .ifPresent(image -> response.setImageUrl("/api/images/view/" + image.getId()));
+                .ifPresent(image -> response.setImageUrl(ImageMapper.viewUrl(image.getId(), ImageSize.CARD)));
 
         videoRepository.findByListingIdAndListingTypeOrderByDisplayOrderAsc(realEstate.getId(), "REAL_ESTATE")
                 .stream().findFirst()
@@ -264,11 +319,9 @@ public class RealEstateService {
         RealEstate realEstate = realEstateRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Real Estate not found with id: " + id));
 
-        List<RealEstate> similarRealEstates = realEstateRepository.findTop3ByCityAndDistrictAndRealEstateTypeAndIdNot(
-                realEstate.getCity(),
-                realEstate.getDistrict(),
-                realEstate.getRealEstateType(),
-                id);
+        List<Long> similarIds = similarListingIndex.findSimilar(realEstate, 3);
+        List<RealEstate> similarRealEstates = SimilarListingIndex.inOrder(similarIds,
+                realEstateRepository.findAllById(similarIds));
 
         return similarRealEstates.stream()
                 .map(this::convertToResponse)
@@ -0,0 +1,493 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ListingAttributesMapper;
+import com.burakcanaksoy.realestate.mapper.SavedSearchCriteriaMapper;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.Land;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.SavedSearch;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.Workplace;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.model.enums.NotificationType;
+import com.burakcanaksoy.realestate.repository.SavedSearchRepository;
+import com.burakcanaksoy.realestate.request.AdvancedSearchRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reverse search for saved searches with notifications enabled. Instead of
+ * running every saved search against new listings, each saved search is
+ * registered under its most selective predicate (city, then the map cells
+ * its radius covers, then category or listing type, then price band) and a
+ * changed listing only probes the few buckets its own values point at. Candidates are verified against the full
+ * criteria before an alert is sent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SavedSearchMatcher {
+
+    // Price bands grow by powers of two starting at this value
+    private static final long PRICE_BAND_BASE = 10_000L;
+    private static final int PRICE_BAND_COUNT = 24;
+    // Leading room count of values such as "3+1", as read by the advanced search
+    private static final Pattern ROOM_COUNT = Pattern.compile("^\\s*(\\d+)");
+    // Radius searches are indexed on a grid of one degree cells; wider ones stay unindexed
+    private static final int MAX_GEO_CELLS = 64;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final NotificationService notificationService;
+
+    private final Map<Long, CompiledSearch> searches = new HashMap<>();
+    private final Map<String, Set<Long>> byCity = new HashMap<>();
+    private final Map<Integer, Set<Long>> byGeoCell = new HashMap<>();
+    private final Map<String, Set<Long>> byCategory = new HashMap<>();
+    private final Map<String, Set<Long>> byListingType = new HashMap<>();
+    private final Map<Integer, Set<Long>> byPriceBand = new HashMap<>();
+    private final Set<Long> unindexed = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<SavedSearch> enabled = savedSearchRepository.findByNotificationEnabledTrue();
+        lock.writeLock().lock();
+        try {
+            searches.clear();
+            byCity.clear();
+            byGeoCell.clear();
+            byCategory.clear();
+            byListingType.clear();
+            byPriceBand.clear();
+            unindexed.clear();
+            enabled.forEach(this::doRegister);
+            log.info("Saved search matcher loaded {} alert-enabled searches", searches.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a saved search in the index. Searches with notifications
+     * turned off are only removed.
+     */
+    public void register(SavedSearch savedSearch) {
+        lock.writeLock().lock();
+        try {
+            doUnregister(savedSearch.getId());
+            doRegister(savedSearch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unregister(Long savedSearchId) {
+        lock.writeLock().lock();
+        try {
+            doUnregister(savedSearchId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        boolean isNew = event.getChangeType() == ListingChangedEvent.ChangeType.CREATED;
+        if (!isNew && !event.isPriceChanged()) {
+            return;
+        }
+        BaseListing listing = event.getListing();
+        Long ownerId = listing.getCreatedBy() != null ? listing.getCreatedBy().getId() : null;
+
+        // One alert per user, even when several of their searches match
+        Map<Long, List<CompiledSearch>> matchesByUser = new LinkedHashMap<>();
+        for (CompiledSearch search : findMatches(listing, event.getListingType())) {
+            if (!search.userId().equals(ownerId)) {
+                matchesByUser.computeIfAbsent(search.userId(), id -> new ArrayList<>()).add(search);
+            }
+        }
+
+        matchesByUser.forEach((userId, matched) -> {
+            try {
+                notificationService.sendNotification(
+                        userId,
+                        isNew ? "Kayıtlı Aramanıza Uygun Yeni İlan" : "Kayıtlı Aramanızdaki İlanın Fiyatı Değişti",
+                        buildMessage(listing, matched),
+                        NotificationType.SAVED_SEARCH,
+                        listing.getId(),
+                        event.getListingType());
+            } catch (Exception e) {
+                log.warn("Could not send saved search alert to user {} for listing {}", userId, listing.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * Saved searches whose full criteria match the listing.
+     */
+    public List<CompiledSearch> findMatches(BaseListing listing, String listingType) {
+        if (listing.getStatus() != ListingStatus.ACTIVE) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>(unindexed);
+            if (listing.getCity() != null) {
+                candidates.addAll(byCity.getOrDefault(normalize(listing.getCity()), Collections.emptySet()));
+            }
+            if (listing.getLatitude() != null && listing.getLongitude() != null) {
+                candidates.addAll(byGeoCell.getOrDefault(geoCell(listing.getLatitude(), listing.getLongitude()),
+                        Collections.emptySet()));
+            }
+            if (listing.getCategory() != null && listing.getCategory().getSlug() != null) {
+                candidates.addAll(byCategory.getOrDefault(normalize(listing.getCategory().getSlug()),
+                        Collections.emptySet()));
+            }
+            if (listingType != null) {
+                candidates.addAll(byListingType.getOrDefault(normalize(listingType), Collections.emptySet()));
+            }
+            if (listing.getPrice() != null) {
+                candidates.addAll(byPriceBand.getOrDefault(priceBand(listing.getPrice()), Collections.emptySet()));
+            }
+
+            List<CompiledSearch> matches = new ArrayList<>();
+            for (Long id : candidates) {
+                CompiledSearch search = searches.get(id);
+                if (search != null && search.matches(listing, listingType)) {
+                    matches.add(search);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void doRegister(SavedSearch savedSearch) {
+        if (!Boolean.TRUE.equals(savedSearch.getNotificationEnabled()) || savedSearch.getUser() == null) {
+            return;
+        }
+        CompiledSearch search;
+        try {
+            search = CompiledSearch.of(savedSearch);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping saved search {} with unreadable criteria: {}", savedSearch.getId(), e.getMessage());
+            return;
+        }
+        // Only active listings are matched, so a search for any other status can never alert
+        if (search.status() != null && search.status() != ListingStatus.ACTIVE) {
+            return;
+        }
+        searches.put(search.id(), search);
+
+        List<Integer> geoCells = search.hasRadius()
+                ? geoCells(search.latitude(), search.longitude(), search.radiusKm())
+                : Collections.emptyList();
+        if (search.city() != null) {
+            byCity.computeIfAbsent(search.city(), k -> new HashSet<>()).add(search.id());
+        } else if (!geoCells.isEmpty()) {
+            for (int cell : geoCells) {
+                byGeoCell.computeIfAbsent(cell, k -> new HashSet<>()).add(search.id());
+            }
+        } else if (search.categorySlug() != null) {
+            byCategory.computeIfAbsent(search.categorySlug(), k -> new HashSet<>()).add(search.id());
+        } else if (search.listingType() != null) {
+            byListingType.computeIfAbsent(search.listingType(), k -> new HashSet<>()).add(search.id());
+        } else if (search.minPrice() != null || search.maxPrice() != null) {
+            for (int band : priceBands(search.minPrice(), search.maxPrice())) {
+                byPriceBand.computeIfAbsent(band, k -> new HashSet<>()).add(search.id());
+            }
+        } else {
+            unindexed.add(search.id());
+        }
+    }
+
+    private void doUnregister(Long savedSearchId) {
+        CompiledSearch search = searches.remove(savedSearchId);
+        if (search == null) {
+            return;
+        }
+        removeFrom(byCity, search.city(), savedSearchId);
+        byGeoCell.values().forEach(ids -> ids.remove(savedSearchId));
+        byGeoCell.values().removeIf(Set::isEmpty);
+        removeFrom(byCategory, search.categorySlug(), savedSearchId);
+        removeFrom(byListingType, search.listingType(), savedSearchId);
+        byPriceBand.values().forEach(ids -> ids.remove(savedSearchId));
+        byPriceBand.values().removeIf(Set::isEmpty);
+        unindexed.remove(savedSearchId);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> index, K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static String buildMessage(BaseListing listing, List<CompiledSearch> matched) {
+        StringJoiner names = new StringJoiner(", ");
+        matched.forEach(search -> names.add(search.name()));
+        return listing.getTitle() + " (" + listing.getPrice() + " " + listing.getCurrency() + ") - "
+                + names;
+    }
+
+    static int priceBand(BigDecimal price) {
+        long value = price.longValue();
+        int band = 0;
+        long upper = PRICE_BAND_BASE;
+        while (value >= upper && band < PRICE_BAND_COUNT - 1) {
+            upper <<= 1;
+            band++;
+        }
+        return band;
+    }
+
+    private static List<Integer> priceBands(BigDecimal min, BigDecimal max) {
+        int from = min != null ? priceBand(min) : 0;
+        int to = max != null ? priceBand(max) : PRICE_BAND_COUNT - 1;
+        List<Integer> bands = new ArrayList<>();
+        for (int band = from; band <= to; band++) {
+            bands.add(band);
+        }
+        return bands;
+    }
+
+    static int geoCell(double latitude, double longitude) {
+        int row = (int) Math.floor(latitude) + 90;
+        int column = Math.floorMod((int) Math.floor(longitude) + 180, 360);
+        return row * 360 + column;
+    }
+
+    // Cells of the bounding box around the circle, or none when the box is too wide or reaches a pole
+    private static List<Integer> geoCells(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        if (minLatitude <= -90 || maxLatitude >= 90) {
+            return Collections.emptyList();
+        }
+        // The box is widest at the latitude furthest from the equator
+        double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        double longitudeDelta = latitudeDelta / Math.cos(Math.toRadians(widestLatitude));
+        int fromRow = (int) Math.floor(minLatitude);
+        int toRow = (int) Math.floor(maxLatitude);
+        int fromColumn = (int) Math.floor(longitude - longitudeDelta);
+        int toColumn = (int) Math.floor(longitude + longitudeDelta);
+        if ((long) (toRow - fromRow + 1) * (toColumn - fromColumn + 1) > MAX_GEO_CELLS) {
+            return Collections.emptyList();
+        }
+        List<Integer> cells = new ArrayList<>();
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                cells.add(geoCell(row, column));
+            }
+        }
+        return cells;
+    }
+
+    // Great-circle distance; close enough to the spheroid distance the search uses
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Saved search criteria parsed once into typed, normalized fields.
+     */
+    public record CompiledSearch(Long id, Long userId, String name, String city, String district,
+            String categorySlug, String listingType, BigDecimal minPrice, BigDecimal maxPrice,
+            List<String> queryTerms, Integer minRooms, Integer maxRooms, Integer minArea, Integer maxArea,
+            Integer minYear, Integer maxYear, String brand, String model, String fuelType, String transmission,
+            Map<String, String> attributes, Double latitude, Double longitude, Double radiusKm,
+            ListingStatus status) {
+
+        public static CompiledSearch of(SavedSearch savedSearch) {
+            AdvancedSearchRequest criteria = SavedSearchCriteriaMapper.toRequest(savedSearch.getSearchCriteria());
+            String query = text(criteria.getQuery());
+            return new CompiledSearch(
+                    savedSearch.getId(),
+                    savedSearch.getUser().getId(),
+                    savedSearch.getName(),
+                    text(criteria.getCity()),
+                    text(criteria.getDistrict()),
+                    text(criteria.getCategorySlug()),
+                    text(criteria.getListingType()),
+                    criteria.getMinPrice(),
+                    criteria.getMaxPrice(),
+                    query != null ? List.of(query.split("\\s+")) : Collections.emptyList(),
+                    criteria.getMinRooms(),
+                    criteria.getMaxRooms(),
+                    criteria.getMinArea(),
+                    criteria.getMaxArea(),
+                    criteria.getMinYear(),
+                    criteria.getMaxYear(),
+                    text(criteria.getBrand()),
+                    text(criteria.getModel()),
+                    text(criteria.getFuelType()),
+                    text(criteria.getTransmission()),
+                    ListingAttributesMapper.normalize(criteria.getAttributes()),
+                    criteria.getLatitude(),
+                    criteria.getLongitude(),
+                    criteria.getRadiusKm(),
+                    criteria.getStatus());
+        }
+
+        /**
+         * The advanced search only applies a radius when the center and the
+         * radius are all given.
+         */
+        public boolean hasRadius() {
+            return latitude != null && longitude != null && radiusKm != null;
+        }
+
+        /**
+         * Full check used before alerting a user.
+         */
+        public boolean matches(BaseListing listing, String type) {
+            if (!mayMatch(listing, type)) {
+                return false;
+            }
+            if (!queryTerms.isEmpty()) {
+                String haystack = normalize((listing.getTitle() != null ? listing.getTitle() : "") + " "
+                        + (listing.getDescription() != null ? listing.getDescription() : ""));
+                for (String term : queryTerms) {
+                    if (!haystack.contains(term)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Structured predicates only. The free-text part is left out, so this
+         * errs on the side of matching and is safe for cache invalidation.
+         */
+        public boolean mayMatch(BaseListing listing, String type) {
+            if (city != null && !equalsNormalized(city, listing.getCity())) {
+                return false;
+            }
+            if (district != null && !equalsNormalized(district, listing.getDistrict())) {
+                return false;
+            }
+            if (categorySlug != null && (listing.getCategory() == null
+                    || !equalsNormalized(categorySlug, listing.getCategory().getSlug()))) {
+                return false;
+            }
+            if (listingType != null && !equalsNormalized(listingType, type)) {
+                return false;
+            }
+            if (minPrice != null && (listing.getPrice() == null || listing.getPrice().compareTo(minPrice) < 0)) {
+                return false;
+            }
+            if (maxPrice != null && (listing.getPrice() == null || listing.getPrice().compareTo(maxPrice) > 0)) {
+                return false;
+            }
+            if (status != null && listing.getStatus() != status) {
+                return false;
+            }
+            if (hasRadius() && (listing.getLatitude() == null || listing.getLongitude() == null
+                    || distanceKm(latitude, longitude, listing.getLatitude(), listing.getLongitude()) > radiusKm)) {
+                return false;
+            }
+            if (!attributes.isEmpty() && !ListingAttributesMapper.toAttributes(listing).entrySet()
+                    .containsAll(attributes.entrySet())) {
+                return false;
+            }
+            // Type-specific criteria rule out listings of the other types, as in the advanced search
+            if ((minRooms != null || maxRooms != null)
+                    && !inRange(listing instanceof RealEstate realEstate ? rooms(realEstate) : null,
+                            minRooms, maxRooms)) {
+                return false;
+            }
+            if ((minArea != null || maxArea != null) && !inRange(area(listing), minArea, maxArea)) {
+                return false;
+            }
+            if (minYear != null || maxYear != null || brand != null || model != null || fuelType != null
+                    || transmission != null) {
+                if (!(listing instanceof Vehicle vehicle)) {
+                    return false;
+                }
+                return inRange(vehicle.getYear(), minYear, maxYear)
+                        && (brand == null || equalsNormalized(brand, vehicle.getBrand()))
+                        && (model == null || equalsNormalized(model, vehicle.getModel()))
+                        && (fuelType == null || (vehicle.getFuelType() != null
+                                && equalsNormalized(fuelType, vehicle.getFuelType().name())))
+                        && (transmission == null || (vehicle.getTransmission() != null
+                                && equalsNormalized(transmission, vehicle.getTransmission().name())));
+            }
+            return true;
+        }
+
+        // Unbounded sides always pass; a missing value passes only when both are
+        private static boolean inRange(Integer value, Integer min, Integer max) {
+            if (min == null && max == null) {
+                return true;
+            }
+            return value != null && (min == null || value >= min) && (max == null || value <= max);
+        }
+
+        private static Integer rooms(RealEstate realEstate) {
+            if (realEstate.getRoomCount() == null) {
+                return null;
+            }
+            Matcher matcher = ROOM_COUNT.matcher(realEstate.getRoomCount());
+            return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+        }
+
+        // Gross area for real estate, square meters for land and workplaces
+        private static Integer area(BaseListing listing) {
+            if (listing instanceof RealEstate realEstate) {
+                return realEstate.getGrossSquareMeter();
+            }
+            if (listing instanceof Land land) {
+                return land.getSquareMeter();
+            }
+            if (listing instanceof Workplace workplace) {
+                return workplace.getSquareMeter();
+            }
+            return null;
+        }
+
+        private static boolean equalsNormalized(String expected, String actual) {
+            return actual != null && expected.equals(normalize(actual));
+        }
+
+        private static String text(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return normalize(value);
+        }
+    }
+}
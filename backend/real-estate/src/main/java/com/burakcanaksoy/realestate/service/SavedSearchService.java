@@ -1,14 +1,28 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.SavedSearchCriteriaMapper;
 import com.burakcanaksoy.realestate.model.SavedSearch;
 import com.burakcanaksoy.realestate.model.User;
 import com.burakcanaksoy.realestate.repository.SavedSearchRepository;
+import com.burakcanaksoy.realestate.request.AdvancedSearchRequest;
 import com.burakcanaksoy.realestate.request.SavedSearchRequest;
+import com.burakcanaksoy.realestate.response.BaseListingResponse;
 import com.burakcanaksoy.realestate.response.SavedSearchResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,6 +31,19 @@ import java.util.stream.Collectors;
 public class SavedSearchService {
 
     private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMatcher savedSearchMatcher;
+    private final AdvancedSearchService advancedSearchService;
+
+    // Bounds of the execution cache: searches kept, pages kept per search and idle time before eviction
+    private static final long MAX_EXECUTIONS = 1_000;
+    private static final long MAX_PAGES_PER_EXECUTION = 20;
+    private static final Duration EXECUTION_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    // Compiled criteria and result pages per saved search
+    private final Cache<Long, CachedExecution> executions = Caffeine.newBuilder()
+            .maximumSize(MAX_EXECUTIONS)
+            .expireAfterAccess(EXECUTION_IDLE_TIMEOUT)
+            .build();
 
     /**
      * Save a new search for a user
@@ -30,6 +57,7 @@ public class SavedSearchService {
         savedSearch.setNotificationEnabled(request.getNotificationEnabled());
 
         SavedSearch saved = savedSearchRepository.save(savedSearch);
+        afterCommit(() -> savedSearchMatcher.register(saved));
         return toResponse(saved);
     }
 
@@ -64,6 +92,10 @@ public class SavedSearchService {
         savedSearch.setNotificationEnabled(request.getNotificationEnabled());
 
         SavedSearch updated = savedSearchRepository.save(savedSearch);
+        afterCommit(() -> {
+            savedSearchMatcher.register(updated);
+            executions.invalidate(id);
+        });
         return toResponse(updated);
     }
 
@@ -72,7 +104,85 @@ public class SavedSearchService {
      */
     @Transactional
     public void deleteSavedSearch(Long id, Long userId) {
-        savedSearchRepository.deleteByIdAndUserId(id, userId);
+        if (savedSearchRepository.deleteByIdAndUserId(id, userId) > 0) {
+            afterCommit(() -> {
+                savedSearchMatcher.unregister(id);
+                executions.invalidate(id);
+            });
+        }
+    }
+
+    /**
+     * Run a saved search. With onlyNew, only listings created after the
+     * watermark of the previous run are returned, newest first. Reading the
+     * first page of such a run moves the watermark to its newest listing; the
+     * following pages keep using the watermark the run started from.
+     */
+    @Transactional
+    public Page<BaseListingResponse> executeSavedSearch(Long id, Long userId, boolean onlyNew, Pageable pageable) {
+        SavedSearch savedSearch = savedSearchRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Saved search not found"));
+
+        CachedExecution execution = executions.get(id, key -> new CachedExecution(
+                SavedSearchMatcher.CompiledSearch.of(savedSearch),
+                SavedSearchCriteriaMapper.toRequest(savedSearch.getSearchCriteria())));
+
+        if (!onlyNew) {
+            return execution.pages.get("all:" + pageKey(pageable),
+                    key -> advancedSearchService.advancedSearch(execution.request, pageable));
+        }
+
+        // A run evicted after its first page continues from the stored watermark rather than from none
+        if (pageable.getPageNumber() == 0 || !execution.runStarted) {
+            execution.startRun(savedSearch.getLastSeenCreatedAt(), savedSearch.getLastSeenListingId());
+        }
+        Page<BaseListingResponse> page = execution.pages.get("new:" + pageKey(pageable),
+                key -> advancedSearchService.advancedSearchSince(execution.request, execution.runSeenCreatedAt,
+                        execution.runSeenListingId, pageable));
+
+        if (pageable.getPageNumber() == 0 && page.hasContent()) {
+            BaseListingResponse newest = page.getContent().get(0);
+            savedSearch.setLastSeenCreatedAt(newest.getCreatedAt());
+            savedSearch.setLastSeenListingId(newest.getId());
+            savedSearchRepository.save(savedSearch);
+        }
+        return page;
+    }
+
+    /**
+     * Drops cached results of saved searches the changed listing may belong
+     * to, once the change is committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        executions.asMap().values().forEach(execution -> {
+            if (execution.criteria.mayMatch(event.getListing(), event.getListingType())
+                    || execution.contains(event.getListingId())) {
+                execution.pages.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Runs the action once the current transaction commits, so a rolled back
+     * write never reaches the matcher or the execution cache. Without a
+     * transaction the action runs right away.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String pageKey(Pageable pageable) {
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
     }
 
     /**
@@ -87,4 +197,35 @@ public class SavedSearchService {
                 savedSearch.getCreatedAt(),
                 savedSearch.getUpdatedAt());
     }
+
+    private static class CachedExecution {
+        private final SavedSearchMatcher.CompiledSearch criteria;
+        private final AdvancedSearchRequest request;
+        private final Cache<String, Page<BaseListingResponse>> pages = Caffeine.newBuilder()
+                .maximumSize(MAX_PAGES_PER_EXECUTION)
+                .expireAfterAccess(EXECUTION_IDLE_TIMEOUT)
+                .build();
+        private volatile LocalDateTime runSeenCreatedAt;
+        private volatile Long runSeenListingId;
+        private volatile boolean runStarted;
+
+        CachedExecution(SavedSearchMatcher.CompiledSearch criteria, AdvancedSearchRequest request) {
+            this.criteria = criteria;
+            this.request = request;
+        }
+
+        void startRun(LocalDateTime seenCreatedAt, Long seenListingId) {
+            if (seenCreatedAt == null ? runSeenCreatedAt != null : !seenCreatedAt.equals(runSeenCreatedAt)) {
+                pages.asMap().keySet().removeIf(key -> key.startsWith("new:"));
+            }
+            this.runSeenCreatedAt = seenCreatedAt;
+            this.runSeenListingId = seenListingId;
+            this.runStarted = true;
+        }
+
+        boolean contains(Long listingId) {
+            return pages.asMap().values().stream()
+                    .anyMatch(page -> page.getContent().stream().anyMatch(r -> r.getId().equals(listingId)));
+        }
+    }
 }
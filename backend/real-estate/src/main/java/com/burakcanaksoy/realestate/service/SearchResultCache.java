@@ -0,0 +1,211 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of search result pages keyed by the canonical form of the search
+ * request. Only the listing ids of a page and the total are kept, entities are
+ * loaded again when the page is served. Entries are tagged with the city and
+ * listing type they were filtered by, and listing writes drop every entry whose
+ * tags could include the written listing.
+ */
+@Service
+@Slf4j
+public class SearchResultCache {
+
+    public static final String ANY = "*";
+
+    private static final ObjectMapper KEY_MAPPER = JsonMapper.builder().build();
+
+    private final TypedListingLoader typedListingLoader;
+    private final Cache<String, Entry> cache;
+    private final Map<String, Set<String>> keysByCity = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedResult>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SearchResultCache(TypedListingLoader typedListingLoader,
+            @Value("${search.cache.max-entries:10000}") long maxEntries,
+            @Value("${search.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.typedListingLoader = typedListingLoader;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (key != null && entry != null) {
+                        untag(key, entry.city());
+                    }
+                })
+                .build();
+    }
+
+    public record CachedResult(List<Long> ids, long total) {
+
+        public static CachedResult of(Page<? extends BaseListing> page) {
+            return new CachedResult(page.getContent().stream().map(BaseListing::getId).toList(),
+                    page.getTotalElements());
+        }
+    }
+
+    private record Entry(CachedResult result, String city, String listingType) {
+    }
+
+    /**
+     * Canonical cache key of a search request: non-blank fields sorted by name,
+     * text values trimmed and lower-cased, followed by page, size and sort.
+     */
+    public static String key(String scope, Object request, Pageable pageable) {
+        Map<String, Object> fields = new TreeMap<>();
+        if (request != null) {
+            Map<String, Object> raw = KEY_MAPPER.convertValue(request, KEY_MAPPER.getTypeFactory()
+                    .constructMapType(LinkedHashMap.class, String.class, Object.class));
+            raw.forEach((name, value) -> {
+                if (value instanceof String text) {
+                    if (!text.isBlank()) {
+                        fields.put(name, text.trim().toLowerCase(Locale.ROOT));
+                    }
+                } else if (value instanceof Map<?, ?> map) {
+                    if (!map.isEmpty()) {
+                        fields.put(name, new TreeMap<Object, Object>(map));
+                    }
+                } else if (value != null) {
+                    fields.put(name, value);
+                }
+            });
+        }
+        return scope + "|" + fields + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize() + "|"
+                + pageable.getSort();
+    }
+
+    /**
+     * Cached result for the key, computing it with the loader on a miss.
+     * Concurrent misses for the same key wait for a single computation.
+     */
+    public CachedResult get(String key, String city, String listingType, Supplier<CachedResult> loader) {
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.result();
+        }
+
+        CompletableFuture<CachedResult> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResult> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        long generation = invalidations.get();
+        try {
+            CachedResult result = loader.get();
+            // A write during the computation may not be reflected, keep it out of the cache
+            if (generation == invalidations.get()) {
+                String cityTag = tag(city);
+                cache.put(key, new Entry(result, cityTag, tag(listingType)));
+                keysByCity.computeIfAbsent(cityTag, k -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Listings of a cached page in cached order. Entities already loaded by the
+     * caller are reused, the rest are fetched by type. Listings deleted in
+     * the meantime are skipped.
+     */
+    public List<BaseListing> resolve(CachedResult result, Map<Long, BaseListing> loaded) {
+        List<Long> missing = result.ids().stream().filter(id -> !loaded.containsKey(id)).toList();
+        Map<Long, BaseListing> byId = new HashMap<>(loaded);
+        if (!missing.isEmpty()) {
+            typedListingLoader.findAllById(missing).forEach(listing -> byId.put(listing.getId(), listing));
+        }
+        List<BaseListing> listings = new ArrayList<>(result.ids().size());
+        for (Long id : result.ids()) {
+            BaseListing listing = byId.get(id);
+            if (listing != null) {
+                listings.add(listing);
+            }
+        }
+        return listings;
+    }
+
+    // After commit: dropped earlier, a concurrent search could cache the old state again until the TTL
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        String city = event.getListing().getCity();
+        invalidate(city, event.getListingType(), event.getListingId(),
+                event.getChangeType() != ListingChangedEvent.ChangeType.CREATED);
+        // A listing moved to another city leaves the pages and counts of its old city as well
+        String previousCity = event.getPreviousCity();
+        if (previousCity != null && !tag(previousCity).equals(tag(city))) {
+            invalidate(previousCity, event.getListingType(), event.getListingId(), false);
+        }
+    }
+
+    /**
+     * Drops entries filtered by the given city (or by no city) and the given
+     * listing type (or by no type). For updates and deletes, entries that
+     * contain the listing are dropped as well, since it may no longer pass
+     * their other filters.
+     */
+    public void invalidate(String city, String listingType, Long listingId, boolean includeContaining) {
+        invalidations.incrementAndGet();
+        String typeTag = tag(listingType);
+        Set<String> keys = new HashSet<>();
+        keys.addAll(keysByCity.getOrDefault(tag(city), Collections.emptySet()));
+        keys.addAll(keysByCity.getOrDefault(ANY, Collections.emptySet()));
+        keys.forEach(key -> {
+            Entry entry = cache.getIfPresent(key);
+            if (entry != null && (ANY.equals(entry.listingType()) || entry.listingType().equals(typeTag))) {
+                cache.invalidate(key);
+            }
+        });
+        if (includeContaining && listingId != null) {
+            cache.asMap().entrySet().removeIf(e -> e.getValue().result().ids().contains(listingId));
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void untag(String key, String cityTag) {
+        Set<String> keys = keysByCity.get(cityTag);
+        if (keys != null) {
+            keys.remove(key);
+        }
+    }
+
+    private static String tag(String value) {
+        return value == null || value.isBlank() ? ANY : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,433 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.BaseListingMapper;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.Land;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.Workplace;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Nearest-neighbour index for the "similar listings" sections. Every active
+ * listing becomes a vector of standardized numeric features of its type
+ * (price, size, rooms, age, floor, or year, kilometers and engine for
+ * vehicles) plus its position. Vectors are kept per listing type in flat
+ * arrays, partitioned by the attribute the old exact-match queries required
+ * (property type, brand, land or workplace type). A lookup scans the
+ * listing's own partition and only falls back to the other partitions of the
+ * type, at a penalty, when that partition is too small.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarListingIndex {
+
+    // Squared distance added for neighbours outside the listing's partition
+    private static final double PARTITION_PENALTY = 4.0;
+    // Distance at which two positions count as one standard deviation apart
+    private static final double GEO_SCALE_KM = 15.0;
+    // Squared geo distance when a position is missing: small within the same city, large otherwise
+    private static final double SAME_CITY_GEO = 0.25;
+    private static final double OTHER_CITY_GEO = 4.0;
+    // Beyond about 45 km every position is equally far, so a close match in another city still ranks
+    private static final double MAX_GEO = 9.0;
+    private static final double KM_PER_DEGREE = 111.2;
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:[.,]\\d+)?");
+
+    private final ListingRepository listingRepository;
+
+    private final Map<String, TypeIndex> indexes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Builds the index and the feature statistics used to standardize
+     * vectors, at startup and nightly so the statistics follow the catalogue.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${listings.similar.rebuild-cron:0 15 4 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<String, List<BaseListing>> byType = new HashMap<>();
+        for (BaseListing listing : listingRepository.findAll()) {
+            if (listing.getStatus() == ListingStatus.ACTIVE) {
+                byType.computeIfAbsent(BaseListingMapper.listingTypeOf(listing), type -> new ArrayList<>())
+                        .add(listing);
+            }
+        }
+
+        Map<String, TypeIndex> rebuilt = new HashMap<>();
+        for (FeatureSet features : FeatureSet.values()) {
+            TypeIndex index = new TypeIndex(features, byType.getOrDefault(features.listingType, List.of()));
+            rebuilt.put(features.listingType, index);
+        }
+
+        lock.writeLock().lock();
+        try {
+            indexes.clear();
+            indexes.putAll(rebuilt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Similar listing index built for {} listings",
+                byType.values().stream().mapToInt(List::size).sum());
+    }
+
+    // After commit: a writer that rolls back must leave the index as it was
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onListingChanged(ListingChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            TypeIndex index = indexes.get(event.getListingType());
+            if (index == null) {
+                return;
+            }
+            index.remove(event.getListingId());
+            if (event.getChangeType() != ListingChangedEvent.ChangeType.DELETED
+                    && event.getListing().getStatus() == ListingStatus.ACTIVE) {
+                index.add(event.getListing());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the k active listings of the same type closest to the given
+     * one, nearest first. The listing itself does not need to be indexed.
+     */
+    public List<Long> findSimilar(BaseListing listing, int k) {
+        lock.readLock().lock();
+        try {
+            TypeIndex index = indexes.get(BaseListingMapper.listingTypeOf(listing));
+            return index == null ? List.of() : index.nearest(listing, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The listings in the order of the given ids, for reordering a
+     * findAllById result.
+     */
+    public static <T extends BaseListing> List<T> inOrder(List<Long> ids, List<T> listings) {
+        Map<Long, T> byId = new HashMap<>();
+        listings.forEach(listing -> byId.put(listing.getId(), listing));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Numeric features per listing type. Missing values become the type's
+     * mean, i.e. zero after standardization.
+     */
+    enum FeatureSet {
+        REAL_ESTATE("REAL_ESTATE", listing -> enumKey(((RealEstate) listing).getRealEstateType()),
+                new double[] { 2.0, 1.5, 1.0, 0.5, 0.3, 0.5 },
+                listing -> {
+                    RealEstate realEstate = (RealEstate) listing;
+                    return new double[] { logPrice(listing), log(realEstate.getGrossSquareMeter()),
+                            sumOfNumbers(realEstate.getRoomCount()), firstNumber(realEstate.getBuildingAge()),
+                            value(realEstate.getFloor()), value(realEstate.getBathroomCount()) };
+                }),
+        VEHICLE("VEHICLE", listing -> textKey(((Vehicle) listing).getBrand()),
+                new double[] { 2.0, 1.5, 1.5, 0.5 },
+                listing -> {
+                    Vehicle vehicle = (Vehicle) listing;
+                    return new double[] { logPrice(listing), value(vehicle.getYear()),
+                            log(vehicle.getKilometer()), engineVolume(vehicle.getEngineVolume()) };
+                }),
+        LAND("LAND", listing -> enumKey(((Land) listing).getLandType()),
+                new double[] { 2.0, 1.5 },
+                listing -> new double[] { logPrice(listing), log(((Land) listing).getSquareMeter()) }),
+        WORKPLACE("WORKPLACE", listing -> enumKey(((Workplace) listing).getWorkplaceType()),
+                new double[] { 2.0, 1.5, 0.5, 0.3 },
+                listing -> {
+                    Workplace workplace = (Workplace) listing;
+                    return new double[] { logPrice(listing), log(workplace.getSquareMeter()),
+                            firstNumber(workplace.getBuildingAge()), value(workplace.getFloorCount()) };
+                });
+
+        final String listingType;
+        final Function<BaseListing, String> partition;
+        final double[] weights;
+        final Function<BaseListing, double[]> extractor;
+
+        FeatureSet(String listingType, Function<BaseListing, String> partition, double[] weights,
+                Function<BaseListing, double[]> extractor) {
+            this.listingType = listingType;
+            this.partition = partition;
+            this.weights = weights;
+            this.extractor = extractor;
+        }
+    }
+
+    /**
+     * The vectors of one listing type, with the means and standard
+     * deviations they were standardized with.
+     */
+    static class TypeIndex {
+
+        private final FeatureSet features;
+        private final double[] means;
+        private final double[] scales;
+        private final Map<String, Partition> partitions = new HashMap<>();
+        private final Map<Long, Partition> partitionOf = new HashMap<>();
+
+        TypeIndex(FeatureSet features, List<BaseListing> listings) {
+            this.features = features;
+            int dimensions = features.weights.length;
+            means = new double[dimensions];
+            scales = new double[dimensions];
+
+            List<double[]> raw = listings.stream().map(features.extractor).toList();
+            for (int d = 0; d < dimensions; d++) {
+                double sum = 0;
+                double squares = 0;
+                int count = 0;
+                for (double[] values : raw) {
+                    if (!Double.isNaN(values[d])) {
+                        sum += values[d];
+                        squares += values[d] * values[d];
+                        count++;
+                    }
+                }
+                double mean = count > 0 ? sum / count : 0;
+                double deviation = count > 1 ? Math.sqrt(Math.max(squares / count - mean * mean, 0)) : 0;
+                means[d] = mean;
+                // Weight folded into the scale so distances need no per-dimension multiply
+                scales[d] = features.weights[d] / (deviation > 1e-9 ? deviation : 1);
+            }
+            listings.forEach(this::add);
+        }
+
+        void add(BaseListing listing) {
+            Partition partition = partitions.computeIfAbsent(features.partition.apply(listing),
+                    key -> new Partition(means.length));
+            partition.put(listing.getId(), vector(listing), latitude(listing), longitude(listing), cityKey(listing));
+            partitionOf.put(listing.getId(), partition);
+        }
+
+        void remove(Long listingId) {
+            Partition partition = partitionOf.remove(listingId);
+            if (partition != null) {
+                partition.remove(listingId);
+            }
+        }
+
+        List<Long> nearest(BaseListing listing, int k) {
+            float[] vector = vector(listing);
+            double latitude = latitude(listing);
+            double longitude = longitude(listing);
+            String city = cityKey(listing);
+            long exclude = listing.getId() != null ? listing.getId() : Long.MIN_VALUE;
+
+            PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::distance)
+                    .reversed());
+            Partition own = partitions.get(features.partition.apply(listing));
+            if (own != null) {
+                own.scan(vector, latitude, longitude, city, exclude, 0, k, best);
+            }
+            if (best.size() < k) {
+                for (Partition partition : partitions.values()) {
+                    if (partition != own) {
+                        partition.scan(vector, latitude, longitude, city, exclude, PARTITION_PENALTY, k, best);
+                    }
+                }
+            }
+
+            List<Neighbour> sorted = new ArrayList<>(best);
+            sorted.sort(Comparator.comparingDouble(Neighbour::distance));
+            return sorted.stream().map(Neighbour::listingId).toList();
+        }
+
+        float[] vector(BaseListing listing) {
+            double[] raw = features.extractor.apply(listing);
+            float[] vector = new float[raw.length];
+            for (int d = 0; d < raw.length; d++) {
+                vector[d] = Double.isNaN(raw[d]) ? 0f : (float) ((raw[d] - means[d]) * scales[d]);
+            }
+            return vector;
+        }
+    }
+
+    record Neighbour(long listingId, double distance) {
+    }
+
+    /**
+     * Vectors stored contiguously, so a scan walks one float array. Removal
+     * moves the last vector into the freed slot.
+     */
+    static class Partition {
+
+        private final int dimensions;
+        private long[] ids = new long[8];
+        private float[] vectors;
+        private double[] latitudes = new double[8];
+        private double[] longitudes = new double[8];
+        private String[] cities = new String[8];
+        private int size;
+        private final Map<Long, Integer> positions = new HashMap<>();
+
+        Partition(int dimensions) {
+            this.dimensions = dimensions;
+            this.vectors = new float[8 * dimensions];
+        }
+
+        void put(long id, float[] vector, double latitude, double longitude, String city) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                vectors = Arrays.copyOf(vectors, capacity * dimensions);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                cities = Arrays.copyOf(cities, capacity);
+            }
+            set(size, id, vector, 0, latitude, longitude, city);
+            positions.put(id, size++);
+        }
+
+        void remove(long id) {
+            Integer position = positions.remove(id);
+            if (position == null) {
+                return;
+            }
+            int last = --size;
+            if (position != last) {
+                set(position, ids[last], vectors, last * dimensions, latitudes[last], longitudes[last], cities[last]);
+                positions.put(ids[position], position);
+            }
+            cities[last] = null;
+        }
+
+        private void set(int position, long id, float[] source, int offset, double latitude, double longitude,
+                String city) {
+            ids[position] = id;
+            System.arraycopy(source, offset, vectors, position * dimensions, dimensions);
+            latitudes[position] = latitude;
+            longitudes[position] = longitude;
+            cities[position] = city;
+        }
+
+        void scan(float[] query, double latitude, double longitude, String city, long exclude, double penalty, int k,
+                PriorityQueue<Neighbour> best) {
+            double cosine = Double.isNaN(latitude) ? 1 : Math.cos(Math.toRadians(latitude));
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == exclude) {
+                    continue;
+                }
+                double distance = penalty;
+                int offset = i * dimensions;
+                for (int d = 0; d < dimensions; d++) {
+                    double delta = query[d] - vectors[offset + d];
+                    distance += delta * delta;
+                }
+                if (best.size() == k && distance >= best.peek().distance()) {
+                    continue;
+                }
+                if (Double.isNaN(latitude) || Double.isNaN(latitudes[i])) {
+                    distance += city != null && city.equals(cities[i]) ? SAME_CITY_GEO : OTHER_CITY_GEO;
+                } else {
+                    double north = (latitudes[i] - latitude) * KM_PER_DEGREE;
+                    double east = (longitudes[i] - longitude) * KM_PER_DEGREE * cosine;
+                    double geo = (north * north + east * east) / (GEO_SCALE_KM * GEO_SCALE_KM);
+                    distance += Math.min(geo, MAX_GEO);
+                }
+                if (best.size() < k) {
+                    best.add(new Neighbour(ids[i], distance));
+                } else if (distance < best.peek().distance()) {
+                    best.poll();
+                    best.add(new Neighbour(ids[i], distance));
+                }
+            }
+        }
+    }
+
+    private static double latitude(BaseListing listing) {
+        return listing.getLatitude() != null && listing.getLongitude() != null ? listing.getLatitude() : Double.NaN;
+    }
+
+    private static double longitude(BaseListing listing) {
+        return listing.getLatitude() != null && listing.getLongitude() != null ? listing.getLongitude() : Double.NaN;
+    }
+
+    private static String cityKey(BaseListing listing) {
+        return textKey(listing.getCity());
+    }
+
+    private static String enumKey(Enum<?> value) {
+        return value == null ? "" : value.name();
+    }
+
+    private static String textKey(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double logPrice(BaseListing listing) {
+        return listing.getPrice() == null || listing.getPrice().signum() <= 0 ? Double.NaN
+                : Math.log(listing.getPrice().doubleValue());
+    }
+
+    private static double log(Integer value) {
+        return value == null || value < 0 ? Double.NaN : Math.log1p(value);
+    }
+
+    private static double value(Integer value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    // "3+1" is four rooms
+    static double sumOfNumbers(String text) {
+        if (text == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = NUMBER.matcher(text);
+        double sum = 0;
+        boolean found = false;
+        while (matcher.find()) {
+            sum += Double.parseDouble(matcher.group().replace(',', '.'));
+            found = true;
+        }
+        return found ? sum : Double.NaN;
+    }
+
+    // "5-10" is five years
+    static double firstNumber(String text) {
+        if (text == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = NUMBER.matcher(text);
+        return matcher.find() ? Double.parseDouble(matcher.group().replace(',', '.')) : Double.NaN;
+    }
+
+    // Cubic centimetres, whether given as "1598 cc" or "1.6"
+    static double engineVolume(String text) {
+        double volume = firstNumber(text);
+        return volume < 20 ? volume * 1000 : volume;
+    }
+}
@@ -0,0 +1,108 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.repository.BaseListingRepository;
+import com.burakcanaksoy.realestate.repository.LandRepository;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.RealEstateRepository;
+import com.burakcanaksoy.realestate.repository.VehicleRepository;
+import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Loads listings whose type is not known up front. A polymorphic fetch through
+ * ListingRepository outer-joins all four subtype tables; here the type of each
+ * listing is read from listing_type on its base row first, then each type
+ * present is loaded from its own repository, so a batch costs one narrow query
+ * plus one per type.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TypedListingLoader {
+
+    private final ListingRepository listingRepository;
+    private final RealEstateRepository realEstateRepository;
+    private final VehicleRepository vehicleRepository;
+    private final LandRepository landRepository;
+    private final WorkplaceRepository workplaceRepository;
+
+    /**
+     * The listings with the given ids, in the order of the ids. Unknown ids
+     * are skipped and repeated ids are returned once.
+     */
+    public List<BaseListing> findAllById(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<Long>> idsByType = new HashMap<>();
+        List<Long> untyped = new ArrayList<>();
+        for (ListingRepository.ListingTypeView row : listingRepository.findListingTypes(distinct)) {
+            if (repositoryFor(row.getListingType()) != null) {
+                idsByType.computeIfAbsent(row.getListingType(), type -> new ArrayList<>()).add(row.getId());
+            } else {
+                untyped.add(row.getId());
+            }
+        }
+
+        List<BaseListing> listings = new ArrayList<>(distinct.size());
+        idsByType.forEach((type, typeIds) -> listings.addAll(repositoryFor(type).findAllById(typeIds)));
+        if (!untyped.isEmpty()) {
+            listings.addAll(listingRepository.findAllById(untyped));
+        }
+        return SimilarListingIndex.inOrder(distinct, listings);
+    }
+
+    public Optional<BaseListing> findById(Long id) {
+        return findAllById(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Loads a listing whose type the caller already has, such as one stored on
+     * a favorite. Falls back to looking the type up when it is not a known
+     * listing type.
+     */
+    public Optional<BaseListing> findById(Long id, String listingType) {
+        BaseListingRepository<? extends BaseListing> repository = repositoryFor(listingType);
+        if (repository == null) {
+            return findById(id);
+        }
+        return repository.findById(id).map(BaseListing.class::cast);
+    }
+
+    public static boolean isListingType(String listingType) {
+        return listingType != null && switch (listingType) {
+            case "REAL_ESTATE", "VEHICLE", "LAND", "WORKPLACE" -> true;
+            default -> false;
+        };
+    }
+
+    private BaseListingRepository<? extends BaseListing> repositoryFor(String listingType) {
+        if (listingType == null) {
+            return null;
+        }
+        return switch (listingType) {
+            case "REAL_ESTATE" -> realEstateRepository;
+            case "VEHICLE" -> vehicleRepository;
+            case "LAND" -> landRepository;
+            case "WORKPLACE" -> workplaceRepository;
+            default -> null;
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillListingTypes() {
+        int updated = listingRepository.backfillListingTypes();
+        if (updated > 0) {
+            log.info("Listing types filled in for {} listings", updated);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.BaseListingMapper;
+import com.burakcanaksoy.realestate.model.BaseListing;
 import com.burakcanaksoy.realestate.model.User;
 import com.burakcanaksoy.realestate.repository.FavoriteRepository;
 import com.burakcanaksoy.realestate.repository.ListingRepository;
@@ -8,6 +11,7 @@ import com.burakcanaksoy.realestate.repository.UserRepository;
 import com.burakcanaksoy.realestate.request.ChangePasswordRequest;
 import com.burakcanaksoy.realestate.request.UpdateProfileRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +21,7 @@ import java.util.Random;
 import java.time.LocalDateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.util.List;
 import java.util.Set;
 import com.burakcanaksoy.realestate.model.enums.Role;
 
@@ -33,6 +38,7 @@ public class UserService {
     private final FileStorageService fileStorageService;
     private final SmsService smsService;
     private final com.burakcanaksoy.realestate.service.ActivityLogService activityLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public User updateProfile(Long userId, UpdateProfileRequest request) {
@@ -184,7 +190,9 @@ public class UserService {
         favoriteRepository.deleteByUser(user);
 
         // Delete user's listings
-        listingRepository.deleteByCreatedBy(user);
+        List<BaseListing> deletedListings = listingRepository.deleteByCreatedBy(user);
+        deletedListings.forEach(listing -> eventPublisher.publishEvent(
+                ListingChangedEvent.deleted(listing, BaseListingMapper.listingTypeOf(listing))));
 
         // Delete user's messages (both sent and received)
         messageRepository.deleteBySenderOrReceiver(user, user);
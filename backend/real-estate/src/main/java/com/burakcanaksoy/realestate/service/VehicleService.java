@@ -1,15 +1,19 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
 import com.burakcanaksoy.realestate.mapper.VehicleMapper;
 import com.burakcanaksoy.realestate.model.Category;
 import com.burakcanaksoy.realestate.model.User;
 import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.model.enums.Role;
 import com.burakcanaksoy.realestate.repository.CategoryRepository;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.VehicleRepository;
 import com.burakcanaksoy.realestate.repository.VideoRepository;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.VehicleCreateRequest;
 import com.burakcanaksoy.realestate.request.VehicleFilterRequest;
 import com.burakcanaksoy.realestate.request.VehicleUpdateRequest;
@@ -17,12 +21,15 @@ import com.burakcanaksoy.realestate.response.VehicleResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -32,14 +39,27 @@ public class VehicleService {
     private final AuthService authService;
     private final ImageRepository imageRepository;
     private final VideoRepository videoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CountEstimator countEstimator;
+    private final SimilarListingIndex similarListingIndex;
+    private final ListingResponseCache listingResponseCache;
+    private final ListingCardService listingCardService;
 
     public VehicleService(VehicleRepository vehicleRepository, CategoryRepository categoryRepository,
-            AuthService authService, ImageRepository imageRepository, VideoRepository videoRepository) {
+            AuthService authService, ImageRepository imageRepository, VideoRepository videoRepository,
+            ApplicationEventPublisher eventPublisher, CountEstimator countEstimator,
+            SimilarListingIndex similarListingIndex, ListingResponseCache listingResponseCache,
+            ListingCardService listingCardService) {
         this.vehicleRepository = vehicleRepository;
         this.categoryRepository = categoryRepository;
         this.authService = authService;
         this.imageRepository = imageRepository;
         this.videoRepository = videoRepository;
+        this.eventPublisher = eventPublisher;
+        this.countEstimator = countEstimator;
+        this.similarListingIndex = similarListingIndex;
+        this.listingResponseCache = listingResponseCache;
+        this.listingCardService = listingCardService;
     }
 
     public List<VehicleResponse> getAllVehicles() {
@@ -49,6 +69,7 @@ public class VehicleService {
                 .toList();
     }
 
+    @Transactional
     public VehicleResponse createVehicle(@Valid VehicleCreateRequest request) {
         User currentUser = this.authService.getCurrentUser();
         Category category = this.categoryRepository.findBySlug(request.getCategorySlug())
@@ -57,20 +78,24 @@ public class VehicleService {
         Vehicle vehicle = VehicleMapper.toEntity(request, category);
         vehicle.setCreatedBy(currentUser);
         Vehicle savedVehicle = this.vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(ListingChangedEvent.created(savedVehicle, "VEHICLE"));
         return VehicleMapper.toResponse(savedVehicle);
     }
 
     public VehicleResponse getVehicleById(Long vehicleId) {
-        Vehicle vehicle = this.vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new EntityNotFoundException("Vehicle not found with this id : " + vehicleId));
-        return convertToResponse(vehicle);
+        return listingResponseCache.get(vehicleId, VehicleResponse.class, () -> {
+            Vehicle vehicle = this.vehicleRepository.findById(vehicleId)
+                    .orElseThrow(() -> new EntityNotFoundException("Vehicle not found with this id : " + vehicleId));
+            return convertToResponse(vehicle);
+        });
     }
 
+    @Transactional
     public void incrementViewCount(Long vehicleId) {
-        Vehicle vehicle = this.vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new EntityNotFoundException("Vehicle not found with this id : " + vehicleId));
-        vehicle.setViewCount(vehicle.getViewCount() + 1);
-        this.vehicleRepository.save(vehicle);
+        if (this.vehicleRepository.incrementViewCount(vehicleId) == 0) {
+            throw new EntityNotFoundException("Vehicle not found with this id : " + vehicleId);
+        }
+        listingCardService.viewed(vehicleId);
     }
 
     private void assertOwnerOrAdmin(Vehicle vehicle, User currentUser) {
@@ -82,19 +107,24 @@ public class VehicleService {
         }
     }
 
+    @Transactional
     public void deleteVehicle(Long id) {
         User currentUser = authService.getCurrentUser();
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Vehicle not found: " + id));
         assertOwnerOrAdmin(vehicle, currentUser);
         vehicleRepository.delete(vehicle);
+        eventPublisher.publishEvent(ListingChangedEvent.deleted(vehicle, "VEHICLE"));
     }
 
+    @Transactional
     public VehicleResponse updateVehicle(Long vehicleId, @Valid VehicleUpdateRequest request) {
         User currentUser = authService.getCurrentUser();
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new EntityNotFoundException("Vehicle not found with id: " + vehicleId));
         assertOwnerOrAdmin(vehicle, currentUser);
+        BigDecimal previousPrice = vehicle.getPrice();
+        String previousCity = vehicle.getCity();
 
         if (request.getTitle() != null) {
             vehicle.setTitle(request.getTitle());
@@ -200,6 +230,7 @@ public class VehicleService {
         }
 
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(ListingChangedEvent.updated(updatedVehicle, "VEHICLE", previousPrice, previousCity));
 
         return VehicleMapper.toResponse(updatedVehicle);
     }
@@ -215,10 +246,33 @@ public class VehicleService {
         return vehiclePage.map(this::convertToResponse);
     }
 
+    public Page<VehicleResponse> getAllVehicles(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getAllVehicles(pageable);
+        }
+        Slice<Vehicle> slice = this.vehicleRepository.findAllBy(pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateTableRows("vehicles")
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
+    public Page<VehicleResponse> search(VehicleFilterRequest filter, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return search(filter, pageable);
+        }
+        Slice<Vehicle> slice = this.vehicleRepository.searchSlice(filter, pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateListings("VEHICLE", filter.getStatus(), filter.getCity(),
+                        filter.getDistrict(), filter.getCategorySlug())
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
     private VehicleResponse convertToResponse(Vehicle vehicle) {
         VehicleResponse response = VehicleMapper.toResponse(vehicle);
         imageRepository.findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(vehicle.getId(), "VEHICLE")
-                .ifPresent(image -> response.setImageUrl("/api/images/view/" + image.getId()));
+                .ifPresent(image -> response.setImageUrl(ImageMapper.viewUrl(image.getId(), ImageSize.CARD)));
 
         videoRepository.findByListingIdAndListingTypeOrderByDisplayOrderAsc(vehicle.getId(), "VEHICLE")
                 .stream().findFirst()
@@ -231,12 +285,9 @@ public class VehicleService {
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Vehicle not found with id: " + id));
 
-        List<Vehicle> similarVehicles = vehicleRepository.findByCityAndDistrictAndBrandAndIdNot(
-                vehicle.getCity(),
-                vehicle.getDistrict(),
-                vehicle.getBrand(),
-                id,
-                PageRequest.of(0, 3));
+        List<Long> similarIds = similarListingIndex.findSimilar(vehicle, 3);
+        List<Vehicle> similarVehicles = SimilarListingIndex.inOrder(similarIds,
+                vehicleRepository.findAllById(similarIds));
 
         return similarVehicles.stream()
                 .map(this::convertToResponse)
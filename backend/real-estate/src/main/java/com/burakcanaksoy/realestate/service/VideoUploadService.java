@@ -0,0 +1,265 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.exception.InvalidUploadException;
+import com.burakcanaksoy.realestate.exception.UploadOffsetException;
+import com.burakcanaksoy.realestate.model.MediaBlob;
+import com.burakcanaksoy.realestate.model.User;
+import com.burakcanaksoy.realestate.model.VideoUploadSession;
+import com.burakcanaksoy.realestate.model.enums.Role;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.UserRepository;
+import com.burakcanaksoy.realestate.repository.VideoUploadSessionRepository;
+import com.burakcanaksoy.realestate.request.VideoUploadStartRequest;
+import com.burakcanaksoy.realestate.response.VideoResponse;
+import com.burakcanaksoy.realestate.response.VideoUploadResponse;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Resumable video uploads. A session is started with the total size, chunks
+ * are written at their offset straight into a part file next to the media
+ * blobs, and completion verifies the SHA-256 before the part file becomes a
+ * blob and the Video row is created. Each byte is written to disk once and a
+ * chunk is copied through a fixed size buffer, whatever its length.
+ */
+@Service
+@Slf4j
+public class VideoUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final VideoUploadSessionRepository sessionRepository;
+    private final MediaBlobStore mediaBlobStore;
+    private final FileStorageService fileStorageService;
+    private final ListingRepository listingRepository;
+    private final UserRepository userRepository;
+    private final long maxSize;
+    private final int chunkSize;
+    private final Duration expiry;
+
+    public VideoUploadService(VideoUploadSessionRepository sessionRepository, MediaBlobStore mediaBlobStore,
+            FileStorageService fileStorageService, ListingRepository listingRepository, UserRepository userRepository,
+            @Value("${media.upload.max-video-bytes:2147483648}") long maxSize,
+            @Value("${media.upload.chunk-size:8388608}") int chunkSize,
+            @Value("${media.upload.expiry-hours:24}") long expiryHours) {
+        this.sessionRepository = sessionRepository;
+        this.mediaBlobStore = mediaBlobStore;
+        this.fileStorageService = fileStorageService;
+        this.listingRepository = listingRepository;
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.chunkSize = chunkSize;
+        this.expiry = Duration.ofHours(expiryHours);
+    }
+
+    public VideoUploadResponse start(Long listingId, VideoUploadStartRequest request, String username) {
+        if (!request.getContentType().startsWith("video/")) {
+            throw new InvalidUploadException("Not a video content type: " + request.getContentType());
+        }
+        if (request.getSize() > maxSize) {
+            throw new InvalidUploadException("Video larger than " + maxSize + " bytes");
+        }
+        assertOwnerOrAdmin(listingId, username);
+
+        String id = UUID.randomUUID().toString();
+        try {
+            Path part = mediaBlobStore.partPath(id);
+            Files.createFile(part);
+
+            VideoUploadSession session = new VideoUploadSession();
+            session.setId(id);
+            session.setUsername(username);
+            session.setListingId(listingId);
+            session.setListingType(request.getListingType());
+            session.setFileName(request.getFileName());
+            session.setContentType(request.getContentType());
+            session.setSize(request.getSize());
+            session.setPartPath(part.toString());
+            return toResponse(sessionRepository.save(session));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start upload: " + e.getMessage(), e);
+        }
+    }
+
+    public VideoUploadResponse status(String uploadId, String username) {
+        return toResponse(findSession(uploadId, username));
+    }
+
+    /**
+     * Writes a chunk at offset and returns the new resume offset. A chunk may
+     * start anywhere up to the bytes received so far, so one whose
+     * acknowledgement was lost can simply be sent again.
+     */
+    public long writeChunk(String uploadId, String username, long offset, InputStream body) {
+        VideoUploadSession session = findOwnedSession(uploadId, username);
+        if (offset < 0 || offset > session.getReceivedBytes()) {
+            throw new UploadOffsetException("Chunk must start at or before offset " + session.getReceivedBytes(),
+                    session.getReceivedBytes());
+        }
+
+        long position = offset;
+        try (FileChannel channel = FileChannel.open(Paths.get(session.getPartPath()), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (position + read > session.getSize()) {
+                    throw new InvalidUploadException("Chunk runs past the declared size of " + session.getSize());
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    position += channel.write(chunk, position);
+                }
+            }
+            // Durable before the offset is acknowledged
+            channel.force(false);
+        } catch (IOException e) {
+            // Keep what reached the disk, the client resumes from the recorded offset
+            log.warn("Upload {} interrupted at {}: {}", uploadId, position, e.getMessage());
+            throw new RuntimeException("Failed to write chunk: " + e.getMessage(), e);
+        }
+
+        sessionRepository.advance(uploadId, position);
+        return Math.max(session.getReceivedBytes(), position);
+    }
+
+    /**
+     * Checks that every byte arrived and matches sha256, then stores the file
+     * as a media blob and creates the Video row.
+     */
+    public VideoResponse complete(String uploadId, String username, String sha256) {
+        VideoUploadSession session = findOwnedSession(uploadId, username);
+        if (!session.getReceivedBytes().equals(session.getSize())) {
+            throw new UploadOffsetException("Upload incomplete", session.getReceivedBytes());
+        }
+
+        Path part = Paths.get(session.getPartPath());
+        try {
+            String digest = digest(part);
+            if (!digest.equalsIgnoreCase(sha256)) {
+                discard(session);
+                throw new InvalidUploadException("Checksum mismatch, upload discarded");
+            }
+            if (sessionRepository.claim(uploadId) == 0) {
+                throw new EntityNotFoundException("Upload not found: " + uploadId);
+            }
+
+            try {
+                MediaBlob blob = mediaBlobStore.adopt(part, digest, session.getSize(), session.getContentType(),
+                        session.getFileName());
+                // Drops the blob reference again if the row cannot be saved
+                return fileStorageService.createVideo(blob, session.getContentType(), session.getListingId(),
+                        session.getListingType());
+            } finally {
+                // Normally moved into the blob store already
+                Files.deleteIfExists(part);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store video: " + e.getMessage(), e);
+        }
+    }
+
+    public void cancel(String uploadId, String username) {
+        discard(findOwnedSession(uploadId, username));
+    }
+
+    /**
+     * Removes sessions without progress for the expiry period, with their
+     * part files.
+     */
+    @Scheduled(fixedDelayString = "${media.upload.sweep-interval-ms:3600000}",
+            initialDelayString = "${media.upload.sweep-initial-delay-ms:600000}")
+    public int sweepExpired() {
+        List<VideoUploadSession> expired = sessionRepository
+                .findTop500ByUpdatedAtBefore(LocalDateTime.now().minus(expiry));
+        expired.forEach(this::discard);
+        if (!expired.isEmpty()) {
+            log.info("Removed {} expired video uploads", expired.size());
+        }
+        return expired.size();
+    }
+
+    private VideoUploadSession findSession(String uploadId, String username) {
+        // Someone else's upload is reported as missing
+        return sessionRepository.findById(uploadId)
+                .filter(session -> Objects.equals(session.getUsername(), username))
+                .orElseThrow(() -> new EntityNotFoundException("Upload not found: " + uploadId));
+    }
+
+    /**
+     * The caller's session, while the caller may still add videos to its
+     * listing.
+     */
+    private VideoUploadSession findOwnedSession(String uploadId, String username) {
+        VideoUploadSession session = findSession(uploadId, username);
+        assertOwnerOrAdmin(session.getListingId(), username);
+        return session;
+    }
+
+    /**
+     * Videos may be added by the listing's owner or an admin, as for editing
+     * the listing itself.
+     */
+    private void assertOwnerOrAdmin(Long listingId, String username) {
+        if (!listingRepository.existsById(listingId)) {
+            throw new EntityNotFoundException("Listing not found with this id : " + listingId);
+        }
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new AccessDeniedException("You are not allowed to modify this listing"));
+        boolean isAdmin = currentUser.getRoles().contains(Role.ROLE_ADMIN);
+        boolean isOwner = listingRepository.findOwnerId(listingId)
+                .map(ownerId -> ownerId.equals(currentUser.getId()))
+                .orElse(false);
+        if (!isAdmin && !isOwner) {
+            throw new AccessDeniedException("You are not allowed to modify this listing");
+        }
+    }
+
+    private void discard(VideoUploadSession session) {
+        sessionRepository.claim(session.getId());
+        try {
+            Files.deleteIfExists(Paths.get(session.getPartPath()));
+        } catch (IOException e) {
+            log.warn("Could not delete upload part {}: {}", session.getPartPath(), e.getMessage());
+        }
+    }
+
+    private static String digest(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                sha256.update(buffer);
+                buffer.clear();
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private VideoUploadResponse toResponse(VideoUploadSession session) {
+        return new VideoUploadResponse(session.getId(), session.getSize(), session.getReceivedBytes(), chunkSize);
+    }
+}
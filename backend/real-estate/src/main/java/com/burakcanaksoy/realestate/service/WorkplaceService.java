@@ -1,15 +1,19 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ImageMapper;
 import com.burakcanaksoy.realestate.mapper.WorkplaceMapper;
 import com.burakcanaksoy.realestate.model.Category;
 import com.burakcanaksoy.realestate.model.User;
 import com.burakcanaksoy.realestate.model.Workplace;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
 import com.burakcanaksoy.realestate.model.enums.Role;
 import com.burakcanaksoy.realestate.repository.CategoryRepository;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.ImageRepository;
 import com.burakcanaksoy.realestate.repository.VideoRepository;
 import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.WorkplaceCreateRequest;
 import com.burakcanaksoy.realestate.request.WorkplaceFilterRequest;
 import com.burakcanaksoy.realestate.request.WorkplaceUpdateRequest;
@@ -17,11 +21,15 @@ import com.burakcanaksoy.realestate.response.WorkplaceResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -31,14 +39,27 @@ public class WorkplaceService {
     private final AuthService authService;
     private final ImageRepository imageRepository;
     private final VideoRepository videoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CountEstimator countEstimator;
+    private final SimilarListingIndex similarListingIndex;
+    private final ListingResponseCache listingResponseCache;
+    private final ListingCardService listingCardService;
 
     public WorkplaceService(WorkplaceRepository workplaceRepository, CategoryRepository categoryRepository,
-            AuthService authService, ImageRepository imageRepository, VideoRepository videoRepository) {
+            AuthService authService, ImageRepository imageRepository, VideoRepository videoRepository,
+            ApplicationEventPublisher eventPublisher, CountEstimator countEstimator,
+            SimilarListingIndex similarListingIndex, ListingResponseCache listingResponseCache,
+            ListingCardService listingCardService) {
         this.workplaceRepository = workplaceRepository;
         this.categoryRepository = categoryRepository;
         this.authService = authService;
         this.imageRepository = imageRepository;
         this.videoRepository = videoRepository;
+        this.eventPublisher = eventPublisher;
+        this.countEstimator = countEstimator;
+        this.similarListingIndex = similarListingIndex;
+        this.listingResponseCache = listingResponseCache;
+        this.listingCardService = listingCardService;
     }
 
     public List<WorkplaceResponse> getAllWorkplaces() {
@@ -48,6 +69,7 @@ public class WorkplaceService {
                 .toList();
     }
 
+    @Transactional
     public WorkplaceResponse createWorkplace(@Valid WorkplaceCreateRequest request) {
 
         Category category = categoryRepository.findBySlug(request.getCategorySlug())
@@ -60,20 +82,25 @@ public class WorkplaceService {
         workplace.setCreatedBy(currentUser);
 
         Workplace savedWorkplace = workplaceRepository.save(workplace);
+        eventPublisher.publishEvent(ListingChangedEvent.created(savedWorkplace, "WORKPLACE"));
         return WorkplaceMapper.toResponse(savedWorkplace);
     }
 
     public WorkplaceResponse getWorkplaceById(Long workplaceId) {
-        Workplace workplace = this.workplaceRepository.findById(workplaceId)
-                .orElseThrow(() -> new EntityNotFoundException("Workplace not found with this id : " + workplaceId));
-        return convertToResponse(workplace);
+        return listingResponseCache.get(workplaceId, WorkplaceResponse.class, () -> {
+            Workplace workplace = this.workplaceRepository.findById(workplaceId)
+                    .orElseThrow(() -> new EntityNotFoundException(
+                            "Workplace not found with this id : " + workplaceId));
+            return convertToResponse(workplace);
+        });
     }
 
+    @Transactional
     public void incrementViewCount(Long workplaceId) {
-        Workplace workplace = this.workplaceRepository.findById(workplaceId)
-                .orElseThrow(() -> new EntityNotFoundException("Workplace not found with this id : " + workplaceId));
-        workplace.setViewCount(workplace.getViewCount() + 1);
-        this.workplaceRepository.save(workplace);
+        if (this.workplaceRepository.incrementViewCount(workplaceId) == 0) {
+            throw new EntityNotFoundException("Workplace not found with this id : " + workplaceId);
+        }
+        listingCardService.viewed(workplaceId);
     }
 
     private void assertOwnerOrAdmin(Workplace workplace, User currentUser) {
@@ -85,19 +112,24 @@ public class WorkplaceService {
         }
     }
 
+    @Transactional
     public void deleteWorkplace(Long workplaceId) {
         User currentUser = this.authService.getCurrentUser();
         Workplace workplace = this.workplaceRepository.findById(workplaceId)
                 .orElseThrow(() -> new EntityNotFoundException("Workplace not found with this id : " + workplaceId));
         assertOwnerOrAdmin(workplace, currentUser);
         this.workplaceRepository.delete(workplace);
+        eventPublisher.publishEvent(ListingChangedEvent.deleted(workplace, "WORKPLACE"));
     }
 
+    @Transactional
     public WorkplaceResponse updateWorkplace(Long workplaceId, @Valid WorkplaceUpdateRequest request) {
         User currentUser = this.authService.getCurrentUser();
         Workplace workplace = workplaceRepository.findById(workplaceId)
                 .orElseThrow(() -> new EntityNotFoundException("Workplace not found with id: " + workplaceId));
         assertOwnerOrAdmin(workplace, currentUser);
+        BigDecimal previousPrice = workplace.getPrice();
+        String previousCity = workplace.getCity();
 
         /* -------- BaseListing fields -------- */
 
@@ -180,6 +212,7 @@ public class WorkplaceService {
         }
 
         Workplace updatedWorkplace = workplaceRepository.save(workplace);
+        eventPublisher.publishEvent(ListingChangedEvent.updated(updatedWorkplace, "WORKPLACE", previousPrice, previousCity));
 
         return WorkplaceMapper.toResponse(updatedWorkplace);
     }
@@ -195,10 +228,33 @@ public class WorkplaceService {
         return workplacePage.map(this::convertToResponse);
     }
 
+    public Page<WorkplaceResponse> getAllWorkplaces(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getAllWorkplaces(pageable);
+        }
+        Slice<Workplace> slice = this.workplaceRepository.findAllBy(pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateTableRows("workplaces")
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
+    public Page<WorkplaceResponse> search(WorkplaceFilterRequest filter, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return search(filter, pageable);
+        }
+        Slice<Workplace> slice = this.workplaceRepository.searchSlice(filter, pageable);
+        long estimate = countMode == CountMode.ESTIMATED
+                ? countEstimator.estimateListings("WORKPLACE", filter.getStatus(), filter.getCity(),
+                        filter.getDistrict(), filter.getCategorySlug())
+                : CountEstimator.UNKNOWN;
+        return CountEstimator.toPage(slice.map(this::convertToResponse), estimate);
+    }
+
     private WorkplaceResponse convertToResponse(Workplace workplace) {
         WorkplaceResponse response = WorkplaceMapper.toResponse(workplace);
         imageRepository.findFirstByListingIdAndListingTypeOrderByDisplayOrderAsc(workplace.getId(), "WORKPLACE")
-                .ifPresent(image -> response.setImageUrl("/api/images/view/" + image.getId()));
+                .ifPresent(image -> response.setImageUrl(ImageMapper.viewUrl(image.getId(), ImageSize.CARD)));
 
         videoRepository.findByListingIdAndListingTypeOrderByDisplayOrderAsc(workplace.getId(), "WORKPLACE")
                 .stream().findFirst()
@@ -211,11 +267,9 @@ public class WorkplaceService {
         Workplace workplace = workplaceRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Workplace not found with id: " + id));
 
-        List<Workplace> similarWorkplaces = workplaceRepository.findTop3ByCityAndDistrictAndWorkplaceTypeAndIdNot(
-                workplace.getCity(),
-                workplace.getDistrict(),
-                workplace.getWorkplaceType(),
-                id);
+        List<Long> similarIds = similarListingIndex.findSimilar(workplace, 3);
+        List<Workplace> similarWorkplaces = SimilarListingIndex.inOrder(similarIds,
+                workplaceRepository.findAllById(similarIds));
 
         return similarWorkplaces.stream()
                 .map(this::convertToResponse)
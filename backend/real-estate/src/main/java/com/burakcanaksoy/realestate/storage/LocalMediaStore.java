@@ -0,0 +1,97 @@
+package com.burakcanaksoy.realestate.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Media kept on this node's disk under the upload directory. Locations are
+ * file paths, relative to the working directory unless absolute, as written
+ * by every earlier version.
+ */
+public class LocalMediaStore implements MediaStore {
+
+    private final Path root;
+
+    public LocalMediaStore(String uploadDir) {
+        this.root = Paths.get(uploadDir);
+    }
+
+    @Override
+    public String locate(String key) {
+        return root.resolve(key).toString();
+    }
+
+    @Override
+    public void put(String location, Path file, String contentType) throws IOException {
+        Path target = Paths.get(location);
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        // A rename when the file is on the same disk; readers never see a partial object
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.move(file, temp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public OptionalLong size(String location) throws IOException {
+        Path path = resolveStoredPath(location);
+        try {
+            return OptionalLong.of(Files.size(path));
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        return Files.newInputStream(resolveStoredPath(location));
+    }
+
+    @Override
+    public void delete(String location) throws IOException {
+        Files.deleteIfExists(resolveStoredPath(location));
+    }
+
+    @Override
+    public Optional<Path> localPath(String location) {
+        return Optional.of(resolveStoredPath(location));
+    }
+
+    @Override
+    public Optional<URI> downloadUrl(String location, String contentType, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<DirectUpload> directUpload(String location, String contentType, long size, String sha256Hex,
+            Duration ttl) {
+        return Optional.empty();
+    }
+
+    /**
+     * Stored paths are relative to the working directory unless absolute. Files
+     * written by older versions may only exist under the uploads directory.
+     */
+    public static Path resolveStoredPath(String storedPath) {
+        Path path = Paths.get(storedPath);
+        if (!path.isAbsolute()) {
+            path = Paths.get(System.getProperty("user.dir")).resolve(path);
+        }
+        path = path.normalize();
+        if (!Files.isReadable(path) && !storedPath.contains("uploads")) {
+            Path fallback = Paths.get("uploads").resolve(storedPath).toAbsolutePath();
+            if (Files.isReadable(fallback)) {
+                return fallback;
+            }
+        }
+        return path;
+    }
+}
@@ -0,0 +1,70 @@
+package com.burakcanaksoy.realestate.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Where media bytes live. Objects are addressed by a location, the string
+ * kept in the file path columns of Image, Video and MediaBlob rows; new
+ * objects get theirs from {@link #locate(String)} with a key such as
+ * {@code blobs/ab/cd/<digest>.jpg}. Files are always assembled on local disk
+ * first and handed over with {@link #put}.
+ */
+public interface MediaStore {
+
+    /**
+     * The location an object stored under key will have.
+     */
+    String locate(String key);
+
+    /**
+     * Stores the file at location, replacing any object there. The file is
+     * consumed: moved or deleted once its bytes are stored.
+     */
+    void put(String location, Path file, String contentType) throws IOException;
+
+    /**
+     * Size of the object, empty when it does not exist.
+     */
+    OptionalLong size(String location) throws IOException;
+
+    default boolean exists(String location) throws IOException {
+        return size(location).isPresent();
+    }
+
+    InputStream open(String location) throws IOException;
+
+    void delete(String location) throws IOException;
+
+    /**
+     * The object as a local file, for stores that keep it on this node's
+     * disk. Empty when the bytes have to be fetched or redirected to.
+     */
+    Optional<Path> localPath(String location);
+
+    /**
+     * A time limited URL clients can fetch the object from directly, empty
+     * when the store cannot hand out such URLs.
+     */
+    Optional<URI> downloadUrl(String location, String contentType, Duration ttl);
+
+    /**
+     * A time limited URL the client can PUT the object to directly, bound to
+     * its size and SHA-256 so the store rejects other bytes. Empty when the
+     * store does not accept direct uploads.
+     */
+    Optional<DirectUpload> directUpload(String location, String contentType, long size, String sha256Hex,
+            Duration ttl);
+
+    /**
+     * Target of a direct upload: the URL and the headers to send with it.
+     */
+    record DirectUpload(URI url, Map<String, String> headers) {
+    }
+}
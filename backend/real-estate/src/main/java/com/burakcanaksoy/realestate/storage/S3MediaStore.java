@@ -0,0 +1,268 @@
+package com.burakcanaksoy.realestate.storage;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Media kept in an S3-compatible bucket (AWS S3, MinIO). Locations look like
+ * {@code s3://<bucket>/<key>}; older rows still holding local file paths are
+ * read from disk, so existing media keeps working while it is migrated.
+ * Files larger than one part are sent as a multipart upload that streams
+ * each part from disk.
+ */
+public class S3MediaStore implements MediaStore {
+
+    private static final String SCHEME = "s3://";
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final long partSize;
+    private final LocalMediaStore legacy;
+
+    public S3MediaStore(S3Client s3, S3Presigner presigner, String bucket, long partSize, LocalMediaStore legacy) {
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.partSize = partSize;
+        this.legacy = legacy;
+    }
+
+    @Override
+    public String locate(String key) {
+        return SCHEME + bucket + "/" + key;
+    }
+
+    @Override
+    public void put(String location, Path file, String contentType) throws IOException {
+        String key = key(location);
+        long size = Files.size(file);
+        try {
+            if (size <= partSize) {
+                s3.putObject(PutObjectRequest.builder().bucket(bucket).key(key).contentType(contentType).build(),
+                        RequestBody.fromFile(file));
+            } else {
+                putMultipart(key, file, size, contentType);
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Upload to " + location + " failed: " + e.getMessage(), e);
+        }
+        Files.deleteIfExists(file);
+    }
+
+    private void putMultipart(String key, Path file, long size, String contentType) {
+        String uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket).key(key).contentType(contentType).build()).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                long start = offset;
+                // Opened per attempt, so the SDK can retry a part without buffering it
+                RequestBody body = RequestBody.fromContentProvider(() -> openRange(file, start, length), length,
+                        contentType);
+                String etag = s3.uploadPart(UploadPartRequest.builder().bucket(bucket).key(key)
+                        .uploadId(uploadId).partNumber(partNumber).contentLength(length).build(), body).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(etag).build());
+            }
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder().bucket(bucket).key(key)
+                    .uploadId(uploadId).multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(key)
+                    .uploadId(uploadId).build());
+            throw e;
+        }
+    }
+
+    private static InputStream openRange(Path file, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ).position(offset);
+            return new RangeInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + file, e);
+        }
+    }
+
+    @Override
+    public OptionalLong size(String location) throws IOException {
+        if (!isObject(location)) {
+            return legacy.size(location);
+        }
+        try {
+            return OptionalLong.of(s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key(location))
+                    .build()).contentLength());
+        } catch (NoSuchKeyException e) {
+            return OptionalLong.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return OptionalLong.empty();
+            }
+            throw new IOException("Cannot read " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        if (!isObject(location)) {
+            return legacy.open(location);
+        }
+        try {
+            return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(key(location)).build());
+        } catch (S3Exception e) {
+            throw new IOException("Cannot read " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String location) throws IOException {
+        if (!isObject(location)) {
+            legacy.delete(location);
+            return;
+        }
+        try {
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key(location)).build());
+        } catch (S3Exception e) {
+            throw new IOException("Cannot delete " + location + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String location) {
+        return isObject(location) ? Optional.empty() : legacy.localPath(location);
+    }
+
+    @Override
+    public Optional<URI> downloadUrl(String location, String contentType, Duration ttl) {
+        if (!isObject(location)) {
+            return Optional.empty();
+        }
+        GetObjectRequest request = GetObjectRequest.builder().bucket(bucket).key(key(location))
+                .responseContentType(contentType).build();
+        return Optional.of(toUri(presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(ttl).getObjectRequest(request).build()).url()));
+    }
+
+    @Override
+    public Optional<DirectUpload> directUpload(String location, String contentType, long size, String sha256Hex,
+            Duration ttl) {
+        PutObjectRequest request = PutObjectRequest.builder().bucket(bucket).key(key(location))
+                .contentType(contentType)
+                .contentLength(size)
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                .checksumSHA256(Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256Hex)))
+                .build();
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl).putObjectRequest(request).build());
+
+        // Every signed header except Host, which the client sets itself
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return Optional.of(new DirectUpload(toUri(presigned.url()), headers));
+    }
+
+    private boolean isObject(String location) {
+        return location.startsWith(SCHEME);
+    }
+
+    private String key(String location) {
+        String prefix = SCHEME + bucket + "/";
+        if (!location.startsWith(prefix)) {
+            throw new IllegalArgumentException("Not in bucket " + bucket + ": " + location);
+        }
+        return location.substring(prefix.length());
+    }
+
+    private static URI toUri(URL url) {
+        try {
+            return url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid presigned URL", e);
+        }
+    }
+
+    /**
+     * Reads at most limit bytes of the underlying stream.
+     */
+    private static final class RangeInputStream extends InputStream {
+
+        private final InputStream in;
+        private long remaining;
+
+        RangeInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.burakcanaksoy.realestate.config;
+
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.response.BaseListingResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ColumnarPageHttpMessageConverter
+ *
+ * Pages of 100 listings are written in the columnar layouts and compared
+ * with the regular JSON of the same page.
+ */
+@DisplayName("ColumnarPageHttpMessageConverter Unit Tests")
+class ColumnarPageHttpMessageConverterTest {
+
+    // Configured like Spring Boot's mapper, which writes java.time values as ISO strings
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private final ColumnarPageHttpMessageConverter converter = new ColumnarPageHttpMessageConverter(objectMapper,
+            cborMapper);
+
+    private Page<BaseListingResponse> page;
+
+    @BeforeEach
+    void setUp() {
+        List<BaseListingResponse> listings = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            BaseListingResponse listing = new BaseListingResponse();
+            listing.setId(id);
+            listing.setTitle("Listing " + id);
+            listing.setDescription("Bright three bedroom flat close to the metro, renovated in 2022.");
+            listing.setPrice(BigDecimal.valueOf(1_000_000 + id * 1000));
+            listing.setCurrency("TRY");
+            listing.setCity("Istanbul");
+            listing.setDistrict("Kadikoy");
+            listing.setCategorySlug("emlak");
+            listing.setCategoryName("Emlak");
+            listing.setStatus(ListingStatus.ACTIVE);
+            listing.setListingType("REAL_ESTATE");
+            listing.setImageUrl("/api/images/" + id + "/view?size=card");
+            listing.setViewCount(id);
+            listing.setFavoriteCount(0L);
+            listing.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id));
+            listings.add(listing);
+        }
+        page = new PageImpl<>(listings, PageRequest.of(0, 100), 1234);
+    }
+
+    @Test
+    @DisplayName("write - Should write one array per field with the page numbers")
+    void testWrite_Columns() throws Exception {
+        JsonNode body = objectMapper.readTree(write(page, ColumnarPageHttpMessageConverter.COLUMNS_JSON));
+
+        assertThat(body.get("totalElements").asLong()).isEqualTo(1234);
+        assertThat(body.get("hasNext").asBoolean()).isTrue();
+        assertThat(body.get("columns").get("title")).hasSize(100);
+        assertThat(body.get("columns").get("title").get(4).asText()).isEqualTo("Listing 5");
+        assertThat(body.get("columns").get("createdAt").get(0).asText()).isEqualTo("2024-01-01T12:01:00");
+        // Null on every row
+        assertThat(body.get("columns").has("videoUrl")).isFalse();
+        assertThat(body.has("pageable")).isFalse();
+    }
+
+    @Test
+    @DisplayName("write - Should be smaller than the regular JSON page, and smaller still as CBOR")
+    void testWrite_PayloadSize() throws Exception {
+        int json = objectMapper.writeValueAsBytes(page).length;
+        int cbor = cborMapper.writeValueAsBytes(page).length;
+        byte[] columnsJson = write(page, ColumnarPageHttpMessageConverter.COLUMNS_JSON);
+        byte[] columnsCbor = write(page, ColumnarPageHttpMessageConverter.COLUMNS_CBOR);
+
+        assertThat(columnsJson.length).isLessThan(json * 3 / 4);
+        assertThat(cbor).isLessThan(json);
+        assertThat(columnsCbor.length).isLessThan(Math.min(columnsJson.length, cbor));
+        JsonNode cborColumns = cborMapper.readTree(columnsCbor).get("columns");
+        assertThat(cborColumns.get("id")).hasSize(100);
+        assertThat(cborColumns.get("createdAt").get(0).asText()).isEqualTo("2024-01-01T12:01:00");
+    }
+
+    @Test
+    @DisplayName("write - Should leave out the totals of a slice")
+    void testWrite_Slice() throws Exception {
+        JsonNode body = objectMapper.readTree(write(new SliceImpl<>(page.getContent().subList(0, 2),
+                PageRequest.of(3, 2), false), ColumnarPageHttpMessageConverter.COLUMNS_JSON));
+
+        assertThat(body.get("page").asInt()).isEqualTo(3);
+        assertThat(body.has("totalElements")).isFalse();
+        assertThat(body.get("columns").get("id")).hasSize(2);
+    }
+
+    private byte[] write(Slice<?> slice, MediaType mediaType) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(slice, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,62 @@
+package com.burakcanaksoy.realestate.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LazyLoadGuard
+ *
+ * @Mock: Mocks the entity manager factory and Hibernate load events
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LazyLoadGuard Unit Tests")
+class LazyLoadGuardTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private LoadEvent loadEvent;
+
+    @Test
+    @DisplayName("onLoad - Should fail on a proxy initialized outside the fetch plan")
+    void testOnLoad_ProxyInitialized() {
+        LazyLoadGuard guard = new LazyLoadGuard(entityManagerFactory, LazyLoadGuard.Mode.FAIL);
+        when(loadEvent.getEntityClassName()).thenReturn("com.burakcanaksoy.realestate.model.Category");
+        when(loadEvent.getEntityId()).thenReturn(3L);
+
+        assertThatThrownBy(() -> guard.onLoad(loadEvent, LoadEventListener.IMMEDIATE_LOAD))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Category#3");
+    }
+
+    @Test
+    @DisplayName("onLoad - Should let loads issued by queries and find calls through")
+    void testOnLoad_PlannedLoad() {
+        LazyLoadGuard guard = new LazyLoadGuard(entityManagerFactory, LazyLoadGuard.Mode.FAIL);
+
+        assertThatCode(() -> {
+            guard.onLoad(loadEvent, LoadEventListener.GET);
+            guard.onLoad(loadEvent, LoadEventListener.INTERNAL_LOAD_EAGER);
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("register - Should not touch Hibernate when the guard is off")
+    void testRegister_Off() {
+        new LazyLoadGuard(entityManagerFactory, LazyLoadGuard.Mode.OFF).register();
+
+        verifyNoInteractions(entityManagerFactory);
+    }
+}
@@ -1,9 +1,20 @@
 package com.burakcanaksoy.realestate.controller;
 
+import com.burakcanaksoy.realestate.config.ColumnarPageHttpMessageConverter;
+import com.burakcanaksoy.realestate.exception.FeedLimitException;
+import com.burakcanaksoy.realestate.repository.UserRepository;
 import com.burakcanaksoy.realestate.response.BaseListingResponse;
+import com.burakcanaksoy.realestate.response.ListingCardResponse;
+import com.burakcanaksoy.realestate.response.ListingDetailResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
 import com.burakcanaksoy.realestate.security.JwtAuthenticationFilter;
+import com.burakcanaksoy.realestate.service.FacetIndexService;
+import com.burakcanaksoy.realestate.service.FileStorageService;
+import com.burakcanaksoy.realestate.service.ListingCardProjection;
+import com.burakcanaksoy.realestate.service.ListingDetailService;
+import com.burakcanaksoy.realestate.service.ListingFeedService;
 import com.burakcanaksoy.realestate.service.ListingService;
+import com.burakcanaksoy.realestate.service.MediaStreamingService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,14 +26,30 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ListingController.class, excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthenticationFilter.class))
@@ -36,9 +63,27 @@ class ListingControllerTest {
     @MockBean
     private ListingService listingService;
 
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private UserRepository userRepository;
+
     @MockBean
     private AuthService authService;
 
+    @MockBean
+    private FacetIndexService facetIndexService;
+
+    @MockBean
+    private MediaStreamingService mediaStreamingService;
+
+    @MockBean
+    private ListingDetailService listingDetailService;
+
+    @MockBean
+    private ListingFeedService listingFeedService;
+
     @Test
     @DisplayName("getAllListings - Should return list")
     void testGetAllListings() throws Exception {
@@ -67,4 +112,123 @@ class ListingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].title").value("Listing 1"));
     }
+
+    @Test
+    @DisplayName("getAllListings(Pageable) - Should write columns when they are asked for")
+    void testGetAllListingsPage_Columns() throws Exception {
+        BaseListingResponse response = new BaseListingResponse();
+        response.setId(1L);
+        response.setTitle("Listing 1");
+
+        when(listingService.getAllListings(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(response)));
+
+        mockMvc.perform(get("/api/listings/page").accept(ColumnarPageHttpMessageConverter.COLUMNS_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ColumnarPageHttpMessageConverter.COLUMNS_JSON))
+                .andExpect(jsonPath("$.columns.title[0]").value("Listing 1"))
+                .andExpect(jsonPath("$.content").doesNotExist());
+
+        mockMvc.perform(get("/api/listings/page").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].title").value("Listing 1"));
+    }
+
+    @Test
+    @DisplayName("getAllListings(Pageable) - Should return cards with only the requested fields")
+    void testGetAllListingsPage_Fields() throws Exception {
+        ListingCardResponse card = new ListingCardResponse();
+        card.setId(1L);
+        card.setTitle("Listing 1");
+
+        when(listingService.getCards(eq(List.of("id", "title", "price")), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(card)));
+
+        mockMvc.perform(get("/api/listings/page").param("fields", "price, title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Listing 1"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("search - Should reject an unknown field")
+    void testSearch_UnknownField() throws Exception {
+        mockMvc.perform(get("/api/listings/search").param("fields", "title,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("getFeed - Should stream the feed as NDJSON from the given time")
+    void testGetFeed() throws Exception {
+        Runnable releaseSlot = mock(Runnable.class);
+        when(listingFeedService.acquireSlot()).thenReturn(releaseSlot);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(listingFeedService).writeFeed(eq(LocalDateTime.of(2024, 5, 1, 10, 30)), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/listings/feed").param("updatedSince", "2024-05-01T10:30:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+        verify(releaseSlot, atLeastOnce()).run();
+    }
+
+    @Test
+    @DisplayName("getFeed - Should answer 503 with Retry-After when every feed slot is taken")
+    void testGetFeed_Busy() throws Exception {
+        doThrow(new FeedLimitException("Too many listing feeds are running, try again later", 30))
+                .when(listingFeedService).acquireSlot();
+
+        mockMvc.perform(get("/api/listings/feed").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.message").value("Too many listing feeds are running, try again later"));
+        verify(listingFeedService, never()).writeFeed(any(), any());
+    }
+
+    @Test
+    @DisplayName("getCards - Should search with the compact card fields by default")
+    void testGetCards_DefaultFields() throws Exception {
+        when(listingService.searchCards(any(), eq(ListingCardProjection.DEFAULT_FIELDS), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/api/listings/cards").param("city", "Izmir"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("getListingDetail - Should return the aggregate and revalidate it by ETag")
+    void testGetListingDetail() throws Exception {
+        ListingDetailResponse detail = new ListingDetailResponse();
+        detail.setListingType("LAND");
+        detail.setImages(List.of());
+        when(listingDetailService.getDetail(5L, "LAND")).thenReturn(detail);
+        when(listingDetailService.etag(detail)).thenReturn("\"abc\"");
+
+        mockMvc.perform(get("/api/listings/5/detail").param("listingType", "LAND"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(jsonPath("$.listingType").value("LAND"));
+
+        mockMvc.perform(get("/api/listings/5/detail").param("listingType", "LAND").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("getListingDetail - Should not send an ETag for a degraded response")
+    void testGetListingDetail_Degraded() throws Exception {
+        ListingDetailResponse detail = new ListingDetailResponse();
+        detail.getUnavailable().add("similar");
+        when(listingDetailService.getDetail(5L, "LAND")).thenReturn(detail);
+
+        mockMvc.perform(get("/api/listings/5/detail").param("listingType", "LAND"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.unavailable[0]").value("similar"));
+    }
 }
@@ -3,6 +3,7 @@ package com.burakcanaksoy.realestate.controller;
 import com.burakcanaksoy.realestate.model.enums.Currency;
 import com.burakcanaksoy.realestate.model.enums.HeatingType;
 import com.burakcanaksoy.realestate.model.enums.RealEstateType;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.RealEstateCreateRequest;
 import com.burakcanaksoy.realestate.response.RealEstateResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
@@ -23,10 +24,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -69,7 +74,7 @@ class RealEstateControllerTest {
         response.setTitle("Test Real Estate");
 
         Page<RealEstateResponse> page = new PageImpl<>(List.of(response));
-        when(realEstateService.getAllRealEstates(any(Pageable.class))).thenReturn(page);
+        when(realEstateService.getAllRealEstates(any(Pageable.class), eq(CountMode.EXACT))).thenReturn(page);
 
         mockMvc.perform(get("/api/realestates/page"))
                 .andExpect(status().isOk())
@@ -122,6 +127,26 @@ class RealEstateControllerTest {
                 .andExpect(jsonPath("$.title").value("House 1"));
     }
 
+    @Test
+    @DisplayName("getRealEstateById - Should answer 304 without a body when the ETag still matches")
+    void testGetRealEstateById_NotModified() throws Exception {
+        RealEstateResponse response = new RealEstateResponse();
+        response.setId(1L);
+        response.setTitle("House 1");
+        response.setUpdatedAt(LocalDateTime.of(2024, 5, 1, 10, 0));
+
+        when(realEstateService.getRealEstateById(1L)).thenReturn(response);
+
+        String etag = mockMvc.perform(get("/api/realestates/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/realestates/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("deleteRealEstate - Should return 200 OK")
     void testDeleteRealEstate() throws Exception {
@@ -1,6 +1,7 @@
 package com.burakcanaksoy.realestate.controller;
 
 import com.burakcanaksoy.realestate.model.enums.Currency;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.VehicleCreateRequest;
 import com.burakcanaksoy.realestate.response.VehicleResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
@@ -25,6 +26,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -69,7 +71,7 @@ class VehicleControllerTest {
         response.setTitle("Vehicle 1");
 
         Page<VehicleResponse> page = new PageImpl<>(List.of(response));
-        when(vehicleService.getAllVehicles(any(Pageable.class))).thenReturn(page);
+        when(vehicleService.getAllVehicles(any(Pageable.class), eq(CountMode.EXACT))).thenReturn(page);
 
         mockMvc.perform(get("/api/vehicles/page"))
                 .andExpect(status().isOk())
@@ -1,6 +1,7 @@
 package com.burakcanaksoy.realestate.controller;
 
 import com.burakcanaksoy.realestate.model.enums.Currency;
+import com.burakcanaksoy.realestate.request.CountMode;
 import com.burakcanaksoy.realestate.request.WorkplaceCreateRequest;
 import com.burakcanaksoy.realestate.response.WorkplaceResponse;
 import com.burakcanaksoy.realestate.security.AuthService;
@@ -25,6 +26,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -69,7 +71,7 @@ class WorkplaceControllerTest {
         response.setTitle("Workplace 1");
 
         Page<WorkplaceResponse> page = new PageImpl<>(List.of(response));
-        when(workplaceService.getAllWorkplaces(any(Pageable.class))).thenReturn(page);
+        when(workplaceService.getAllWorkplaces(any(Pageable.class), eq(CountMode.EXACT))).thenReturn(page);
 
         mockMvc.perform(get("/api/workplaces/page"))
                 .andExpect(status().isOk())
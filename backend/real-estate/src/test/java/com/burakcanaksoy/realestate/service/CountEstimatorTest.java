@@ -0,0 +1,86 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CountEstimator
+ *
+ * @Mock: Mocks the facet index used for listing estimates
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CountEstimator Unit Tests")
+class CountEstimatorTest {
+
+    @Mock
+    private FacetIndexService facetIndexService;
+
+    private CountEstimator countEstimator;
+
+    @BeforeEach
+    void setUp() {
+        countEstimator = new CountEstimator(facetIndexService, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("toPage - Should use the estimate while a next page exists")
+    void testToPage_WithNextPage() {
+        Page<Long> page = CountEstimator.toPage(new SliceImpl<>(List.of(1L, 2L), PageRequest.of(3, 2), true), 500);
+
+        assertThat(page.getTotalElements()).isEqualTo(500);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("toPage - Should never report fewer rows than already seen")
+    void testToPage_EstimateTooLow() {
+        Page<Long> page = CountEstimator.toPage(new SliceImpl<>(List.of(1L, 2L), PageRequest.of(3, 2), true),
+                CountEstimator.UNKNOWN);
+
+        assertThat(page.getTotalElements()).isEqualTo(9);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("toPage - Should report the exact total on the last page")
+    void testToPage_LastPage() {
+        Page<Long> page = CountEstimator.toPage(new SliceImpl<>(List.of(1L), PageRequest.of(3, 2), false), 500);
+
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("estimateListings - Should count active listings from the facet index")
+    void testEstimateListings_FacetIndex() {
+        when(facetIndexService.count(Map.of(
+                FacetIndexService.Facet.LISTING_TYPE, "LAND",
+                FacetIndexService.Facet.CITY, "Izmir"))).thenReturn(42L);
+
+        assertThat(countEstimator.estimateListings("LAND", ListingStatus.ACTIVE, "Izmir", " ", null)).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("estimateListings - Should not estimate inactive listings")
+    void testEstimateListings_InactiveStatus() {
+        assertThat(countEstimator.estimateListings("LAND", ListingStatus.SOLD, "Izmir", null, null))
+                .isEqualTo(CountEstimator.UNKNOWN);
+        verifyNoInteractions(facetIndexService);
+    }
+}
@@ -0,0 +1,127 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.User;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.response.DuplicateListingResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DuplicateListingDetector
+ *
+ * @Mock: Mocks the listing repository used to build the index
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicateListingDetector Unit Tests")
+class DuplicateListingDetectorTest {
+
+    private static final String DESCRIPTION = "Spacious three bedroom flat with a sea view, renovated kitchen, "
+            + "two bathrooms, underfloor heating, private parking and a large balcony close to the metro station "
+            + "and the central park, available from next month";
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private DuplicateListingDetector duplicateListingDetector;
+
+    @BeforeEach
+    void setUp() {
+        duplicateListingDetector = new DuplicateListingDetector(listingRepository, 0.6);
+    }
+
+    @Test
+    @DisplayName("signature - Should estimate the Jaccard similarity of the shingles")
+    void testSimilarityEstimate() {
+        Set<Long> first = DuplicateListingDetector.shingles(DESCRIPTION);
+        Set<Long> second = DuplicateListingDetector.shingles(DESCRIPTION.replace("two bathrooms", "one bathroom"));
+        Set<Long> union = new HashSet<>(first);
+        union.addAll(second);
+        Set<Long> intersection = new HashSet<>(first);
+        intersection.retainAll(second);
+        double jaccard = (double) intersection.size() / union.size();
+
+        double estimate = DuplicateListingDetector.similarity(DuplicateListingDetector.signature(first),
+                DuplicateListingDetector.signature(second));
+
+        assertThat(estimate).isCloseTo(jaccard, within(0.15));
+    }
+
+    @Test
+    @DisplayName("rebuild - Should pair lightly edited listings of the same type only")
+    void testRebuild_FindsDuplicates() {
+        when(listingRepository.findAll()).thenReturn(List.of(
+                realEstate(1L, 10L, "Sea view flat", DESCRIPTION),
+                realEstate(2L, 20L, "Sea view flat!", DESCRIPTION.replace("next month", "next week")),
+                realEstate(3L, 10L, "Detached house", "Stone house with a garden and an orchard in a quiet village"),
+                vehicle(4L, 10L, "Sea view flat", DESCRIPTION)));
+
+        duplicateListingDetector.rebuild();
+
+        List<DuplicateListingResponse> candidates = duplicateListingDetector.getCandidates(10);
+        assertThat(candidates).hasSize(1);
+        DuplicateListingResponse pair = candidates.get(0);
+        assertThat(pair.getListingId()).isEqualTo(1L);
+        assertThat(pair.getOtherListingId()).isEqualTo(2L);
+        assertThat(pair.getSimilarity()).isGreaterThan(0.6);
+        assertThat(pair.getSameOwner()).isFalse();
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should add and drop pairs as listings change")
+    void testOnListingChanged() {
+        RealEstate original = realEstate(1L, 10L, "Sea view flat", DESCRIPTION);
+        RealEstate copy = realEstate(2L, 10L, "Sea view flat", DESCRIPTION);
+
+        duplicateListingDetector.onListingChanged(ListingChangedEvent.created(original, "REAL_ESTATE"));
+        duplicateListingDetector.onListingChanged(ListingChangedEvent.created(copy, "REAL_ESTATE"));
+        assertThat(duplicateListingDetector.getCandidates(2L)).containsEntry(1L, 1.0);
+        assertThat(duplicateListingDetector.getCandidates(10).get(0).getSameOwner()).isTrue();
+
+        copy.setDescription("Completely rewritten description about a small studio near the university campus");
+        copy.setTitle("Studio");
+        duplicateListingDetector.onListingChanged(ListingChangedEvent.updated(copy, "REAL_ESTATE", null, null));
+        assertThat(duplicateListingDetector.getCandidates(2L)).isEmpty();
+
+        copy.setTitle("Sea view flat");
+        copy.setDescription(DESCRIPTION);
+        duplicateListingDetector.onListingChanged(ListingChangedEvent.updated(copy, "REAL_ESTATE", null, null));
+        duplicateListingDetector.onListingChanged(ListingChangedEvent.deleted(original, "REAL_ESTATE"));
+        assertThat(duplicateListingDetector.getCandidates(2L)).isEmpty();
+        assertThat(duplicateListingDetector.getCandidates(10)).isEmpty();
+    }
+
+    private static RealEstate realEstate(Long id, Long ownerId, String title, String description) {
+        return listing(new RealEstate(), id, ownerId, title, description);
+    }
+
+    private static Vehicle vehicle(Long id, Long ownerId, String title, String description) {
+        return listing(new Vehicle(), id, ownerId, title, description);
+    }
+
+    private static <T extends BaseListing> T listing(T listing, Long id, Long ownerId, String title,
+            String description) {
+        User owner = new User();
+        owner.setId(ownerId);
+        listing.setId(id);
+        listing.setTitle(title);
+        listing.setDescription(description);
+        listing.setCreatedBy(owner);
+        return listing;
+    }
+}
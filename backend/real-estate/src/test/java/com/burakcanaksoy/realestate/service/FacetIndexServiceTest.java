@@ -0,0 +1,174 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.Category;
+import com.burakcanaksoy.realestate.model.Land;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.enums.FuelType;
+import com.burakcanaksoy.realestate.model.enums.HeatingType;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.model.enums.Transmission;
+import com.burakcanaksoy.realestate.repository.LandRepository;
+import com.burakcanaksoy.realestate.repository.RealEstateRepository;
+import com.burakcanaksoy.realestate.repository.VehicleRepository;
+import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
+import com.burakcanaksoy.realestate.request.FacetFilterRequest;
+import com.burakcanaksoy.realestate.response.FacetCountsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for FacetIndexService
+ *
+ * @Mock: Mocks the per-type repositories used to build the index
+ * @InjectMocks: Creates FacetIndexService and injects mocked dependencies
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FacetIndexService Unit Tests")
+class FacetIndexServiceTest {
+
+    @Mock
+    private RealEstateRepository realEstateRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private LandRepository landRepository;
+
+    @Mock
+    private WorkplaceRepository workplaceRepository;
+
+    @InjectMocks
+    private FacetIndexService facetIndexService;
+
+    private RealEstate istanbulFlat;
+    private RealEstate ankaraFlat;
+    private Vehicle istanbulCar;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setSlug("konut");
+
+        istanbulFlat = new RealEstate();
+        istanbulFlat.setId(1L);
+        istanbulFlat.setCity("Istanbul");
+        istanbulFlat.setDistrict("Besiktas");
+        istanbulFlat.setPrice(new BigDecimal("750000"));
+        istanbulFlat.setCategory(category);
+        istanbulFlat.setRoomCount("3+1");
+        istanbulFlat.setHeatingType(HeatingType.CENTRAL_HEATING);
+
+        ankaraFlat = new RealEstate();
+        ankaraFlat.setId(2L);
+        ankaraFlat.setCity("Ankara");
+        ankaraFlat.setDistrict("Cankaya");
+        ankaraFlat.setPrice(new BigDecimal("300000"));
+        ankaraFlat.setCategory(category);
+        ankaraFlat.setRoomCount("2+1");
+
+        istanbulCar = new Vehicle();
+        istanbulCar.setId(3L);
+        istanbulCar.setCity("istanbul");
+        istanbulCar.setPrice(new BigDecimal("1200000"));
+        istanbulCar.setFuelType(FuelType.DIESEL);
+        istanbulCar.setTransmission(Transmission.AUTOMATIC);
+
+        RealEstate soldFlat = new RealEstate();
+        soldFlat.setId(4L);
+        soldFlat.setCity("Istanbul");
+        soldFlat.setStatus(ListingStatus.SOLD);
+
+        when(realEstateRepository.findAll()).thenReturn(List.of(istanbulFlat, ankaraFlat, soldFlat));
+        when(vehicleRepository.findAll()).thenReturn(List.of(istanbulCar));
+        when(landRepository.findAll()).thenReturn(List.of());
+        when(workplaceRepository.findAll()).thenReturn(List.of());
+
+        facetIndexService.rebuild();
+    }
+
+    @Test
+    @DisplayName("getFacetCounts - Should count only active listings and merge case variants")
+    void testGetFacetCounts_NoFilter() {
+        FacetCountsResponse result = facetIndexService.getFacetCounts(new FacetFilterRequest());
+
+        assertThat(result.getTotal()).isEqualTo(3L);
+        assertThat(result.getFacets().get("city")).containsEntry("Istanbul", 2L).containsEntry("Ankara", 1L);
+        assertThat(result.getFacets().get("listingType"))
+                .containsEntry("REAL_ESTATE", 2L)
+                .containsEntry("VEHICLE", 1L);
+        assertThat(result.getFacets().get("priceBucket"))
+                .containsOnlyKeys("0-500000", "500000-1000000", "1000000-2500000");
+    }
+
+    @Test
+    @DisplayName("getFacetCounts - Should keep alternatives of the selected facet")
+    void testGetFacetCounts_DisjunctiveSelection() {
+        FacetFilterRequest filter = new FacetFilterRequest();
+        filter.setCity(List.of("istanbul"));
+
+        FacetCountsResponse result = facetIndexService.getFacetCounts(filter);
+
+        assertThat(result.getTotal()).isEqualTo(2L);
+        assertThat(result.getFacets().get("city")).containsEntry("Ankara", 1L);
+        assertThat(result.getFacets().get("listingType"))
+                .containsEntry("REAL_ESTATE", 1L)
+                .containsEntry("VEHICLE", 1L);
+        assertThat(result.getFacets().get("roomCount")).containsOnlyKeys("3+1");
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should move listing between facet values")
+    void testOnListingChanged_Updated() {
+        ankaraFlat.setCity("Izmir");
+        facetIndexService.onListingChanged(ListingChangedEvent.updated(ankaraFlat, "REAL_ESTATE", null, null));
+
+        FacetCountsResponse result = facetIndexService.getFacetCounts(new FacetFilterRequest());
+
+        assertThat(result.getTotal()).isEqualTo(3L);
+        assertThat(result.getFacets().get("city")).containsEntry("Izmir", 1L).doesNotContainKey("Ankara");
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should drop deleted listings from the index")
+    void testOnListingChanged_Deleted() {
+        facetIndexService.onListingChanged(ListingChangedEvent.deleted(istanbulCar, "VEHICLE"));
+
+        FacetCountsResponse result = facetIndexService.getFacetCounts(new FacetFilterRequest());
+
+        assertThat(result.getTotal()).isEqualTo(2L);
+        assertThat(result.getFacets().get("fuelType")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should index listing ids beyond the int range")
+    void testOnListingChanged_LargeId() {
+        Land land = new Land();
+        land.setId((1L << 32) + 1);
+        land.setCity("Istanbul");
+        land.setPrice(new BigDecimal("400000"));
+
+        facetIndexService.onListingChanged(ListingChangedEvent.created(land, "LAND"));
+        assertThat(facetIndexService.getFacetCounts(new FacetFilterRequest()).getFacets().get("city"))
+                .containsEntry("Istanbul", 3L);
+
+        facetIndexService.onListingChanged(ListingChangedEvent.deleted(land, "LAND"));
+        FacetCountsResponse result = facetIndexService.getFacetCounts(new FacetFilterRequest());
+        assertThat(result.getTotal()).isEqualTo(3L);
+        assertThat(result.getFacets().get("city")).containsEntry("Istanbul", 2L);
+        assertThat(result.getFacets().get("listingType")).doesNotContainKey("LAND");
+    }
+}
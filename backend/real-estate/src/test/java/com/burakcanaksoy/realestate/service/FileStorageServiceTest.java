@@ -0,0 +1,161 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.MediaBlob;
+import com.burakcanaksoy.realestate.model.Video;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.repository.VideoRepository;
+import com.burakcanaksoy.realestate.response.ImageResponse;
+import com.burakcanaksoy.realestate.response.VideoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FileStorageService
+ *
+ * @Mock: Mocks repositories, the blob store, the transaction template, the
+ *        listing response cache and the card read model; the media I/O
+ *        executor runs tasks on the calling thread
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FileStorageService Unit Tests")
+class FileStorageServiceTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private MediaStreamingService mediaStreamingService;
+
+    @Mock
+    private ImageRenditionService imageRenditionService;
+
+    @Mock
+    private MediaBlobStore mediaBlobStore;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ListingResponseCache listingResponseCache;
+
+    @Mock
+    private ListingCardService listingCardService;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(imageRepository, videoRepository, mediaStreamingService,
+                imageRenditionService, mediaBlobStore, transactionTemplate, listingResponseCache,
+                listingCardService, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("uploadImages - Should insert all images after the existing gallery in one transaction")
+    void testUploadImages() throws Exception {
+        when(mediaBlobStore.store(any(InputStream.class), anyString(), anyString()))
+                .thenReturn(blob("aa", "/blobs/aa.jpg"), blob("bb", "/blobs/bb.jpg"));
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(imageRepository.findMaxDisplayOrder(5L, "LAND")).thenReturn(2);
+        List<Image> inserted = new ArrayList<>();
+        when(imageRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Image> images = invocation.getArgument(0);
+            for (Image image : images) {
+                image.setId(100L + inserted.size());
+                inserted.add(image);
+            }
+            return images;
+        });
+        when(imageRepository.findByListingIdAndListingTypeOrderByDisplayOrderAsc(5L, "LAND"))
+                .thenAnswer(invocation -> inserted);
+
+        List<ImageResponse> gallery = fileStorageService.uploadImages(List.of(file("a.jpg"), file("b.jpg")), 5L,
+                "LAND", 1);
+
+        assertThat(gallery).extracting(ImageResponse::getDisplayOrder).containsExactly(3, 4);
+        assertThat(gallery).extracting(ImageResponse::getIsPrimary).containsExactly(false, true);
+        verify(imageRepository).lockGallery("LAND:5");
+        verify(imageRepository).clearPrimary(5L, "LAND");
+        verify(imageRepository, times(1)).saveAll(anyList());
+        verify(imageRenditionService).generateAsync(100L);
+        verify(imageRenditionService).generateAsync(101L);
+        verify(listingResponseCache).mediaChanged(5L);
+        verify(listingCardService).refresh(5L);
+    }
+
+    @Test
+    @DisplayName("uploadImages - Should release stored files when another file fails")
+    void testUploadImages_WriteFails() throws Exception {
+        when(mediaBlobStore.store(any(InputStream.class), anyString(), anyString()))
+                .thenReturn(blob("aa", "/blobs/aa.jpg"))
+                .thenThrow(new IOException("disk full"));
+
+        assertThatThrownBy(() -> fileStorageService.uploadImages(List.of(file("a.jpg"), file("b.jpg")), 5L,
+                "LAND", null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("disk full");
+
+        verify(mediaBlobStore).release("aa");
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("createVideo - Should release the blob when the video row cannot be saved")
+    void testCreateVideo_SaveFails() {
+        when(videoRepository.save(any(Video.class))).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThatThrownBy(() -> fileStorageService.createVideo(blob("bb", "/blobs/bb.mp4"), "video/mp4", 5L,
+                "LAND"))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(mediaBlobStore).release("bb");
+        verifyNoInteractions(listingCardService);
+    }
+
+    @Test
+    @DisplayName("createVideo - Should keep store URIs intact")
+    void testCreateVideo_RemoteLocation() {
+        when(videoRepository.save(any(Video.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        VideoResponse response = fileStorageService.createVideo(blob("bb", "s3://media/blobs/bb.mp4"), "video/mp4",
+                5L, "LAND");
+
+        assertThat(response.getFilePath()).isEqualTo("s3://media/blobs/bb.mp4");
+        assertThat(response.getFileName()).isEqualTo("bb.mp4");
+    }
+
+    private static MultipartFile file(String name) {
+        return new MockMultipartFile("files", name, "image/jpeg", new byte[] { 1, 2, 3 });
+    }
+
+    private static MediaBlob blob(String digest, String path) {
+        MediaBlob blob = new MediaBlob();
+        blob.setDigest(digest);
+        blob.setStoragePath(path);
+        blob.setSize(3L);
+        return blob;
+    }
+}
@@ -0,0 +1,159 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.Land;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImageFingerprintService
+ *
+ * @Mock: Mocks the image and listing repositories
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageFingerprintService Unit Tests")
+class ImageFingerprintServiceTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private ImageFingerprintService imageFingerprintService;
+
+    @BeforeEach
+    void setUp() {
+        imageFingerprintService = new ImageFingerprintService(imageRepository, listingRepository, 6);
+    }
+
+    @Test
+    @DisplayName("dHash - Should barely change when a picture is rescaled")
+    void testDHash_Rescaled() {
+        BufferedImage original = picture(1200, 800);
+        BufferedImage smaller = ImageRenditionService.scale(original, 320);
+
+        assertThat(ImageFingerprintService.distance(ImageFingerprintService.dHash(original),
+                ImageFingerprintService.dHash(smaller))).isLessThanOrEqualTo(4);
+        assertThat(ImageFingerprintService.distance(ImageFingerprintService.dHash(original),
+                ImageFingerprintService.dHash(mirrored(original)))).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("BkTree.search - Should find the same fingerprints as a full scan")
+    void testBkTreeSearch() {
+        Random random = new Random(42);
+        ImageFingerprintService.BkTree tree = new ImageFingerprintService.BkTree();
+        List<ImageFingerprintService.Fingerprint> all = new ArrayList<>();
+        long base = random.nextLong();
+        for (long id = 1; id <= 2000; id++) {
+            // Clustered around one hash so that some fall within the distance
+            long hash = base;
+            for (int flips = random.nextInt(20); flips > 0; flips--) {
+                hash ^= 1L << random.nextInt(64);
+            }
+            ImageFingerprintService.Fingerprint fingerprint = new ImageFingerprintService.Fingerprint(id, id, id,
+                    hash);
+            tree.add(fingerprint);
+            all.add(fingerprint);
+        }
+
+        List<ImageFingerprintService.Fingerprint> expected = all.stream()
+                .filter(fingerprint -> ImageFingerprintService.distance(fingerprint.hash(), base) <= 6)
+                .toList();
+        assertThat(expected).isNotEmpty();
+        assertThat(tree.search(base, 6)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(tree.size()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("fingerprint - Should flag a photo already used by another user's listing")
+    void testFingerprint_FlagsOtherOwner() {
+        BufferedImage photo = picture(800, 600);
+        long hash = ImageFingerprintService.dHash(photo);
+        when(imageRepository.findFingerprints()).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, 10L, 100L, hash ^ 0b11 },
+                new Object[] { 2L, 20L, 200L, hash }));
+        imageFingerprintService.rebuild();
+        when(listingRepository.findOwnerId(30L)).thenReturn(Optional.of(200L));
+        when(imageRepository.existsById(1L)).thenReturn(true);
+
+        imageFingerprintService.fingerprint(image(3L, 30L), photo);
+
+        // Image 2 is closer but belongs to the same user
+        verify(imageRepository).updateFingerprint(3L, hash, 1L);
+        assertThat(imageFingerprintService.findSimilar(hash, 6)).extracting(ImageFingerprintService.Fingerprint::imageId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("findSimilar - Should skip images of deleted listings")
+    void testFindSimilar_DeletedListing() {
+        when(imageRepository.findFingerprints()).thenReturn(List.<Object[]>of(
+                new Object[] { 1L, 10L, 100L, 5L },
+                new Object[] { 2L, 20L, 200L, 7L }));
+        imageFingerprintService.rebuild();
+        Land listing = new Land();
+        listing.setId(10L);
+
+        imageFingerprintService.onListingChanged(ListingChangedEvent.deleted(listing, "LAND"));
+
+        assertThat(imageFingerprintService.findSimilar(5L, 6)).extracting(ImageFingerprintService.Fingerprint::imageId)
+                .containsExactly(2L);
+    }
+
+    private static Image image(Long id, Long listingId) {
+        Image image = new Image();
+        image.setId(id);
+        image.setListingId(listingId);
+        return image;
+    }
+
+    private static BufferedImage picture(int width, int height) {
+        BufferedImage picture = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = picture.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height / 2f, Color.DARK_GRAY));
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(Color.BLACK);
+            graphics.fillOval(width / 8, height / 4, width / 3, height / 2);
+            graphics.setColor(Color.LIGHT_GRAY);
+            graphics.fillRect(width * 5 / 8, height / 8, width / 4, height / 3);
+        } finally {
+            graphics.dispose();
+        }
+        return picture;
+    }
+
+    private static BufferedImage mirrored(BufferedImage picture) {
+        BufferedImage mirrored = new BufferedImage(picture.getWidth(), picture.getHeight(),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = mirrored.createGraphics();
+        try {
+            graphics.drawImage(picture, picture.getWidth(), 0, -picture.getWidth(), picture.getHeight(), null);
+        } finally {
+            graphics.dispose();
+        }
+        return mirrored;
+    }
+}
@@ -0,0 +1,99 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.storage.LocalMediaStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImageRenditionService
+ *
+ * @Mock: Mocks the image repository, the media metadata cache and the
+ *        fingerprint index; files are kept in a local media store in a
+ *        temporary directory
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageRenditionService Unit Tests")
+class ImageRenditionServiceTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private MediaStreamingService mediaStreamingService;
+
+    @Mock
+    private ImageFingerprintService imageFingerprintService;
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageRenditionService imageRenditionService;
+
+    @BeforeEach
+    void setUp() {
+        imageRenditionService = new ImageRenditionService(imageRepository, mediaStreamingService,
+                new LocalMediaStore(uploadDir.toString()), imageFingerprintService);
+    }
+
+    @Test
+    @DisplayName("scale - Should fit the longest side and keep the aspect ratio")
+    void testScale() {
+        BufferedImage scaled = ImageRenditionService.scale(new BufferedImage(4000, 1000, BufferedImage.TYPE_INT_ARGB),
+                ImageSize.THUMB.getMaxDimension());
+
+        assertThat(scaled.getWidth()).isEqualTo(320);
+        assertThat(scaled.getHeight()).isEqualTo(80);
+        assertThat(scaled.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Test
+    @DisplayName("scale - Should not enlarge small images")
+    void testScale_Small() {
+        BufferedImage scaled = ImageRenditionService.scale(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB),
+                ImageSize.FULL.getMaxDimension());
+
+        assertThat(scaled.getWidth()).isEqualTo(200);
+        assertThat(scaled.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("generate - Should write every rendition and record the paths")
+    void testGenerate() throws Exception {
+        Path original = uploadDir.resolve("photo.png");
+        ImageIO.write(new BufferedImage(2400, 1200, BufferedImage.TYPE_INT_ARGB), "png", original.toFile());
+
+        Image image = new Image();
+        image.setId(7L);
+        image.setFilePath(original.toString());
+        when(imageRepository.findById(7L)).thenReturn(Optional.of(image));
+
+        imageRenditionService.generate(7L);
+
+        Path thumbnail = ImageRenditionService.renditionPath(original, ImageSize.THUMB);
+        Path card = ImageRenditionService.renditionPath(original, ImageSize.CARD);
+        Path full = ImageRenditionService.renditionPath(original, ImageSize.FULL);
+        assertThat(ImageIO.read(thumbnail.toFile()).getWidth()).isEqualTo(320);
+        assertThat(ImageIO.read(card.toFile()).getWidth()).isEqualTo(640);
+        assertThat(ImageIO.read(full.toFile()).getWidth()).isEqualTo(1600);
+        verify(imageRepository).updateRenditionPaths(7L, thumbnail.toString(), card.toString(), full.toString());
+        verify(mediaStreamingService).evictImage(7L);
+        verify(imageFingerprintService).fingerprint(eq(image), argThat(picture -> picture.getWidth() == 320));
+    }
+}
@@ -20,7 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -40,6 +42,7 @@ import static org.mockito.Mockito.*;
  *
  * This test class covers all methods of LandService.
  * @Mock: Mocks the repository and auth service dependencies
+ * @Spy: Uses a real, empty response cache
  * @InjectMocks: Creates LandService and injects mocked dependencies
  */
 @ExtendWith(MockitoExtension.class)
@@ -55,6 +58,12 @@ class LandServiceTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ListingResponseCache listingResponseCache = new ListingResponseCache(null, 100, 60);
+
     @InjectMocks
     private LandService landService;
 
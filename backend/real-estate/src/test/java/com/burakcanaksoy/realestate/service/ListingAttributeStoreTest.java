@@ -0,0 +1,111 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.mapper.ListingAttributesMapper;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.enums.FuelType;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ListingAttributeStore
+ *
+ * @Mock: Mocks the listing repository and the typed listing loader
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListingAttributeStore Unit Tests")
+class ListingAttributeStoreTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private TypedListingLoader typedListingLoader;
+
+    private ListingAttributeStore listingAttributeStore;
+
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        listingAttributeStore = new ListingAttributeStore(listingRepository, typedListingLoader, true);
+
+        vehicle = new Vehicle();
+        vehicle.setId(3L);
+        vehicle.setTitle("2020 Toyota Corolla");
+        vehicle.setPrice(new BigDecimal("750000"));
+        vehicle.setBrand("Toyota");
+        vehicle.setColor(" Kırmızı ");
+        vehicle.setFuelType(FuelType.HYBRID);
+        vehicle.setHeavyDamage(false);
+        vehicle.setYear(2020);
+    }
+
+    @Test
+    @DisplayName("toAttributes - Should keep the subtype's own fields as normalized strings")
+    void testToAttributes() {
+        Map<String, String> attributes = ListingAttributesMapper.toAttributes(vehicle);
+
+        assertThat(attributes)
+                .containsEntry("brand", "toyota")
+                .containsEntry("color", "kırmızı")
+                .containsEntry("fuelType", "hybrid")
+                .containsEntry("heavyDamage", "false")
+                .containsEntry("year", "2020")
+                .doesNotContainKeys("title", "price", "warranty");
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should write the attributes of a created or updated listing")
+    void testOnListingChanged_Written() {
+        listingAttributeStore.onListingChanged(ListingChangedEvent.created(vehicle, "VEHICLE"));
+
+        verify(listingRepository).writeAttributes(3L,
+                "{\"brand\":\"toyota\",\"color\":\"kırmızı\",\"fuelType\":\"hybrid\","
+                        + "\"heavyDamage\":\"false\",\"year\":\"2020\"}");
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should write nothing when the store is disabled")
+    void testOnListingChanged_Disabled() {
+        ListingAttributeStore disabled = new ListingAttributeStore(listingRepository, typedListingLoader, false);
+
+        disabled.onListingChanged(ListingChangedEvent.updated(vehicle, "VEHICLE", BigDecimal.ONE, null));
+        disabled.initialize();
+
+        verifyNoInteractions(listingRepository, typedListingLoader);
+    }
+
+    @Test
+    @DisplayName("initialize - Should create the column and index and backfill listings without attributes")
+    void testInitialize() {
+        RealEstate flat = new RealEstate();
+        flat.setId(4L);
+        flat.setElevator(true);
+        when(listingRepository.findIdsWithoutAttributes()).thenReturn(List.of(3L, 4L));
+        when(typedListingLoader.findAllById(List.of(3L, 4L))).thenReturn(List.<BaseListing>of(vehicle, flat));
+
+        listingAttributeStore.initialize();
+
+        verify(listingRepository).addAttributesColumn();
+        verify(listingRepository).createAttributesIndex();
+        verify(listingRepository).writeAttributes(4L, "{\"elevator\":\"true\"}");
+        verify(listingRepository, times(2)).writeAttributes(anyLong(), anyString());
+    }
+}
@@ -0,0 +1,73 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.Land;
+import com.burakcanaksoy.realestate.repository.ListingCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ListingCardService
+ *
+ * @Mock: Mocks the listing card repository
+ * @InjectMocks: Creates ListingCardService and injects mocked dependencies
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListingCardService Unit Tests")
+class ListingCardServiceTest {
+
+    @Mock
+    private ListingCardRepository listingCardRepository;
+
+    @InjectMocks
+    private ListingCardService listingCardService;
+
+    private Land land;
+
+    @BeforeEach
+    void setUp() {
+        land = new Land();
+        land.setId(5L);
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should rewrite the card of a created or updated listing")
+    void testOnListingChanged_Written() {
+        listingCardService.onListingChanged(ListingChangedEvent.created(land, "LAND"));
+        listingCardService.onListingChanged(ListingChangedEvent.updated(land, "LAND", BigDecimal.TEN, null));
+
+        verify(listingCardRepository, times(2)).refresh(5L);
+        verify(listingCardRepository, never()).deleteCard(anyLong());
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should remove the card of a deleted listing")
+    void testOnListingChanged_Deleted() {
+        listingCardService.onListingChanged(ListingChangedEvent.deleted(land, "LAND"));
+
+        verify(listingCardRepository).deleteCard(5L);
+        verify(listingCardRepository, never()).refresh(anyLong());
+    }
+
+    @Test
+    @DisplayName("rebuild - Should rewrite every card and drop cards of removed listings")
+    void testRebuild() {
+        when(listingCardRepository.refreshAll()).thenReturn(3);
+        when(listingCardRepository.deleteOrphans()).thenReturn(1);
+
+        listingCardService.rebuild();
+
+        verify(listingCardRepository).refreshAll();
+        verify(listingCardRepository).deleteOrphans();
+    }
+}
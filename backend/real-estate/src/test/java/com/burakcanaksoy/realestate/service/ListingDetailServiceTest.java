@@ -0,0 +1,147 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.UserRepository;
+import com.burakcanaksoy.realestate.response.ImageResponse;
+import com.burakcanaksoy.realestate.response.LandResponse;
+import com.burakcanaksoy.realestate.response.ListingDetailResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ListingDetailService
+ *
+ * @Mock: Mocks the listing services, repositories and the transaction
+ *        manager; parts run on the calling thread
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListingDetailService Unit Tests")
+class ListingDetailServiceTest {
+
+    @Mock
+    private RealEstateService realEstateService;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private LandService landService;
+
+    @Mock
+    private WorkplaceService workplaceService;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private FavoriteService favoriteService;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ListingDetailService listingDetailService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        listingDetailService = new ListingDetailService(realEstateService, vehicleService, landService,
+                workplaceService, fileStorageService, favoriteService, listingRepository, userRepository,
+                new ObjectMapper().findAndRegisterModules(), transactionManager, Runnable::run, 2000, 800, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("getDetail - Should gather every part and count the view")
+    void testGetDetail() {
+        LandResponse land = new LandResponse();
+        land.setId(5L);
+        ImageResponse image = new ImageResponse();
+        image.setId(9L);
+        when(landService.getLandById(5L)).thenReturn(land);
+        when(fileStorageService.getListingImages(5L, "LAND")).thenReturn(List.of(image));
+        when(fileStorageService.getListingVideos(5L, "LAND")).thenReturn(List.of());
+        when(landService.getSimilarLands(5L)).thenReturn(List.of());
+        when(listingRepository.findOwnerLastSeen(5L)).thenReturn(Optional.of(LocalDateTime.now().minusMinutes(1)));
+
+        ListingDetailResponse detail = listingDetailService.getDetail(5L, "land");
+
+        assertThat(detail.getListing()).isSameAs(land);
+        assertThat(detail.getListingType()).isEqualTo("LAND");
+        assertThat(detail.getImages()).containsExactly(image);
+        assertThat(detail.getFavorite()).isNull();
+        assertThat(detail.getOwnerOnline()).isTrue();
+        assertThat(detail.getUnavailable()).isEmpty();
+        assertThat(listingDetailService.etag(detail)).matches("\"[0-9a-f]{32}\"");
+        verify(landService).incrementViewCount(5L);
+    }
+
+    @Test
+    @DisplayName("getDetail - Should leave out failing parts and send no ETag")
+    void testGetDetail_Degraded() {
+        when(landService.getLandById(5L)).thenReturn(new LandResponse());
+        when(fileStorageService.getListingImages(5L, "LAND")).thenReturn(List.of());
+        when(fileStorageService.getListingVideos(5L, "LAND")).thenThrow(new IllegalStateException("disk"));
+        when(landService.getSimilarLands(5L)).thenReturn(List.of());
+        when(listingRepository.findOwnerLastSeen(5L)).thenReturn(Optional.empty());
+
+        ListingDetailResponse detail = listingDetailService.getDetail(5L, "LAND");
+
+        assertThat(detail.getVideos()).isNull();
+        assertThat(detail.getUnavailable()).containsExactly("videos");
+        assertThat(detail.getOwnerOnline()).isFalse();
+        assertThat(listingDetailService.etag(detail)).isNull();
+    }
+
+    @Test
+    @DisplayName("getDetail - Should fail when the listing does not exist")
+    void testGetDetail_NotFound() {
+        when(landService.getLandById(5L)).thenThrow(new EntityNotFoundException("Land not found"));
+
+        assertThatThrownBy(() -> listingDetailService.getDetail(5L, "LAND"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("etag - Should ignore the view count")
+    void testEtag_IgnoresViewCount() {
+        LandResponse land = new LandResponse();
+        land.setId(5L);
+        land.setViewCount(1L);
+        ListingDetailResponse detail = new ListingDetailResponse();
+        detail.setListing(land);
+        String first = listingDetailService.etag(detail);
+
+        land.setViewCount(2L);
+
+        assertThat(listingDetailService.etag(detail)).isEqualTo(first);
+        land.setTitle("Changed");
+        assertThat(listingDetailService.etag(detail)).isNotEqualTo(first);
+    }
+}
@@ -0,0 +1,138 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.exception.FeedLimitException;
+import com.burakcanaksoy.realestate.model.ListingCard;
+import com.burakcanaksoy.realestate.model.enums.Currency;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.repository.ListingCardRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ListingFeedService
+ *
+ * @Mock: Mocks the listing card repository and the entity manager
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListingFeedService Unit Tests")
+class ListingFeedServiceTest {
+
+    @Mock
+    private ListingCardRepository listingCardRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    // Configured like Spring Boot's mapper, which writes java.time values as ISO strings
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private ListingFeedService listingFeedService;
+
+    @BeforeEach
+    void setUp() {
+        listingFeedService = new ListingFeedService(listingCardRepository, objectMapper, 1, 300);
+        ReflectionTestUtils.setField(listingFeedService, "entityManager", entityManager);
+    }
+
+    private static ListingCard card(Long id, String title, LocalDateTime updatedAt) {
+        ListingCard card = new ListingCard();
+        card.setId(id);
+        card.setListingType("LAND");
+        card.setTitle(title);
+        card.setPrice(new BigDecimal("250000"));
+        card.setCurrency(Currency.TRY);
+        card.setStatus(ListingStatus.ACTIVE);
+        card.setCity("Izmir");
+        card.setDistrict("Cesme");
+        card.setCategorySlug("arsa");
+        card.setCategoryName("Arsa");
+        card.setOwnerUsername("owner");
+        card.setCreatedAt(updatedAt);
+        card.setUpdatedAt(updatedAt);
+        return card;
+    }
+
+    @Test
+    @DisplayName("writeFeed - Should write one listing per line from the overlap before the bound")
+    void testWriteFeed() throws Exception {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2024, 5, 1, 0, 0);
+        ListingCard first = card(7L, "Olive grove", since);
+        ListingCard second = card(3L, "Sea view plot", since.plusHours(2));
+        AtomicBoolean closed = new AtomicBoolean();
+        when(listingCardRepository.streamChangedSince(since.minusMinutes(5)))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = listingFeedService.writeFeed(since, out);
+
+        // Assert
+        assertThat(written).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode line = objectMapper.readTree(lines[1]);
+        assertThat(line.get("id").asLong()).isEqualTo(3L);
+        assertThat(line.get("updatedAt").asText()).isEqualTo("2024-05-01T02:00:00");
+        assertThat(objectMapper.readTree(lines[0]).get("title").asText()).isEqualTo("Olive grove");
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("writeFeed - Should write nothing when no listing changed")
+    void testWriteFeed_Empty() throws Exception {
+        // Arrange
+        when(listingCardRepository.streamChangedSince(null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = listingFeedService.writeFeed(null, out);
+
+        // Assert
+        assertThat(written).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("acquireSlot - Should turn away feeds beyond the limit until the slot is given back once")
+    void testAcquireSlot_Limit() {
+        // Act
+        Runnable releaseSlot = listingFeedService.acquireSlot();
+
+        // Assert
+        assertThatThrownBy(() -> listingFeedService.acquireSlot())
+                .isInstanceOf(FeedLimitException.class)
+                .extracting("retryAfterSeconds").isEqualTo(30L);
+        releaseSlot.run();
+        // A second release must not free a slot it does not hold
+        releaseSlot.run();
+        listingFeedService.acquireSlot();
+        assertThatThrownBy(() -> listingFeedService.acquireSlot()).isInstanceOf(FeedLimitException.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.response.LandResponse;
+import com.burakcanaksoy.realestate.response.RealEstateResponse;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for ListingResponseCache
+ *
+ * @Mock: Mocks the listing repository used to touch listings on media changes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListingResponseCache Unit Tests")
+class ListingResponseCacheTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private ListingResponseCache listingResponseCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        listingResponseCache = new ListingResponseCache(listingRepository, 100, 60);
+    }
+
+    @Test
+    @DisplayName("get - Should build the response once and serve later views from the cache")
+    void testGet_Hit() {
+        RealEstateResponse first = listingResponseCache.get(1L, RealEstateResponse.class, loader("Flat"));
+        RealEstateResponse second = listingResponseCache.get(1L, RealEstateResponse.class, loader("Other"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getTitle()).isEqualTo("Flat");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("get - Should leave a response of another listing type to the loader")
+    void testGet_OtherType() {
+        listingResponseCache.get(1L, RealEstateResponse.class, loader("Flat"));
+
+        assertThatThrownBy(() -> listingResponseCache.get(1L, LandResponse.class, () -> {
+            throw new EntityNotFoundException("Land not found with this id : 1");
+        })).isInstanceOf(EntityNotFoundException.class);
+        assertThat(listingResponseCache.get(1L, RealEstateResponse.class, loader("Other")).getTitle())
+                .isEqualTo("Flat");
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should drop the listing on update but not on another listing's create")
+    void testOnListingChanged() {
+        listingResponseCache.get(1L, RealEstateResponse.class, loader("Flat"));
+        RealEstate listing = new RealEstate();
+        listing.setId(1L);
+
+        listingResponseCache.onListingChanged(ListingChangedEvent.created(listing, "REAL_ESTATE"));
+        assertThat(listingResponseCache.get(1L, RealEstateResponse.class, loader("Edited")).getTitle())
+                .isEqualTo("Flat");
+
+        listingResponseCache.onListingChanged(ListingChangedEvent.updated(listing, "REAL_ESTATE",
+                BigDecimal.ONE, null));
+        assertThat(listingResponseCache.get(1L, RealEstateResponse.class, loader("Edited")).getTitle())
+                .isEqualTo("Edited");
+    }
+
+    @Test
+    @DisplayName("mediaChanged - Should touch the listing and drop its response")
+    void testMediaChanged() {
+        listingResponseCache.get(1L, RealEstateResponse.class, loader("Flat"));
+
+        listingResponseCache.mediaChanged(1L);
+
+        verify(listingRepository).touch(eq(1L), any(LocalDateTime.class));
+        listingResponseCache.get(1L, RealEstateResponse.class, loader("Flat"));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("etag - Should follow updatedAt and be weak")
+    void testEtag() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 10, 0, 0, 250_000_000);
+
+        assertThat(ListingResponseCache.etag(1L, updatedAt)).startsWith("W/\"1-")
+                .isNotEqualTo(ListingResponseCache.etag(1L, updatedAt.plusNanos(1_000_000)));
+        assertThat(ListingResponseCache.etag(1L, null)).isNull();
+        assertThat(ListingResponseCache.lastModified(updatedAt).getNano()).isZero();
+    }
+
+    private Supplier<RealEstateResponse> loader(String title) {
+        return () -> {
+            loads.incrementAndGet();
+            RealEstateResponse response = new RealEstateResponse();
+            response.setId(1L);
+            response.setTitle(title);
+            return response;
+        };
+    }
+}
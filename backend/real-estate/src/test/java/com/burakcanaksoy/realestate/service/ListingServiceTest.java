@@ -1,39 +1,46 @@
 package com.burakcanaksoy.realestate.service;
 
-import com.burakcanaksoy.realestate.model.*;
+import com.burakcanaksoy.realestate.model.ListingCard;
 import com.burakcanaksoy.realestate.model.enums.*;
-import com.burakcanaksoy.realestate.repository.LandRepository;
-import com.burakcanaksoy.realestate.repository.RealEstateRepository;
-import com.burakcanaksoy.realestate.repository.VehicleRepository;
-import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
+import com.burakcanaksoy.realestate.repository.ListingCardRepository;
+import com.burakcanaksoy.realestate.request.GeneralFilterRequest;
 import com.burakcanaksoy.realestate.response.BaseListingResponse;
+import com.burakcanaksoy.realestate.response.ListingCardResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for ListingService
  *
- * This test class covers all methods of ListingService.
- * ListingService aggregates listings from multiple repositories.
- * 
- * @Mock: Mocks all repository dependencies
+ * This test class covers the list and search methods of ListingService.
+ * ListingService reads listings of every type from the listing card read
+ * model.
+ *
+ * @Mock: Mocks the listing card repository and the card projection
+ * @Spy: Uses a real, empty search result cache
  * @InjectMocks: Creates ListingService and injects mocked dependencies
  */
 @ExtendWith(MockitoExtension.class)
@@ -41,26 +48,21 @@ import static org.mockito.Mockito.*;
 public class ListingServiceTest {
 
     @Mock
-    private RealEstateRepository realEstateRepository;
-
-    @Mock
-    private LandRepository landRepository;
+    private ListingCardRepository listingCardRepository;
 
     @Mock
-    private VehicleRepository vehicleRepository;
+    private ListingCardProjection listingCardProjection;
 
-    @Mock
-    private WorkplaceRepository workplaceRepository;
+    @Spy
+    private SearchResultCache searchResultCache = new SearchResultCache(null, 100, 60);
 
     @InjectMocks
     private ListingService listingService;
 
-    private RealEstate testRealEstate;
-    private Land testLand;
-    private Vehicle testVehicle;
-    private Workplace testWorkplace;
-    private Category testCategory;
-    private User testUser;
+    private ListingCard realEstateCard;
+    private ListingCard landCard;
+    private ListingCard vehicleCard;
+    private ListingCard workplaceCard;
 
     /**
      * Setup method executed before each test
@@ -68,125 +70,63 @@ public class ListingServiceTest {
      */
     @BeforeEach
     void setUp() {
-        // Prepare test user
-        testUser = new User();
-        testUser.setId(1L);
-        testUser.setUsername("testuser");
-        Set<Role> roles = new HashSet<>();
-        roles.add(Role.ROLE_USER);
-        testUser.setRoles(roles);
-
-        // Prepare test category
-        testCategory = new Category();
-        testCategory.setId(1L);
-        testCategory.setName("Test Category");
-        testCategory.setSlug("test-category");
-        testCategory.setActive(true);
-
-        // Prepare test real estate
-        testRealEstate = new RealEstate();
-        testRealEstate.setId(1L);
-        testRealEstate.setTitle("Luxury Apartment");
-        testRealEstate.setDescription("Beautiful apartment");
-        testRealEstate.setPrice(new BigDecimal("500000.00"));
-        testRealEstate.setCurrency(Currency.TRY);
-        testRealEstate.setCategory(testCategory);
-        testRealEstate.setCity("Istanbul");
-        testRealEstate.setDistrict("Kadikoy");
-        testRealEstate.setRealEstateType(RealEstateType.APARTMENT);
-        testRealEstate.setRoomCount("3");
-        testRealEstate.setGrossSquareMeter(120);
-        testRealEstate.setNetSquareMeter(100);
-        testRealEstate.setBuildingAge("5");
-        testRealEstate.setFloor(3);
-        testRealEstate.setHeatingType(HeatingType.CENTRAL_HEATING);
-        testRealEstate.setFurnished(true);
-        testRealEstate.setCreatedBy(testUser);
-
-        // Prepare test land
-        testLand = new Land();
-        testLand.setId(2L);
-        testLand.setTitle("Agricultural Land");
-        testLand.setDescription("Fertile land");
-        testLand.setPrice(new BigDecimal("200000.00"));
-        testLand.setCurrency(Currency.TRY);
-        testLand.setCategory(testCategory);
-        testLand.setCity("Izmir");
-        testLand.setDistrict("Cesme");
-        testLand.setLandType(LandType.GARDEN);
-        testLand.setSquareMeter(5000);
-        testLand.setZoningStatus("Residential Zone");
-        testLand.setCreatedBy(testUser);
-
-        // Prepare test vehicle
-        testVehicle = new Vehicle();
-        testVehicle.setId(3L);
-        testVehicle.setTitle("2020 Toyota Corolla");
-        testVehicle.setDescription("Well maintained");
-        testVehicle.setPrice(new BigDecimal("450000.00"));
-        testVehicle.setCurrency(Currency.TRY);
-        testVehicle.setCategory(testCategory);
-        testVehicle.setCity("Ankara");
-        testVehicle.setDistrict("Cankaya");
-        testVehicle.setBrand("Toyota");
-        testVehicle.setModel("Corolla");
-        testVehicle.setYear(2020);
-        testVehicle.setFuelType(FuelType.HYBRID);
-        testVehicle.setTransmission(Transmission.AUTOMATIC);
-        testVehicle.setKilometer(35000);
-        testVehicle.setEngineVolume("1.8");
-        testVehicle.setCreatedBy(testUser);
-
-        // Prepare test workplace
-        testWorkplace = new Workplace();
-        testWorkplace.setId(4L);
-        testWorkplace.setTitle("Modern Office");
-        testWorkplace.setDescription("Fully equipped office");
-        testWorkplace.setPrice(new BigDecimal("25000.00"));
-        testWorkplace.setCurrency(Currency.TRY);
-        testWorkplace.setCategory(testCategory);
-        testWorkplace.setCity("Istanbul");
-        testWorkplace.setDistrict("Levent");
-        testWorkplace.setWorkplaceType(WorkplaceType.OFFICE);
-        testWorkplace.setSquareMeter(120);
-        testWorkplace.setFloorCount(5);
-        testWorkplace.setFurnished(true);
-        testWorkplace.setCreatedBy(testUser);
+        realEstateCard = card(1L, "REAL_ESTATE", "Luxury Apartment", "Istanbul", "Kadikoy");
+        realEstateCard.setPrimaryImageId(10L);
+        realEstateCard.setFirstVideoId(20L);
+        landCard = card(2L, "LAND", "Agricultural Land", "Izmir", "Cesme");
+        vehicleCard = card(3L, "VEHICLE", "2020 Toyota Corolla", "Ankara", "Cankaya");
+        workplaceCard = card(4L, "WORKPLACE", "Modern Office", "Istanbul", "Levent");
+    }
+
+    private static ListingCard card(Long id, String listingType, String title, String city, String district) {
+        ListingCard card = new ListingCard();
+        card.setId(id);
+        card.setListingType(listingType);
+        card.setTitle(title);
+        card.setSummary(title + " description");
+        card.setPrice(new BigDecimal("100000.00"));
+        card.setCurrency(Currency.TRY);
+        card.setStatus(ListingStatus.ACTIVE);
+        card.setOfferType(OfferType.FOR_SALE);
+        card.setCity(city);
+        card.setDistrict(district);
+        card.setCityKey(city.toLowerCase());
+        card.setDistrictKey(district.toLowerCase());
+        card.setCategorySlug("test-category");
+        card.setCategoryName("Test Category");
+        card.setOwnerId(1L);
+        card.setOwnerUsername("testuser");
+        card.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusDays(id));
+        card.setUpdatedAt(card.getCreatedAt());
+        return card;
     }
 
     // ============ getAllListings() Tests ============
 
     @Test
-    @DisplayName("getAllListings - Should return all listings from all repositories successfully")
-    void testGetAllListings_AllRepositories_Success() {
+    @DisplayName("getAllListings - Should return listings of every type from the card table")
+    void testGetAllListings_AllTypes_Success() {
         // Arrange
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate));
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle));
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
+        when(listingCardRepository.findAllByOrderByCreatedAtDescIdDesc())
+                .thenReturn(List.of(workplaceCard, vehicleCard, landCard, realEstateCard));
 
         // Act
         List<BaseListingResponse> result = listingService.getAllListings();
 
         // Assert
         assertThat(result)
-                .isNotNull()
-                .hasSize(4);
+                .hasSize(4)
+                .extracting(BaseListingResponse::getListingType)
+                .containsExactly("WORKPLACE", "VEHICLE", "LAND", "REAL_ESTATE");
 
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
+        verify(listingCardRepository, times(1)).findAllByOrderByCreatedAtDescIdDesc();
     }
 
     @Test
     @DisplayName("getAllListings - Should return empty list when no listings exist")
     void testGetAllListings_EmptyList() {
         // Arrange
-        when(realEstateRepository.findAll()).thenReturn(new ArrayList<>());
-        when(landRepository.findAll()).thenReturn(new ArrayList<>());
-        when(vehicleRepository.findAll()).thenReturn(new ArrayList<>());
-        when(workplaceRepository.findAll()).thenReturn(new ArrayList<>());
+        when(listingCardRepository.findAllByOrderByCreatedAtDescIdDesc()).thenReturn(new ArrayList<>());
 
         // Act
         List<BaseListingResponse> result = listingService.getAllListings();
@@ -195,129 +135,39 @@ public class ListingServiceTest {
         assertThat(result)
                 .isNotNull()
                 .isEmpty();
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
     }
 
     @Test
-    @DisplayName("getAllListings - Should return only real estate listings when other repositories are empty")
-    void testGetAllListings_OnlyRealEstate() {
+    @DisplayName("getAllListings - Should map card fields, image and video to the response")
+    void testGetAllListings_MapsCard() {
         // Arrange
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate));
-        when(landRepository.findAll()).thenReturn(new ArrayList<>());
-        when(vehicleRepository.findAll()).thenReturn(new ArrayList<>());
-        when(workplaceRepository.findAll()).thenReturn(new ArrayList<>());
+        when(listingCardRepository.findAllByOrderByCreatedAtDescIdDesc()).thenReturn(List.of(realEstateCard));
 
         // Act
-        List<BaseListingResponse> result = listingService.getAllListings();
+        BaseListingResponse response = listingService.getAllListings().get(0);
 
         // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(1)
-                .extracting(BaseListingResponse::getTitle)
-                .contains("Luxury Apartment");
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
+        assertThat(response.getTitle()).isEqualTo("Luxury Apartment");
+        assertThat(response.getDescription()).isEqualTo("Luxury Apartment description");
+        assertThat(response.getCurrency()).isEqualTo("TRY");
+        assertThat(response.getCategorySlug()).isEqualTo("test-category");
+        assertThat(response.getCreatedByUsername()).isEqualTo("testuser");
+        assertThat(response.getImageUrl()).isEqualTo("/api/images/view/10?size=card");
+        assertThat(response.getVideoUrl()).isEqualTo("/api/listings/videos/20");
     }
 
     @Test
-    @DisplayName("getAllListings - Should return only vehicle listings when other repositories are empty")
-    void testGetAllListings_OnlyVehicles() {
+    @DisplayName("getAllListings - Should leave media URLs empty for listings without media")
+    void testGetAllListings_NoMedia() {
         // Arrange
-        when(realEstateRepository.findAll()).thenReturn(new ArrayList<>());
-        when(landRepository.findAll()).thenReturn(new ArrayList<>());
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle));
-        when(workplaceRepository.findAll()).thenReturn(new ArrayList<>());
+        when(listingCardRepository.findAllByOrderByCreatedAtDescIdDesc()).thenReturn(List.of(landCard));
 
         // Act
-        List<BaseListingResponse> result = listingService.getAllListings();
+        BaseListingResponse response = listingService.getAllListings().get(0);
 
         // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(1)
-                .extracting(BaseListingResponse::getTitle)
-                .contains("2020 Toyota Corolla");
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
-    }
-
-    @Test
-    @DisplayName("getAllListings - Should combine listings from different types correctly")
-    void testGetAllListings_CombineMultipleTypes() {
-        // Arrange
-        RealEstate secondRealEstate = new RealEstate();
-        secondRealEstate.setId(5L);
-        secondRealEstate.setTitle("Villa");
-        secondRealEstate.setDescription("Luxury villa");
-        secondRealEstate.setPrice(new BigDecimal("1000000.00"));
-        secondRealEstate.setCurrency(Currency.TRY);
-        secondRealEstate.setCity("Bodrum");
-        secondRealEstate.setDistrict("Yalikavak");
-        secondRealEstate.setCategory(testCategory);
-        secondRealEstate.setCreatedBy(testUser);
-
-        Vehicle secondVehicle = new Vehicle();
-        secondVehicle.setId(6L);
-        secondVehicle.setTitle("2019 Honda Civic");
-        secondVehicle.setDescription("Good condition");
-        secondVehicle.setPrice(new BigDecimal("380000.00"));
-        secondVehicle.setCurrency(Currency.TRY);
-        secondVehicle.setCity("Izmir");
-        secondVehicle.setDistrict("Bornova");
-        secondVehicle.setCategory(testCategory);
-        secondVehicle.setCreatedBy(testUser);
-
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate, secondRealEstate));
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle, secondVehicle));
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
-
-        // Act
-        List<BaseListingResponse> result = listingService.getAllListings();
-
-        // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(6);
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
-    }
-
-    @Test
-    @DisplayName("getAllListings - Should return listings from land and workplace only")
-    void testGetAllListings_LandAndWorkplace() {
-        // Arrange
-        when(realEstateRepository.findAll()).thenReturn(new ArrayList<>());
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(new ArrayList<>());
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
-
-        // Act
-        List<BaseListingResponse> result = listingService.getAllListings();
-
-        // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(2);
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
+        assertThat(response.getImageUrl()).isNull();
+        assertThat(response.getVideoUrl()).isNull();
     }
 
     // ============ getAllListings(Pageable) Tests ============
@@ -327,27 +177,17 @@ public class ListingServiceTest {
     void testGetAllListingsWithPagination_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 2);
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate));
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle));
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
+        when(listingCardRepository.findAllByOrderByCreatedAtDescIdDesc(pageable))
+                .thenReturn(new PageImpl<>(List.of(workplaceCard, vehicleCard), pageable, 4));
 
         // Act
         Page<BaseListingResponse> result = listingService.getAllListings(pageable);
 
         // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(2);
-
+        assertThat(result).hasSize(2);
         assertThat(result.getTotalElements()).isEqualTo(4);
         assertThat(result.getTotalPages()).isEqualTo(2);
         assertThat(result.getNumber()).isEqualTo(0);
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
     }
 
     @Test
@@ -355,145 +195,160 @@ public class ListingServiceTest {
     void testGetAllListingsWithPagination_EmptyPage() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        when(realEstateRepository.findAll()).thenReturn(new ArrayList<>());
-        when(landRepository.findAll()).thenReturn(new ArrayList<>());
-        when(vehicleRepository.findAll()).thenReturn(new ArrayList<>());
-        when(workplaceRepository.findAll()).thenReturn(new ArrayList<>());
+        when(listingCardRepository.findAllByOrderByCreatedAtDescIdDesc(pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
 
         // Act
         Page<BaseListingResponse> result = listingService.getAllListings(pageable);
 
         // Assert
-        assertThat(result)
-                .isNotNull()
-                .isEmpty();
-
+        assertThat(result).isEmpty();
         assertThat(result.getTotalElements()).isEqualTo(0);
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
     }
 
     @Test
-    @DisplayName("getAllListings(Pageable) - Should return correct page information")
-    void testGetAllListingsWithPagination_PageInfo() {
+    @DisplayName("getAllListings(Pageable) - Should keep cards newest first whatever sort is requested")
+    void testGetAllListingsWithPagination_IgnoresSort() {
         // Arrange
-        Pageable pageable = PageRequest.of(1, 2);
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate));
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle));
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
+        Pageable requested = PageRequest.of(1, 2, Sort.by("price"));
+        Pageable unsorted = PageRequest.of(1, 2);
+        when(listingCardRepository.findAllByOrderByCreatedAtDescIdDesc(unsorted))
+                .thenReturn(new PageImpl<>(List.of(landCard, realEstateCard), unsorted, 4));
 
         // Act
-        Page<BaseListingResponse> result = listingService.getAllListings(pageable);
+        Page<BaseListingResponse> result = listingService.getAllListings(requested);
 
         // Assert
-        assertThat(result.getTotalElements()).isEqualTo(4);
-        assertThat(result.getTotalPages()).isEqualTo(2);
         assertThat(result.getNumber()).isEqualTo(1);
         assertThat(result.getSize()).isEqualTo(2);
-        assertThat(result.getContent()).hasSize(2);
-
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
+        assertThat(result.getContent()).extracting(BaseListingResponse::getId).containsExactly(2L, 1L);
     }
 
+    // ============ search() Tests ============
+
     @Test
-    @DisplayName("getAllListings(Pageable) - Should handle pagination correctly with multiple listing types")
-    void testGetAllListingsWithPagination_MultipleListing() {
+    @DisplayName("search - Should narrow a main category to its listing type")
+    void testSearch_MainCategory() {
         // Arrange
-        Pageable pageable = PageRequest.of(0, 3);
-
-        RealEstate secondRealEstate = new RealEstate();
-        secondRealEstate.setId(5L);
-        secondRealEstate.setTitle("Villa");
-        secondRealEstate.setDescription("Luxury villa");
-        secondRealEstate.setPrice(new BigDecimal("1000000.00"));
-        secondRealEstate.setCurrency(Currency.TRY);
-        secondRealEstate.setCity("Bodrum");
-        secondRealEstate.setDistrict("Yalikavak");
-        secondRealEstate.setCategory(testCategory);
-        secondRealEstate.setCreatedBy(testUser);
-
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate, secondRealEstate));
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle));
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
+        GeneralFilterRequest filter = new GeneralFilterRequest();
+        filter.setCategorySlug("arac");
+        filter.setCity(" ");
+        when(listingCardRepository.search(any(), eq("VEHICLE"), isNull(), eq(PageRequest.of(0, 20))))
+                .thenReturn(new PageImpl<>(List.of(vehicleCard), PageRequest.of(0, 20), 1));
 
         // Act
-        Page<BaseListingResponse> result = listingService.getAllListings(pageable);
+        Page<BaseListingResponse> result = listingService.search(filter, PageRequest.of(0, 20));
 
         // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(3);
+        assertThat(result.getContent()).extracting(BaseListingResponse::getTitle)
+                .containsExactly("2020 Toyota Corolla");
+        ArgumentCaptor<GeneralFilterRequest> criteria = ArgumentCaptor.forClass(GeneralFilterRequest.class);
+        verify(listingCardRepository).search(criteria.capture(), eq("VEHICLE"), isNull(), any());
+        assertThat(criteria.getValue().getCity()).isNull();
+    }
 
-        assertThat(result.getTotalElements()).isEqualTo(5);
-        assertThat(result.getTotalPages()).isEqualTo(2);
+    @Test
+    @DisplayName("search - Should filter by a sub-category slug across listing types")
+    void testSearch_SubCategory() {
+        // Arrange
+        GeneralFilterRequest filter = new GeneralFilterRequest();
+        filter.setCategorySlug("test-category");
+        when(listingCardRepository.search(any(), isNull(), eq("test-category"), any()))
+                .thenReturn(new PageImpl<>(List.of(realEstateCard, workplaceCard), PageRequest.of(0, 20), 2));
+
+        // Act
+        Page<BaseListingResponse> result = listingService.search(filter, PageRequest.of(0, 20));
 
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(BaseListingResponse::getId).containsExactly(1L, 4L);
     }
 
     @Test
-    @DisplayName("getAllListings(Pageable) - Should handle last page correctly")
-    void testGetAllListingsWithPagination_LastPage() {
+    @DisplayName("search - Should serve a repeated search from the cache")
+    void testSearch_Cached() {
         // Arrange
-        Pageable pageable = PageRequest.of(1, 3);
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate));
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle));
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
+        GeneralFilterRequest filter = new GeneralFilterRequest();
+        filter.setCity("Istanbul");
+        when(listingCardRepository.search(any(), isNull(), isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(workplaceCard, realEstateCard), PageRequest.of(0, 20), 2));
+        when(listingCardRepository.findAllById(List.of(4L, 1L))).thenReturn(List.of(realEstateCard, workplaceCard));
 
         // Act
-        Page<BaseListingResponse> result = listingService.getAllListings(pageable);
+        listingService.search(filter, PageRequest.of(0, 20));
+        Page<BaseListingResponse> result = listingService.search(filter, PageRequest.of(0, 20));
 
         // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(1); // Only 1 item on the last page
+        assertThat(result.getContent()).extracting(BaseListingResponse::getId).containsExactly(4L, 1L);
+        verify(listingCardRepository, times(1)).search(any(), any(), any(), any());
+    }
 
-        assertThat(result.getTotalElements()).isEqualTo(4);
-        assertThat(result.getTotalPages()).isEqualTo(2);
-        assertThat(result.getNumber()).isEqualTo(1);
+    // ============ searchCards() Tests ============
+
+    @Test
+    @DisplayName("searchCards - Should read only the requested fields with the search criteria")
+    void testSearchCards_Fields() {
+        // Arrange
+        GeneralFilterRequest filter = new GeneralFilterRequest();
+        filter.setCategorySlug("arsa");
+        filter.setDistrict(" Cesme ");
+        List<String> fields = List.of("id", "title", "price");
+        when(listingCardProjection.search(any(), eq("LAND"), isNull(), eq(fields), eq(PageRequest.of(0, 20))))
+                .thenReturn(new PageImpl<>(List.of(cardResponse(2L, "Agricultural Land")), PageRequest.of(0, 20), 1));
+
+        // Act
+        Page<ListingCardResponse> result = listingService.searchCards(filter, fields, PageRequest.of(0, 20));
 
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
+        // Assert
+        assertThat(result.getContent()).extracting(ListingCardResponse::getTitle).containsExactly("Agricultural Land");
+        ArgumentCaptor<GeneralFilterRequest> criteria = ArgumentCaptor.forClass(GeneralFilterRequest.class);
+        verify(listingCardProjection).search(criteria.capture(), eq("LAND"), isNull(), eq(fields), any());
+        assertThat(criteria.getValue().getDistrict()).isEqualTo("Cesme");
+        verifyNoInteractions(listingCardRepository);
     }
 
     @Test
-    @DisplayName("getAllListings(Pageable) - Should handle single page with all items")
-    void testGetAllListingsWithPagination_SinglePage() {
+    @DisplayName("searchCards - Should fetch the cards of a page cached by search in cached order")
+    void testSearchCards_SharesCache() {
         // Arrange
-        Pageable pageable = PageRequest.of(0, 10);
-        when(realEstateRepository.findAll()).thenReturn(List.of(testRealEstate));
-        when(landRepository.findAll()).thenReturn(List.of(testLand));
-        when(vehicleRepository.findAll()).thenReturn(List.of(testVehicle));
-        when(workplaceRepository.findAll()).thenReturn(List.of(testWorkplace));
+        GeneralFilterRequest filter = new GeneralFilterRequest();
+        filter.setCity("Istanbul");
+        List<String> fields = List.of("id", "title");
+        when(listingCardRepository.search(any(), isNull(), isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(workplaceCard, realEstateCard), PageRequest.of(0, 20), 2));
+        when(listingCardProjection.findAllById(List.of(4L, 1L), fields))
+                .thenReturn(List.of(cardResponse(1L, "Luxury Apartment"), cardResponse(4L, "Modern Office")));
 
         // Act
-        Page<BaseListingResponse> result = listingService.getAllListings(pageable);
+        listingService.search(filter, PageRequest.of(0, 20));
+        Page<ListingCardResponse> result = listingService.searchCards(filter, fields, PageRequest.of(0, 20));
 
         // Assert
-        assertThat(result)
-                .isNotNull()
-                .hasSize(4);
+        assertThat(result.getContent()).extracting(ListingCardResponse::getId).containsExactly(4L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(listingCardProjection, never()).search(any(), any(), any(), any(), any());
+    }
 
-        assertThat(result.getTotalElements()).isEqualTo(4);
-        assertThat(result.getTotalPages()).isEqualTo(1);
-        assertThat(result.getNumber()).isEqualTo(0);
+    private static ListingCardResponse cardResponse(Long id, String title) {
+        ListingCardResponse card = new ListingCardResponse();
+        card.setId(id);
+        card.setTitle(title);
+        return card;
+    }
+
+    // ============ getListingsByOwnerId() Tests ============
 
-        verify(realEstateRepository, times(1)).findAll();
-        verify(landRepository, times(1)).findAll();
-        verify(vehicleRepository, times(1)).findAll();
-        verify(workplaceRepository, times(1)).findAll();
+    @Test
+    @DisplayName("getListingsByOwnerId - Should return the owner's cards")
+    void testGetListingsByOwnerId() {
+        // Arrange
+        when(listingCardRepository.findByOwnerIdOrderByCreatedAtDescIdDesc(1L))
+                .thenReturn(List.of(vehicleCard, landCard));
+
+        // Act
+        List<BaseListingResponse> result = listingService.getListingsByOwnerId(1L);
+
+        // Assert
+        assertThat(result).extracting(BaseListingResponse::getListingType).containsExactly("VEHICLE", "LAND");
     }
 }
@@ -0,0 +1,112 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.MediaBlob;
+import com.burakcanaksoy.realestate.repository.MediaBlobRepository;
+import com.burakcanaksoy.realestate.storage.LocalMediaStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaBlobStore
+ *
+ * @Mock: Mocks the blob repository, emulating its reference counting upsert
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MediaBlobStore Unit Tests")
+class MediaBlobStoreTest {
+
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Mock
+    private MediaBlobRepository mediaBlobRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private MediaBlobStore mediaBlobStore;
+    private final Map<String, MediaBlob> blobs = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        mediaBlobStore = new MediaBlobStore(mediaBlobRepository, new LocalMediaStore(uploadDir.toString()),
+                uploadDir.toString(), 60, 100);
+    }
+
+    private void emulateUpsert() {
+        when(mediaBlobRepository.acquire(anyString(), anyString(), anyLong(), any())).thenAnswer(invocation -> {
+            MediaBlob blob = blobs.computeIfAbsent(invocation.getArgument(0), digest -> {
+                MediaBlob created = new MediaBlob();
+                created.setDigest(digest);
+                created.setStoragePath(invocation.getArgument(1));
+                created.setSize(invocation.getArgument(2));
+                created.setRefCount(0);
+                return created;
+            });
+            blob.setRefCount(blob.getRefCount() + 1);
+            return 1;
+        });
+        when(mediaBlobRepository.findByDigest(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(blobs.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    @DisplayName("store - Should keep identical content once and count references")
+    void testStore_Deduplicates() throws Exception {
+        emulateUpsert();
+
+        MediaBlob first = mediaBlobStore.store(stream("hello"), "image/jpeg", "a.JPG");
+        MediaBlob second = mediaBlobStore.store(stream("hello"), "image/jpeg", "copy.jpeg");
+
+        assertThat(first.getDigest()).isEqualTo(HELLO_SHA256);
+        assertThat(second.getStoragePath()).isEqualTo(first.getStoragePath());
+        assertThat(second.getRefCount()).isEqualTo(2);
+        assertThat(first.getStoragePath()).endsWith(Paths.get("2c", "f2", HELLO_SHA256 + ".jpg").toString());
+        assertThat(Files.readString(Paths.get(first.getStoragePath()))).isEqualTo("hello");
+        try (Stream<Path> temps = Files.list(uploadDir.resolve("blobs").resolve("tmp"))) {
+            assertThat(temps).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("sweep - Should delete the files of unreferenced blobs")
+    void testSweep() throws Exception {
+        Path stored = uploadDir.resolve("blob.jpg");
+        Path thumbnail = uploadDir.resolve("blob_thumb.jpg");
+        Files.writeString(stored, "x");
+        Files.writeString(thumbnail, "x");
+        MediaBlob blob = new MediaBlob();
+        blob.setStoragePath(stored.toString());
+        when(mediaBlobRepository.lockUnreferenced(any(LocalDateTime.class), eq(100))).thenReturn(List.of(blob));
+
+        assertThat(mediaBlobStore.sweep()).isEqualTo(1);
+
+        assertThat(stored).doesNotExist();
+        assertThat(thumbnail).doesNotExist();
+        verify(mediaBlobRepository).delete(blob);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
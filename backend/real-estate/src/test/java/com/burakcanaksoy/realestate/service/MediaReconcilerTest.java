@@ -0,0 +1,149 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.MediaBlobRepository;
+import com.burakcanaksoy.realestate.repository.VideoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaReconciler
+ *
+ * @Mock: Mocks the media and listing repositories, the blob store and the
+ *        media metadata cache; files are kept in a temporary directory
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MediaReconciler Unit Tests")
+class MediaReconcilerTest {
+
+    private static final String KEPT = "aa00" + "0".repeat(60);
+    private static final String ORPHAN = "aa00" + "1".repeat(60);
+    private static final String RECENT = "ab11" + "2".repeat(60);
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @Mock
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private MediaBlobStore mediaBlobStore;
+
+    @Mock
+    private MediaStreamingService mediaStreamingService;
+
+    @TempDir
+    Path uploadDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MediaReconciler mediaReconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mediaReconciler = new MediaReconciler(imageRepository, videoRepository, mediaBlobRepository,
+                listingRepository, mediaBlobStore, mediaStreamingService, meterRegistry, uploadDir.toString(), 2,
+                1000, 60);
+    }
+
+    @Test
+    @DisplayName("removeOrphanBlobFiles - Should delete old unreferenced blob files and count their bytes")
+    void testRemoveOrphanBlobFiles() throws Exception {
+        Path kept = blobFile(KEPT + ".jpg", "kept", true);
+        Path keptThumbnail = blobFile(KEPT + "_thumb.jpg", "thumb", true);
+        Path orphan = blobFile(ORPHAN + ".jpg", "orphan", true);
+        Path orphanThumbnail = blobFile(ORPHAN + "_thumb.jpg", "th", true);
+        Path recent = blobFile(RECENT + ".mp4", "recent", false);
+        Files.createDirectories(uploadDir.resolve("blobs").resolve("tmp"));
+        Files.writeString(uploadDir.resolve("blobs").resolve("tmp").resolve("upload.part"), "partial");
+        when(mediaBlobRepository.findDigestsAfter("", 2)).thenReturn(List.of(KEPT));
+
+        assertThat(mediaReconciler.removeOrphanBlobFiles()).isEqualTo(2);
+
+        assertThat(kept).exists();
+        assertThat(keptThumbnail).exists();
+        assertThat(recent).exists();
+        assertThat(orphan).doesNotExist();
+        assertThat(orphanThumbnail).doesNotExist();
+        assertThat(uploadDir.resolve("blobs").resolve("tmp").resolve("upload.part")).exists();
+        assertThat(meterRegistry.get("media.reconciler.reclaimed").counter().count()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("removeOrphanRows - Should delete rows of missing listings with their files")
+    void testRemoveOrphanRows() throws Exception {
+        Path legacy = Files.writeString(uploadDir.resolve("legacy.jpg"), "legacy");
+        Image legacyImage = new Image();
+        legacyImage.setId(3L);
+        legacyImage.setFilePath(legacy.toString());
+        Image blobImage = new Image();
+        blobImage.setId(5L);
+        blobImage.setFilePath(uploadDir.resolve("blob.jpg").toString());
+        blobImage.setBlobDigest(KEPT);
+        when(imageRepository.findOrphansAfter(eq(0L), any(Limit.class))).thenReturn(List.of(legacyImage, blobImage));
+        when(imageRepository.findOrphansAfter(eq(5L), any(Limit.class))).thenReturn(List.of());
+        when(videoRepository.findOrphansAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+
+        assertThat(mediaReconciler.removeOrphanRows()).isEqualTo(2);
+
+        assertThat(legacy).doesNotExist();
+        verify(imageRepository).deleteAllByIdInBatch(List.of(3L, 5L));
+        verify(mediaBlobStore).release(KEPT);
+        verify(mediaStreamingService).evictImage(3L);
+        verify(mediaStreamingService).evictImage(5L);
+        assertThat(meterRegistry.get("media.reconciler.reclaimed").counter().count()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("removeOrphanListingDirectories - Should delete directories of missing listings only")
+    void testRemoveOrphanListingDirectories() throws Exception {
+        Path existing = Files.createDirectories(uploadDir.resolve("land").resolve("1"));
+        Path missing = Files.createDirectories(uploadDir.resolve("land").resolve("2"));
+        Files.writeString(existing.resolve("a.jpg"), "a");
+        Files.writeString(missing.resolve("b.jpg"), "bb");
+        when(listingRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        assertThat(mediaReconciler.removeOrphanListingDirectories()).isEqualTo(1);
+
+        assertThat(existing.resolve("a.jpg")).exists();
+        assertThat(missing).doesNotExist();
+        assertThat(meterRegistry.get("media.reconciler.reclaimed").counter().count()).isEqualTo(2);
+    }
+
+    private Path blobFile(String name, String content, boolean old) throws Exception {
+        Path directory = Files.createDirectories(
+                uploadDir.resolve("blobs").resolve(name.substring(0, 2)).resolve(name.substring(2, 4)));
+        Path file = Files.writeString(directory.resolve(name), content);
+        if (old) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+        }
+        return file;
+    }
+}
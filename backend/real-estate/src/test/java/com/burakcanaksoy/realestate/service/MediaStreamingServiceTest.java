@@ -0,0 +1,210 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.Image;
+import com.burakcanaksoy.realestate.model.Video;
+import com.burakcanaksoy.realestate.model.enums.ImageSize;
+import com.burakcanaksoy.realestate.repository.ImageRepository;
+import com.burakcanaksoy.realestate.repository.VideoRepository;
+import com.burakcanaksoy.realestate.storage.LocalMediaStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MediaStreamingService
+ *
+ * @Mock: Mocks the image and video repositories used to resolve file metadata
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MediaStreamingService Unit Tests")
+class MediaStreamingServiceTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private VideoRepository videoRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private MediaStreamingService mediaStreamingService;
+    private Path file;
+    private Image image;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mediaStreamingService = new MediaStreamingService(imageRepository, videoRepository,
+                new LocalMediaStore(uploadDir.toString()), 100);
+
+        file = uploadDir.resolve("photo.png");
+        Files.writeString(file, "0123456789", StandardCharsets.US_ASCII);
+
+        image = new Image();
+        image.setId(1L);
+        image.setFilePath(file.toString());
+        image.setFileType("application/octet-stream");
+        lenient().when(imageRepository.findById(1L)).thenReturn(Optional.of(image));
+    }
+
+    @Test
+    @DisplayName("resolveImage - Should look up metadata once and guess the type from the name")
+    void testResolveImage_Cached() {
+        MediaStreamingService.MediaFile first = mediaStreamingService.resolveImage(1L, ImageSize.FULL);
+        MediaStreamingService.MediaFile second = mediaStreamingService.resolveImage(1L, ImageSize.FULL);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.contentType()).isEqualTo("image/png");
+        assertThat(first.size()).isEqualTo(10);
+        assertThat(first.etag()).startsWith("\"image-1-");
+        assertThat(first.immutable()).isFalse();
+        verify(imageRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("resolveImage - Should serve a generated rendition as immutable")
+    void testResolveImage_Rendition() throws Exception {
+        Path thumbnail = uploadDir.resolve("photo_thumb.jpg");
+        Files.writeString(thumbnail, "thumb", StandardCharsets.US_ASCII);
+        image.setThumbnailPath(thumbnail.toString());
+
+        MediaStreamingService.MediaFile rendition = mediaStreamingService.resolveImage(1L, ImageSize.THUMB);
+
+        assertThat(rendition.path()).isEqualTo(thumbnail);
+        assertThat(rendition.contentType()).isEqualTo("image/jpeg");
+        assertThat(rendition.cacheControl()).isEqualTo(MediaStreamingService.IMMUTABLE_CACHE_CONTROL);
+    }
+
+    @Test
+    @DisplayName("evictImage - Should look up metadata again after eviction")
+    void testEvictImage() {
+        mediaStreamingService.resolveImage(1L, ImageSize.FULL);
+        mediaStreamingService.evictImage(1L);
+        mediaStreamingService.resolveImage(1L, ImageSize.FULL);
+
+        verify(imageRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("send - Should copy the requested byte range")
+    void testSend_Range() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        mediaStreamingService.send(mediaStreamingService.resolveImage(1L, ImageSize.FULL), 2, 5,
+                new MockHttpServletRequest(), response);
+
+        assertThat(response.getContentAsString()).isEqualTo("23456");
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+        assertThat(response.getContentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    @DisplayName("resolveVideo - Should look up metadata once for a playback session")
+    void testResolveVideo_Cached() {
+        Video video = new Video();
+        video.setId(3L);
+        video.setFilePath(file.toString());
+        video.setFileType("video/mp4");
+        video.setBlobDigest("abc");
+        when(videoRepository.findById(3L)).thenReturn(Optional.of(video));
+
+        MediaStreamingService.MediaFile first = mediaStreamingService.resolveVideo(3L);
+        MediaStreamingService.MediaFile second = mediaStreamingService.resolveVideo(3L);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.contentType()).isEqualTo("video/mp4");
+        assertThat(first.etag()).startsWith("\"abc-");
+        verify(videoRepository, times(1)).findById(3L);
+    }
+
+    @Test
+    @DisplayName("sendRanges - Should answer a single range with 206 and Content-Range")
+    void testSendRanges_Single() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=2-4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        mediaStreamingService.sendRanges(describe(), request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-4/10");
+        assertThat(response.getContentAsString()).isEqualTo("234");
+    }
+
+    @Test
+    @DisplayName("sendRanges - Should answer several ranges as multipart/byteranges")
+    void testSendRanges_Multiple() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=0-1,-2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        mediaStreamingService.sendRanges(describe(), request, response);
+
+        String body = response.getContentAsString();
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        assertThat(response.getContentLengthLong()).isEqualTo(body.length());
+        assertThat(body).contains("Content-Range: bytes 0-1/10\r\n\r\n01\r\n");
+        assertThat(body).contains("Content-Range: bytes 8-9/10\r\n\r\n89\r\n");
+        assertThat(body).endsWith("--\r\n");
+    }
+
+    @Test
+    @DisplayName("sendRanges - Should send the whole file when If-Range no longer matches")
+    void testSendRanges_StaleIfRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=2-4");
+        request.addHeader("If-Range", "\"old\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        mediaStreamingService.sendRanges(describe(), request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    @DisplayName("sendRanges - Should answer 416 for a range past the end")
+    void testSendRanges_Unsatisfiable() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=20-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        mediaStreamingService.sendRanges(describe(), request, response);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    @DisplayName("sendRanges - Should drop ranges past the end and serve the rest")
+    void testSendRanges_DropsUnsatisfiable() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Range", "bytes=20-,2-4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        mediaStreamingService.sendRanges(describe(), request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-4/10");
+        assertThat(response.getContentAsString()).isEqualTo("234");
+    }
+
+    private MediaStreamingService.MediaFile describe() {
+        return mediaStreamingService.describe("video-1", file, "video/mp4", true);
+    }
+}
@@ -1,5 +1,6 @@
 package com.burakcanaksoy.realestate.service;
 
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
 import com.burakcanaksoy.realestate.model.Category;
 import com.burakcanaksoy.realestate.model.RealEstate;
 import com.burakcanaksoy.realestate.model.User;
@@ -21,7 +22,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +45,7 @@ import static org.mockito.Mockito.*;
  * This test class covers all methods of RealEstateService.
  * 
  * @Mock: Mocks the repository and auth service dependencies
+ * @Spy: Uses a real, empty response cache
  * @InjectMocks: Creates RealEstateService and injects mocked dependencies
  */
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +61,12 @@ class RealEstateServiceTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ListingResponseCache listingResponseCache = new ListingResponseCache(null, 100, 60);
+
     @InjectMocks
     private RealEstateService realEstateService;
 
@@ -332,6 +342,7 @@ class RealEstateServiceTest {
         verify(categoryRepository, times(1)).findBySlug("real-estate");
         verify(authService, times(1)).getCurrentUser();
         verify(realEstateRepository, times(1)).save(any(RealEstate.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ListingChangedEvent.class));
     }
 
     @Test
@@ -418,6 +429,7 @@ class RealEstateServiceTest {
         // Assert
         verify(realEstateRepository, times(1)).findById(realEstateId);
         verify(realEstateRepository, times(1)).delete(testRealEstate);
+        verify(eventPublisher, times(1)).publishEvent(any(ListingChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,211 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.Category;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.SavedSearch;
+import com.burakcanaksoy.realestate.model.User;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.enums.Currency;
+import com.burakcanaksoy.realestate.model.enums.NotificationType;
+import com.burakcanaksoy.realestate.repository.SavedSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SavedSearchMatcher
+ *
+ * @Mock: Mocks the saved search repository and notification service
+ * @InjectMocks: Creates SavedSearchMatcher and injects mocked dependencies
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SavedSearchMatcher Unit Tests")
+class SavedSearchMatcherTest {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private SavedSearchMatcher savedSearchMatcher;
+
+    private User owner;
+    private RealEstate listing;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setId(99L);
+
+        Category category = new Category();
+        category.setSlug("konut");
+
+        listing = new RealEstate();
+        listing.setId(10L);
+        listing.setTitle("Deniz manzaralı daire");
+        listing.setCity("Istanbul");
+        listing.setDistrict("Kadikoy");
+        listing.setPrice(new BigDecimal("450000"));
+        listing.setCurrency(Currency.TRY);
+        listing.setCategory(category);
+        listing.setCreatedBy(owner);
+    }
+
+    private SavedSearch savedSearch(long id, long userId, Map<String, Object> criteria) {
+        User user = new User();
+        user.setId(userId);
+        SavedSearch search = new SavedSearch();
+        search.setId(id);
+        search.setUser(user);
+        search.setName("search-" + id);
+        search.setSearchCriteria(criteria);
+        search.setNotificationEnabled(true);
+        return search;
+    }
+
+    @Test
+    @DisplayName("findMatches - Should verify full criteria of indexed candidates")
+    void testFindMatches() {
+        savedSearchMatcher.register(savedSearch(1L, 1L, Map.of("city", "istanbul", "maxPrice", 500000)));
+        savedSearchMatcher.register(savedSearch(2L, 1L, Map.of("city", "Istanbul", "district", "Besiktas")));
+        savedSearchMatcher.register(savedSearch(3L, 2L, Map.of("categorySlug", "konut", "query", "deniz")));
+        savedSearchMatcher.register(savedSearch(4L, 2L, Map.of("minPrice", "400000", "maxPrice", "600000")));
+        savedSearchMatcher.register(savedSearch(5L, 3L, Map.of("minPrice", "1000000")));
+        savedSearchMatcher.register(savedSearch(6L, 3L, Map.of("fuelType", "DIESEL")));
+
+        List<SavedSearchMatcher.CompiledSearch> matches = savedSearchMatcher.findMatches(listing, "REAL_ESTATE");
+
+        assertThat(matches).extracting(SavedSearchMatcher.CompiledSearch::id)
+                .containsExactlyInAnyOrder(1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("findMatches - Should require every attribute filter of a search")
+    void testFindMatches_Attributes() {
+        listing.setElevator(true);
+        listing.setParking(false);
+        savedSearchMatcher.register(savedSearch(1L, 1L, Map.of("attributes", Map.of("elevator", "TRUE"))));
+        savedSearchMatcher.register(savedSearch(2L, 1L,
+                Map.of("city", "Istanbul", "attributes", Map.of("elevator", "true", "parking", "true"))));
+
+        List<SavedSearchMatcher.CompiledSearch> matches = savedSearchMatcher.findMatches(listing, "REAL_ESTATE");
+
+        assertThat(matches).extracting(SavedSearchMatcher.CompiledSearch::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("findMatches - Should check room, area, year and model bounds on the matching listing type")
+    void testFindMatches_TypeSpecificBounds() {
+        listing.setRoomCount("3+1");
+        listing.setGrossSquareMeter(120);
+        savedSearchMatcher.register(savedSearch(1L, 1L, Map.of("minRooms", 2, "maxRooms", 3, "minArea", 100)));
+        savedSearchMatcher.register(savedSearch(2L, 1L, Map.of("minRooms", 4)));
+        savedSearchMatcher.register(savedSearch(3L, 1L, Map.of("maxArea", 110)));
+        savedSearchMatcher.register(savedSearch(4L, 1L, Map.of("minYear", 2018)));
+        savedSearchMatcher.register(savedSearch(5L, 1L, Map.of("model", "Corolla")));
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(11L);
+        vehicle.setYear(2020);
+        vehicle.setModel("corolla");
+
+        assertThat(savedSearchMatcher.findMatches(listing, "REAL_ESTATE"))
+                .extracting(SavedSearchMatcher.CompiledSearch::id).containsExactly(1L);
+        assertThat(savedSearchMatcher.findMatches(vehicle, "VEHICLE"))
+                .extracting(SavedSearchMatcher.CompiledSearch::id).containsExactlyInAnyOrder(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("findMatches - Should only match listings inside the radius of a search")
+    void testFindMatches_Radius() {
+        // Kadikoy; the second search sits in Ankara and the third has no center
+        listing.setLatitude(40.990);
+        listing.setLongitude(29.030);
+        savedSearchMatcher.register(savedSearch(1L, 1L, Map.of("latitude", 41.0, "longitude", 29.0, "radiusKm", 5)));
+        savedSearchMatcher.register(savedSearch(2L, 1L, Map.of("latitude", 39.93, "longitude", 32.86, "radiusKm", 50)));
+        savedSearchMatcher.register(savedSearch(3L, 1L, Map.of("radiusKm", 5, "maxPrice", 100000)));
+        // Too wide for the grid, checked on every listing
+        savedSearchMatcher.register(savedSearch(4L, 1L, Map.of("latitude", 39.0, "longitude", 35.0, "radiusKm", 2000)));
+
+        assertThat(savedSearchMatcher.findMatches(listing, "REAL_ESTATE"))
+                .extracting(SavedSearchMatcher.CompiledSearch::id).containsExactlyInAnyOrder(1L, 4L);
+
+        listing.setLatitude(null);
+        listing.setLongitude(null);
+        assertThat(savedSearchMatcher.findMatches(listing, "REAL_ESTATE")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findMatches - Should check the status of a search")
+    void testFindMatches_Status() {
+        savedSearchMatcher.register(savedSearch(1L, 1L, Map.of("status", "ACTIVE")));
+        savedSearchMatcher.register(savedSearch(2L, 1L, Map.of("status", "SOLD")));
+
+        assertThat(savedSearchMatcher.findMatches(listing, "REAL_ESTATE"))
+                .extracting(SavedSearchMatcher.CompiledSearch::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("distanceKm - Should measure great-circle distances")
+    void testDistanceKm() {
+        assertThat(SavedSearchMatcher.distanceKm(41.0, 29.0, 41.0, 29.0)).isZero();
+        // Istanbul to Ankara
+        assertThat(SavedSearchMatcher.distanceKm(41.01, 28.98, 39.93, 32.86)).isBetween(345.0, 355.0);
+    }
+
+    @Test
+    @DisplayName("register - Should drop searches when notifications are turned off")
+    void testRegister_NotificationDisabled() {
+        SavedSearch search = savedSearch(1L, 1L, Map.of("city", "Istanbul"));
+        savedSearchMatcher.register(search);
+
+        search.setNotificationEnabled(false);
+        savedSearchMatcher.register(search);
+
+        assertThat(savedSearchMatcher.findMatches(listing, "REAL_ESTATE")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should send one alert per user and skip the owner")
+    void testOnListingChanged_Created() {
+        savedSearchMatcher.register(savedSearch(1L, 1L, Map.of("city", "Istanbul")));
+        savedSearchMatcher.register(savedSearch(2L, 1L, Map.of("listingType", "REAL_ESTATE")));
+        savedSearchMatcher.register(savedSearch(3L, 99L, Map.of("city", "Istanbul")));
+
+        savedSearchMatcher.onListingChanged(ListingChangedEvent.created(listing, "REAL_ESTATE"));
+
+        verify(notificationService, times(1)).sendNotification(eq(1L), anyString(), anyString(),
+                eq(NotificationType.SAVED_SEARCH), eq(10L), eq("REAL_ESTATE"));
+        verify(notificationService, never()).sendNotification(eq(99L), anyString(), anyString(), any(), anyLong(),
+                anyString());
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should ignore updates that keep the price")
+    void testOnListingChanged_UpdateWithoutPriceChange() {
+        savedSearchMatcher.register(savedSearch(1L, 1L, Map.of("city", "Istanbul")));
+
+        savedSearchMatcher.onListingChanged(
+                ListingChangedEvent.updated(listing, "REAL_ESTATE", new BigDecimal("450000.00"), "Istanbul"));
+
+        verifyNoInteractions(notificationService);
+    }
+}
@@ -0,0 +1,158 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.SavedSearch;
+import com.burakcanaksoy.realestate.model.User;
+import com.burakcanaksoy.realestate.repository.SavedSearchRepository;
+import com.burakcanaksoy.realestate.request.AdvancedSearchRequest;
+import com.burakcanaksoy.realestate.request.SavedSearchRequest;
+import com.burakcanaksoy.realestate.response.BaseListingResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SavedSearchService
+ *
+ * @Mock: Mocks the repository, matcher and search service dependencies
+ * @InjectMocks: Creates SavedSearchService and injects mocked dependencies
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SavedSearchService Unit Tests")
+class SavedSearchServiceTest {
+
+    @Mock
+    private SavedSearchRepository savedSearchRepository;
+
+    @Mock
+    private SavedSearchMatcher savedSearchMatcher;
+
+    @Mock
+    private AdvancedSearchService advancedSearchService;
+
+    @InjectMocks
+    private SavedSearchService savedSearchService;
+
+    private SavedSearch savedSearch;
+    private Pageable firstPage;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+
+        savedSearch = new SavedSearch();
+        savedSearch.setId(5L);
+        savedSearch.setUser(user);
+        savedSearch.setName("Istanbul villas");
+        savedSearch.setSearchCriteria(Map.of("city", "Istanbul", "minPrice", "250000", "minRooms", 3));
+        savedSearch.setNotificationEnabled(true);
+
+        firstPage = PageRequest.of(0, 20);
+        when(savedSearchRepository.findByIdAndUserId(5L, 1L)).thenReturn(Optional.of(savedSearch));
+    }
+
+    private Page<BaseListingResponse> pageOf(long id, LocalDateTime createdAt) {
+        BaseListingResponse response = new BaseListingResponse();
+        response.setId(id);
+        response.setCreatedAt(createdAt);
+        return new PageImpl<>(List.of(response), firstPage, 1);
+    }
+
+    @Test
+    @DisplayName("executeSavedSearch - Should map every criteria field and cache the result")
+    void testExecuteSavedSearch_TypedCriteriaAndCache() {
+        when(advancedSearchService.advancedSearch(any(AdvancedSearchRequest.class), eq(firstPage)))
+                .thenReturn(pageOf(10L, LocalDateTime.now()));
+
+        savedSearchService.executeSavedSearch(5L, 1L, false, firstPage);
+        savedSearchService.executeSavedSearch(5L, 1L, false, firstPage);
+
+        ArgumentCaptor<AdvancedSearchRequest> captor = ArgumentCaptor.forClass(AdvancedSearchRequest.class);
+        verify(advancedSearchService, times(1)).advancedSearch(captor.capture(), eq(firstPage));
+        assertThat(captor.getValue().getCity()).isEqualTo("Istanbul");
+        assertThat(captor.getValue().getMinPrice()).isEqualByComparingTo(new BigDecimal("250000"));
+        assertThat(captor.getValue().getMinRooms()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("executeSavedSearch - Should seek from the watermark and move it forward")
+    void testExecuteSavedSearch_OnlyNew() {
+        LocalDateTime seenAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime newestAt = seenAt.plusDays(1);
+        savedSearch.setLastSeenCreatedAt(seenAt);
+        savedSearch.setLastSeenListingId(7L);
+        when(advancedSearchService.advancedSearchSince(any(AdvancedSearchRequest.class), eq(seenAt), eq(7L),
+                eq(firstPage))).thenReturn(pageOf(42L, newestAt));
+
+        Page<BaseListingResponse> result = savedSearchService.executeSavedSearch(5L, 1L, true, firstPage);
+
+        assertThat(result.getContent()).extracting(BaseListingResponse::getId).containsExactly(42L);
+        assertThat(savedSearch.getLastSeenCreatedAt()).isEqualTo(newestAt);
+        assertThat(savedSearch.getLastSeenListingId()).isEqualTo(42L);
+        verify(savedSearchRepository, times(1)).save(savedSearch);
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should drop cached pages when a matching listing is written")
+    void testOnListingChanged_InvalidatesCache() {
+        when(advancedSearchService.advancedSearch(any(AdvancedSearchRequest.class), eq(firstPage)))
+                .thenReturn(pageOf(10L, LocalDateTime.now()));
+        savedSearchService.executeSavedSearch(5L, 1L, false, firstPage);
+
+        RealEstate listing = new RealEstate();
+        listing.setId(11L);
+        listing.setCity("Istanbul");
+        listing.setPrice(new BigDecimal("300000"));
+        listing.setRoomCount("3+1");
+        savedSearchService.onListingChanged(ListingChangedEvent.created(listing, "REAL_ESTATE"));
+
+        savedSearchService.executeSavedSearch(5L, 1L, false, firstPage);
+
+        verify(advancedSearchService, times(2)).advancedSearch(any(AdvancedSearchRequest.class), eq(firstPage));
+    }
+
+    @Test
+    @DisplayName("updateSavedSearch - Should update the matcher only after the transaction commits")
+    void testUpdateSavedSearch_AfterCommit() {
+        SavedSearchRequest request = new SavedSearchRequest();
+        request.setName("Ankara villas");
+        request.setSearchCriteria(Map.of("city", "Ankara"));
+        request.setNotificationEnabled(true);
+        when(savedSearchRepository.save(savedSearch)).thenReturn(savedSearch);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            savedSearchService.updateSavedSearch(5L, request, 1L);
+            verify(savedSearchMatcher, never()).register(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(savedSearchMatcher).register(savedSearch);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.request.GeneralFilterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SearchResultCache
+ *
+ * @Mock: Mocks the typed listing loader used to load cached ids
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchResultCache Unit Tests")
+class SearchResultCacheTest {
+
+    @Mock
+    private TypedListingLoader typedListingLoader;
+
+    private SearchResultCache searchResultCache;
+
+    @BeforeEach
+    void setUp() {
+        searchResultCache = new SearchResultCache(typedListingLoader, 100, 60);
+    }
+
+    @Test
+    @DisplayName("key - Should ignore case, whitespace and empty fields")
+    void testKey_Canonical() {
+        GeneralFilterRequest first = new GeneralFilterRequest();
+        first.setCity(" Istanbul ");
+        first.setDistrict("");
+        GeneralFilterRequest second = new GeneralFilterRequest();
+        second.setCity("istanbul");
+
+        assertThat(SearchResultCache.key("listings", first, PageRequest.of(0, 20)))
+                .isEqualTo(SearchResultCache.key("listings", second, PageRequest.of(0, 20)))
+                .isNotEqualTo(SearchResultCache.key("listings", second, PageRequest.of(1, 20)));
+    }
+
+    @Test
+    @DisplayName("get - Should compute concurrent identical misses once")
+    void testGet_SingleFlight() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<SearchResultCache.CachedResult> first = executor.submit(() -> searchResultCache.get("k", null, null,
+                    () -> {
+                        computations.incrementAndGet();
+                        started.countDown();
+                        await(release);
+                        return new SearchResultCache.CachedResult(List.of(1L, 2L), 2);
+                    }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<SearchResultCache.CachedResult> second = executor.submit(() -> searchResultCache.get("k", null,
+                    null, () -> {
+                        computations.incrementAndGet();
+                        return new SearchResultCache.CachedResult(List.of(), 0);
+                    }));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).ids()).containsExactly(1L, 2L);
+            assertThat(second.get(5, TimeUnit.SECONDS).ids()).containsExactly(1L, 2L);
+            assertThat(computations.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("invalidate - Should drop entries of the same city or of any city")
+    void testInvalidate_ByCityAndType() {
+        AtomicInteger computations = new AtomicInteger();
+        searchResultCache.get("istanbul", "Istanbul", null, () -> result(computations));
+        searchResultCache.get("ankara", "Ankara", null, () -> result(computations));
+        searchResultCache.get("everywhere-land", null, "LAND", () -> result(computations));
+
+        searchResultCache.invalidate("istanbul", "REAL_ESTATE", 99L, false);
+
+        searchResultCache.get("istanbul", "Istanbul", null, () -> result(computations));
+        searchResultCache.get("ankara", "Ankara", null, () -> result(computations));
+        searchResultCache.get("everywhere-land", null, "LAND", () -> result(computations));
+
+        // Only the Istanbul entry is computed again
+        assertThat(computations.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should drop entries of the old and the new city of a moved listing")
+    void testOnListingChanged_CityChanged() {
+        AtomicInteger computations = new AtomicInteger();
+        searchResultCache.get("istanbul", "Istanbul", null, () -> result(computations));
+        searchResultCache.get("ankara", "Ankara", null, () -> result(computations));
+        searchResultCache.get("izmir", "Izmir", null, () -> result(computations));
+
+        // Listing 99 is on none of the cached pages
+        RealEstate moved = new RealEstate();
+        moved.setId(99L);
+        moved.setCity("Istanbul");
+        searchResultCache.onListingChanged(ListingChangedEvent.updated(moved, "REAL_ESTATE", null, "Ankara"));
+
+        searchResultCache.get("istanbul", "Istanbul", null, () -> result(computations));
+        searchResultCache.get("ankara", "Ankara", null, () -> result(computations));
+        searchResultCache.get("izmir", "Izmir", null, () -> result(computations));
+
+        // Istanbul and Ankara are computed again, Izmir is still cached
+        assertThat(computations.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("resolve - Should keep cached order and skip deleted listings")
+    void testResolve() {
+        RealEstate one = new RealEstate();
+        one.setId(1L);
+        RealEstate three = new RealEstate();
+        three.setId(3L);
+        when(typedListingLoader.findAllById(List.of(3L, 2L))).thenReturn(List.of(three));
+
+        List<BaseListing> listings = searchResultCache.resolve(
+                new SearchResultCache.CachedResult(List.of(3L, 1L, 2L), 3), Map.of(1L, one));
+
+        assertThat(listings).extracting(BaseListing::getId).containsExactly(3L, 1L);
+    }
+
+    private static SearchResultCache.CachedResult result(AtomicInteger computations) {
+        computations.incrementAndGet();
+        return new SearchResultCache.CachedResult(List.of(1L), 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
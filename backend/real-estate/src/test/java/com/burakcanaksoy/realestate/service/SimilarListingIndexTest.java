@@ -0,0 +1,127 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.event.ListingChangedEvent;
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.model.enums.ListingStatus;
+import com.burakcanaksoy.realestate.model.enums.RealEstateType;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SimilarListingIndex
+ *
+ * @Mock: Mocks the listing repository used to build the index
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SimilarListingIndex Unit Tests")
+class SimilarListingIndexTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    private SimilarListingIndex similarListingIndex;
+
+    @BeforeEach
+    void setUp() {
+        similarListingIndex = new SimilarListingIndex(listingRepository);
+    }
+
+    @Test
+    @DisplayName("findSimilar - Should rank listings by price, size and distance")
+    void testFindSimilar_RanksByFeatures() {
+        RealEstate target = flat(1L, 5_000_000, 120, "3+1", 41.00, 29.00);
+        when(listingRepository.findAll()).thenReturn(List.of(
+                target,
+                flat(2L, 5_200_000, 115, "3+1", 41.01, 29.01),
+                flat(3L, 9_000_000, 200, "5+1", 41.00, 29.00),
+                flat(4L, 5_000_000, 120, "3+1", 39.90, 32.80),
+                flat(5L, 1_500_000, 60, "1+1", 41.02, 29.02),
+                vehicle(6L, 5_000_000)));
+
+        similarListingIndex.rebuild();
+
+        assertThat(similarListingIndex.findSimilar(target, 3)).containsExactly(2L, 4L, 3L);
+    }
+
+    @Test
+    @DisplayName("findSimilar - Should fall back to other property types when too few match")
+    void testFindSimilar_FallsBackAcrossPartitions() {
+        RealEstate target = flat(1L, 5_000_000, 120, "3+1", 41.00, 29.00);
+        RealEstate villa = flat(2L, 5_000_000, 120, "3+1", 41.00, 29.00);
+        villa.setRealEstateType(RealEstateType.VILLA);
+        when(listingRepository.findAll()).thenReturn(List.of(target, villa,
+                flat(3L, 4_000_000, 100, "2+1", 41.05, 29.05)));
+
+        similarListingIndex.rebuild();
+
+        assertThat(similarListingIndex.findSimilar(target, 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("onListingChanged - Should follow creates, deactivations and deletes")
+    void testOnListingChanged() {
+        RealEstate target = flat(1L, 5_000_000, 120, "3+1", 41.00, 29.00);
+        when(listingRepository.findAll()).thenReturn(List.of(target));
+        similarListingIndex.rebuild();
+
+        RealEstate created = flat(2L, 5_100_000, 118, "3+1", 41.00, 29.00);
+        RealEstate other = flat(3L, 5_100_000, 118, "3+1", 41.00, 29.00);
+        similarListingIndex.onListingChanged(ListingChangedEvent.created(created, "REAL_ESTATE"));
+        similarListingIndex.onListingChanged(ListingChangedEvent.created(other, "REAL_ESTATE"));
+        assertThat(similarListingIndex.findSimilar(target, 3)).containsExactlyInAnyOrder(2L, 3L);
+
+        created.setStatus(ListingStatus.PASSIVE);
+        similarListingIndex.onListingChanged(ListingChangedEvent.updated(created, "REAL_ESTATE", null, null));
+        similarListingIndex.onListingChanged(ListingChangedEvent.deleted(other, "REAL_ESTATE"));
+        assertThat(similarListingIndex.findSimilar(target, 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parsing - Should read room counts, ages and engine volumes")
+    void testParsing() {
+        assertThat(SimilarListingIndex.sumOfNumbers("3+1")).isEqualTo(4);
+        assertThat(SimilarListingIndex.firstNumber("5-10")).isEqualTo(5);
+        assertThat(SimilarListingIndex.engineVolume("1.6")).isEqualTo(1600);
+        assertThat(SimilarListingIndex.engineVolume("1598 cc")).isEqualTo(1598);
+        assertThat(SimilarListingIndex.sumOfNumbers("Stüdyo")).isNaN();
+    }
+
+    private static RealEstate flat(Long id, long price, int squareMeters, String rooms, double latitude,
+            double longitude) {
+        RealEstate flat = listing(new RealEstate(), id, price, latitude, longitude);
+        flat.setRealEstateType(RealEstateType.APARTMENT);
+        flat.setGrossSquareMeter(squareMeters);
+        flat.setRoomCount(rooms);
+        return flat;
+    }
+
+    private static Vehicle vehicle(Long id, long price) {
+        Vehicle vehicle = listing(new Vehicle(), id, price, 41.0, 29.0);
+        vehicle.setBrand("Fiat");
+        return vehicle;
+    }
+
+    private static <T extends BaseListing> T listing(T listing, Long id, long price, double latitude,
+            double longitude) {
+        listing.setId(id);
+        listing.setPrice(BigDecimal.valueOf(price));
+        listing.setCity("İstanbul");
+        listing.setLatitude(latitude);
+        listing.setLongitude(longitude);
+        listing.setStatus(ListingStatus.ACTIVE);
+        return listing;
+    }
+}
@@ -0,0 +1,118 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.model.BaseListing;
+import com.burakcanaksoy.realestate.model.Land;
+import com.burakcanaksoy.realestate.model.RealEstate;
+import com.burakcanaksoy.realestate.model.Vehicle;
+import com.burakcanaksoy.realestate.repository.LandRepository;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.RealEstateRepository;
+import com.burakcanaksoy.realestate.repository.VehicleRepository;
+import com.burakcanaksoy.realestate.repository.WorkplaceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TypedListingLoader
+ *
+ * @Mock: Mocks the base listing repository and the four subtype repositories
+ * @InjectMocks: Creates TypedListingLoader and injects mocked dependencies
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TypedListingLoader Unit Tests")
+class TypedListingLoaderTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private RealEstateRepository realEstateRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private LandRepository landRepository;
+
+    @Mock
+    private WorkplaceRepository workplaceRepository;
+
+    @InjectMocks
+    private TypedListingLoader typedListingLoader;
+
+    @Test
+    @DisplayName("findAllById - Should load each type from its own repository in the requested order")
+    void testFindAllById_ByType() {
+        RealEstate one = listing(new RealEstate(), 1L);
+        Land two = listing(new Land(), 2L);
+        RealEstate three = listing(new RealEstate(), 3L);
+        when(listingRepository.findListingTypes(List.of(2L, 1L, 3L, 4L))).thenReturn(List.of(
+                row(1L, "REAL_ESTATE"), row(2L, "LAND"), row(3L, "REAL_ESTATE")));
+        when(realEstateRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(three, one));
+        when(landRepository.findAllById(List.of(2L))).thenReturn(List.of(two));
+
+        List<BaseListing> listings = typedListingLoader.findAllById(List.of(2L, 1L, 3L, 2L, 4L));
+
+        assertThat(listings).extracting(BaseListing::getId).containsExactly(2L, 1L, 3L);
+        verify(listingRepository, never()).findAllById(any());
+        verifyNoInteractions(vehicleRepository, workplaceRepository);
+    }
+
+    @Test
+    @DisplayName("findAllById - Should fall back to a polymorphic load for listings without a stored type")
+    void testFindAllById_Untyped() {
+        Vehicle five = listing(new Vehicle(), 5L);
+        when(listingRepository.findListingTypes(List.of(5L))).thenReturn(List.of(row(5L, null)));
+        when(listingRepository.findAllById(List.of(5L))).thenReturn(List.of(five));
+
+        assertThat(typedListingLoader.findAllById(List.of(5L))).containsExactly(five);
+    }
+
+    @Test
+    @DisplayName("findAllById - Should not query for an empty id list")
+    void testFindAllById_Empty() {
+        assertThat(typedListingLoader.findAllById(List.of())).isEmpty();
+
+        verifyNoInteractions(listingRepository);
+    }
+
+    @Test
+    @DisplayName("findById - Should go straight to the subtype repository when the type is known")
+    void testFindById_KnownType() {
+        Land land = listing(new Land(), 7L);
+        when(landRepository.findById(7L)).thenReturn(Optional.of(land));
+
+        assertThat(typedListingLoader.findById(7L, "LAND")).contains(land);
+        verify(listingRepository, never()).findListingTypes(any());
+    }
+
+    private static <T extends BaseListing> T listing(T listing, Long id) {
+        listing.setId(id);
+        return listing;
+    }
+
+    private static ListingRepository.ListingTypeView row(Long id, String listingType) {
+        return new ListingRepository.ListingTypeView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getListingType() {
+                return listingType;
+            }
+        };
+    }
+}
@@ -21,7 +21,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +44,7 @@ import static org.mockito.Mockito.*;
  * This test class covers all methods of VehicleService.
  * 
  * @Mock: Mocks the repository and auth service dependencies
+ * @Spy: Uses a real, empty response cache
  * @InjectMocks: Creates VehicleService and injects mocked dependencies
  */
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +60,12 @@ public class VehicleServiceTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ListingResponseCache listingResponseCache = new ListingResponseCache(null, 100, 60);
+
     @InjectMocks
     private VehicleService vehicleService;
 
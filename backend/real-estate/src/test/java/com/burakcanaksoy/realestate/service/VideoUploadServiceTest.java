@@ -0,0 +1,209 @@
+package com.burakcanaksoy.realestate.service;
+
+import com.burakcanaksoy.realestate.exception.InvalidUploadException;
+import com.burakcanaksoy.realestate.exception.UploadOffsetException;
+import com.burakcanaksoy.realestate.model.MediaBlob;
+import com.burakcanaksoy.realestate.model.User;
+import com.burakcanaksoy.realestate.model.VideoUploadSession;
+import com.burakcanaksoy.realestate.model.enums.Role;
+import com.burakcanaksoy.realestate.repository.ListingRepository;
+import com.burakcanaksoy.realestate.repository.UserRepository;
+import com.burakcanaksoy.realestate.repository.VideoUploadSessionRepository;
+import com.burakcanaksoy.realestate.request.VideoUploadStartRequest;
+import com.burakcanaksoy.realestate.response.VideoResponse;
+import com.burakcanaksoy.realestate.response.VideoUploadResponse;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for VideoUploadService
+ *
+ * @Mock: Mocks the session repository, the blob store, video creation and the
+ *        listing and user lookups; the part file lives in a temporary directory
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VideoUploadService Unit Tests")
+class VideoUploadServiceTest {
+
+    // SHA-256 of "hello world"
+    private static final String HELLO_WORLD_SHA256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @Mock
+    private VideoUploadSessionRepository sessionRepository;
+
+    @Mock
+    private MediaBlobStore mediaBlobStore;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private VideoUploadService videoUploadService;
+    private VideoUploadSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        videoUploadService = new VideoUploadService(sessionRepository, mediaBlobStore, fileStorageService,
+                listingRepository, userRepository, 1024, 512, 24);
+
+        Path part = Files.createFile(uploadDir.resolve("upload.part"));
+        session = new VideoUploadSession();
+        session.setId("upload-1");
+        session.setUsername("alice");
+        session.setListingId(5L);
+        session.setListingType("LAND");
+        session.setFileName("tour.mp4");
+        session.setContentType("video/mp4");
+        session.setSize(11L);
+        session.setPartPath(part.toString());
+        // Listing 5 belongs to alice; not every test reaches the session or the ownership check
+        lenient().when(sessionRepository.findById("upload-1")).thenReturn(Optional.of(session));
+        lenient().when(listingRepository.existsById(5L)).thenReturn(true);
+        lenient().when(listingRepository.findOwnerId(5L)).thenReturn(Optional.of(1L));
+        lenient().when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user(1L, Role.ROLE_USER)));
+        lenient().when(userRepository.findByUsername("mallory")).thenReturn(Optional.of(user(2L, Role.ROLE_USER)));
+        lenient().when(userRepository.findByUsername("admin"))
+                .thenReturn(Optional.of(user(3L, Role.ROLE_USER, Role.ROLE_ADMIN)));
+    }
+
+    @Test
+    @DisplayName("start - Should refuse uploads to a listing of another user")
+    void testStart_NotOwner() {
+        assertThatThrownBy(() -> videoUploadService.start(5L, startRequest(), "mallory"))
+                .isInstanceOf(AccessDeniedException.class);
+
+        verifyNoInteractions(mediaBlobStore);
+        verify(sessionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("start - Should let an admin upload to any listing")
+    void testStart_Admin() throws Exception {
+        when(mediaBlobStore.partPath(anyString())).thenAnswer(invocation -> uploadDir.resolve("new.part"));
+        when(sessionRepository.save(any(VideoUploadSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        VideoUploadResponse response = videoUploadService.start(5L, startRequest(), "admin");
+
+        assertThat(response.getSize()).isEqualTo(11L);
+        assertThat(uploadDir.resolve("new.part")).exists();
+    }
+
+    @Test
+    @DisplayName("writeChunk - Should refuse chunks once the uploader no longer owns the listing")
+    void testWriteChunk_OwnershipLost() {
+        when(listingRepository.findOwnerId(5L)).thenReturn(Optional.of(2L));
+
+        assertThatThrownBy(() -> videoUploadService.writeChunk("upload-1", "alice", 0, stream("hello ")))
+                .isInstanceOf(AccessDeniedException.class);
+
+        verify(sessionRepository, never()).advance(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("writeChunk - Should write chunks at their offsets and accept a resent chunk")
+    void testWriteChunk() throws Exception {
+        assertThat(videoUploadService.writeChunk("upload-1", "alice", 0, stream("hello "))).isEqualTo(6);
+        session.setReceivedBytes(6L);
+        // Acknowledgement lost, the client sends the first chunk again
+        assertThat(videoUploadService.writeChunk("upload-1", "alice", 0, stream("hello "))).isEqualTo(6);
+        assertThat(videoUploadService.writeChunk("upload-1", "alice", 6, stream("world"))).isEqualTo(11);
+
+        assertThat(Files.readString(Path.of(session.getPartPath()))).isEqualTo("hello world");
+        verify(sessionRepository).advance("upload-1", 11);
+    }
+
+    @Test
+    @DisplayName("writeChunk - Should reject a chunk past the received bytes with the current offset")
+    void testWriteChunk_Gap() {
+        session.setReceivedBytes(6L);
+
+        assertThatThrownBy(() -> videoUploadService.writeChunk("upload-1", "alice", 8, stream("rld")))
+                .isInstanceOf(UploadOffsetException.class)
+                .extracting("currentOffset").isEqualTo(6L);
+    }
+
+    @Test
+    @DisplayName("writeChunk - Should hide uploads of other users")
+    void testWriteChunk_OtherUser() {
+        assertThatThrownBy(() -> videoUploadService.writeChunk("upload-1", "mallory", 0, stream("x")))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("complete - Should store the verified file and create the video")
+    void testComplete() throws Exception {
+        Files.writeString(Path.of(session.getPartPath()), "hello world");
+        session.setReceivedBytes(11L);
+        MediaBlob blob = new MediaBlob();
+        blob.setDigest(HELLO_WORLD_SHA256);
+        VideoResponse created = new VideoResponse();
+        when(sessionRepository.claim("upload-1")).thenReturn(1);
+        when(mediaBlobStore.adopt(any(Path.class), eq(HELLO_WORLD_SHA256), eq(11L), eq("video/mp4"),
+                eq("tour.mp4"))).thenReturn(blob);
+        when(fileStorageService.createVideo(blob, "video/mp4", 5L, "LAND")).thenReturn(created);
+
+        assertThat(videoUploadService.complete("upload-1", "alice", HELLO_WORLD_SHA256.toUpperCase()))
+                .isSameAs(created);
+    }
+
+    @Test
+    @DisplayName("complete - Should discard the upload when the checksum does not match")
+    void testComplete_ChecksumMismatch() throws Exception {
+        Files.writeString(Path.of(session.getPartPath()), "hello world");
+        session.setReceivedBytes(11L);
+
+        assertThatThrownBy(() -> videoUploadService.complete("upload-1", "alice", "00"))
+                .isInstanceOf(InvalidUploadException.class);
+
+        assertThat(Path.of(session.getPartPath())).doesNotExist();
+        verify(sessionRepository).claim("upload-1");
+        verifyNoInteractions(mediaBlobStore, fileStorageService);
+    }
+
+    private static VideoUploadStartRequest startRequest() {
+        VideoUploadStartRequest request = new VideoUploadStartRequest();
+        request.setListingType("LAND");
+        request.setFileName("tour.mp4");
+        request.setContentType("video/mp4");
+        request.setSize(11L);
+        return request;
+    }
+
+    private static User user(Long id, Role... roles) {
+        User user = new User();
+        user.setId(id);
+        user.setRoles(Set.of(roles));
+        return user;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
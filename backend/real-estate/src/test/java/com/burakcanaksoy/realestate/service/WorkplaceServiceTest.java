@@ -20,7 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -41,6 +43,7 @@ import static org.mockito.Mockito.*;
  * This test class covers all methods of WorkplaceService.
  * 
  * @Mock: Mocks the repository and auth service dependencies
+ * @Spy: Uses a real, empty response cache
  * @InjectMocks: Creates WorkplaceService and injects mocked dependencies
  */
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +59,12 @@ public class WorkplaceServiceTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ListingResponseCache listingResponseCache = new ListingResponseCache(null, 100, 60);
+
     @InjectMocks
     private WorkplaceService workplaceService;
 
@@ -0,0 +1,104 @@
+package com.burakcanaksoy.realestate.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for S3MediaStore
+ *
+ * @Mock: Mocks the S3 client and presigner; legacy files live in a temporary
+ *        directory
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("S3MediaStore Unit Tests")
+class S3MediaStoreTest {
+
+    @Mock
+    private S3Client s3;
+
+    @Mock
+    private S3Presigner presigner;
+
+    @TempDir
+    Path uploadDir;
+
+    private S3MediaStore mediaStore;
+
+    @BeforeEach
+    void setUp() {
+        mediaStore = new S3MediaStore(s3, presigner, "media", 4, new LocalMediaStore(uploadDir.toString()));
+    }
+
+    @Test
+    @DisplayName("put - Should stream a large file as parts and delete the local copy")
+    void testPut_Multipart() throws Exception {
+        Path file = uploadDir.resolve("video.mp4");
+        Files.writeString(file, "0123456789", StandardCharsets.US_ASCII);
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u1").build());
+        List<String> parts = new ArrayList<>();
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            try (InputStream in = invocation.<RequestBody>getArgument(1).contentStreamProvider().newStream()) {
+                parts.add(new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+            return UploadPartResponse.builder().eTag("e" + parts.size()).build();
+        });
+
+        mediaStore.put(mediaStore.locate("blobs/ab/cd/video.mp4"), file, "video/mp4");
+
+        assertThat(parts).containsExactly("0123", "4567", "89");
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().key()).isEqualTo("blobs/ab/cd/video.mp4");
+        assertThat(complete.getValue().multipartUpload().parts()).hasSize(3);
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("size - Should report missing objects as empty")
+    void testSize_Missing() throws Exception {
+        when(s3.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+
+        assertThat(mediaStore.size("s3://media/blobs/x.jpg")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("localPath - Should keep serving files stored on disk before the move to S3")
+    void testLocalPath_Legacy() throws Exception {
+        Path legacy = uploadDir.resolve("old.jpg");
+        Files.writeString(legacy, "x");
+
+        assertThat(mediaStore.localPath(legacy.toString())).contains(legacy);
+        assertThat(mediaStore.localPath("s3://media/blobs/x.jpg")).isEmpty();
+        assertThat(mediaStore.size(legacy.toString())).hasValue(1);
+        verifyNoInteractions(s3);
+    }
+}
@@ -41,7 +41,7 @@ export const ImageGallery: React.FC<ImageGalleryProps> = ({
     // React'ten erişim için: http://localhost:8080/uploads/...
     // Bunu ImageComponent içinde handle edelim.
 
-    const getImageUrl = (image: ImageResponse) => {
+    const getImageUrl = (image: ImageResponse, size: 'thumb' | 'card' | 'full') => {
         // Geçici çözüm: Backend statik dosya sunmuyorsa, image view endpoint'i kullanmalıyız.
         // Backend kontrolörde /view/{imageId} vardı ama "Not Found" dönüyordu placeholder olarak.
         // Biz şimdilik doğrudan dosya yolunu kullanalım, backend static serving support eklememiz gerekebilir.
@@ -56,7 +56,7 @@ export const ImageGallery: React.FC<ImageGalleryProps> = ({
         // Basitlik için static serving varsayalım.
         // Backend'in "uploads" klasörünü serve etmesi lazım.
         // Şimdilik:
-        return `${API_URL}/api/images/view/${image.id}`;
+        return `${API_URL}/api/images/view/${image.id}?size=${size}`;
     };
 
     return (
@@ -64,7 +64,7 @@ export const ImageGallery: React.FC<ImageGalleryProps> = ({
             {/* Main Image */}
             <div className="relative w-full h-[400px] bg-gray-100 rounded-xl overflow-hidden group">
                 <img
-                    src={getImageUrl(currentImage)}
+                    src={getImageUrl(currentImage, 'full')}
                     alt={`Gallery image ${currentIndex + 1}`}
                     className="w-full h-full object-contain bg-black"
                     onError={(e) => {
@@ -107,7 +107,7 @@ export const ImageGallery: React.FC<ImageGalleryProps> = ({
                                 }`}
                         >
                             <img
-                                src={getImageUrl(image)}
+                                src={getImageUrl(image, 'thumb')}
                                 alt={`Thumbnail ${index + 1}`}
                                 className="w-full h-full object-cover"
                             />
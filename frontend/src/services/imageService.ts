@@ -9,6 +9,7 @@ export interface ImageResponse {
     isPrimary: boolean;
     displayOrder: number;
     createdAt: string;
+    nearDuplicateOf?: number | null;
 }
 
 const API_BASE_URL = process.env.REACT_APP_API_BASE_URL || 'http://localhost:8080/api';
@@ -47,9 +48,14 @@ export const ImageService = {
         listingId: number,
         listingType: string
     ): Promise<ImageResponse[]> => {
-        const uploadPromises = files.map((file, index) =>
-            ImageService.uploadImage(file, listingId, listingType, index === 0)
-        );
-        return await Promise.all(uploadPromises);
+        // One request for all files, the first becomes the primary image
+        const formData = new FormData();
+        files.forEach(file => formData.append('files', file));
+        formData.append('listingId', listingId.toString());
+        formData.append('listingType', listingType);
+        formData.append('primaryIndex', '0');
+
+        return await api.post<ImageResponse[]>('/images/upload/batch', formData, {
+        });
     },
 };
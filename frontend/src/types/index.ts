@@ -582,7 +582,8 @@ export interface CityDistribution {
 export enum NotificationType {
   FAVORITE = 'FAVORITE',
   VIEW = 'VIEW',
-  SYSTEM = 'SYSTEM'
+  SYSTEM = 'SYSTEM',
+  SAVED_SEARCH = 'SAVED_SEARCH'
 }
 
 export interface Notification {